@@ -0,0 +1,8 @@
+# Tuning profile for the original power cells.
+# One "Key = value" per line. Keys are the same names used in Preferences.
+# Selecting this profile writes these values into Preferences. Keys not listed here keep their Preferences values.
+
+# Turret pitch as a function of KiwiLight distance: A*x^2 + B*x + C
+Align Parabola A = 0.1995
+Align Parabola B = -64.89
+Align Parabola C = -3703
@@ -14,7 +14,8 @@ import edu.wpi.cscore.CvSource;
 import edu.wpi.cscore.UsbCamera;
 import edu.wpi.first.cameraserver.CameraServer;
 import edu.wpi.first.wpilibj.DriverStation;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 /**
  * A collection of cameras that help the drivers see
@@ -22,6 +23,13 @@ import frc.robot.util.Util;
 public class CameraHub {
     UsbCamera backCam;
 
+    private final TunableDouble
+        camResX       = Tunable.getDouble("Camera Width", 252),
+        camResY       = Tunable.getDouble("Camera Height", 128),
+        camExposure   = Tunable.getDouble("Camera Exposure", 50),
+        camBrightness = Tunable.getDouble("Camera Brightness", 50),
+        camFPS        = Tunable.getDouble("Camera FPS", 30);
+
     public CameraHub() {
         new Thread(() -> {
             backCam = CameraServer.getInstance().startAutomaticCapture(0);
@@ -40,10 +48,7 @@ public class CameraHub {
     }
 
     public void configResolution() {
-        int camResX = (int) Util.getAndSetDouble("Camera Width", 252);
-        int camResY = (int) Util.getAndSetDouble("Camera Height", 128);
-
-        backCam.setResolution(camResX, camResY);
+        backCam.setResolution((int) camResX.get(), (int) camResY.get());
     }
 
     public void configExposure(boolean automatic) {
@@ -52,18 +57,15 @@ public class CameraHub {
             return;
         }
 
-        int camExposure = (int) Util.getAndSetDouble("Camera Exposure", 50);
-        backCam.setExposureManual(camExposure);
+        backCam.setExposureManual((int) camExposure.get());
     }
 
     public void configBrightness() {
-        int camBrightness = (int) Util.getAndSetDouble("Camera Brightness", 50);
-        backCam.setBrightness(camBrightness);
+        backCam.setBrightness((int) camBrightness.get());
     }
 
     public void configFPS() {
-        int fps = (int) Util.getAndSetDouble("Camera FPS", 30);
-        backCam.setFPS(fps);
+        backCam.setFPS((int) camFPS.get());
     }
 
     public void configureCameras() {
@@ -83,6 +83,27 @@ public final class Constants {
 
     public static final int
         JEVOIS_SUCK_TIME = 1000;
+
+    /**
+     * Jevois camera model. The mount values are backups for the "Jevois Camera ..." tunables; measure them on the robot and copy them here
+     */
+    public static final double
+        JEVOIS_HORIZONTAL_FOV   = 65,  //degrees
+        JEVOIS_CENTER_X         = 320, //px from the left where the lens axis hits the image
+        JEVOIS_CENTER_Y         = 240, //px from the top where the lens axis hits the image
+        JEVOIS_CAMERA_HEIGHT    = 21,  //in from the floor to the lens
+        JEVOIS_CAMERA_PITCH     = 25,  //degrees the camera is tilted down from level
+        JEVOIS_CAMERA_FORWARD   = 13,  //in from the center of the robot to the lens, forwards
+        JEVOIS_CAMERA_LEFT      = 0,   //in from the center of the robot to the lens, to the left
+        JEVOIS_CAMERA_YAW       = 0,   //degrees the camera faces left of the front of the robot
+        JEVOIS_MIN_GROUND_ANGLE = 3,   //degrees below level under which range comes from a ball's radius instead of the floor
+        POWER_CELL_RADIUS       = 3.5; //in
+
+    public static final double
+        CHASE_ARRIVE_DISTANCE = 6; //in from a chased power cell's field position at which the chase stops steering
+
+    public static final int
+        CHASE_POSE_HISTORY_LENGTH = 32; //robot poses kept for looking up where the robot was when a Jevois frame was captured
     
     /**
      * Drivetrain motor inverts
@@ -266,7 +287,9 @@ public final class Constants {
 
     public static final String
         PATH_RECORD_LOCATION = "/home/lvuser/points.txt",
-        EMULATE_RESULTS_FILE_PATH = "/home/lvuser/results.txt";
+        EMULATE_RESULTS_FILE_PATH = "/home/lvuser/results.txt",
+        ODOMETRY_CAPTURE_FILE = "/home/lvuser/odometry.bin",
+        VISION_CAPTURE_FILE = "/home/lvuser/vision.bin";
 
     /**
      * Judgement auto
@@ -309,6 +332,15 @@ public final class Constants {
         GALACTIC_SEARCH_SET_A_PATH_2 = "/home/lvuser/GS1P2.txt",
         GALACTIC_SEARCH_SET_B_PATH_1 = "/home/lvuser/GS2P1.txt",
         GALACTIC_SEARCH_SET_B_PATH_2 = "/home/lvuser/GS2P2.txt";
+
+    public static final int
+        GALACTIC_SEARCH_CLOSE_Y         = 300,  //px; a power cell lower in the image than this means one of the path 1 layouts
+        GALACTIC_SEARCH_PATH_1_SPLIT_X  = -100, //px; a closest power cell right of this means set A path 1
+        GALACTIC_SEARCH_PATH_2_SPACING  = 250,  //px; two far power cells spaced wider than this means set A path 2
+        GALACTIC_SEARCH_VOTE_WINDOW     = 60;   //Jevois frames voted over while disabled
+
+    public static final double
+        GALACTIC_SEARCH_MIN_CONFIDENCE = 0.6; //share of votes under which the chosen layout is reported as uncertain
     
     /**
      * AutoNav Challenge
@@ -330,4 +362,114 @@ public final class Constants {
      */
     public static final boolean
         DRIVE_CAMERA_AUTOMATIC_EXPOSURE = false;
+
+    /**
+     * Tuning profiles
+     */
+    public static final String
+        TUNING_PROFILE_DIRECTORY = "profiles", //relative to the deploy directory
+        TUNING_PROFILE_DEFAULT   = "normal";
+
+    /**
+     * Telemetry
+     */
+    public static final int
+        TELEMETRY_PUBLISH_PERIOD = 20,  //ms between passes of the publisher thread. On-change keys are checked every pass
+        TELEMETRY_FAST_PERIOD    = 50,  //ms between checks of a fast tier key
+        TELEMETRY_SLOW_PERIOD    = 250; //ms between checks of a slow tier key
+
+    public static final double
+        TELEMETRY_AMPS_DEADBAND   = 0.1,  //amps
+        TELEMETRY_OUTPUT_DEADBAND = 0.005, //percent output
+        TELEMETRY_COLOR_DEADBAND  = 0.005; //color sensor channel, 0 to 1
+
+    public static final double
+        LOOP_TIME_SMOOTHING = 0.05; //weight of the newest frame in the average loop time
+
+    /**
+     * CAN output
+     */
+    public static final int
+        OUTPUT_REFRESH_PERIOD = 100; //ms. Unchanged setpoints are re-sent this often in case a controller reset.
+
+    /**
+     * CAN traffic. Status frame periods are in ms; Talon periods cannot be longer than 255.
+     */
+    public static final int
+        CAN_TRAFFIC_PUBLISH_PERIOD = 1000, //ms between publishes of the traffic rates
+        STATUS_FRAME_LEADER        = 10,   //frames that followers follow
+        STATUS_FRAME_FAST          = 20,   //frames read every loop
+        STATUS_FRAME_SLOW          = 100,  //frames only read for the dashboard
+        STATUS_FRAME_IDLE          = 255;  //frames nobody reads
+
+    /**
+     * Loop profiler
+     */
+    public static final int
+        PROFILER_PUBLISH_PERIOD = 1000; //ms between publishing (and clearing) the timing histograms
+
+    /**
+     * Allocation monitor
+     */
+    public static final int
+        ALLOCATION_PUBLISH_PERIOD    = 1000, //ms between publishing allocation and GC totals
+        ALLOCATION_COMMAND_THRESHOLD = 0;    //bytes a command's execute() may allocate before it is reported
+
+    /**
+     * Loop watchdog
+     */
+    public static final int
+        WATCHDOG_POLL_PERIOD = 2,  //ms between checks of the robot loop
+        WATCHDOG_MAX_EVENTS  = 32, //overruns kept for PVHost
+        WATCHDOG_STACK_DEPTH = 24; //stack frames kept per overrun
+
+    /**
+     * Health monitor
+     */
+    public static final int
+        HEALTH_PROBE_PERIOD = 500,  //ms between probes of every device
+        HEALTH_STALE_PERIOD = 1500; //ms after which a probe result no longer counts as connected
+
+    /**
+     * Vision
+     */
+    public static final int
+        JEVOIS_MAX_DETECTIONS        = 32,   //power cells read from one Jevois packet before sorting
+        JEVOIS_MAX_POWER_CELLS       = 15,   //power cells kept in each Jevois frame, closest first
+        JEVOIS_MAX_TRACKS            = 16,   //power cells the tracker follows at once
+        KIWILIGHT_BYTES              = 1024, //largest KiwiLight packet accepted
+        VISION_INGEST_PUBLISH_PERIOD = 1000, //ms between publishing packet rates and errors
+        VISION_CLOCK_WINDOW          = 100;  //packets the coprocessor clock offset is estimated from
+
+    public static final long
+        VISION_CLOCK_RESET_THRESHOLD = 1000000; //us the clock offset may jump before the estimate starts over
+
+    public static final int
+        TARGET_TRACKER_HISTORY_LENGTH = 32; //turret positions kept for looking up where the turret was when a frame was captured
+
+    public static final double
+        TARGET_TRACKER_COAST_TIME = 0.5; //seconds the turret keeps aiming at a predicted target after it is lost
+
+    public static final double
+        JEVOIS_TRACK_GATE      = 60,   //px a detection may be from a tracked power cell and still be matched to it
+        JEVOIS_TRACK_SMOOTHING = 0.5,  //fraction of the way a tracked power cell moves toward each new detection
+        JEVOIS_TRACK_TIMEOUT   = 0.3,  //seconds a power cell stays tracked after it was last seen
+        JEVOIS_UPDATE_TIMEOUT  = 0.25; //seconds after the last frame was captured that the Jevois still counts as updated
+
+    /**
+     * Data logging
+     * Budget: a DOUBLE sample is 19 bytes, so 1000 samples per second is about 68 MB per powered-on hour, whether or not
+     * the robot is enabled. The roboRIO's flash only has a few hundred MB free, enough for a few hours. Point
+     * DATA_LOG_DIRECTORY at a USB drive (like "/u/logs") to keep a whole event.
+     */
+    public static final String
+        DATA_LOG_DIRECTORY = "/home/lvuser/logs";
+
+    public static final int
+        DATA_LOG_BUFFER_BYTES    = 65536,            //size of each of the two sample buffers
+        DATA_LOG_FILE_BYTES      = 8 * 1024 * 1024,  //size of each log file
+        DATA_LOG_MAX_SESSIONS    = 20,               //sessions (one per robot code start) kept, newest first
+        DATA_LOG_MIN_FREE_BYTES  = 64 * 1024 * 1024, //oldest files are deleted, even from the current session, to keep this much disk free
+        DATA_LOG_FLUSH_PERIOD    = 100,              //ms between buffer swaps
+        DATA_LOG_SYNC_PERIOD     = 1000;             //ms between forcing the mapped file to disk
 }
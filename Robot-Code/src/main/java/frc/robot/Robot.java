@@ -12,7 +12,20 @@ import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import frc.robot.commands.CyborgCommandEmulatePath;
 import frc.robot.subsystems.SubsystemDrive;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.RobotMode;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.AllocationMonitor;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.DataLogger;
+import frc.robot.util.LogSignal;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.LoopWatchdog;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.TimingHistogram;
 import frc.robot.util.Util;
+import frc.robot.util.VisionIngest;
 
 /**
  * The VM is configured to automatically run this class, and to call the functions corresponding to
@@ -23,6 +36,19 @@ import frc.robot.util.Util;
 public class Robot extends TimedRobot {
   private static RobotContainer robotContainer;
 
+  private TelemetryNumber
+    loopTimeIndicator,
+    averageLoopTimeIndicator;
+
+  private LogSignal loopTimeSignal;
+
+  private final TimingHistogram
+    schedulerTiming = LoopProfiler.section("Scheduler"),
+    updateTiming    = LoopProfiler.section("RobotContainer Update"),
+    loopTiming      = LoopProfiler.section("Loop");
+
+  private double averageLoopTime;
+
   public static RobotContainer getRobotContainer() {
     return robotContainer;
   }
@@ -36,6 +62,12 @@ public class Robot extends TimedRobot {
     // Instantiate our RobotContainer.  This will perform all our button bindings, and put our
     // autonomous chooser on the dashboard.
     robotContainer = new RobotContainer();
+    LoopProfiler.install();
+    LoopWatchdog.start();
+    AllocationMonitor.start();
+    loopTimeIndicator = Telemetry.number("Loop Time (ms)");
+    averageLoopTimeIndicator = Telemetry.number("Average Loop Time (ms)", TelemetryTier.SLOW);
+    loopTimeSignal = DataLogger.signal("Robot/Loop Time", LogSignalType.DOUBLE, "ms");
     DriverStation.reportWarning("ROBOT STARTED, GOOD LUCK", false);
   }
 
@@ -48,8 +80,25 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotPeriodic() {
+    long startTime = System.nanoTime();
+    LoopWatchdog.loopStarted(startTime);
+    AllocationMonitor.loopStarted();
+    LoopProfiler.mark(startTime);
     CommandScheduler.getInstance().run();
+    long updateStartTime = LoopProfiler.end(schedulerTiming, startTime);
     robotContainer.update();
+    long endTime = LoopProfiler.end(updateTiming, updateStartTime);
+    loopTiming.record(endTime - startTime);
+    LoopProfiler.publish(endTime);
+    CANTraffic.publish(endTime);
+    AllocationMonitor.loopEnded(endTime);
+    LoopWatchdog.loopEnded();
+
+    double loopTime = (endTime - startTime) / 1000000.0;
+    averageLoopTime += (loopTime - averageLoopTime) * Constants.LOOP_TIME_SMOOTHING;
+    loopTimeIndicator.set(loopTime);
+    averageLoopTimeIndicator.set(averageLoopTime);
+    loopTimeSignal.append(loopTime);
   }
 
   /**
@@ -57,10 +106,12 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void disabledInit() {
+    CANTraffic.setMode(RobotMode.DISABLED);
   }
 
   @Override
   public void disabledPeriodic() {
+    robotContainer.updateDisabled();
   }
 
   /**
@@ -69,6 +120,7 @@ public class Robot extends TimedRobot {
   @Override
   public void autonomousInit() {
     DriverStation.reportWarning("AUTO STARTING", false);
+    CANTraffic.setMode(RobotMode.AUTONOMOUS);
     DriverStation.reportWarning("AAAAAAAAAAAAA", false);
     robotContainer.startAuto();
   }
@@ -83,6 +135,7 @@ public class Robot extends TimedRobot {
   @Override
   public void teleopInit() {
     DriverStation.reportWarning("TELEOP STARTING", false);
+    CANTraffic.setMode(RobotMode.TELEOP);
     robotContainer.cancelAuto();
   }
 
@@ -95,8 +148,7 @@ public class Robot extends TimedRobot {
 
   @Override
   public void testInit() {
-    boolean allTests = true;
-    DriverStation.reportError((allTests ? "ALL TESTS PASSED" : "SOME TESTS FAILED"), false);
+    CANTraffic.setMode(RobotMode.TEST);
   }
 
   /**
@@ -105,4 +157,13 @@ public class Robot extends TimedRobot {
   @Override
   public void testPeriodic() {
   }
+
+  /**
+   * Called when the robot program is asked to stop, like at the end of a simulation.
+   */
+  @Override
+  public void endCompetition() {
+    VisionIngest.stop();
+    super.endCompetition();
+  }
 }
@@ -7,7 +7,10 @@
 
 package frc.robot;
 
+import java.io.File;
+
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj.GenericHID;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.Preferences;
@@ -34,6 +37,8 @@ import frc.robot.commands.ConstantCommandDriveIntake;
 import frc.robot.commands.CyborgCommandAlignTurret;
 import frc.robot.commands.CyborgCommandCalibrateTurretPitch;
 import frc.robot.commands.CyborgCommandCalibrateTurretYaw;
+import frc.robot.commands.CyborgCommandCaptureOdometry;
+import frc.robot.commands.CyborgCommandCaptureVision;
 import frc.robot.commands.CyborgCommandChaseBall;
 import frc.robot.commands.CyborgCommandDriveDistance;
 import frc.robot.commands.CyborgCommandEmulatePath;
@@ -47,7 +52,7 @@ import frc.robot.commands.ManualCommandDrive;
 import frc.robot.commands.ToggleCommandDriveClimber;
 import frc.robot.enumeration.AutoMode;
 import frc.robot.enumeration.DriveScheme;
-import frc.robot.enumeration.AlignModel;
+import frc.robot.enumeration.TelemetryTier;
 import frc.robot.subsystems.SubsystemClimb;
 import frc.robot.subsystems.SubsystemDrive;
 import frc.robot.subsystems.SubsystemFeeder;
@@ -62,6 +67,15 @@ import frc.robot.util.Xbox;
 import frc.robot.util.PositionTracker;
 import frc.robot.util.Point2D;
 import frc.robot.util.PVHost;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryString;
+import frc.robot.util.TimingHistogram;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
+import frc.robot.util.TuningProfile;
 
 /**
  * This class is where the bulk of the robot should be declared.  Since Command-based is a
@@ -108,18 +122,46 @@ public class RobotContainer {
    */
   private SendableChooser<AutoMode> autoChooser;
   private SendableChooser<DriveScheme> driveChooser;
-  private SendableChooser<AlignModel> alignModelChooser;
+  private SendableChooser<TuningProfile> profileChooser;
+
+  private final TelemetryString
+    DEVICE_1_INDICATOR           = Telemetry.string("Device 1"),
+    DEVICE_2_INDICATOR           = Telemetry.string("Device 2"),
+    DEVICE_3_INDICATOR           = Telemetry.string("Device 3"),
+    DRIVE_SCHEME_INDICATOR       = Telemetry.string("Drive Scheme Layout"),
+    CONTROLLER_WARNING_INDICATOR = Telemetry.string("Controller Warning"),
+    POSITION_INDICATOR           = Telemetry.string("Robot Position", TelemetryTier.SLOW);
+
+  /**
+   * Profiler sections for update()
+   */
+  private final TimingHistogram
+    POSITION_TRACKER_TIMING = LoopProfiler.section("Position Tracker"),
+    PV_HOST_TIMING          = LoopProfiler.section("PVHost"),
+    SYSTEMS_GO_TIMING       = LoopProfiler.section("All Systems Go"),
+    INDICATORS_TIMING       = LoopProfiler.section("Dashboard Indicators"),
+    PROFILE_TIMING          = LoopProfiler.section("Tuning Profile"),
+    FRAME_COUNTS_TIMING     = LoopProfiler.section("Output Frame Counts");
+
+  private final TelemetryBoolean
+    ALL_SYSTEMS_GO_INDICATOR = Telemetry.bool("All Systems Go"),
+    CONTROLLERS_INDICATOR    = Telemetry.bool("Controllers");
 
   /**
    * Auto
    */
   private IAuto currentAuto;
+  private final TunableDouble FLYWHEEL_TARGET_RPM = Tunable.getDouble("FW Velocity Target", 6000);
   private Command autoCommand;
+  private GalacticSearchAuto galacticSearchAuto;
 
   /**
    * Misc.
    */
   private boolean controllersGood;
+  private long
+    lastPowerCellFrameSent,
+    lastKiwiLightFrameSent;
 
   /**
    * The container for the robot.  Contains subsystems, OI devices, and commands.
@@ -129,6 +171,7 @@ public class RobotContainer {
     configureButtonBindings();
     configureChoosers();
 
+    galacticSearchAuto = new GalacticSearchAuto(SUB_DRIVE, SUB_JEVOIS, SUB_INTAKE, SUB_FEEDER);
     currentAuto = new InitAuto(SUB_DRIVE, SUB_TURRET);
     autoCommand = currentAuto.getCommand();
     controllersGood = false;
@@ -143,11 +186,32 @@ public class RobotContainer {
    * Updates the robot position indicator,
    */
   public void update() {
+    long time = LoopProfiler.start(POSITION_TRACKER_TIMING);
     POSITION_TRACKER.update();
+    LoopProfiler.end(POSITION_TRACKER_TIMING, time);
+
+    time = LoopProfiler.start(PV_HOST_TIMING);
     PATH_VISUALIZER_HOST.update(getRobotPositionAndHeading());
+    lastPowerCellFrameSent = PATH_VISUALIZER_HOST.sendVision(SUB_JEVOIS.getFrame(), lastPowerCellFrameSent);
+    lastKiwiLightFrameSent = PATH_VISUALIZER_HOST.sendVision(SUB_RECEIVER.getFrame(), lastKiwiLightFrameSent);
+    LoopProfiler.end(PV_HOST_TIMING, time);
+
+    time = LoopProfiler.start(SYSTEMS_GO_TIMING);
     printAllSystemsGo();
+    LoopProfiler.end(SYSTEMS_GO_TIMING, time);
+
+    time = LoopProfiler.start(INDICATORS_TIMING);
     updateDriveSchemeIndicators();
     updatePositionIndicator();
+    LoopProfiler.end(INDICATORS_TIMING, time);
+
+    time = LoopProfiler.start(PROFILE_TIMING);
+    Tunable.setProfile(getTuningProfile());
+    LoopProfiler.end(PROFILE_TIMING, time);
+
+    time = LoopProfiler.start(FRAME_COUNTS_TIMING);
+    OutputWriter.publishFrameCounts();
+    LoopProfiler.end(FRAME_COUNTS_TIMING, time);
   }
 
   /**
@@ -164,6 +228,16 @@ public class RobotContainer {
     return PATH_VISUALIZER_HOST;
   }
 
+  /**
+   * Prepares the selected auto while the robot is disabled, so that starting it is quick.
+   * Galactic Search votes on its layout here.
+   */
+  public void updateDisabled() {
+    if(autoChooser.getSelected() == AutoMode.GALACTIC_SEARCH) {
+      galacticSearchAuto.updateDisabled();
+    }
+  }
+
   /**
    * Schedules the autonomous command.
    */
@@ -191,7 +265,7 @@ public class RobotContainer {
         currentAuto = new TraditionalJudgementAuto(SUB_DRIVE, SUB_TURRET, SUB_INTAKE, SUB_FEEDER, SUB_FLYWHEEL, SUB_RECEIVER);
         break;
       case GALACTIC_SEARCH:
-        currentAuto = new GalacticSearchAuto(SUB_DRIVE, SUB_JEVOIS, SUB_INTAKE, SUB_FEEDER);
+        currentAuto = galacticSearchAuto;
         break;
       case AUTONAV_SLALOM:
         currentAuto = new AutoNavAuto(SUB_DRIVE, Constants.AUTONAV_SLALOM_FILE);
@@ -213,7 +287,7 @@ public class RobotContainer {
     //start flywheel if necessary
     if(currentAuto.requiresFlywheel()) {
       if(Constants.AUTO_OVERREV_TURRET) {
-        driveFlywheelRPM.overrideRPM(Util.getAndSetDouble("FW Velocity Target", 6000) + (double) Constants.AUTO_OVERREV_EXTRA_RPM);
+        driveFlywheelRPM.overrideRPM(FLYWHEEL_TARGET_RPM.get() + (double) Constants.AUTO_OVERREV_EXTRA_RPM);
       }
 
       driveFlywheelRPM.schedule();
@@ -274,11 +348,10 @@ public class RobotContainer {
   }
 
   /**
-   * Returns the current user-selected align model. Will either be 
-   * The old ball model or the new ball model.
+   * Returns the current user-selected tuning profile.
    */
-  public AlignModel getAlignModel() {
-    return alignModelChooser.getSelected();
+  public TuningProfile getTuningProfile() {
+    return profileChooser.getSelected();
   }
 
   /**
@@ -313,7 +386,7 @@ public class RobotContainer {
       turretIsGo &&
       controllersGood;
     
-    SmartDashboard.putBoolean("All Systems Go", allSystemsGo);
+    ALL_SYSTEMS_GO_INDICATOR.set(allSystemsGo);
   }
 
   /**
@@ -324,13 +397,13 @@ public class RobotContainer {
     DriverStation ds = DriverStation.getInstance();
 
     //report names of devices
-    SmartDashboard.putString("Device 1", ds.getJoystickName(0));
-    SmartDashboard.putString("Device 2", ds.getJoystickName(1));
-    SmartDashboard.putString("Device 3", ds.getJoystickName(2));
+    DEVICE_1_INDICATOR.set(ds.getJoystickName(0));
+    DEVICE_2_INDICATOR.set(ds.getJoystickName(1));
+    DEVICE_3_INDICATOR.set(ds.getJoystickName(2));
 
     switch(getDriveScheme()) {
       case RL: {
-          SmartDashboard.putString("Drive Scheme Layout",
+          DRIVE_SCHEME_INDICATOR.set(
             "Device 1: Driver (xbox)  |  Device 2: Operator (xbox)"
           );
 
@@ -340,7 +413,7 @@ public class RobotContainer {
         }
         break;
       case TRUE_TANK: {
-          SmartDashboard.putString("Drive Scheme Layout",
+          DRIVE_SCHEME_INDICATOR.set(
             "Device 1: Driver Right (Logitech Attack)  |  Device 2: Operator (xbox)  |  Device 3: Driver Left (Logitech Attack)"
           );
 
@@ -356,15 +429,15 @@ public class RobotContainer {
       "Safe to enable." :
       "ENABLE AT YOUR OWN RISK"
     );
-    SmartDashboard.putString("Controller Warning", controllerWarning);
-    SmartDashboard.putBoolean("Controllers", controllersGood);
+    CONTROLLER_WARNING_INDICATOR.set(controllerWarning);
+    CONTROLLERS_INDICATOR.set(controllersGood);
   }
 
   /**
    * Updates the robot's position on the dashboard.
    */
   private void updatePositionIndicator() {
-    SmartDashboard.putString("Robot Position", getRobotPositionAndHeading().toString());
+    POSITION_INDICATOR.set(getRobotPositionAndHeading().toString());
   }
 
   /**
@@ -428,6 +501,8 @@ public class RobotContainer {
     SmartDashboard.putData("Zero All Drivetrain", new InstantCommand(() -> zeroAllDrivetrain()));
     SmartDashboard.putData("Record Path", new CyborgCommandRecordPath(POSITION_TRACKER));
     SmartDashboard.putData("Emulate Path", new CyborgCommandEmulatePath(SUB_DRIVE));
+    SmartDashboard.putData("Capture Odometry", new CyborgCommandCaptureOdometry(SUB_DRIVE, POSITION_TRACKER));
+    SmartDashboard.putData("Capture Vision", new CyborgCommandCaptureVision());
 
     /**
      * Temporary dashboard buttons
@@ -464,11 +539,20 @@ public class RobotContainer {
     driveChooser.addOption("True Tank", DriveScheme.TRUE_TANK);
     SmartDashboard.putData("Drive Scheme", driveChooser);
 
-    //declare the different align modes available
-    alignModelChooser = new SendableChooser<AlignModel>();
-    alignModelChooser.setDefaultOption(AlignModel.NORMAL.getName(), AlignModel.NORMAL);
-    alignModelChooser.addOption(AlignModel.NEW_BALLS.getName(), AlignModel.NEW_BALLS);
-    SmartDashboard.putData("Aligning Model", alignModelChooser);
+    //declare the tuning profiles found in the deploy directory. Selecting one writes its values into Preferences, and the
+    //default is written at startup. Dashboard edits made after that take effect until a profile is selected again
+    profileChooser = new SendableChooser<TuningProfile>();
+    profileChooser.setDefaultOption(TuningProfile.NONE.getName(), TuningProfile.NONE);
+    for(TuningProfile profile : TuningProfile.loadAll(new File(Filesystem.getDeployDirectory(), Constants.TUNING_PROFILE_DIRECTORY))) {
+      if(profile.getName().equals(Constants.TUNING_PROFILE_DEFAULT)) {
+        profileChooser.setDefaultOption(profile.getName(), profile);
+        Tunable.setProfile(profile);
+      } else {
+        profileChooser.addOption(profile.getName(), profile);
+      }
+    }
+
+    SmartDashboard.putData("Tuning Profile", profileChooser);
 
     //set drivetrain lock override to false for safety
     Preferences.getInstance().putBoolean("Override Drive Lock", false);
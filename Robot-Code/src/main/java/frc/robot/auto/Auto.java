@@ -8,12 +8,15 @@
 package frc.robot.auto;
 
 import frc.robot.Constants;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 /**
  * Class that provides some game specific utils for auto.
  */
 public class Auto {
+    private static final TunableDouble startOffset = Tunable.getDouble("Auto Start Offset", 0);
+
     /**
      * gets the approximate yaw ticks to look at the target
      * @param offsetY inches away from the side wall closest to the power port.
@@ -26,6 +29,6 @@ public class Auto {
     }
 
     public static int getYawTicksToTarget() {
-        return getYawTicksToTarget(Util.getAndSetDouble("Auto Start Offset", 0));
+        return getYawTicksToTarget(startOffset.get());
     }
 }
@@ -18,7 +18,6 @@ import frc.robot.subsystems.SubsystemFlywheel;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemReceiver;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
 
 /**
  * "Bare Minimum" autonomous command, driving off the line and shooting all
@@ -43,7 +42,7 @@ public class BareMinimumAuto implements IAuto {
         this.init = new InitAuto(drivetrain, turret).getCommand();
 
         //set turret position and align
-        int yawTarget = Auto.getYawTicksToTarget(Util.getAndSetDouble("Auto Start Offset", 0));
+        int yawTarget = Auto.getYawTicksToTarget();
 
         this.positionTurret = new CyborgCommandSetTurretPosition(turret, yawTarget, Constants.AUTO_INIT_PITCH_TARGET);
         this.alignTurret = new CyborgCommandAlignTurret(turret, kiwilight, true);
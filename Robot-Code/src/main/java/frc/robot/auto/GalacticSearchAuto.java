@@ -6,22 +6,41 @@ package frc.robot.auto;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.InstantCommand;
 import frc.robot.Constants;
 import frc.robot.commands.ConstantCommandDriveIntake;
 import frc.robot.commands.CyborgCommandEmulatePath;
+import frc.robot.enumeration.GalacticSearchPath;
 import frc.robot.subsystems.SubsystemDrive;
 import frc.robot.subsystems.SubsystemFeeder;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemJevois;
+import frc.robot.util.GalacticSearchClassifier;
+import frc.robot.util.Path;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.TelemetryString;
 
-/** 
- * Does The Galactic Search Challenge. 
+/**
+ * Does The Galactic Search Challenge.
+ * While the robot is disabled, call updateDisabled() every loop. It votes on the layout over the Jevois frames
+ * and loads every recorded path, so getCommand() only has to build the command for the layout with the most votes.
  */
 public class GalacticSearchAuto implements IAuto {
+    private static final GalacticSearchPath[] PATHS = GalacticSearchPath.values();
+
     private SubsystemDrive drivetrain;
     private SubsystemJevois jevois;
-    private CyborgCommandEmulatePath drivePath;
-    private ConstantCommandDriveIntake driveIntake;
+    private SubsystemIntake intake;
+    private SubsystemFeeder feeder;
+
+    private final GalacticSearchClassifier classifier = new GalacticSearchClassifier();
+    private Path[] paths;
+    private long lastFrameSequence;
+
+    private final TelemetryString pathIndicator = Telemetry.string("Galactic Search/Path");
+    private final TelemetryNumber confidenceIndicator = Telemetry.number("Galactic Search/Confidence");
+    private final TelemetryNumber[] pathConfidenceIndicators = new TelemetryNumber[PATHS.length];
 
     /**
      * Create a new GalacticSearchAuto.
@@ -30,51 +49,69 @@ public class GalacticSearchAuto implements IAuto {
     public GalacticSearchAuto(SubsystemDrive drivetrain, SubsystemJevois jevois, SubsystemIntake intake, SubsystemFeeder feeder) {
         this.drivetrain = drivetrain;
         this.jevois = jevois;
-        this.driveIntake = new ConstantCommandDriveIntake(intake, feeder);
+        this.intake = intake;
+        this.feeder = feeder;
+
+        for(int i=0; i<PATHS.length; i++) {
+            pathConfidenceIndicators[i] = Telemetry.number("Galactic Search/" + PATHS[i].getName());
+        }
     }
 
     /**
-     * Returns the command to schedule to run the auto.
+     * Loads the paths if they are not loaded yet, and votes with the Jevois frame if it is new. Call every loop while disabled.
      */
-    public Command getCommand() {
-        // int ballsSeen = jevois.getPowerCells().size();
-        // if(ballsSeen < 2 || ballsSeen > 3) { //not valid read, error out driver station, thus not starting auto.
-        //     DriverStation.reportError("Invalid read!", true);
-        //     return null;
-        // }
-
-        int closeBalls = 0;
-        for(int i=0; i<jevois.getPowerCells().size(); i++) {
-            if(jevois.getPowerCells().get(i).getY() > 300) {
-                closeBalls++;
+    public void updateDisabled() {
+        if(paths == null) {
+            paths = new Path[PATHS.length];
+            for(int i=0; i<PATHS.length; i++) {
+                paths[i] = new Path(PATHS[i].getFile());
+                if(!paths[i].isValid()) {
+                    DriverStation.reportError("GalacticSearchAuto could not load " + PATHS[i].getFile(), false);
+                }
             }
         }
 
-        if(closeBalls >= 1) { // one of the front patterns
-            //for front patterns, look at the placement of the closest power cell to determine which path to run
-            int closestBallX = jevois.getPowerCells().get(0).getX();
-            if(closestBallX > -100) {
-                DriverStation.reportWarning("Set A Path 1", false);
-                drivePath = new CyborgCommandEmulatePath(drivetrain, Constants.GALACTIC_SEARCH_SET_A_PATH_1);
-            } else {
-                DriverStation.reportWarning("Set B Path 1", false);
-                drivePath = new CyborgCommandEmulatePath(drivetrain, Constants.GALACTIC_SEARCH_SET_B_PATH_1);
-            }
-        } else { //one of the back patterns. The JeVois cannot see the farthest ball because it is too small.
-            //for back patterns, look at the space between the power cells to determine which path to run
-            int distanceBetweenBalls = Math.abs(jevois.getPowerCells().get(0).getX() - jevois.getPowerCells().get(1).getX());
-            DriverStation.reportWarning("distance between balls: " + Integer.valueOf(distanceBetweenBalls).toString(), false);
-            if(distanceBetweenBalls > 250) {
-                DriverStation.reportWarning("Set A Path 2", false);
-                drivePath = new CyborgCommandEmulatePath(drivetrain, Constants.GALACTIC_SEARCH_SET_A_PATH_2);
-            } else {
-                DriverStation.reportWarning("Set B Path 2", false);
-                drivePath = new CyborgCommandEmulatePath(drivetrain, Constants.GALACTIC_SEARCH_SET_B_PATH_2);
+        long frameSequence = jevois.getFrame().getSequence();
+        if(frameSequence == lastFrameSequence) {
+            return;
+        }
+
+        lastFrameSequence = frameSequence;
+        classifier.update(jevois.getTracker());
+
+        GalacticSearchPath best = classifier.getBest();
+        pathIndicator.set(best == null ? "None" : best.getName());
+        confidenceIndicator.set(best == null ? 0 : classifier.getConfidence(best));
+        for(int i=0; i<PATHS.length; i++) {
+            pathConfidenceIndicators[i].set(classifier.getConfidence(PATHS[i]));
+        }
+    }
+
+    /**
+     * Returns the command to schedule to run the auto.
+     */
+    public Command getCommand() {
+        GalacticSearchPath best = classifier.getBest();
+        if(best == null) {
+            //nothing was voted on while disabled, so fall back to the frame in hand
+            best = GalacticSearchClassifier.classify(jevois.getTracker());
+            if(best == null) {
+                DriverStation.reportError("Invalid read!", true);
+                return new InstantCommand();
             }
+
+            DriverStation.reportWarning("Galactic Search did not vote while disabled. Using one frame.", false);
+        } else if(classifier.getConfidence(best) < Constants.GALACTIC_SEARCH_MIN_CONFIDENCE) {
+            DriverStation.reportWarning("Galactic Search is unsure: " + best.getName() + " won " + Math.round(classifier.getConfidence(best) * 100) + "% of votes", false);
         }
 
-        return drivePath.raceWith(driveIntake);
-        // return null;
+        DriverStation.reportWarning(best.getName(), false);
+        CyborgCommandEmulatePath drivePath = (paths != null ?
+            new CyborgCommandEmulatePath(drivetrain, paths[best.ordinal()]) :
+            new CyborgCommandEmulatePath(drivetrain, best.getFile())
+        );
+
+        return drivePath.raceWith(new ConstantCommandDriveIntake(intake, feeder));
     }
 
     /**
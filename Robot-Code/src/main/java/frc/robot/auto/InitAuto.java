@@ -15,7 +15,9 @@ import frc.robot.commands.CyborgCommandSmartDriveDistance;
 import frc.robot.commands.CyborgCommandZeroTurret;
 import frc.robot.subsystems.SubsystemDrive;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableBoolean;
+import frc.robot.util.TunableDouble;
 
 /**
  * Auto command run at the beginning of every auto.
@@ -26,15 +28,18 @@ public class InitAuto implements IAuto {
         zeroDriveEncoders,
         zeroTurret,
         driveOffLine;
+
+    private final TunableBoolean useSmartDistance = Tunable.getBoolean("Use SmartDistance", true);
+    private final TunableDouble initiationDrive = Tunable.getDouble("Initiation Drive", -36);
     
     public InitAuto(SubsystemDrive drivetrain, SubsystemTurret turret) {
         this.zeroDriveEncoders = new InstantCommand(() -> drivetrain.zeroEncoders(), drivetrain);
         this.zeroTurret = new CyborgCommandZeroTurret(turret);
         //drive, could be smart drive or dumb drive
-        if(drivetrain.getNavXConnected() && Util.getAndSetBoolean("Use SmartDistance", true)) {
-            this.driveOffLine = new CyborgCommandSmartDriveDistance(drivetrain, Util.getAndSetDouble("Initiation Drive", -36), Constants.DRIVE_AUTO_INHIBITOR);
+        if(drivetrain.getNavXConnected() && useSmartDistance.get()) {
+            this.driveOffLine = new CyborgCommandSmartDriveDistance(drivetrain, initiationDrive.get(), Constants.DRIVE_AUTO_INHIBITOR);
         } else {
-            this.driveOffLine = new CyborgCommandDriveDistance(drivetrain, Util.getAndSetDouble("Initiation Drive", -36), Constants.DRIVE_AUTO_INHIBITOR);
+            this.driveOffLine = new CyborgCommandDriveDistance(drivetrain, initiationDrive.get(), Constants.DRIVE_AUTO_INHIBITOR);
         }
     }
 
@@ -23,7 +23,8 @@ import frc.robot.subsystems.SubsystemFlywheel;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemReceiver;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 /**
  * This auto is written for the optional autonomous video for judging. 
@@ -52,6 +53,10 @@ public class JudgementAuto implements IAuto {
   private CyborgCommandAlignTurret align;
   private CyborgCommandShootPayload shootPowerCells;
 
+  private final TunableDouble
+    turretYawOffset = Tunable.getDouble("Judgement Auto Turret Yaw Offset", 0),
+    flywheelTarget  = Tunable.getDouble("FW Velocity Target", 6000);
+
   /**
    * Creates a new JudgementAuto.
    */
@@ -75,11 +80,11 @@ public class JudgementAuto implements IAuto {
     positionTurret          = new CyborgCommandSetTurretPosition(turret, Constants.JUDGEMENT_AUTO_YAW_TARGET, Constants.JUDGEMENT_AUTO_PITCH_TARGET);
     driveForward            = new CyborgCommandSmartDriveDistance(drivetrain, Constants.JUDGEMENT_AUTO_SHOOT_DRIVE_DISTANCE, Constants.JUDGEMENT_AUTO_SHOOT_DRIVE_POWER, -90, 0.40);
     driveFlywheel           = new CyborgCommandFlywheelVelocity(flywheel);
-    align                   = new CyborgCommandAlignTurret(turret, kiwilight, false, (int) Util.getAndSetDouble("Judgement Auto Turret Yaw Offset", 0));
+    align                   = new CyborgCommandAlignTurret(turret, kiwilight, false, (int) turretYawOffset.get());
     shootPowerCells         = new CyborgCommandShootPayload(intake, feeder, flywheel, turret, Constants.JUDGEMENT_AUTO_BALLS_TO_SHOOT, false);
   
     if(Constants.AUTO_OVERREV_TURRET) {
-      driveFlywheel.overrideRPM(Util.getAndSetDouble("FW Velocity Target", 6000) + Constants.AUTO_OVERREV_EXTRA_RPM);
+      driveFlywheel.overrideRPM(flywheelTarget.get() + Constants.AUTO_OVERREV_EXTRA_RPM);
     }
   }
 
@@ -24,7 +24,8 @@ import frc.robot.subsystems.SubsystemFlywheel;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemReceiver;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableBoolean;
 
 /**
  * A slightly cooler auto than it's other simpler counterparts.
@@ -46,6 +47,8 @@ public class SixBallSimpleAuto implements IAuto {
         alignAgain,
         shootPayload;
 
+    private final TunableBoolean useSmartDistance = Tunable.getBoolean("Use SmartDistance", true);
+
     /**
      * Creates a new SixBallSimpleAuto, initalizing commands
      */
@@ -60,7 +63,7 @@ public class SixBallSimpleAuto implements IAuto {
         this.init = new InitAuto(drivetrain, turret).getCommand();
         
         //position turret to get target in vision view
-        int yawTarget = Auto.getYawTicksToTarget(Util.getAndSetDouble("Auto Start Offset", 0));
+        int yawTarget = Auto.getYawTicksToTarget();
         this.positionTurret = new CyborgCommandSetTurretPosition(turret, yawTarget, Constants.AUTO_INIT_PITCH_TARGET);
         this.alignTurret = new CyborgCommandAlignTurret(turret, kiwilight);
         this.waitToAlign = new CyborgCommandWait(500);
@@ -107,7 +110,7 @@ public class SixBallSimpleAuto implements IAuto {
      * returned.
      */
     private Command getDriveDistanceCommand(SubsystemDrive drivetrain, double distance) {
-        if(drivetrain.getNavXConnected() && Util.getAndSetBoolean("Use SmartDistance", true)) {
+        if(drivetrain.getNavXConnected() && useSmartDistance.get()) {
             return new CyborgCommandSmartDriveDistance(drivetrain, distance, Constants.DRIVE_AUTO_INHIBITOR);
         } else {
             return new CyborgCommandDriveDistance(drivetrain, distance, Constants.DRIVE_AUTO_INHIBITOR);
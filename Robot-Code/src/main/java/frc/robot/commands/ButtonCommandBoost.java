@@ -6,10 +6,12 @@ package frc.robot.commands;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemDrive;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class ButtonCommandBoost extends CommandBase {
   private SubsystemDrive drive;
+  private final TunableDouble boostInhibitor = Tunable.getDouble("Boost Inhibitor", 1);
 
   /** Creates a new ButtonCommandBoost. */
   public ButtonCommandBoost(SubsystemDrive drivetrain) {
@@ -19,7 +21,7 @@ public class ButtonCommandBoost extends CommandBase {
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    drive.setBoosting(Util.getAndSetDouble("Boost Inhibitor", 1));
+    drive.setBoosting(boostInhibitor.get());
   }
 
   // Called every time the scheduler runs while the command is scheduled.
@@ -9,11 +9,13 @@ package frc.robot.commands;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemSpinner;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class ButtonCommandDriveSpinner extends CommandBase {
   private SubsystemSpinner spinner;
   private boolean inverted;
+  private final TunableDouble spinnerSpeed = Tunable.getDouble("Spinner speed", 1);
 
   /**
    * Creates a new ButtonCommandDriveSpinner.
@@ -32,7 +34,7 @@ public class ButtonCommandDriveSpinner extends CommandBase {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double speed = Util.getAndSetDouble("Spinner speed", 1);
+    double speed = spinnerSpeed.get();
     if(inverted) {
       speed *= -1;
     }
@@ -14,7 +14,9 @@ import frc.robot.subsystems.SubsystemFeeder;
 import frc.robot.subsystems.SubsystemFlywheel;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableBoolean;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Xbox;
 
 public class ButtonCommandGroupRunIntakeFeeder extends CommandBase {
@@ -24,6 +26,14 @@ public class ButtonCommandGroupRunIntakeFeeder extends CommandBase {
   private SubsystemFlywheel flywheel;
   private Joystick controller;
 
+  private final TunableDouble
+    eatSpeedSetting  = Tunable.getDouble("Eat Speed", 0.5),
+    slapSpeedSetting = Tunable.getDouble("Slap Speed", 0.33),
+    beatSpeedSetting = Tunable.getDouble("Beat Speed", 0.5),
+    feedSpeedSetting = Tunable.getDouble("Feed Speed", 0.5);
+
+  private final TunableBoolean overrideRPMThreshold = Tunable.getBoolean("Override RPM Threshold", true);
+
   /**
    * Creates a new ButtonCommandGroupRunIntakeFeeder.
    */
@@ -52,16 +62,16 @@ public class ButtonCommandGroupRunIntakeFeeder extends CommandBase {
       feedSpeed = 0;
 
     if(controller.getRawButton(Xbox.A)) {
-      eatSpeed = Util.getAndSetDouble("Eat Speed", 0.5);
-      slapSpeed = Util.getAndSetDouble("Slap Speed", 0.33);
-      beatSpeed = Util.getAndSetDouble("Beat Speed", 0.5);
+      eatSpeed = eatSpeedSetting.get();
+      slapSpeed = slapSpeedSetting.get();
+      beatSpeed = beatSpeedSetting.get();
     }
 
     if(controller.getRawButton(Xbox.X)) {
-      if(flywheel.getVelocity() > 5550 || Util.getAndSetBoolean("Override RPM Threshold", true)) { 
-        slapSpeed = Util.getAndSetDouble("Slap Speed", 0.33);
-        beatSpeed = Util.getAndSetDouble("Beat Speed", 0.5);
-        feedSpeed = Util.getAndSetDouble("Feed Speed", 0.5);
+      if(flywheel.getVelocity() > 5550 || overrideRPMThreshold.get()) { 
+        slapSpeed = slapSpeedSetting.get();
+        beatSpeed = beatSpeedSetting.get();
+        feedSpeed = feedSpeedSetting.get();
       }
 
       //disable height adjustment on aligning
@@ -71,10 +81,10 @@ public class ButtonCommandGroupRunIntakeFeeder extends CommandBase {
     }
 
     if(controller.getRawButton(Xbox.B)) {
-      eatSpeed = Util.getAndSetDouble("Eat Speed", 0.5) * -1;
-      slapSpeed = Util.getAndSetDouble("Slap Speed", 0.33) * -1;
-      beatSpeed = Util.getAndSetDouble("Beat Speed", 0.5) * -1;
-      feedSpeed = Util.getAndSetDouble("Feed Speed", 0.5) * -1;
+      eatSpeed = eatSpeedSetting.get() * -1;
+      slapSpeed = slapSpeedSetting.get() * -1;
+      beatSpeed = beatSpeedSetting.get() * -1;
+      feedSpeed = feedSpeedSetting.get() * -1;
     }
 
     intake.driveEater(eatSpeed);
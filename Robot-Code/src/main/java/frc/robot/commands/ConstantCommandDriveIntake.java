@@ -10,12 +10,18 @@ package frc.robot.commands;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemFeeder;
 import frc.robot.subsystems.SubsystemIntake;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class ConstantCommandDriveIntake extends CommandBase {
   private SubsystemIntake intake;
   private SubsystemFeeder feeder;
 
+  private final TunableDouble
+    eatSpeed  = Tunable.getDouble("Eat Speed", 1),
+    slapSpeed = Tunable.getDouble("Slap Speed", 0.5),
+    beatSpeed = Tunable.getDouble("Beat Speed", 1);
+
   /**
    * Creates a new ConstantCommandDriveIntake.
    */
@@ -35,9 +41,9 @@ public class ConstantCommandDriveIntake extends CommandBase {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    intake.driveEater(Util.getAndSetDouble("Eat Speed", 1));
-    intake.driveSlapper(Util.getAndSetDouble("Slap Speed", 0.5));
-    feeder.driveBeater(Util.getAndSetDouble("Beat Speed", 1));
+    intake.driveEater(eatSpeed.get());
+    intake.driveSlapper(slapSpeed.get());
+    feeder.driveBeater(beatSpeed.get());
   }
 
   // Called once the command ends or is interrupted.
@@ -8,14 +8,21 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
 import frc.robot.Robot;
 import frc.robot.subsystems.SubsystemReceiver;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.KiwiLightSnapshot;
+import frc.robot.util.SampleHistory;
+import frc.robot.util.TargetTracker;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandAlignTurret extends CommandBase {
   private SubsystemTurret turret;
@@ -28,10 +35,49 @@ public class CyborgCommandAlignTurret extends CommandBase {
 
   private int offset;
 
+  private final KiwiLightSnapshot target = new KiwiLightSnapshot();
+  private long lastFrameId;
+
+  //the target's bearing is tracked relative to the turret's zero, using where the turret was when each frame was captured
+  private final TargetTracker tracker = new TargetTracker(0.5, 0.1, Constants.TARGET_TRACKER_COAST_TIME);
+  private final SampleHistory yawHistory = new SampleHistory(Constants.TARGET_TRACKER_HISTORY_LENGTH);
+
+  private final TunableDouble
+    visionMultiplier  = Tunable.getDouble("Vision multiplier", 1),
+    alignDegreeBoost  = Tunable.getDouble("Align Degree Boost", 0),
+    alignParabolaA    = Tunable.getDouble("Align Parabola A", 0.1995),
+    alignParabolaB    = Tunable.getDouble("Align Parabola B", -64.89),
+    alignParabolaC    = Tunable.getDouble("Align Parabola C", -3703),
+    trackerAlpha      = Tunable.getDouble("Target Tracker Alpha", 0.5),
+    trackerBeta       = Tunable.getDouble("Target Tracker Beta", 0.1),
+    yawkP             = Tunable.getDouble("Yaw Position kP", 0.009),
+    yawkI             = Tunable.getDouble("Yaw Position kI", 0.001),
+    yawIZone          = Tunable.getDouble("Yaw Position IZone", 100000),
+    yawkD             = Tunable.getDouble("Yaw Position KD", 0),
+    yawkF             = Tunable.getDouble("Yaw Position KF", 0),
+    yawHighOutLimit   = Tunable.getDouble("Turret Spin Inhibitor Yaw", 1),
+    pitchkP           = Tunable.getDouble("Pitch Position kP", 5),
+    pitchkI           = Tunable.getDouble("Pitch Position kI", 0),
+    pitchIZone        = Tunable.getDouble("Pitch Position IZone", 75),
+    pitchkD           = Tunable.getDouble("Pitch Position kD", 0),
+    pitchkF           = Tunable.getDouble("Pitch Position kF", 0),
+    pitchHighOutLimit = Tunable.getDouble("Pitch High Output", 1);
+
   private long 
     lastAlignedTime,
     alignedTime;
 
+  private final TelemetryNumber
+    hTicksIndicator      = Telemetry.number("H Ticks To Turn"),
+    yawTicksIndicator    = Telemetry.number("Yaw Ticks To Turn"),
+    alignedTimeIndicator = Telemetry.number("KiwiLight Aligned Time");
+
+  private final TelemetryBoolean
+    aligningIndicator     = Telemetry.bool("Aligning"),
+    yawAlignedIndicator   = Telemetry.bool("Yaw Aligned"),
+    pitchAlignedIndicator = Telemetry.bool("Pitch Aligned"),
+    stableIndicator       = Telemetry.bool("KIWILIGHT STABLE");
+
   /**
    * Creates a new CyborgCommandAlignTurret.
    * @param turret Turret to align.
@@ -71,28 +117,18 @@ public class CyborgCommandAlignTurret extends CommandBase {
   @Override
   public void initialize() {
     //set yaw pid
-    double yawkP = Util.getAndSetDouble("Yaw Position kP", 0.009);
-    double yawkI = Util.getAndSetDouble("Yaw Position kI", 0.001);
-    double yawIZone = Util.getAndSetDouble("Yaw Position IZone", 100000);
-    double yawkD = Util.getAndSetDouble("Yaw Position KD", 0);
-    double yawkF = Util.getAndSetDouble("Yaw Position KF", 0);
-    double yawhighOutLimit = Util.getAndSetDouble("Turret Spin Inhibitor Yaw", 1);
-    yawhighOutLimit *= Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT;
-
-    turret.setYawPIDF(yawkP, yawkI, yawkD, yawkF, yawhighOutLimit, (int) yawIZone);
+    double yawhighOutLimit = yawHighOutLimit.get() * Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT;
+    turret.setYawPIDF(yawkP.get(), yawkI.get(), yawkD.get(), yawkF.get(), yawhighOutLimit, (int) yawIZone.get());
 
     //pitch pid
-    double pitchkP = Util.getAndSetDouble("Pitch Position kP", 5);
-    double pitchkI = Util.getAndSetDouble("Pitch Position kI", 0);
-    double pitchIZone = Util.getAndSetDouble("Pitch Position IZone", 75);
-    double pitchkD = Util.getAndSetDouble("Pitch Position kD", 0);
-    double pitchkF = Util.getAndSetDouble("Pitch Position kF", 0);
-    double pitchhighOutLimit = Util.getAndSetDouble("Pitch High Output", 1);
-
-    turret.setPitchPIDF(pitchkP, pitchkI, pitchkD, pitchkF, pitchhighOutLimit, (int) pitchIZone);
+    turret.setPitchPIDF(pitchkP.get(), pitchkI.get(), pitchkD.get(), pitchkF.get(), pitchHighOutLimit.get(), (int) pitchIZone.get());
 
-    SmartDashboard.putBoolean("Aligning", true);
+    aligningIndicator.set(true);
     targetPreviouslySeen = false;
+    lastFrameId = -1;
+    tracker.setGains(trackerAlpha.get(), trackerBeta.get());
+    tracker.reset();
+    yawHistory.clear();
     
     this.alignedTime = 0;
     this.lastAlignedTime = System.currentTimeMillis();
@@ -103,56 +139,58 @@ public class CyborgCommandAlignTurret extends CommandBase {
   public void execute() {
     Joystick operator = Robot.getRobotContainer().getOperator(); //in case no target
 
-    double horizontalAngle = kiwilight.getHorizontalAngleToTarget() * -1;
-    horizontalAngle += offset;
-    horizontalAngle *= Util.getAndSetDouble("Vision multiplier", 1);
+    //every decision this tick comes from one frame
+    kiwilight.getCurrentSnapshot(target);
+    boolean newFrame = target.getFrameId() != lastFrameId;
+    lastFrameId = target.getFrameId();
 
+    double now = Timer.getFPGATimestamp();
+    double horizontalTicksPerDegree = turret.getTotalYawTicks() / (double) Constants.TURRET_YAW_DEGREES;
     double horizontalPosition = turret.getYawPosition() * -1;
-    double horizontalTicks = turret.getTotalYawTicks();
-    double targetDistance = kiwilight.getDistanceToTarget();
+    double turretDegrees = horizontalPosition / horizontalTicksPerDegree;
+    yawHistory.add(now, turretDegrees);
+
+    //feed new frames to the tracker, measured from where the turret was when the frame was captured
+    if(newFrame && target.targetSpotted()) {
+      double captureTime = target.getCaptureTimestamp();
+      double turretDegreesAtCapture = yawHistory.get(captureTime);
+      double bearing = turretDegreesAtCapture - target.getHorizontalAngleToTarget();
+      tracker.update(bearing, target.getDistanceToTarget(), captureTime);
+    }
+
+    boolean tracking = tracker.isTracking(now);
 
     //horizontal angle
-    if(kiwilight.targetSpotted()) {
-      double horizontalTicksPerDegree = horizontalTicks / (double) Constants.TURRET_YAW_DEGREES;
-      double horizontalTicksToTurn = horizontalAngle * horizontalTicksPerDegree;
+    if(tracking) {
+      //aim where the target is predicted to be now, not where it was when the frame was taken
+      double horizontalAngle = tracker.getBearing(now) - turretDegrees;
+      horizontalAngle += offset;
+      horizontalAngle *= visionMultiplier.get();
 
-      SmartDashboard.putNumber("H Ticks To Turn", horizontalTicksToTurn);
-      SmartDashboard.putNumber("Yaw Ticks To Turn", horizontalTicksToTurn);
+      double horizontalTicksToTurn = horizontalAngle * horizontalTicksPerDegree;
+      hTicksIndicator.set(horizontalTicksToTurn);
+      yawTicksIndicator.set(horizontalTicksToTurn);
 
-      double newTargetPosition = (turret.getYawPosition() * -1) + horizontalTicksToTurn;
+      double newTargetPosition = horizontalPosition + horizontalTicksToTurn;
       turret.setYawPosition(newTargetPosition);
 
       yawAligned = Math.abs(newTargetPosition - horizontalPosition) < Constants.TURRET_YAW_ALLOWABLE_ERROR;
-      SmartDashboard.putBoolean("Yaw Aligned", yawAligned);
+      yawAlignedIndicator.set(yawAligned);
     } else {
       //disable motors
       turret.setYawPercentOutput(0);
     }
 
     //vertical angle
-    if(kiwilight.targetSpotted()) {
+    if(tracking) {
+      double targetDistance = tracker.getRange(now);
       double newPitchPosition = turret.getPitchPosition();
       if(targetDistance > 5) {
-        //use the cool parabola equation to calculate the pitch position
+        //use the cool parabola equation to calculate the pitch position. Coefficients come from the tuning profile.
         double
-          ax2 = 0,
-          bx = 0,
-          c = 0;
-          
-        switch(Robot.getRobotContainer().getAlignModel()) {
-          case NORMAL: {
-              ax2 = 0.1995 * Math.pow(targetDistance, 2);
-              bx  = -64.89 * targetDistance;
-              c   = -3703;
-            }
-            break;
-          case NEW_BALLS: {
-              ax2 = 0.1299 * Math.pow(targetDistance, 2);
-              bx = -49.79 * targetDistance;
-              c = -5627;
-            }
-            break;
-        }
+          ax2 = alignParabolaA.get() * Math.pow(targetDistance, 2),
+          bx  = alignParabolaB.get() * targetDistance,
+          c   = alignParabolaC.get();
 
         newPitchPosition = ax2 + bx + c;
 
@@ -163,22 +201,22 @@ public class CyborgCommandAlignTurret extends CommandBase {
         newPitchPosition = (-9.512 * targetDistance) -65.85;
       }
 
-      newPitchPosition += Util.getAndSetDouble("Align Degree Boost", 0);
+      newPitchPosition += alignDegreeBoost.get();
       turret.setPitchPosition(newPitchPosition);
 
       pitchAligned = Math.abs(newPitchPosition - turret.getPitchPosition()) < Constants.TURRET_PITCH_ALLOWABLE_ERROR;
-      SmartDashboard.putBoolean("Pitch Aligned", pitchAligned);
+      pitchAlignedIndicator.set(pitchAligned);
     } else {
       //pass input to driver
       turret.moveTurret(operator);
     }
     
     //rumble the operator controller if the target becomes spotted
-    if(!targetPreviouslySeen && kiwilight.targetSpotted()) {
+    if(!targetPreviouslySeen && tracking) {
       new CyborgCommandRumble(operator, 500, RumbleType.kLeftRumble).schedule();
     }
 
-    SmartDashboard.putBoolean("KIWILIGHT STABLE", stable());
+    stableIndicator.set(stable());
     if(stable()) {
       long timeSinceLastFrame = System.currentTimeMillis() - lastAlignedTime;
       alignedTime += timeSinceLastFrame;
@@ -187,9 +225,9 @@ public class CyborgCommandAlignTurret extends CommandBase {
       alignedTime = 0;
     }
 
-    SmartDashboard.putNumber("KiwiLight Aligned Time", alignedTime);
+    alignedTimeIndicator.set(alignedTime);
     
-    targetPreviouslySeen = kiwilight.targetSpotted();
+    targetPreviouslySeen = tracking;
   }
 
   // Called once the command ends or is interrupted.
@@ -198,7 +236,7 @@ public class CyborgCommandAlignTurret extends CommandBase {
     turret.setYawPercentOutput(0);
     turret.setPitchPercentOutput(0);
 
-    SmartDashboard.putBoolean("Aligning", false);
+    aligningIndicator.set(false);
   }
 
   // Returns true when the command should end.
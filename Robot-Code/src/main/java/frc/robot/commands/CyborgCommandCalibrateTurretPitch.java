@@ -10,10 +10,12 @@ package frc.robot.commands;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandCalibrateTurretPitch extends CommandBase {
   private SubsystemTurret turret;
+  private final TunableDouble calibrateSpeed = Tunable.getDouble("Calibrate Speed", 0.3);
 
   private boolean
     zeroing,
@@ -38,7 +40,7 @@ public class CyborgCommandCalibrateTurretPitch extends CommandBase {
   @Override
   public void execute() {
     if(zeroing) {
-      turret.setPitchPercentOutput(Util.getAndSetDouble("Calibrate Speed", 0.3));
+      turret.setPitchPercentOutput(calibrateSpeed.get());
       DriverStation.reportWarning("Looking for zero", false);
       if(turret.getPitchLowerLimit()) {
         turret.setCurrentPitchEncoderPosition(0);
@@ -46,7 +48,7 @@ public class CyborgCommandCalibrateTurretPitch extends CommandBase {
       }
     } else {
       DriverStation.reportWarning("Looking for max", false);
-      turret.setPitchPercentOutput(Util.getAndSetDouble("Calibrate Speed", 0.3) * -1);
+      turret.setPitchPercentOutput(calibrateSpeed.get() * -1);
 
       if(turret.attemptToSetTotalPitchTicks()) {
         finished = true;
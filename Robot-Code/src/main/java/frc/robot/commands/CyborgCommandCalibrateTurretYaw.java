@@ -10,10 +10,12 @@ package frc.robot.commands;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandCalibrateTurretYaw extends CommandBase {
   private SubsystemTurret turret;
+  private final TunableDouble calibrateSpeed = Tunable.getDouble("Calibrate Speed", 0.3);
   private boolean
     zeroing,
     finished;
@@ -37,7 +39,7 @@ public class CyborgCommandCalibrateTurretYaw extends CommandBase {
   @Override
   public void execute() {    
     if(zeroing) {
-      turret.setYawPercentOutput(Util.getAndSetDouble("Calibrate Speed", 0.3) * -1);
+      turret.setYawPercentOutput(calibrateSpeed.get() * -1);
 
       if(turret.getYawLeftLimit()) {
         turret.setCurrentYawEncoderPosition(0);
@@ -45,7 +47,7 @@ public class CyborgCommandCalibrateTurretYaw extends CommandBase {
       }
     } else {
       DriverStation.reportWarning("Looking For Max", false);
-      turret.setYawPercentOutput(Util.getAndSetDouble("Calibrate Speed", 0.3));
+      turret.setYawPercentOutput(calibrateSpeed.get());
       if(turret.attemptToSetTotalYawTicks()) {
         finished = true;
       }
@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands;
+
+import java.io.IOException;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj2.command.CommandBase;
+import frc.robot.Constants;
+import frc.robot.subsystems.SubsystemDrive;
+import frc.robot.util.OdometryCapture;
+import frc.robot.util.PositionTracker;
+
+/**
+ * Captures raw drivetrain samples to a file so that PositionTracker can be replayed off the robot.
+ * Does not require the drivetrain, so it can run alongside any drive command.
+ */
+public class CyborgCommandCaptureOdometry extends CommandBase {
+  private SubsystemDrive drivetrain;
+  private PositionTracker tracker;
+  private OdometryCapture capture;
+
+  /** Creates a new CyborgCommandCaptureOdometry. */
+  public CyborgCommandCaptureOdometry(SubsystemDrive drivetrain, PositionTracker tracker) {
+    this.drivetrain = drivetrain;
+    this.tracker = tracker;
+    this.capture = new OdometryCapture(Constants.ODOMETRY_CAPTURE_FILE);
+  }
+
+  // Called when the command is initially scheduled.
+  @Override
+  public void initialize() {
+    if(!capture.start(tracker.getPositionAndHeading())) {
+      DriverStation.reportError("CyborgCommandCaptureOdometry could not open " + Constants.ODOMETRY_CAPTURE_FILE, false);
+    }
+  }
+
+  // Called every time the scheduler runs while the command is scheduled.
+  @Override
+  public void execute() {
+    try {
+      capture.record(RobotController.getFPGATime(), drivetrain.getLeftPosition(), drivetrain.getRightPosition(), drivetrain.getGyroAngle());
+    } catch(IOException ex) {
+      DriverStation.reportError("IO EXCEPTION", true);
+    }
+  }
+
+  // Called once the command ends or is interrupted.
+  @Override
+  public void end(boolean interrupted) {
+    try {
+      capture.stop();
+      DriverStation.reportWarning("Captured " + capture.getSampleCount() + " odometry samples.", false);
+    } catch(IOException ex) {
+      DriverStation.reportError("IO EXCEPTION", true);
+    }
+  }
+
+  // Returns true when the command should end.
+  @Override
+  public boolean isFinished() {
+    return false;
+  }
+
+  @Override
+  public boolean runsWhenDisabled() {
+    return true;
+  }
+}
@@ -0,0 +1,45 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.CommandBase;
+import frc.robot.Constants;
+import frc.robot.util.VisionIngest;
+
+/**
+ * Captures every received Jevois and KiwiLight packet to a file so that vision can be replayed off the robot
+ * with VisionReplayServer. Requires no subsystems, so it can run alongside anything.
+ */
+public class CyborgCommandCaptureVision extends CommandBase {
+  /** Creates a new CyborgCommandCaptureVision. */
+  public CyborgCommandCaptureVision() {
+  }
+
+  // Called when the command is initially scheduled.
+  @Override
+  public void initialize() {
+    if(!VisionIngest.startCapture(Constants.VISION_CAPTURE_FILE)) {
+      DriverStation.reportError("CyborgCommandCaptureVision could not open " + Constants.VISION_CAPTURE_FILE, false);
+    }
+  }
+
+  // Called once the command ends or is interrupted.
+  @Override
+  public void end(boolean interrupted) {
+    DriverStation.reportWarning("Captured " + VisionIngest.stopCapture() + " vision packets.", false);
+  }
+
+  // Returns true when the command should end.
+  @Override
+  public boolean isFinished() {
+    return false;
+  }
+
+  @Override
+  public boolean runsWhenDisabled() {
+    return true;
+  }
+}
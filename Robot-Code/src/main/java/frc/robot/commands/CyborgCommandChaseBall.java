@@ -4,25 +4,61 @@
 
 package frc.robot.commands;
 
-import edu.wpi.first.wpilibj.controller.PIDController;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandBase;
-import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import frc.robot.Constants;
+import frc.robot.Robot;
 import frc.robot.subsystems.SubsystemDrive;
 import frc.robot.subsystems.SubsystemFeeder;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemJevois;
+import frc.robot.util.CameraModel;
+import frc.robot.util.Point2D;
+import frc.robot.util.PowerCellTracker;
+import frc.robot.util.SampleHistory;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Util;
 
+/**
+ * Drives to a power cell and picks it up. The chased cell is placed on the field with the Jevois camera model
+ * and the robot's position, and the robot drives an arc to that point. Each new frame refines the point rather than
+ * steering the robot directly, so the arc stays smooth while the robot turns and the cell moves in the image.
+ * Cells are placed from where the robot was when the frame was captured, not where it is when the frame arrives.
+ */
 public class CyborgCommandChaseBall extends CommandBase {
   private SubsystemDrive drivetrain;
   private SubsystemJevois jevois;
   private SubsystemIntake intake;
   private SubsystemFeeder feeder;
-  private PIDController headingController;
-  private boolean ballSpottedBefore;
+
+  //id of the tracked ball being chased, or 0 if none
+  private int chasedId;
+  private long lastFrameSequence;
+
+  //field position of the chased ball, or null if there is nothing to drive to
+  private Point2D target;
+
+  //where the robot has been, for placing balls from where it was when a frame was captured. Heading is unwrapped so it interpolates across 0
+  private final SampleHistory
+    xHistory       = new SampleHistory(Constants.CHASE_POSE_HISTORY_LENGTH),
+    yHistory       = new SampleHistory(Constants.CHASE_POSE_HISTORY_LENGTH),
+    headingHistory = new SampleHistory(Constants.CHASE_POSE_HISTORY_LENGTH);
+
+  private double
+    lastHeading,
+    unwrappedHeading;
+
+  private final TunableDouble
+    chaseBasePower = Tunable.getDouble("Chase Base Power", 0.3),
+    chaseRamp      = Tunable.getDouble("Chase Ramp", 1);
+
+  private final TelemetryNumber
+    distanceIndicator  = Telemetry.number("Chase Distance"),
+    curvatureIndicator = Telemetry.number("Chase Curvature");
 
   /** Creates a new CyborgCommandChaseBall. */
   public CyborgCommandChaseBall(SubsystemDrive drivetrain, SubsystemJevois jevois, SubsystemIntake intake, SubsystemFeeder feeder) {
@@ -36,50 +72,92 @@ public class CyborgCommandChaseBall extends CommandBase {
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    double headingP = Util.getAndSetDouble("Chase Heading kP", 0.001);
-    double headingI = Util.getAndSetDouble("Chase Heading kI", 0);
-    double headingD = Util.getAndSetDouble("Chase Heading kD", 0);
-    headingController = new PIDController(headingP, headingI, headingD);
-    headingController.setSetpoint(0);
+    chasedId = 0;
+    lastFrameSequence = -1;
+    target = null;
 
-    ballSpottedBefore = false;
+    xHistory.clear();
+    yHistory.clear();
+    headingHistory.clear();
+    lastHeading = Robot.getRobotContainer().getRobotPositionAndHeading().getHeading();
+    unwrappedHeading = lastHeading;
 
-    drivetrain.setRamps(Util.getAndSetDouble("Chase Ramp", 1));
+    drivetrain.setRamps(chaseRamp.get());
   }
 
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double
-      basePower = Util.getAndSetDouble("Chase Base Power", 0),
-      leftPower = basePower,
-      rightPower = basePower;
-
-    boolean spotted = jevois.ballSpotted();
-    if(spotted) {
-      //calcuate power needed for heading correction
-      int headingChange = getAngleFromImagePosition(jevois.getHorizontalPosition());
-      headingChange += Util.getAndSetDouble("Chase Offset", 10);
-
-      double headingCorrection = headingController.calculate(headingChange);
-      headingCorrection = (headingCorrection > 1 ? 1 : (headingCorrection < -1 ? -1 : headingCorrection));
-
-      //calculate power required to drive
-      leftPower = basePower + headingCorrection;
-      rightPower = basePower - headingCorrection;
-
-      SmartDashboard.putNumber("Chase Heading Correction", headingCorrection);
-    } else if(ballSpottedBefore) {
+    Point2D robot = Robot.getRobotContainer().getRobotPositionAndHeading();
+    double now = Timer.getFPGATimestamp();
+    unwrappedHeading += Math.IEEEremainder(robot.getHeading() - lastHeading, 360);
+    lastHeading = robot.getHeading();
+    xHistory.add(now, robot.getX());
+    yHistory.add(now, robot.getY());
+    headingHistory.add(now, unwrappedHeading);
+
+    //keep chasing the same ball. Its track only ends once it has been out of sight for the track timeout, which is when it is picked up
+    PowerCellTracker powerCells = jevois.getTracker();
+    int chased = (chasedId > 0 ? powerCells.indexOf(chasedId) : -1);
+    if(chased < 0 && chasedId > 0) {
       ConstantCommandDriveIntake driveIntake = new ConstantCommandDriveIntake(intake, feeder);
       CyborgCommandWait wait = new CyborgCommandWait(Constants.JEVOIS_SUCK_TIME);
       Command suck = driveIntake.raceWith(wait);
       suck.schedule();
+      chasedId = 0;
+    }
+
+    if(chased < 0 && powerCells.getCount() > 0) {
+      chased = 0; //closest
+      chasedId = powerCells.getId(chased);
+      lastFrameSequence = -1;
+    }
+
+    //place the chased ball on the field again whenever the camera has seen it again
+    long frameSequence = jevois.getFrame().getSequence();
+    if(chased >= 0 && frameSequence != lastFrameSequence) {
+      double captureTime = jevois.getFrame().getCaptureTime();
+      Point2D robotAtCapture = new Point2D(xHistory.get(captureTime), yHistory.get(captureTime), headingHistory.get(captureTime));
+      CameraModel camera = jevois.getCameraModel();
+      Point2D seen = camera.getFieldPosition(robotAtCapture, powerCells.getX(chased), powerCells.getY(chased), powerCells.getRadius(chased));
+      if(seen != null) {
+        target = seen;
+      }
+
+      lastFrameSequence = frameSequence;
+    }
+
+    double
+      basePower = chaseBasePower.get(),
+      leftPower = 0,
+      rightPower = 0;
+
+    if(target != null) {
+      double distance = robot.getDistanceFrom(target);
+      if(chased < 0 && distance < Constants.CHASE_ARRIVE_DISTANCE) {
+        target = null; //the ball was lost and the robot is where it was, so it has been picked up or is gone
+      } else {
+        //the arc through the robot and the target that leaves the robot on its current heading: curvature = 2sin(a) / d
+        double angleToTarget = Util.getAngleToHeading(robot.getHeading(), robot.getHeadingTo(target));
+        double curvature = (distance < Constants.CHASE_ARRIVE_DISTANCE ? 0 : 2 * Math.sin(Math.toRadians(angleToTarget)) / distance);
+        double turn = curvature * Constants.DRIVETRAIN_WHEEL_BASE_WIDTH / 2;
+
+        //positive angles are counterclockwise, so the right side drives faster
+        leftPower = basePower * (1 - turn);
+        rightPower = basePower * (1 + turn);
+        double largest = Math.max(Math.abs(leftPower), Math.abs(rightPower));
+        if(largest > 1) {
+          leftPower /= largest;
+          rightPower /= largest;
+        }
+
+        distanceIndicator.set(distance);
+        curvatureIndicator.set(curvature);
+      }
     }
 
     drivetrain.setLeftPercentOutput(leftPower);
     drivetrain.setRightPercentOutput(rightPower);
-
-    ballSpottedBefore = spotted;
   }
 
   // Called once the command ends or is interrupted.
@@ -95,13 +173,4 @@ public class CyborgCommandChaseBall extends CommandBase {
   public boolean isFinished() {
     return false;
   }
-
-  /**
-   * Converts a horizontal position in pixels to a heading change in degrees.
-   * @param imagePosition X position in image space.
-   * @return Heading change in degrees.
-   */
-  private int getAngleFromImagePosition(int imagePosition) {
-    return (int) (imagePosition * (90 / (double) Constants.JEVOIS_RESOLUTION_X));
-  }
 }
@@ -8,11 +8,13 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemDrive;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandDriveDistance extends CommandBase {
   private SubsystemDrive drivetrain;
@@ -22,6 +24,17 @@ public class CyborgCommandDriveDistance extends CommandBase {
     rightDestination,
     inhibitor;
 
+  private final TunableDouble
+    kP    = Tunable.getDouble("Dumb Drive Distance kP", 0.03),
+    kI    = Tunable.getDouble("Dumb Drive Distance kI", 0),
+    kD    = Tunable.getDouble("Dumb Drive Distance kD", 0),
+    kF    = Tunable.getDouble("Dumb Drive Distance kF", 0),
+    iZone = Tunable.getDouble("Dumb Drive Distance IZone", 0);
+
+  private final TelemetryNumber
+    leftTargetIndicator  = Telemetry.number("Drive Target Left"),
+    rightTargetIndicator = Telemetry.number("Drive Target Right");
+
   /**
    * Creates a new CyborgCommandDriveDistance.
    * @param drivetrain the drivetrain to use.
@@ -45,20 +58,13 @@ public class CyborgCommandDriveDistance extends CommandBase {
     this.leftDestination = drivetrain.getLeftPosition() + rotations;
     this.rightDestination = drivetrain.getRightPosition() + rotations;
 
-    SmartDashboard.putNumber("Drive Target Left", leftDestination);
-    SmartDashboard.putNumber("Drive Target Right", rightDestination);
+    leftTargetIndicator.set(leftDestination);
+    rightTargetIndicator.set(rightDestination);
 
     DriverStation.reportWarning("Drive Target Left: " + Double.valueOf(leftDestination).toString(), false);
     DriverStation.reportWarning("Drive Target Right: " + Double.valueOf(rightDestination).toString(), false);
 
-    double p = Util.getAndSetDouble("Dumb Drive Distance kP", 0.03);
-    double i = Util.getAndSetDouble("Dumb Drive Distance kI", 0);
-    double d = Util.getAndSetDouble("Dumb Drive Distance kD", 0);
-    double f = Util.getAndSetDouble("Dumb Drive Distance kF", 0);
-    double iZone = Util.getAndSetDouble("Dumb Drive Distance IZone", 0);
-    double out = inhibitor;
-
-    drivetrain.setPIDConstants(p, i, d, f, iZone, out);
+    drivetrain.setPIDConstants(kP.get(), kI.get(), kD.get(), kF.get(), iZone.get(), inhibitor);
   }
 
   // Called every time the scheduler runs while the command is scheduled.
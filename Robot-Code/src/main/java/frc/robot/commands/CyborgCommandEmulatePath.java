@@ -11,17 +11,38 @@ import frc.robot.Robot;
 import frc.robot.subsystems.SubsystemDrive;
 import frc.robot.util.PathRecorder;
 import frc.robot.util.Point2D;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Util;
 import frc.robot.util.Path;
 
 public class CyborgCommandEmulatePath extends CommandBase {
   private SubsystemDrive drivetrain;
   private Path path;
+  private Path preloadedPath;
   private int currentPointIndex;
   private boolean isForwards;
   private String pointsFilePath;
   private PathRecorder recorder;
 
+  private final TunableDouble
+    immediatePathSize            = Tunable.getDouble("Emulate Immediate Path Size", 5),
+    pointsToSkip                 = Tunable.getDouble("Emulate Points to skip", 2),
+    positionalCorrectionDistance = Tunable.getDouble("Emulate Positional Correction Distance", 24),
+    positionalCorrectionInhibitor = Tunable.getDouble("Emulate Positional Correction Inhibitor", 1),
+    overturn                     = Tunable.getDouble("Emulate Overturn", 1.2),
+    maxSpeed                     = Tunable.getDouble("Emulate Max Speed", 90),
+    minSpeed                     = Tunable.getDouble("Emulate Min Speed", 50),
+    coefficientOfFriction        = Tunable.getDouble("Emulate Coefficient of Friction", 1), //defaults to the approximate CoF of rubber on concrete. No Unit.
+    velocitykP                   = Tunable.getDouble("Drive Velocity kP", 0.0004),
+    velocitykI                   = Tunable.getDouble("Drive Velocity kI", 0),
+    velocitykD                   = Tunable.getDouble("Drive Velocity kD", 0),
+    velocitykF                   = Tunable.getDouble("Drive Velocity kF", 0),
+    velocityIZone                = Tunable.getDouble("Drive Velocity IZone", 0),
+    velocityOutLimitLow          = Tunable.getDouble("Drive Velocity Out Limit Low", -1),
+    velocityOutLimitHigh         = Tunable.getDouble("Drive Velocity Out Limit High", 1),
+    pidRamp                      = Tunable.getDouble("Drive PID Ramp", 0.5);
+
   /** Creates a new CyborgCommandEmulatePath. */
   public CyborgCommandEmulatePath(SubsystemDrive drivetrain, String filePath) {
     this.drivetrain = drivetrain;
@@ -31,6 +52,14 @@ public class CyborgCommandEmulatePath extends CommandBase {
     addRequirements(drivetrain);
   }
 
+  /**
+   * Creates a new CyborgCommandEmulatePath that drives a path that is already loaded, so starting it does not read a file.
+   */
+  public CyborgCommandEmulatePath(SubsystemDrive drivetrain, Path path) {
+    this(drivetrain, (String) null);
+    this.preloadedPath = path;
+  }
+
   public CyborgCommandEmulatePath(SubsystemDrive drivetrain) {
     this(drivetrain, Constants.PATH_RECORD_LOCATION);
   }
@@ -41,25 +70,26 @@ public class CyborgCommandEmulatePath extends CommandBase {
     currentPointIndex = 1;
     recorder.init();
 
-    path = new Path(pointsFilePath);
+    path = (preloadedPath != null ? preloadedPath : new Path(pointsFilePath));
     if(!path.isValid()) {
       DriverStation.reportError("CyborgCommandEmulatePath: Error parsing path! Will not emulate!", false);
       return;
     }
 
+    //drivetrain closed loop ramp
+    drivetrain.setPIDRamp(pidRamp.get());
+
     //update the PID Constants for heading.
-    double 
-      kP           = Util.getAndSetDouble("Drive Velocity kP", 0.0004),
-      kI           = Util.getAndSetDouble("Drive Velocity kI", 0),
-      kD           = Util.getAndSetDouble("Drive Velocity kD", 0),
-      kF           = Util.getAndSetDouble("Drive Velocity kF", 0),
-      izone        = Util.getAndSetDouble("Drive Velocity IZone", 0),
-      outLimitLow  = Util.getAndSetDouble("Drive Velocity Out Limit Low", -1),
-      outLimitHigh = Util.getAndSetDouble("Drive Velocity Out Limit High", 1);
+    drivetrain.setPIDConstants(
+      velocitykP.get(),
+      velocitykI.get(),
+      velocitykD.get(),
+      velocitykF.get(),
+      velocityIZone.get(),
+      velocityOutLimitLow.get(),
+      velocityOutLimitHigh.get()
+    );
 
-    //drivetrain closed loop ramp
-    drivetrain.setPIDRamp(Util.getAndSetDouble("Drive PID Ramp", 0.5));
-    drivetrain.setPIDConstants(kP, kI, kD, kF, izone, outLimitLow, outLimitHigh);
     isForwards = new Point2D(0, 0, 0).getHeadingTo(path.getPoints()[1]) < 90;
   }
 
@@ -99,8 +129,8 @@ public class CyborgCommandEmulatePath extends CommandBase {
     this.isForwards = Math.abs(headingDifference) < 90;
 
     //Resolve the path of points that are immediately ahead of the robot. This array will include the robot's location as the first point.
-    int immediatePathSize = (int) Util.getAndSetDouble("Emulate Immediate Path Size", 5);
-    int pointsToSkip = (int) Util.getAndSetDouble("Emulate Points to skip", 2);
+    int immediatePathSize = (int) this.immediatePathSize.get();
+    int pointsToSkip = (int) this.pointsToSkip.get();
     Point2D[] nextPoints = getNextNPoints(points, currentPointIndex + pointsToSkip, immediatePathSize);
     Point2D[] immediatePath = new Point2D[nextPoints.length + 1];
 
@@ -121,13 +151,13 @@ public class CyborgCommandEmulatePath extends CommandBase {
 
     //add positional correction to heading by aiming for 2 points ahead of us
     Point2D targetPoint = points[currentPointIndex + 2];
-    if(currentLocation.getDistanceFrom(targetPoint) > Util.getAndSetDouble("Emulate Positional Correction Distance", 24)) {
+    if(currentLocation.getDistanceFrom(targetPoint) > positionalCorrectionDistance.get()) {
       double positionalCorrection = Util.getAngleToHeading(forwardsify(currentLocation.getHeading()), currentLocation.getHeadingTo(targetPoint));
-      positionalCorrection *= currentLocation.getDistanceFrom(targetPoint) * Util.getAndSetDouble("Emulate Positional Correction Inhibitor", 1);
+      positionalCorrection *= currentLocation.getDistanceFrom(targetPoint) * positionalCorrectionInhibitor.get();
       immediateTurn += positionalCorrection;
     }
     
-    immediateTurn *= Util.getAndSetDouble("Emulate Overturn", 1.2);
+    immediateTurn *= overturn.get();
 
     //We found that the algorithm calculates a backwards turn to be half as much as a fowards turn, so we correct that here. When the season is over, we will find the actual reason that this happens.
     if(!isForwards) {
@@ -173,7 +203,7 @@ public class CyborgCommandEmulatePath extends CommandBase {
       drivetrain.setLeftVelocity(leftVelocity);
       drivetrain.setRightVelocity(rightVelocity);
     } else {
-      double baseVelocity = Util.getAndSetDouble("Emulate Max Speed", 40);
+      double baseVelocity = maxSpeed.get();
       if(!isForwards) {
         baseVelocity *= -1;
       }
@@ -205,7 +235,7 @@ public class CyborgCommandEmulatePath extends CommandBase {
   // Returns true when the command should end.
   @Override
   public boolean isFinished() {
-    return currentPointIndex >= path.getPoints().length - Util.getAndSetDouble("Emulate Points to skip", 2) - 2; //command will finish when the last point is acheived.
+    return currentPointIndex >= path.getPoints().length - pointsToSkip.get() - 2; //command will finish when the last point is acheived.
   }
 
   /**
@@ -296,14 +326,14 @@ public class CyborgCommandEmulatePath extends CommandBase {
    * @return The best speed for the turn in in/sec
    */
   private double calculateBestTangentialSpeed(double turnRadius) {
-    double maxSpeed = Util.getAndSetDouble("Emulate Max Speed", 90);
-    double minSpeed = Util.getAndSetDouble("Emulate Min Speed", 50);
+    double maxSpeed = this.maxSpeed.get();
+    double minSpeed = this.minSpeed.get();
     if(Double.isNaN(turnRadius)) {
       return maxSpeed;
     }
 
     //gather needed variables (coefficient of friction, normal force, and mass) and convert to SI units.
-    double coefficientOfFriction = Util.getAndSetDouble("Emulate Coefficient of Friction", 1); //defaults to the approximate CoF of rubber on concrete. No Unit.
+    double coefficientOfFriction = this.coefficientOfFriction.get();
     double normalForce = Util.poundForceToNewtons(Constants.ROBOT_WEIGHT_POUND_FORCE); //unit: N. There is no extra downwards force on the robot so Fn == Fg
     double robotMass   = Util.weightLBFToMassKG(Constants.ROBOT_WEIGHT_POUND_FORCE); //unit: kg
     double radius      = Math.abs(Util.inchesToMeters(turnRadius)); //unit: m. We can absolute value it because we dont care about the direction of the arc.
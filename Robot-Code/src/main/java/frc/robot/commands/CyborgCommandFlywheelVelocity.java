@@ -8,16 +8,29 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemFlywheel;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandFlywheelVelocity extends CommandBase {
   private SubsystemFlywheel flywheel;
   private boolean rpmOverridden;
   private double overrideRPM;
+  private final TunableDouble
+    targetRPM     = Tunable.getDouble("FW Velocity Target", 3000),
+    kP            = Tunable.getDouble("FW Velocity kP", 0.0014),
+    kI            = Tunable.getDouble("FW Velocity kI", 0.000005),
+    kD            = Tunable.getDouble("FW Velocity kD", 0),
+    kF            = Tunable.getDouble("FW Velocity kF", 0.000185),
+    upperOutLimit = Tunable.getDouble("FW Velocity Max Out", 1),
+    lowerOutLimit = Tunable.getDouble("FW Velocity Min Out", -1),
+    iZone         = Tunable.getDouble("FW Velocity IZone", 100);
+
+  private final TelemetryBoolean drivingIndicator = Telemetry.bool("Drive FW Velocity");
 
   /**
    * Creates a new CyborgCommandFlywheelVelocity.
@@ -27,31 +40,21 @@ public class CyborgCommandFlywheelVelocity extends CommandBase {
     this.rpmOverridden = false;
     this.overrideRPM = 0;
     addRequirements(this.flywheel);
-    SmartDashboard.putBoolean("Drive FW Velocity", false);
+    drivingIndicator.set(false);
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    double p = Util.getAndSetDouble("FW Velocity kP", 0.0014);
-    double i = Util.getAndSetDouble("FW Velocity kI", 0.000005);
-    double d = Util.getAndSetDouble("FW Velocity kD", 0);
-    double f = Util.getAndSetDouble("FW Velocity kF", 0.000185);
-
-    double upperOutLimit = Util.getAndSetDouble("FW Velocity Max Out", 1);
-    double lowerOutLimit = Util.getAndSetDouble("FW Velocity Min Out", -1);
-
-    double izone = Util.getAndSetDouble("FW Velocity IZone", 100);
-
-    flywheel.setPIDF(p, i, d, f, lowerOutLimit, upperOutLimit, izone);
+    flywheel.setPIDF(kP.get(), kI.get(), kD.get(), kF.get(), lowerOutLimit.get(), upperOutLimit.get(), iZone.get());
 
-    SmartDashboard.putBoolean("Drive FW Velocity", true);
+    drivingIndicator.set(true);
   }
 
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double speed = Util.getAndSetDouble("FW Velocity Target", 3000) / Constants.FLYWHEEL_GEAR_RATIO;
+    double speed = targetRPM.get() / Constants.FLYWHEEL_GEAR_RATIO;
     if(rpmOverridden) {
       speed = overrideRPM;
     }
@@ -64,7 +67,7 @@ public class CyborgCommandFlywheelVelocity extends CommandBase {
   public void end(boolean interrupted) {
     flywheel.setVelocity(0);
     flywheel.setFlywheelPercentOutput(0);
-    SmartDashboard.putBoolean("Drive FW Velocity", false);
+    drivingIndicator.set(false);
 
     if(interrupted) {
       DriverStation.reportError("FW VELOCITY PID WAS INTERRUPTED", false);
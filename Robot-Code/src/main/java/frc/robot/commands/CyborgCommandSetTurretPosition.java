@@ -12,7 +12,8 @@ import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemReceiver;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandSetTurretPosition extends CommandBase {
   private SubsystemTurret turret;
@@ -22,6 +23,20 @@ public class CyborgCommandSetTurretPosition extends CommandBase {
     yawPosition,
     pitchPosition;
 
+  private final TunableDouble
+    yawkP             = Tunable.getDouble("Yaw Position kP", 0.009),
+    yawkI             = Tunable.getDouble("Yaw Position kI", 0.001),
+    yawIZone          = Tunable.getDouble("Yaw Position IZone", 100000),
+    yawkD             = Tunable.getDouble("Yaw Position KD", 0),
+    yawkF             = Tunable.getDouble("Yaw Position KF", 0),
+    yawHighOutLimit   = Tunable.getDouble("Yaw High Output", 1),
+    pitchkP           = Tunable.getDouble("Pitch Position kP", 5),
+    pitchkI           = Tunable.getDouble("Pitch Position kI", 0),
+    pitchIZone        = Tunable.getDouble("Pitch Position IZone", 75),
+    pitchkD           = Tunable.getDouble("Pitch Position kD", 0),
+    pitchkF           = Tunable.getDouble("Pitch Position kF", 0),
+    pitchHighOutLimit = Tunable.getDouble("Pitch High Output", 1);
+
   /**
    * Creates a new CyborgCommandSetTurretPosition.
    * @param turret The turret of the robot.
@@ -53,24 +68,10 @@ public class CyborgCommandSetTurretPosition extends CommandBase {
   @Override
   public void initialize() {
     //set yaw pid
-    double yawkP = Util.getAndSetDouble("Yaw Position kP", 0.009);
-    double yawkI = Util.getAndSetDouble("Yaw Position kI", 0.001);
-    double yawIZone = Util.getAndSetDouble("Yaw Position IZone", 100000);
-    double yawkD = Util.getAndSetDouble("Yaw Position KD", 0);
-    double yawkF = Util.getAndSetDouble("Yaw Position KF", 0);
-    double yawhighOutLimit = Util.getAndSetDouble("Yaw High Output", 1);
-
-    turret.setYawPIDF(yawkP, yawkI, yawkD, yawkF, yawhighOutLimit, (int) yawIZone);
+    turret.setYawPIDF(yawkP.get(), yawkI.get(), yawkD.get(), yawkF.get(), yawHighOutLimit.get(), (int) yawIZone.get());
 
     //pitch pid
-    double pitchkP = Util.getAndSetDouble("Pitch Position kP", 5);
-    double pitchkI = Util.getAndSetDouble("Pitch Position kI", 0);
-    double pitchIZone = Util.getAndSetDouble("Pitch Position IZone", 75);
-    double pitchkD = Util.getAndSetDouble("Pitch Position kD", 0);
-    double pitchkF = Util.getAndSetDouble("Pitch Position kF", 0);
-    double pitchhighOutLimit = Util.getAndSetDouble("Pitch High Output", 1);
-
-    turret.setPitchPIDF(pitchkP, pitchkI, pitchkD, pitchkF, pitchhighOutLimit, (int) pitchIZone);
+    turret.setPitchPIDF(pitchkP.get(), pitchkI.get(), pitchkD.get(), pitchkF.get(), pitchHighOutLimit.get(), (int) pitchIZone.get());
   }
 
   // Called every time the scheduler runs while the command is scheduled.
@@ -8,14 +8,20 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
 import frc.robot.subsystems.SubsystemFeeder;
 import frc.robot.subsystems.SubsystemFlywheel;
 import frc.robot.subsystems.SubsystemIntake;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.DataLogger;
+import frc.robot.util.LogSignal;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 /**
  * Autonomously shoots a specified number of power cells, or ends if no balls were shot in a specified time period.
@@ -38,6 +44,24 @@ public class CyborgCommandShootPayload extends CommandBase {
     lastFrameStable,
     runIntake;
 
+  private final TunableDouble
+    flywheelTarget  = Tunable.getDouble("FW Velocity Target", 6000),
+    slapSpeed       = Tunable.getDouble("Slap Speed", 0.5),
+    beatSpeed       = Tunable.getDouble("Beat Speed", 1),
+    feedSpeed       = Tunable.getDouble("Feed Speed", 1),
+    ballShotTimeout = Tunable.getDouble("Ball Shot Timeout", 100),
+    eatSpeed        = Tunable.getDouble("Eat Speed", 1);
+
+  private final LogSignal
+    flywheelRPMSignal    = DataLogger.signal("Shoot Payload/Flywheel RPM", LogSignalType.DOUBLE, "rpm"),
+    stableRPMSignal      = DataLogger.signal("Shoot Payload/Stable RPM", LogSignalType.DOUBLE, "rpm"),
+    flywheelStableSignal = DataLogger.signal("Shoot Payload/Flywheel Stable", LogSignalType.BOOLEAN, ""),
+    ballsShotSignal      = DataLogger.signal("Shoot Payload/Balls Shot", LogSignalType.INTEGER, "");
+
+  private final TelemetryNumber ballsShotIndicator = Telemetry.number("Auto Balls Shot");
+
+  private final TelemetryBoolean flywheelStableIndicator = Telemetry.bool("Auto Flywheel Stable");
+
   /**
    * Creates a new CyborgCommandShootPayload.
    * @param turret the Turret to use.
@@ -91,20 +115,22 @@ public class CyborgCommandShootPayload extends CommandBase {
     double currentFlywheelRPM = this.flywheel.getVelocity();
     // boolean flywheelStable = currentFlywheelRPM >= Constants.FLYWHEEL_STABLE_RPM;
 
-    double fwStableRPM = Util.getAndSetDouble("FW Velocity Target", 6000) - 250;
+    double fwStableRPM = flywheelTarget.get() - 250;
     if(Constants.AUTO_OVERREV_TURRET) {
       fwStableRPM += Constants.AUTO_OVERREV_EXTRA_RPM;
     }
 
     boolean flywheelStable = currentFlywheelRPM >= fwStableRPM;
 
-    DriverStation.reportWarning("flywheel stable: " + (flywheelStable ? "Yes" : "No") + " | current Flywheel RPM: " + Double.valueOf(currentFlywheelRPM).toString() + " | FW stable RPM: " + Double.valueOf(fwStableRPM).toString(), false);
+    flywheelRPMSignal.append(currentFlywheelRPM);
+    stableRPMSignal.append(fwStableRPM);
+    flywheelStableSignal.append(flywheelStable);
 
     //decide whether or not to drive the feeder
     if(flywheelStable) { 
-      intake.driveSlapper(Util.getAndSetDouble("Slap Speed", 0.5));
-      feeder.driveBeater(Util.getAndSetDouble("Beat Speed", 1));
-      feeder.driveFeeder(Util.getAndSetDouble("Feed Speed", 1));
+      intake.driveSlapper(slapSpeed.get());
+      feeder.driveBeater(beatSpeed.get());
+      feeder.driveFeeder(feedSpeed.get());
       lastFrameStable = true;
       turret.setPitchPositioningDisabled(true);
     } else if(!Constants.AUTO_OVERREV_TURRET) {
@@ -115,7 +141,7 @@ public class CyborgCommandShootPayload extends CommandBase {
     }
 
     if(lastFrameStable && !flywheelStable) { //bro, rpm was stable last time, so we just shot a ball
-      if(timeSinceLastShot >= Util.getAndSetDouble("Ball Shot Timeout", 100)) {
+      if(timeSinceLastShot >= ballShotTimeout.get()) {
         ballsShot++;
       }
 
@@ -124,12 +150,14 @@ public class CyborgCommandShootPayload extends CommandBase {
     }
 
     if(runIntake) {
-      intake.driveEater(Util.getAndSetDouble("Eat Speed", 1));
+      intake.driveEater(eatSpeed.get());
     }
 
-    SmartDashboard.putBoolean("Auto Flywheel Stable", flywheelStable);
+    ballsShotSignal.append(ballsShot);
+
+    flywheelStableIndicator.set(flywheelStable);
     // SmartDashboard.putBoolean("KiwiLight Aligned", kiwilightStable());
-    SmartDashboard.putNumber("Auto Balls Shot", ballsShot);
+    ballsShotIndicator.set(ballsShot);
   }
 
   // Called once the command ends or is interrupted.
@@ -9,11 +9,13 @@ package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.controller.PIDController;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemDrive;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 /**
  * Drives a specified distance while maintaining a heading.
@@ -38,6 +40,21 @@ public class CyborgCommandSmartDriveDistance extends CommandBase {
     distanceController,
     headingController;
 
+  private final TunableDouble
+    headingInhibitor = Tunable.getDouble("Drive Distance Heading Inhibitor", 0.3),
+    testDistance     = Tunable.getDouble("SDD Test Distance", 0),
+    testPower        = Tunable.getDouble("SDD Test Power", 0),
+    distancekP       = Tunable.getDouble("Drive Distance kP", 0.03),
+    distancekI       = Tunable.getDouble("Drive Distance kI", 0),
+    distancekD       = Tunable.getDouble("Drive Distance kD", 0),
+    headingkP        = Tunable.getDouble("Drive Heading kP", 0.05),
+    headingkI        = Tunable.getDouble("Drive Heading kI", 0),
+    headingkD        = Tunable.getDouble("Drive Heading kD", 0);
+
+  private final TelemetryNumber
+    distanceIndicator = Telemetry.number("Drive Distance Travelled"),
+    headingIndicator  = Telemetry.number("Drive Heading");
+
   /**
    * Creates a new CyborgCommandSmartDriveDistance.
    * @param drivetrain the drivetrain to drive.
@@ -91,8 +108,8 @@ public class CyborgCommandSmartDriveDistance extends CommandBase {
   public void initialize() {
     //set up vars
     if(setEverythingOnInit) {
-      this.distance = Util.getAndSetDouble("SDD Test Distance", 0) * Constants.DRIVE_ROTATIONS_PER_INCH;
-      this.power    = Util.getAndSetDouble("SDD Test Power", 0);
+      this.distance = testDistance.get() * Constants.DRIVE_ROTATIONS_PER_INCH;
+      this.power    = testPower.get();
     }
 
     DriverStation.reportWarning("CyborgCommandSmartDriveDistance enters", false);
@@ -101,17 +118,11 @@ public class CyborgCommandSmartDriveDistance extends CommandBase {
 
     //set up distance controller 
     this.distanceTraveled = 0;
-    double distanceP = Util.getAndSetDouble("Drive Distance kP", 0.03);
-    double distanceI = Util.getAndSetDouble("Drive Distance kI", 0);
-    double distanceD = Util.getAndSetDouble("Drive Distance kD", 0);
-    distanceController = new PIDController(distanceP, distanceI, distanceD);
+    distanceController = new PIDController(distancekP.get(), distancekI.get(), distancekD.get());
     distanceController.setSetpoint(distance);
 
     //set up heading controller
-    double headingP = Util.getAndSetDouble("Drive Heading kP", 0.05);
-    double headingI = Util.getAndSetDouble("Drive Heading kI", 0);
-    double headingD = Util.getAndSetDouble("Drive Heading kD", 0);
-    headingController = new PIDController(headingP, headingI, headingD);
+    headingController = new PIDController(headingkP.get(), headingkI.get(), headingkD.get());
 
     if(setHeadingOnInit) {
       this.heading = drivetrain.getGyroAngle();
@@ -142,7 +153,7 @@ public class CyborgCommandSmartDriveDistance extends CommandBase {
 
     //get output for heading
     double outputForHeading = headingController.calculate(drivetrain.getGyroAngle());
-    outputForHeading *= Util.getAndSetDouble("Drive Distance Heading Inhibitor", 0.3) * absoluteMaxHeadingCorrection;
+    outputForHeading *= headingInhibitor.get() * absoluteMaxHeadingCorrection;
     // outputForHeading = (outputForHeading > maxHeadingOutput ? maxHeadingOutput : (maxHeadingOutput < maxHeadingOutput * -1 ? maxHeadingOutput * -1 : outputForHeading));
 
     double leftOutput = outputForDistance - outputForHeading;
@@ -151,8 +162,8 @@ public class CyborgCommandSmartDriveDistance extends CommandBase {
     drivetrain.setLeftPercentOutput(leftOutput);
     drivetrain.setRightPercentOutput(rightOutput);
 
-    SmartDashboard.putNumber("Drive Distance Travelled", distanceTraveled);
-    SmartDashboard.putNumber("Drive Heading",  drivetrain.getGyroAngle());
+    distanceIndicator.set(distanceTraveled);
+    headingIndicator.set(drivetrain.getGyroAngle());
   }
 
   // Called once the command ends or is interrupted.
@@ -8,17 +8,29 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Robot;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Xbox;
 
 public class CyborgCommandSmartMoveTurret extends CommandBase {
   private SubsystemTurret turret;
   private long lastTime;
   private double desiredPitchPosition;
+  private final TunableDouble
+    pitchInhibitor    = Tunable.getDouble("Turret Spin Inhibitor Pitch", 1),
+    pitchkP           = Tunable.getDouble("Pitch Position kP", 5),
+    pitchkI           = Tunable.getDouble("Pitch Position kI", 0),
+    pitchIZone        = Tunable.getDouble("Pitch Position IZone", 75),
+    pitchkD           = Tunable.getDouble("Pitch Position kD", 0),
+    pitchkF           = Tunable.getDouble("Pitch Position kF", 0),
+    pitchHighOutLimit = Tunable.getDouble("Pitch High Output", 1);
+
+  private final TelemetryNumber pitchTargetIndicator = Telemetry.number("Desired Pitch Position");
 
   /**
    * Creates a new CyborgCommandSmartMoveTurret.
@@ -39,14 +51,7 @@ public class CyborgCommandSmartMoveTurret extends CommandBase {
     this.desiredPitchPosition = turret.getPitchPosition();
 
     //pitch pid
-    double pitchkP = Util.getAndSetDouble("Pitch Position kP", 5);
-    double pitchkI = Util.getAndSetDouble("Pitch Position kI", 0);
-    double pitchIZone = Util.getAndSetDouble("Pitch Position IZone", 75);
-    double pitchkD = Util.getAndSetDouble("Pitch Position kD", 0);
-    double pitchkF = Util.getAndSetDouble("Pitch Position kF", 0);
-    double pitchhighOutLimit = Util.getAndSetDouble("Pitch High Output", 1);
-
-    turret.setPitchPIDF(pitchkP, pitchkI, pitchkD, pitchkF, pitchhighOutLimit, (int) pitchIZone);
+    turret.setPitchPIDF(pitchkP.get(), pitchkI.get(), pitchkD.get(), pitchkF.get(), pitchHighOutLimit.get(), (int) pitchIZone.get());
   }
 
   // Called every time the scheduler runs while the command is scheduled.
@@ -57,7 +62,7 @@ public class CyborgCommandSmartMoveTurret extends CommandBase {
     double pitchDemand = Xbox.RIGHT_Y(operator);
     int timeElapsed = (int) (System.currentTimeMillis() - lastTime);
     pitchDemand *= timeElapsed;
-    pitchDemand *= Util.getAndSetDouble("Turret Spin Inhibitor Pitch", 1);
+    pitchDemand *= pitchInhibitor.get();
 
     double newPitchPosition = desiredPitchPosition + pitchDemand;
     // conditionally freeze pitch if at limits
@@ -68,7 +73,7 @@ public class CyborgCommandSmartMoveTurret extends CommandBase {
       newPitchPosition = turret.getPitchPosition();
     }
 
-    SmartDashboard.putNumber("Desired Pitch Position", newPitchPosition);
+    pitchTargetIndicator.set(newPitchPosition);
     turret.setPitchPosition(newPitchPosition);
 
     desiredPitchPosition = newPitchPosition;
@@ -8,14 +8,28 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemClimb;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandTestScissorPositition extends CommandBase {
   private SubsystemClimb scissors;
   private Joystick controller;
+  private final TunableDouble
+    scissorsTargetPosition = Tunable.getDouble("Scissors Target Position", 0),
+    kP                     = Tunable.getDouble("Scissor Position P", 0),
+    kI                     = Tunable.getDouble("Scissor Position I", 0),
+    kD                     = Tunable.getDouble("Scissor Position D", 0),
+    kF                     = Tunable.getDouble("Scissor Position F", 0),
+    iZone                  = Tunable.getDouble("Scissor Position IZone", 0),
+    upperOutLimit          = Tunable.getDouble("Scissor Position Max Out", 1),
+    lowerOutLimit          = Tunable.getDouble("Scissor Position Min Out", -1);
+
+  private final TelemetryBoolean testingIndicator = Telemetry.bool("Test Scissor Climb");
+
   /**
    * Creates a new CyborgCommandTestScissorPositition.
    */
@@ -24,29 +38,20 @@ public class CyborgCommandTestScissorPositition extends CommandBase {
     this.scissors = scissors;
     this.controller = controller;
     addRequirements(this.scissors);
-    SmartDashboard.putBoolean("Test Scissor Climb", false);
+    testingIndicator.set(false);
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    double p = Util.getAndSetDouble("Scissor Position P", 0);
-    double i = Util.getAndSetDouble("Scissor Position I", 0);
-    double d = Util.getAndSetDouble("Scissor Position D", 0);
-    double f = Util.getAndSetDouble("Scissor Position F", 0);
-    double IZone = Util.getAndSetDouble("Scissor Position IZone", 0);
-
-    double upperOutLimit = Util.getAndSetDouble("Scissor Position Max Out", 1);
-    double lowerOutLimit = Util.getAndSetDouble("Scissor Position Min Out", -1);
-
-    scissors.setScissorPIDF(p, i, d, f, IZone, lowerOutLimit, upperOutLimit);
-    SmartDashboard.putBoolean("Test Scissor Climb", true);
+    scissors.setScissorPIDF(kP.get(), kI.get(), kD.get(), kF.get(), iZone.get(), lowerOutLimit.get(), upperOutLimit.get());
+    testingIndicator.set(true);
   }
 
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double scissorsTargetPosition = Util.getAndSetDouble("Scissors Target Position", 0);
+    double scissorsTargetPosition = this.scissorsTargetPosition.get();
     scissors.setScissorsPosition(scissorsTargetPosition);
     scissors.moveWinchByController(controller);
   }
@@ -55,7 +60,7 @@ public class CyborgCommandTestScissorPositition extends CommandBase {
   @Override
   public void end(boolean interrupted) {
     scissors.setScissorsPercentOutput(0);
-    SmartDashboard.putBoolean("Test Scissor Climb", false);
+    testingIndicator.set(false);
   }
 
   // Returns true when the command should end.
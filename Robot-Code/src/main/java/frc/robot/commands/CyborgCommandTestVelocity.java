@@ -5,11 +5,13 @@
 package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.controller.PIDController;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemDrive;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 /**
  * Tests the drivetrain velocity PID.
@@ -24,6 +26,23 @@ public class CyborgCommandTestVelocity extends CommandBase {
     lastRightPosition;
 
   private PIDController headingController;
+  private final TunableDouble
+    velocitySetpoint = Tunable.getDouble("Drive Velocity Setpoint", 12),
+    kP               = Tunable.getDouble("Drive Velocity kP", 0.0004),
+    kI               = Tunable.getDouble("Drive Velocity kI", 0),
+    kD               = Tunable.getDouble("Drive Velocity kD", 0),
+    kF               = Tunable.getDouble("Drive Velocity kF", 0),
+    izone            = Tunable.getDouble("Drive Velocity IZone", 0),
+    outLimitLow      = Tunable.getDouble("Drive Velocity Out Limit Low", -1),
+    outLimitHigh     = Tunable.getDouble("Drive Velocity Out Limit High", 1),
+    headingkP        = Tunable.getDouble("Drive Heading kP", 0),
+    headingkI        = Tunable.getDouble("Drive Heading kI", 0),
+    headingkD        = Tunable.getDouble("Drive Heading kD", 0),
+    headingTarget    = Tunable.getDouble("Drive Heading Target", 0);
+
+  private final TelemetryNumber
+    setpointIndicator = Telemetry.number("Test Velocity Setpoint"),
+    distanceIndicator = Telemetry.number("Test Velocity Distance Travelled");
 
   /** Creates a new CyborgCommandTestVelocity. */
   public CyborgCommandTestVelocity(SubsystemDrive drivetrain, double distance) {
@@ -36,26 +55,10 @@ public class CyborgCommandTestVelocity extends CommandBase {
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    //grab pid constants
-    double 
-      kP           = Util.getAndSetDouble("Drive Velocity kP", 0.0004),
-      kI           = Util.getAndSetDouble("Drive Velocity kI", 0),
-      kD           = Util.getAndSetDouble("Drive Velocity kD", 0),
-      kF           = Util.getAndSetDouble("Drive Velocity kF", 0),
-      izone        = Util.getAndSetDouble("Drive Velocity IZone", 0),
-      outLimitLow  = Util.getAndSetDouble("Drive Velocity Out Limit Low", -1),
-      outLimitHigh = Util.getAndSetDouble("Drive Velocity Out Limit High", 1);
-
-    double
-      headingkP = Util.getAndSetDouble("Drive Heading kP", 0),
-      headingkI = Util.getAndSetDouble("Drive Heading kI", 0),
-      headingkD = Util.getAndSetDouble("Drive Heading kD", 0),
-      headingTarget = Util.getAndSetDouble("Drive Heading Target", 0);
-
-    this.headingController = new PIDController(headingkP, headingkI, headingkD);
-    this.headingController.setSetpoint(headingTarget);    
-
-    drivetrain.setPIDConstants(kP, kI, kD, kF, izone, outLimitLow, outLimitHigh);
+    this.headingController = new PIDController(headingkP.get(), headingkI.get(), headingkD.get());
+    this.headingController.setSetpoint(headingTarget.get());
+
+    drivetrain.setPIDConstants(kP.get(), kI.get(), kD.get(), kF.get(), izone.get(), outLimitLow.get(), outLimitHigh.get());
 
     this.currentDistance = 0;
     this.lastLeftPosition = drivetrain.getLeftPosition();
@@ -66,7 +69,7 @@ public class CyborgCommandTestVelocity extends CommandBase {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double velocitySetpoint = Util.getAndSetDouble("Drive Velocity Setpoint", 12);
+    double velocitySetpoint = this.velocitySetpoint.get();
     velocitySetpoint *= Constants.DRIVE_ROTATIONS_PER_INCH; //convert to rotations per second
     velocitySetpoint *= 60; //convert to rotations per minute
 
@@ -82,7 +85,7 @@ public class CyborgCommandTestVelocity extends CommandBase {
     drivetrain.setLeftVelocity(leftVelocity);
     drivetrain.setRightVelocity(rightVelocity);
 
-    SmartDashboard.putNumber("Test Velocity Setpoint", velocitySetpoint);
+    setpointIndicator.set(velocitySetpoint);
 
     //update the distance we have driven
     double newLeftPosition = drivetrain.getLeftPosition();
@@ -94,7 +97,7 @@ public class CyborgCommandTestVelocity extends CommandBase {
     double revolutions = (leftChange + rightChange) / 2;
     this.currentDistance += revolutions / Constants.DRIVE_ROTATIONS_PER_INCH;
 
-    SmartDashboard.putNumber("Test Velocity Distance Travelled", this.currentDistance);
+    distanceIndicator.set(this.currentDistance);
 
     //set history
     lastLeftPosition = newLeftPosition;
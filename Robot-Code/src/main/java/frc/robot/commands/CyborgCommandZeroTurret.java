@@ -9,10 +9,12 @@ package frc.robot.commands;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemTurret;
-import frc.robot.util.Util;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class CyborgCommandZeroTurret extends CommandBase {
   private SubsystemTurret turret;
+  private final TunableDouble calibrateSpeed = Tunable.getDouble("Calibrate Speed", 0.5);
 
   /**
    * Creates a new CyborgCommandZeroTurret.
@@ -30,14 +32,14 @@ public class CyborgCommandZeroTurret extends CommandBase {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double calibrateSpeed = Util.getAndSetDouble("Calibrate Speed", 0.5);
+    double speed = calibrateSpeed.get();
 
     if(!turret.getYawLeftLimit()) {
-      turret.setYawPercentOutput(calibrateSpeed * -1);
+      turret.setYawPercentOutput(speed * -1);
     }
 
     if(!turret.getPitchLowerLimit()) {
-      turret.setPitchPercentOutput(calibrateSpeed);
+      turret.setPitchPercentOutput(speed);
     } else {
       turret.setPitchPercentOutput(0);
       turret.setPitchPosition(0);
@@ -9,12 +9,15 @@ package frc.robot.commands;
 
 import com.revrobotics.CANSparkMax.IdleMode;
 
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.enumeration.ClimbPosition;
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemClimb;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 
 public class IterativeCommandMoveClimber extends CommandBase {
@@ -23,6 +26,21 @@ public class IterativeCommandMoveClimber extends CommandBase {
   private double winchHeight;
   private boolean finished;
 
+  private final TunableDouble
+    kP            = Tunable.getDouble("Scissor Position P", 0),
+    kI            = Tunable.getDouble("Scissor Position I", 0),
+    kD            = Tunable.getDouble("Scissor Position D", 0),
+    kF            = Tunable.getDouble("Scissor Position F", 0),
+    iZone         = Tunable.getDouble("Scissor Position IZone", 0),
+    upperOutLimit = Tunable.getDouble("Scissor Position Max Out", 1),
+    lowerOutLimit = Tunable.getDouble("Scissor Position Min Out", -1);
+
+  private final TelemetryNumber
+    targetScissorIndicator = Telemetry.number("Target Scissor Position"),
+    winchInchesIndicator   = Telemetry.number("Winch Inches");
+
+  private final TelemetryBoolean movingIndicator = Telemetry.bool("Move Climber");
+
   /**
    * Creates a new IterativeCommandMoveClimber.
  * 
@@ -31,26 +49,17 @@ public class IterativeCommandMoveClimber extends CommandBase {
     // Use addRequirements() here to declare subsystem dependencies.
     this.climber = climber;
     addRequirements(this.climber);
-    SmartDashboard.putBoolean("Move Climber", false);
+    movingIndicator.set(false);
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    double p = Util.getAndSetDouble("Scissor Position P", 0);
-    double i = Util.getAndSetDouble("Scissor Position I", 0);
-    double d = Util.getAndSetDouble("Scissor Position D", 0);
-    double f = Util.getAndSetDouble("Scissor Position F", 0);
-    double IZone = Util.getAndSetDouble("Scissor Position IZone", 0);
-
-    double upperOutLimit = Util.getAndSetDouble("Scissor Position Max Out", 1);
-    double lowerOutLimit = Util.getAndSetDouble("Scissor Position Min Out", -1);
-
-    climber.setScissorPIDF(p, i, d, f, IZone, lowerOutLimit, upperOutLimit);
+    climber.setScissorPIDF(kP.get(), kI.get(), kD.get(), kF.get(), iZone.get(), lowerOutLimit.get(), upperOutLimit.get());
     climber.setScissorBraking(IdleMode.kBrake);
     finished = false;
 
-    SmartDashboard.putBoolean("Move Climber", true);
+    movingIndicator.set(true);
   }
 
   // Called every time the scheduler runs while the command is scheduled.
@@ -97,8 +106,8 @@ public class IterativeCommandMoveClimber extends CommandBase {
         finished = true;
       }
       
-      SmartDashboard.putNumber("Target Scissor Position", targetScissorPosition);
-      SmartDashboard.putNumber("Winch Inches", winchInches);
+      targetScissorIndicator.set(targetScissorPosition);
+      winchInchesIndicator.set(winchInches);
     }
   }
 
@@ -107,7 +116,7 @@ public class IterativeCommandMoveClimber extends CommandBase {
   public void end(boolean interrupted) {
     climber.setWinchPercentOutput(0);
     climber.setScissorsPercentOutput(0);
-    SmartDashboard.putBoolean("Move Climber", false);
+    movingIndicator.set(false);
   }
 
   // Returns true when the command should end.
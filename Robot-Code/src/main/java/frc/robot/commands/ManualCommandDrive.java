@@ -9,14 +9,19 @@ package frc.robot.commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.Robot;
 import frc.robot.subsystems.SubsystemDrive;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableBoolean;
 
 public class ManualCommandDrive extends CommandBase {
   private SubsystemDrive drivetrain;
+  private final TunableBoolean overrideDriveLock = Tunable.getBoolean("Override Drive Lock", false);
+
+  private final TelemetryBoolean activeIndicator = Telemetry.bool("Drivetrain Active");
 
   /**
    * Creates a new ManualCommandDrive.
@@ -36,7 +41,7 @@ public class ManualCommandDrive extends CommandBase {
   @Override
   public void execute() {
     // check to see if controllers are good before potentially making the robot destroy the lives of the entire team
-    if (Robot.getRobotContainer().controllersGood() || Util.getAndSetBoolean("Override Drive Lock", false)) {
+    if (Robot.getRobotContainer().controllersGood() || overrideDriveLock.get()) {
       Joystick driver = Robot.getRobotContainer().getDriver();
       Joystick driver2 = Robot.getRobotContainer().getDriver2();
 
@@ -49,11 +54,11 @@ public class ManualCommandDrive extends CommandBase {
         break;
       }
 
-      SmartDashboard.putBoolean("Drivetrain Active", true);
+      activeIndicator.set(true);
     } else { //the controllers are not good, lock the drivetrain
       drivetrain.setLeftPercentOutput(0); 
       drivetrain.setRightPercentOutput(0);
-      SmartDashboard.putBoolean("Drivetrain Active", false);
+      activeIndicator.set(false);
       DriverStation.reportError("DRIVETRAIN LOCKED, CHECK DASHBOARD CONFIG TAB", false);
     }
   }
@@ -10,14 +10,32 @@ package frc.robot.commands;
 import com.revrobotics.CANSparkMax.IdleMode;
 
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemClimb;
-import frc.robot.util.Util;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 
 public class SemiManualCommandRunWinch extends CommandBase {
   private SubsystemClimb climber;
   private Joystick controller; 
+
+  private final TunableDouble
+    kP            = Tunable.getDouble("Scissor Position P", 0),
+    kI            = Tunable.getDouble("Scissor Position I", 0),
+    kD            = Tunable.getDouble("Scissor Position D", 0),
+    kF            = Tunable.getDouble("Scissor Position F", 0),
+    iZone         = Tunable.getDouble("Scissor Position IZone", 0),
+    upperOutLimit = Tunable.getDouble("Scissor Position Max Out", 1),
+    lowerOutLimit = Tunable.getDouble("Scissor Position Min Out", -1);
+  private final TelemetryNumber
+    targetScissorIndicator = Telemetry.number("Target Scissor Position"),
+    winchInchesIndicator   = Telemetry.number("Winch Inches");
+
+  private final TelemetryBoolean runWinchIndicator = Telemetry.bool("Run Winch");
+
   /**
    * Creates a new SemiManualCommandRunWinch.
    */
@@ -26,26 +44,17 @@ public class SemiManualCommandRunWinch extends CommandBase {
     this.climber = climber;
     this.controller = controller;
     addRequirements(this.climber);
-    SmartDashboard.putBoolean("Run Winch", false);
+    runWinchIndicator.set(false);
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    double p = Util.getAndSetDouble("Scissor Position P", 0);
-    double i = Util.getAndSetDouble("Scissor Position I", 0);
-    double d = Util.getAndSetDouble("Scissor Position D", 0);
-    double f = Util.getAndSetDouble("Scissor Position F", 0);
-    double IZone = Util.getAndSetDouble("Scissor Position IZone", 0);
-
-    double upperOutLimit = Util.getAndSetDouble("Scissor Position Max Out", 1);
-    double lowerOutLimit = Util.getAndSetDouble("Scissor Position Min Out", -1);
-
-    climber.setScissorPIDF(p, i, d, f, IZone, lowerOutLimit, upperOutLimit);
+    climber.setScissorPIDF(kP.get(), kI.get(), kD.get(), kF.get(), iZone.get(), lowerOutLimit.get(), upperOutLimit.get());
     climber.zeroEncoders(); //this line is VERY important, DO NOT remove it! The climber might break without it.
     climber.setScissorBraking(IdleMode.kBrake);
 
-    SmartDashboard.putBoolean("Run Winch", true);
+    runWinchIndicator.set(true);
   }
 
   // Called every time the scheduler runs while the command is scheduled.
@@ -56,8 +65,8 @@ public class SemiManualCommandRunWinch extends CommandBase {
     double winchInches = (Math.pow(Math.E, -0.001504 * winchPosition) * -56.96) + 57.07;
     double targetScissorPosition = (-.049 * winchPosition) - .1042; 
     climber.setScissorsPosition(targetScissorPosition);
-    SmartDashboard.putNumber("Target Scissor Position", targetScissorPosition);
-    SmartDashboard.putNumber("Winch Inches", winchInches);
+    targetScissorIndicator.set(targetScissorPosition);
+    winchInchesIndicator.set(winchInches);
    }
 
   // Called once the command ends or is interrupted.
@@ -65,7 +74,7 @@ public class SemiManualCommandRunWinch extends CommandBase {
   public void end(boolean interrupted) {
     climber.setWinchPercentOutput(0);
     climber.setScissorsPercentOutput(0);
-    SmartDashboard.putBoolean("Run Winch", false);
+    runWinchIndicator.set(false);
   }
 
   // Returns true when the command should end.
@@ -11,15 +11,18 @@ import com.revrobotics.CANSparkMax.IdleMode;
 
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.SubsystemClimb;
 import frc.robot.subsystems.SubsystemTurret;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
 
 public class ToggleCommandDriveClimber extends CommandBase {
   private SubsystemClimb climber;
   private Joystick controller;
 
+  private final TelemetryBoolean climberActiveIndicator = Telemetry.bool("CLIMBER ACTIVE");
+
   /**
    * Creates a new ToggleCommandDriveClimber.
    */
@@ -37,7 +40,7 @@ public class ToggleCommandDriveClimber extends CommandBase {
     new CyborgCommandRumble(controller, 1000, RumbleType.kLeftRumble).schedule();
     new CyborgCommandRumble(controller, 1000, RumbleType.kRightRumble).schedule();
     climber.setScissorBraking(IdleMode.kBrake);
-    SmartDashboard.putBoolean("CLIMBER ACTIVE", true);
+    climberActiveIndicator.set(true);
   }
 
   // Called every time the scheduler runs while the command is scheduled.
@@ -50,7 +53,7 @@ public class ToggleCommandDriveClimber extends CommandBase {
   // Called once the command ends or is interrupted.
   @Override
   public void end(boolean interrupted) {
-    SmartDashboard.putBoolean("CLIMBER ACTIVE", false);
+    climberActiveIndicator.set(false);
     climber.setScissorsPercentOutput(0);
     climber.setWinchPercentOutput(0);
   }
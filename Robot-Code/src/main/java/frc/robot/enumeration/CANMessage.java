@@ -4,26 +4,21 @@
 
 package frc.robot.enumeration;
 
-/** 
- * Describes what set of constants are used by CyborgCommandAlignTurret
+/**
+ * A kind of CAN traffic counted by CANCounter.
  */
-public enum AlignModel {
-    NORMAL(0, "Normal"),
-    NEW_BALLS(1, "New Balls");
+public enum CANMessage {
+    SETPOINT("Setpoints"),
+    CONFIG("Config Calls"),
+    STATUS_READ("Status Reads");
 
-    private int index;
     private String name;
 
-    AlignModel(int index, String name) {
-        this.index = index;
+    CANMessage(String name) {
         this.name = name;
     }
 
-    public int getIndex() {
-        return index;
-    }
-
     public String getName() {
         return name;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.enumeration;
+
+/**
+ * Describes a configuration parameter of a motor controller that is tracked by ConfigCache.
+ */
+public enum ControllerParameter {
+    P("P Gain"),
+    I("I Gain"),
+    D("D Gain"),
+    F("F Gain"),
+    I_ZONE("I Zone"),
+    OUTPUT_MIN("Minimum Output"),
+    OUTPUT_MAX("Maximum Output"),
+    ALLOWABLE_ERROR("Allowable Closed Loop Error"),
+    OPEN_LOOP_RAMP("Open Loop Ramp"),
+    CLOSED_LOOP_RAMP("Closed Loop Ramp"),
+    INVERTED("Inverted"),
+    BRAKING("Braking"),
+    CURRENT_LIMIT("Current Limit"),
+    SENSOR_PHASE("Sensor Phase"),
+    STATUS_GENERAL("General Status Frame Period"),
+    STATUS_FEEDBACK("Feedback Status Frame Period"),
+    STATUS_POSITION("Position Status Frame Period"),
+    STATUS_ANALOG("Analog Status Frame Period"),
+    STATUS_PID("PID Status Frame Period");
+
+    private String name;
+
+    ControllerParameter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,55 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.enumeration;
+
+/**
+ * Value types that a DataLogger signal can hold. The code is what is written to log files, so it must never change.
+ */
+public enum LogSignalType {
+    DOUBLE("Double", 1, 8),
+    INTEGER("Integer", 2, 4),
+    BOOLEAN("Boolean", 3, 1);
+
+    private String name;
+    private byte code;
+    private int size;
+
+    LogSignalType(String name, int code, int size) {
+        this.name = name;
+        this.code = (byte) code;
+        this.size = size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the byte that identifies the type in a log file.
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the number of bytes a value of this type takes in a log file.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the type with the given code, or null if there is none.
+     */
+    public static LogSignalType fromCode(byte code) {
+        for(LogSignalType type : values()) {
+            if(type.code == code) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
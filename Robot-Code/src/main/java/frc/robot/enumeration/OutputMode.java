@@ -0,0 +1,24 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.enumeration;
+
+/**
+ * Describes how a setpoint written through an OutputWriter is interpreted by the motor controller.
+ */
+public enum OutputMode {
+    PERCENT("Percent Output"),
+    POSITION("Position"),
+    VELOCITY("Velocity");
+
+    private String name;
+
+    OutputMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
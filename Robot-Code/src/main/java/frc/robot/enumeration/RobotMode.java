@@ -0,0 +1,25 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.enumeration;
+
+/**
+ * The mode the robot is running in. Used to pick the status frame periods of the motor controllers.
+ */
+public enum RobotMode {
+    DISABLED("Disabled"),
+    AUTONOMOUS("Autonomous"),
+    TELEOP("Teleop"),
+    TEST("Test");
+
+    private String name;
+
+    RobotMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,35 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.enumeration;
+
+import frc.robot.Constants;
+
+/**
+ * How often a Telemetry key is checked for changes. Every tier only publishes when the value has changed.
+ */
+public enum TelemetryTier {
+    FAST("Fast", Constants.TELEMETRY_FAST_PERIOD),
+    SLOW("Slow", Constants.TELEMETRY_SLOW_PERIOD),
+    ON_CHANGE("On Change", Constants.TELEMETRY_PUBLISH_PERIOD);
+
+    private String name;
+    private int periodMillis;
+
+    TelemetryTier(String name, int periodMillis) {
+        this.name = name;
+        this.periodMillis = periodMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the minimum time between publishes of a key in this tier, in milliseconds.
+     */
+    public int getPeriod() {
+        return periodMillis;
+    }
+}
@@ -8,32 +8,92 @@
 package frc.robot.subsystems;
 
 import com.revrobotics.CANSparkMax;
-import com.revrobotics.ControlType;
 import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
+import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
 
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.enumeration.ClimbPosition;
 import frc.robot.Constants;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.OutputMode;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.SparkMaxHealth;
+import frc.robot.util.SparkMaxFramePlan;
+import frc.robot.util.SparkMaxWriter;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.TimingHistogram;
 import frc.robot.util.Xbox;
 
 
 public class SubsystemClimb extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemClimb");
+
   private static CANSparkMax 
     scissors,
     winch;
 
   private static ClimbPosition storedPosition;
 
+  private OutputWriter
+    scissorsOutput,
+    winchOutput;
+
+  private final DeviceHealth
+    winchHealth,
+    scissorsHealth;
+
+  private final CANCounter
+    scissorsTraffic = CANTraffic.device("Scissor"),
+    winchTraffic    = CANTraffic.device("Winch");
+
+  private final ConfigCache
+    scissorsConfig = new ConfigCache(false, scissorsTraffic),
+    winchConfig    = new ConfigCache(true, winchTraffic);
+
+  private final StatusFramePlan
+    scissorsFrames,
+    winchFrames;
+
   /**
    * Creates a new SubsystemClimb.
    */
   public SubsystemClimb() {
     scissors = new CANSparkMax(Constants.CLIMBER_SCISSOR_ID, MotorType.kBrushless);
     winch    = new CANSparkMax(Constants.CLIMBER_WINCH_ID, MotorType.kBrushless);
+    scissorsOutput = new SparkMaxWriter(scissors, scissorsTraffic);
+    winchOutput    = new SparkMaxWriter(winch, winchTraffic);
+
+    Telemetry.sample("Scissor Position", TelemetryTier.FAST, 0, scissorsTraffic.reads(() -> scissors.getEncoder().getPosition()));
+    Telemetry.sample("Winch Position", TelemetryTier.FAST, 0, winchTraffic.reads(() -> winch.getEncoder().getPosition()));
+    Telemetry.sample("Scissor Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, scissorsTraffic.reads(scissors::getOutputCurrent));
+    Telemetry.sample("Winch Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, winchTraffic.reads(winch::getOutputCurrent));
+    Telemetry.sample("Scissor Out", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, scissorsTraffic.reads(scissors::getAppliedOutput));
+    Telemetry.sample("Winch Out", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, winchTraffic.reads(winch::getAppliedOutput));
+    winchHealth = HealthMonitor.register(new SparkMaxHealth("Winch", winch));
+    scissorsHealth = HealthMonitor.register(new SparkMaxHealth("Scissor", scissors));
     storedPosition = ClimbPosition.LOWEST;
+
+    //the climber only moves in teleop, so its frames are slow the rest of the match
+    scissorsFrames = new SparkMaxFramePlan(scissors, scissorsTraffic, scissorsConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST);
+    winchFrames = new SparkMaxFramePlan(winch, winchTraffic, winchConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST);
+
     configureMotors();
   }
 
@@ -42,30 +102,29 @@ public class SubsystemClimb extends SubsystemBase {
    */
   @Override
   public void periodic() {
-    SmartDashboard.putNumber("Scissor Position", scissors.getEncoder().getPosition());
-    SmartDashboard.putNumber("Winch Position", winch.getEncoder().getPosition());
-
-    SmartDashboard.putNumber("Scissor Amps", scissors.getOutputCurrent());
-    SmartDashboard.putNumber("Winch Amps", winch.getOutputCurrent());
+    long startTime = LoopProfiler.start(periodicTiming);
+    // This method will be called once per scheduler run
+    boolean winchReconnected = winchHealth.consumeReconnect();
+    boolean scissorsReconnected = scissorsHealth.consumeReconnect();
+    if(winchReconnected || scissorsReconnected) {
+      //the controller may have rebooted, so everything cached about it is wrong
+      winchConfig.invalidate();
+      scissorsConfig.invalidate();
+      winchOutput.invalidate();
+      scissorsOutput.invalidate();
+      configureMotors();
+    }
 
-    SmartDashboard.putNumber("Scissor Out", scissors.getAppliedOutput());
-    SmartDashboard.putNumber("Winch Out", winch.getAppliedOutput());
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match. This method should be called periodically from RobotContainer.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean winchConnected = winch.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean scissorsConnected = scissors.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-
-    SmartDashboard.putBoolean("Winch Connected", winchConnected);
-    SmartDashboard.putBoolean("Scissor Connected", scissorsConnected);
-
-    return winchConnected && scissorsConnected;
+    return winchHealth.isConnected() && scissorsHealth.isConnected();
   }
 
   /**
@@ -75,7 +134,7 @@ public class SubsystemClimb extends SubsystemBase {
    */
   public double moveScissorsByController(Joystick controller) {
     double speed = Xbox.LEFT_Y(controller);
-    scissors.set(speed);
+    scissorsOutput.set(speed);
     return scissors.getOutputCurrent();
   }
 
@@ -86,7 +145,7 @@ public class SubsystemClimb extends SubsystemBase {
    */
   public double moveWinchByController(Joystick controller) {
     double speed = Xbox.RT(controller) - Xbox.LT(controller);
-    winch.set(speed);
+    winchOutput.set(speed);
     return winch.getOutputCurrent();
   }
 
@@ -105,15 +164,15 @@ public class SubsystemClimb extends SubsystemBase {
     double down = Xbox.RT(controller);
 
     if(up > down) {
-      scissors.setIdleMode(IdleMode.kBrake);
+      setScissorBraking(IdleMode.kBrake);
     }
 
     if(up < down) {
-      scissors.setIdleMode(IdleMode.kCoast);
+      setScissorBraking(IdleMode.kCoast);
     }
 
-    scissors.set(up);
-    winch.set(down);
+    scissorsOutput.set(up);
+    winchOutput.set(down);
   }
 
   /**
@@ -121,10 +180,13 @@ public class SubsystemClimb extends SubsystemBase {
    */
   private void configureMotors() {
     setScissorBraking(IdleMode.kCoast);
-    scissors.setInverted(Constants.CLIMBER_SCISSOR_INVERT);
+    scissorsConfig.set(ControllerParameter.INVERTED, Constants.CLIMBER_SCISSOR_INVERT, () -> { scissors.setInverted(Constants.CLIMBER_SCISSOR_INVERT); return true; });
+
+    winchConfig.set(ControllerParameter.BRAKING, true, () -> ConfigCache.succeeded(winch.setIdleMode(IdleMode.kBrake)));
+    winchConfig.set(ControllerParameter.INVERTED, Constants.CLIMBER_WINCH_INVERT, () -> { winch.setInverted(Constants.CLIMBER_WINCH_INVERT); return true; });
 
-    winch.setIdleMode(IdleMode.kBrake);
-    winch.setInverted(Constants.CLIMBER_WINCH_INVERT);
+    scissorsFrames.apply();
+    winchFrames.apply();
   }
   
   /**
@@ -140,7 +202,7 @@ public class SubsystemClimb extends SubsystemBase {
    * @param speedz desired percent output (-1.0 to 1.0) of scissor motor.
    */
   public void setScissorsPercentOutput(double speedz) {
-    scissors.set(speedz);
+    scissorsOutput.set(speedz);
   }
 
   /**
@@ -148,7 +210,7 @@ public class SubsystemClimb extends SubsystemBase {
    * @param speedz desied percent output (-1.0 to 1.0) of the winch motor.
    */
   public void setWinchPercentOutput(double speedz) {
-    winch.set(speedz);
+    winchOutput.set(speedz);
   }
 
   /**
@@ -162,12 +224,7 @@ public class SubsystemClimb extends SubsystemBase {
    * @param highLimit highest allowable output (max: 1)
    */
   public void setScissorPIDF(double p, double i, double d, double f, double IZone, double lowLimit, double highLimit) {
-    scissors.getPIDController().setP(p, 0);
-    scissors.getPIDController().setI(i, 0);
-    scissors.getPIDController().setD(d, 0);
-    scissors.getPIDController().setFF(f, 0);
-    scissors.getPIDController().setIZone(IZone, 0);
-    scissors.getPIDController().setOutputRange(lowLimit, highLimit);
+    scissorsConfig.setSparkMaxPIDF(scissors.getPIDController(), p, i, d, f, IZone, lowLimit, highLimit);
   }
 
   /**
@@ -181,12 +238,7 @@ public class SubsystemClimb extends SubsystemBase {
    * @param highLimit highest allowable output
    */
   public void setWinchPIDF(double p, double i, double d, double f, double IZone, double lowLimit, double highLimit) {
-    winch.getPIDController().setP(p);
-    winch.getPIDController().setI(i);
-    winch.getPIDController().setD(d);
-    winch.getPIDController().setFF(f);
-    winch.getPIDController().setIZone(IZone);
-    winch.getPIDController().setOutputRange(lowLimit, highLimit);
+    winchConfig.setSparkMaxPIDF(winch.getPIDController(), p, i, d, f, IZone, lowLimit, highLimit);
   }
 
   /**
@@ -194,7 +246,7 @@ public class SubsystemClimb extends SubsystemBase {
    * @param position
    */
   public void setScissorsPosition(double position) {
-    scissors.getPIDController().setReference(position, ControlType.kPosition);
+    scissorsOutput.set(OutputMode.POSITION, position);
   }
 
   /**
@@ -202,13 +254,14 @@ public class SubsystemClimb extends SubsystemBase {
    * @param position the new target position of the scissor motor
    */
   public void setWinchPosition(double position) {
-    winch.getPIDController().setReference(position, ControlType.kPosition);
+    winchOutput.set(OutputMode.POSITION, position);
   }
 
   /**
    * Returns the current position of the scissor motor in rotations.
    */
   public double getScissorPosition() {
+    scissorsTraffic.count(CANMessage.STATUS_READ);
     return scissors.getEncoder().getPosition();
   }
 
@@ -216,6 +269,7 @@ public class SubsystemClimb extends SubsystemBase {
    * Returns the current position of the winch motor in rotations.
    */
   public double getWinchPosition() {
+    winchTraffic.count(CANMessage.STATUS_READ);
     return winch.getEncoder().getPosition();
   }
 
@@ -224,7 +278,7 @@ public class SubsystemClimb extends SubsystemBase {
    * @param mode IdleMode of the scissors. Either kCoast or kBrake.
    */
   public void setScissorBraking(IdleMode mode) {
-    scissors.setIdleMode(mode);
+    scissorsConfig.set(ControllerParameter.BRAKING, mode == IdleMode.kBrake, () -> ConfigCache.succeeded(scissors.setIdleMode(mode)));
   }
 
   /**
@@ -11,18 +11,42 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 
 import com.kauailabs.navx.frc.AHRS;
 import com.revrobotics.CANSparkMax;
-import com.revrobotics.ControlType;
 import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
+import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
 
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.SerialPort.Port;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
-import frc.robot.util.Util;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.OutputMode;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DataLogger;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.NavXHealth;
+import frc.robot.util.LogSignal;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.SparkMaxHealth;
+import frc.robot.util.SparkMaxFramePlan;
+import frc.robot.util.SparkMaxWriter;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Xbox;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.TimingHistogram;
 
 public class SubsystemDrive extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemDrive");
+
   private static CANSparkMax 
     leftMaster,
     leftSlave,
@@ -46,6 +70,55 @@ public class SubsystemDrive extends SubsystemBase {
 
   private AHRS navX;
 
+  private OutputWriter
+    leftOutput,
+    rightOutput;
+
+  private TelemetryNumber
+    rawVelocityIndicator,
+    fastestSpeedIndicator,
+    rightPositionIndicator,
+    leftPositionIndicator,
+    velocityIndicator;
+
+  private final DeviceHealth
+    leftMasterHealth,
+    rightMasterHealth,
+    leftSlaveHealth,
+    rightSlaveHealth,
+    navXHealth;
+
+  private final LogSignal
+    leftPositionSignal  = DataLogger.signal("Drive/Left Position", LogSignalType.DOUBLE, "rotations"),
+    rightPositionSignal = DataLogger.signal("Drive/Right Position", LogSignalType.DOUBLE, "rotations"),
+    velocitySignal      = DataLogger.signal("Drive/Velocity", LogSignalType.DOUBLE, "in/s");
+
+  private final CANCounter
+    leftMasterTraffic  = CANTraffic.device("Left Master"),
+    leftSlaveTraffic   = CANTraffic.device("Left Slave"),
+    rightMasterTraffic = CANTraffic.device("Right Master"),
+    rightSlaveTraffic  = CANTraffic.device("Right Slave");
+
+  private final ConfigCache
+    leftMasterConfig  = new ConfigCache(true, leftMasterTraffic),
+    leftSlaveConfig   = new ConfigCache(true, leftSlaveTraffic),
+    rightMasterConfig = new ConfigCache(true, rightMasterTraffic),
+    rightSlaveConfig  = new ConfigCache(true, rightSlaveTraffic);
+
+  private final StatusFramePlan
+    leftMasterFrames,
+    leftSlaveFrames,
+    rightMasterFrames,
+    rightSlaveFrames;
+
+  private final TunableDouble
+    oneWayRampTime     = Tunable.getDouble("Drive One-Way Ramp", 0.5),
+    steeringInhibitor  = Tunable.getDouble("Drive Steering Inhibitor", 0.7),
+    driveInhibitor     = Tunable.getDouble("Drive Inhibitor", 1),
+    attackDeadzone     = Tunable.getDouble("Logitech Attack Deadzone", 0.025),
+    trueTankSensitivity = Tunable.getDouble("True Tank Sensitivity", 3),
+    driveRamp          = Tunable.getDouble("Drive Ramp", 0.25);
+
   /**
    * Creates a new SubsystemDrive.
    */
@@ -55,8 +128,46 @@ public class SubsystemDrive extends SubsystemBase {
     rightMaster = new CANSparkMax(Constants.DRIVE_RIGHT_MASTER_ID, MotorType.kBrushless);
     rightSlave = new CANSparkMax(Constants.DRIVE_RIGHT_SLAVE_ID, MotorType.kBrushless);
 
+    //slaves follow their masters, so only the masters get writers
+    leftOutput = new SparkMaxWriter(leftMaster, leftMasterTraffic);
+    rightOutput = new SparkMaxWriter(rightMaster, rightMasterTraffic);
+
     navX = new AHRS(Port.kUSB);
 
+    rawVelocityIndicator = Telemetry.number("Raw Drive Velocity");
+    fastestSpeedIndicator = Telemetry.number("Fastest Speed", TelemetryTier.ON_CHANGE);
+    rightPositionIndicator = Telemetry.number("Right Position");
+    leftPositionIndicator = Telemetry.number("Left Position");
+    velocityIndicator = Telemetry.number("Drivetrain Velocity");
+    Telemetry.sample("Right Output", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, rightMasterTraffic.reads(rightMaster::getAppliedOutput));
+    Telemetry.sample("Left Output", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, leftMasterTraffic.reads(leftMaster::getAppliedOutput));
+    Telemetry.sample("Right Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, rightMasterTraffic.reads(rightMaster::getOutputCurrent));
+    Telemetry.sample("Left Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, leftMasterTraffic.reads(leftMaster::getOutputCurrent));
+    leftMasterHealth = HealthMonitor.register(new SparkMaxHealth("Left Master", leftMaster));
+    rightMasterHealth = HealthMonitor.register(new SparkMaxHealth("Right Master", rightMaster));
+    leftSlaveHealth = HealthMonitor.register(new SparkMaxHealth("Left Slave", leftSlave));
+    rightSlaveHealth = HealthMonitor.register(new SparkMaxHealth("Right Slave", rightSlave));
+    navXHealth = HealthMonitor.register(new NavXHealth("NavX", navX));
+
+    //masters send position every loop for the position tracker, and status 0 fast for their slaves.
+    //slaves are only read for health, so their feedback frames idle
+    leftMasterFrames = new SparkMaxFramePlan(leftMaster, leftMasterTraffic, leftMasterConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_LEADER, Constants.STATUS_FRAME_LEADER, Constants.STATUS_FRAME_LEADER)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST);
+    rightMasterFrames = new SparkMaxFramePlan(rightMaster, rightMasterTraffic, rightMasterConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_LEADER, Constants.STATUS_FRAME_LEADER, Constants.STATUS_FRAME_LEADER)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST);
+    leftSlaveFrames = new SparkMaxFramePlan(leftSlave, leftSlaveTraffic, leftSlaveConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
+    rightSlaveFrames = new SparkMaxFramePlan(rightSlave, rightSlaveTraffic, rightSlaveConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
+
     lastThrottle = 0;
     lastRampTime = System.currentTimeMillis();
 
@@ -65,6 +176,7 @@ public class SubsystemDrive extends SubsystemBase {
     setFollowers();
     setAmpLimits();
     setInverts();
+    setStatusFrames();
   }
 
   /**
@@ -72,64 +184,82 @@ public class SubsystemDrive extends SubsystemBase {
    */
   @Override
   public void periodic() {
+    long startTime = LoopProfiler.start(periodicTiming);
+    boolean leftMasterReconnected = leftMasterHealth.consumeReconnect();
+    boolean rightMasterReconnected = rightMasterHealth.consumeReconnect();
+    boolean leftSlaveReconnected = leftSlaveHealth.consumeReconnect();
+    boolean rightSlaveReconnected = rightSlaveHealth.consumeReconnect();
+    if(leftMasterReconnected || rightMasterReconnected || leftSlaveReconnected || rightSlaveReconnected) {
+      reconfigure();
+    }
+
+    leftMasterTraffic.count(CANMessage.STATUS_READ, 2);
+    rightMasterTraffic.count(CANMessage.STATUS_READ, 2);
     leftPosition = leftMaster.getEncoder().getPosition();
     rightPosition = rightMaster.getEncoder().getPosition();
     leftVelocity = leftMaster.getEncoder().getVelocity();
     rightVelocity = rightMaster.getEncoder().getVelocity();
     netVelocity = ((leftVelocity + rightVelocity) / 2);
-    SmartDashboard.putNumber("Raw Drive Velocity", netVelocity);
+    rawVelocityIndicator.set(netVelocity);
     netVelocity /= Constants.DRIVE_ROTATIONS_PER_INCH; //convert to inches per minute
     netVelocity /= 60; //convert to inches per second
 
     double speed = Math.abs(netVelocity);
     if(speed > fastestSpeed) {
       fastestSpeed = speed;
-      SmartDashboard.putNumber("Fastest Speed", fastestSpeed);
+      fastestSpeedIndicator.set(fastestSpeed);
     }
 
     // This method will be called once per scheduler run
-    SmartDashboard.putNumber("Right Position", rightPosition);
-    SmartDashboard.putNumber("Left Position", leftPosition);
+    rightPositionIndicator.set(rightPosition);
+    leftPositionIndicator.set(leftPosition);
 
-    SmartDashboard.putNumber("Drivetrain Velocity", netVelocity);
+    velocityIndicator.set(netVelocity);
 
-    SmartDashboard.putNumber("Right Output", rightMaster.getAppliedOutput());
-    SmartDashboard.putNumber("Left Output", leftMaster.getAppliedOutput());
+    leftPositionSignal.append(leftPosition);
+    rightPositionSignal.append(rightPosition);
+    velocitySignal.append(netVelocity);
 
-    SmartDashboard.putNumber("Right Amps", rightMaster.getOutputCurrent());
-    SmartDashboard.putNumber("Left Amps", leftMaster.getOutputCurrent());
-
-    SmartDashboard.putBoolean("NavX Connected", getNavXConnected());
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean leftMasterConnected = leftMaster.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean rightMasterConnected = rightMaster.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean leftSlaveConnected = leftSlave.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean rightSlaveConnected = rightSlave.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean navXConnected = navX.isConnected();
-
-    SmartDashboard.putBoolean("Left Master Connected", leftMasterConnected);
-    SmartDashboard.putBoolean("Right Master Connected", rightMasterConnected);
-    SmartDashboard.putBoolean("Left Slave Connected", leftSlaveConnected);
-    SmartDashboard.putBoolean("Right Slave Connected", rightSlaveConnected);
-
     return 
-      leftMasterConnected &&
-      rightMasterConnected &&
-      leftSlaveConnected &&
-      rightSlaveConnected && 
-      navXConnected;
+      leftMasterHealth.isConnected() &&
+      rightMasterHealth.isConnected() &&
+      leftSlaveHealth.isConnected() &&
+      rightSlaveHealth.isConnected() && 
+      navXHealth.isConnected();
   }
 
   public boolean getNavXConnected() {
-    return navX.isConnected();
+    return navXHealth.isConnected();
+  }
+
+  /**
+   * Forgets everything cached about the motor controllers and configures them again.
+   * Called when a controller reconnects, since it may have rebooted and lost its configuration.
+   * The PIDF constants are sent again the next time they are set.
+   */
+  private void reconfigure() {
+    leftMasterConfig.invalidate();
+    leftSlaveConfig.invalidate();
+    rightMasterConfig.invalidate();
+    rightSlaveConfig.invalidate();
+    leftOutput.invalidate();
+    rightOutput.invalidate();
+
+    setBraking();
+    setRamps();
+    setFollowers();
+    setAmpLimits();
+    setInverts();
+    setStatusFrames();
   }
 
   /**
@@ -140,11 +270,11 @@ public class SubsystemDrive extends SubsystemBase {
     setInverts();
 
     double throttle = Xbox.RT(controller) - Xbox.LT(controller); 
-    throttle = oneWayRamp(throttle, lastThrottle, Util.getAndSetDouble("Drive One-Way Ramp", 0.5));
+    throttle = oneWayRamp(throttle, lastThrottle, oneWayRampTime.get());
     lastThrottle = throttle;
 
     double steering = Xbox.LEFT_X(controller);
-    steering *= Util.getAndSetDouble("Drive Steering Inhibitor", 0.7);
+    steering *= steeringInhibitor.get();
 
     double driveRight = throttle + steering;
     double driveLeft = throttle - steering; 
@@ -152,7 +282,7 @@ public class SubsystemDrive extends SubsystemBase {
     driveRight = (driveRight < -1 ? -1 : (driveRight > 1 ? 1 : driveRight));
     driveLeft = (driveLeft < -1 ? -1 : (driveLeft > 1 ? 1 : driveLeft));
 
-    double inhibitor = Util.getAndSetDouble("Drive Inhibitor", 1);
+    double inhibitor = driveInhibitor.get();
     if(boosting) {
       inhibitor = boostInhibitor;
     }
@@ -160,10 +290,8 @@ public class SubsystemDrive extends SubsystemBase {
     driveRight *= inhibitor;
     driveLeft *= inhibitor;
 
-    leftMaster.set(driveLeft);
-    leftSlave.set(driveLeft);
-    rightMaster.set(driveRight);
-    rightSlave.set(driveRight);
+    leftOutput.set(driveLeft);
+    rightOutput.set(driveRight);
   }
 
   public void driveTankTrue(Joystick left, Joystick right) {
@@ -173,7 +301,7 @@ public class SubsystemDrive extends SubsystemBase {
     double rawRightDrive = right.getY() * -1;
 
     //apply deadzone since the attack joysticks are sensitive
-    double deadzone = Util.getAndSetDouble("Logitech Attack Deadzone", 0.025);
+    double deadzone = attackDeadzone.get();
     if(Math.abs(rawLeftDrive) < deadzone) {
       rawLeftDrive = 0;
     }
@@ -183,7 +311,7 @@ public class SubsystemDrive extends SubsystemBase {
     }
 
     //apply exponential sensitivity
-    int sensitivity = (int) Util.getAndSetDouble("True Tank Sensitivity", 3);
+    int sensitivity = (int) trueTankSensitivity.get();
     double leftDrive = Math.pow(rawLeftDrive, sensitivity);
     double rightDrive = Math.pow(rawRightDrive, sensitivity);
 
@@ -198,14 +326,12 @@ public class SubsystemDrive extends SubsystemBase {
       }
     }
     
-    double inhibitor = Util.getAndSetDouble("Drive Inhibitor", 1);
+    double inhibitor = driveInhibitor.get();
     leftDrive *= inhibitor;
     rightDrive *= inhibitor;
 
-    leftMaster.set(leftDrive);
-    leftSlave.set(leftDrive);
-    rightMaster.set(rightDrive);
-    rightSlave.set(rightDrive);
+    leftOutput.set(leftDrive);
+    rightOutput.set(rightDrive);
   }
 
   /**
@@ -229,8 +355,7 @@ public class SubsystemDrive extends SubsystemBase {
    * @param output output (-1 to 1) to set the motors to.
    */
   public void setRightPercentOutput(double output) {
-    rightMaster.set(output);
-    rightSlave.set(output);
+    rightOutput.set(output);
   }
 
   /**
@@ -238,8 +363,7 @@ public class SubsystemDrive extends SubsystemBase {
    * @param output output (-1 to 1) to set the motors to.
    */
   public void setLeftPercentOutput(double output) {
-    leftMaster.set(output);
-    leftSlave.set(output);
+    leftOutput.set(output);
   }
 
   /**
@@ -247,7 +371,7 @@ public class SubsystemDrive extends SubsystemBase {
    * @param leftPosition target position (rotations) to set the motors to.
    */
   public void setLeftPosition(double leftPosition) {
-    leftMaster.getPIDController().setReference(leftPosition, ControlType.kPosition);
+    leftOutput.set(OutputMode.POSITION, leftPosition);
   }
 
   /**
@@ -255,7 +379,7 @@ public class SubsystemDrive extends SubsystemBase {
    * @param rightPosition target position (rotations) to set the motors to.
    */
   public void setRightPosition(double rightPosition) {
-    rightMaster.getPIDController().setReference(rightPosition, ControlType.kPosition);
+    rightOutput.set(OutputMode.POSITION, rightPosition);
   }
 
   /**
@@ -263,7 +387,7 @@ public class SubsystemDrive extends SubsystemBase {
    * @param leftVelocity The velocity to set the motors to.
    */
   public void setLeftVelocity(double leftVelocity) {
-    leftMaster.getPIDController().setReference(leftVelocity, ControlType.kVelocity);
+    leftOutput.set(OutputMode.VELOCITY, leftVelocity);
   }
 
   /**
@@ -271,7 +395,7 @@ public class SubsystemDrive extends SubsystemBase {
    * @param rightVelocity The velocity to set the motors to.
    */
   public void setRightVelocity(double rightVelocity) {
-    rightMaster.getPIDController().setReference(rightVelocity, ControlType.kVelocity);
+    rightOutput.set(OutputMode.VELOCITY, rightVelocity);
   }
 
   /**
@@ -335,19 +459,8 @@ public class SubsystemDrive extends SubsystemBase {
    * @param outLimit maximum percent output of the motors.
    */
   public void setPIDConstants(double kP, double kI, double kD, double kF, double iZone, double outLimitLow, double outLimitHigh) {
-    leftMaster.getPIDController().setP(kP);
-    leftMaster.getPIDController().setI(kI);
-    leftMaster.getPIDController().setD(kD);
-    leftMaster.getPIDController().setFF(kF);
-    leftMaster.getPIDController().setIZone(iZone);
-    leftMaster.getPIDController().setOutputRange(outLimitLow, outLimitHigh);
-
-    rightMaster.getPIDController().setP(kP);
-    rightMaster.getPIDController().setI(kI);
-    rightMaster.getPIDController().setD(kD);
-    rightMaster.getPIDController().setFF(kF);
-    rightMaster.getPIDController().setIZone(iZone);
-    rightMaster.getPIDController().setOutputRange(outLimitLow, outLimitHigh);
+    leftMasterConfig.setSparkMaxPIDF(leftMaster.getPIDController(), kP, kI, kD, kF, iZone, outLimitLow, outLimitHigh);
+    rightMasterConfig.setSparkMaxPIDF(rightMaster.getPIDController(), kP, kI, kD, kF, iZone, outLimitLow, outLimitHigh);
   }
 
   public void setPIDConstants(double kP, double kI, double kD, double kF, double iZone, double outLimit) {
@@ -358,8 +471,8 @@ public class SubsystemDrive extends SubsystemBase {
    * Sets closed loop ramp in ms
    */
   public void setPIDRamp(double ramp) {
-    leftMaster.setClosedLoopRampRate(ramp);
-    rightMaster.setClosedLoopRampRate(ramp);
+    leftMasterConfig.set(ControllerParameter.CLOSED_LOOP_RAMP, ramp, () -> ConfigCache.succeeded(leftMaster.setClosedLoopRampRate(ramp)));
+    rightMasterConfig.set(ControllerParameter.CLOSED_LOOP_RAMP, ramp, () -> ConfigCache.succeeded(rightMaster.setClosedLoopRampRate(ramp)));
   }
 
   public double getGyroAngle() {
@@ -368,27 +481,27 @@ public class SubsystemDrive extends SubsystemBase {
 
   public void resetFastestSpeed() {
     fastestSpeed = 0;
-    SmartDashboard.putNumber("Fastest Speed", 0);
+    fastestSpeedIndicator.set(0);
   }
 
   /**
    * Sets the inverts of the drive motors.
    */
   private void setInverts() {
-    leftMaster.setInverted(Constants.DRIVE_LEFT_MASTER_INVERT);
-    leftSlave.setInverted(Constants.DRIVE_LEFT_SLAVE_INVERT);
-    rightMaster.setInverted(Constants.DRIVE_RIGHT_MASTER_INVERT);
-    rightSlave.setInverted(Constants.DRIVE_RIGHT_SLAVE_INVERT);
+    leftMasterConfig.set(ControllerParameter.INVERTED, Constants.DRIVE_LEFT_MASTER_INVERT, () -> { leftMaster.setInverted(Constants.DRIVE_LEFT_MASTER_INVERT); return true; });
+    leftSlaveConfig.set(ControllerParameter.INVERTED, Constants.DRIVE_LEFT_SLAVE_INVERT, () -> { leftSlave.setInverted(Constants.DRIVE_LEFT_SLAVE_INVERT); return true; });
+    rightMasterConfig.set(ControllerParameter.INVERTED, Constants.DRIVE_RIGHT_MASTER_INVERT, () -> { rightMaster.setInverted(Constants.DRIVE_RIGHT_MASTER_INVERT); return true; });
+    rightSlaveConfig.set(ControllerParameter.INVERTED, Constants.DRIVE_RIGHT_SLAVE_INVERT, () -> { rightSlave.setInverted(Constants.DRIVE_RIGHT_SLAVE_INVERT); return true; });
   }
 
   /**
    * Sets all motors to braking mode.
    */
   private void setBraking() {
-    leftMaster.setIdleMode(IdleMode.kBrake);
-    leftSlave.setIdleMode(IdleMode.kBrake);
-    rightMaster.setIdleMode(IdleMode.kBrake);
-    rightSlave.setIdleMode(IdleMode.kBrake);
+    leftMasterConfig.set(ControllerParameter.BRAKING, true, () -> ConfigCache.succeeded(leftMaster.setIdleMode(IdleMode.kBrake)));
+    leftSlaveConfig.set(ControllerParameter.BRAKING, true, () -> ConfigCache.succeeded(leftSlave.setIdleMode(IdleMode.kBrake)));
+    rightMasterConfig.set(ControllerParameter.BRAKING, true, () -> ConfigCache.succeeded(rightMaster.setIdleMode(IdleMode.kBrake)));
+    rightSlaveConfig.set(ControllerParameter.BRAKING, true, () -> ConfigCache.succeeded(rightSlave.setIdleMode(IdleMode.kBrake)));
   }
 
   /**
@@ -396,36 +509,45 @@ public class SubsystemDrive extends SubsystemBase {
    * @param ramp time in seconds for motors to go from 0 to full power.
    */
   public void setRamps(double ramp) {
-    leftMaster.setOpenLoopRampRate(ramp);
-    leftSlave.setOpenLoopRampRate(ramp);
-    rightMaster.setOpenLoopRampRate(ramp);
-    rightSlave.setOpenLoopRampRate(ramp);
+    leftMasterConfig.set(ControllerParameter.OPEN_LOOP_RAMP, ramp, () -> ConfigCache.succeeded(leftMaster.setOpenLoopRampRate(ramp)));
+    leftSlaveConfig.set(ControllerParameter.OPEN_LOOP_RAMP, ramp, () -> ConfigCache.succeeded(leftSlave.setOpenLoopRampRate(ramp)));
+    rightMasterConfig.set(ControllerParameter.OPEN_LOOP_RAMP, ramp, () -> ConfigCache.succeeded(rightMaster.setOpenLoopRampRate(ramp)));
+    rightSlaveConfig.set(ControllerParameter.OPEN_LOOP_RAMP, ramp, () -> ConfigCache.succeeded(rightSlave.setOpenLoopRampRate(ramp)));
   }
 
   /**
    * Configures the ramp rate of the motors.
    */
   public void setRamps() {
-    double ramp = Util.getAndSetDouble("Drive Ramp", 0.25);
-    setRamps(ramp);
+    setRamps(driveRamp.get());
   }
 
   /**
    * Sets the amp limits of the motors.
    */
   private void setAmpLimits() {    
-    leftMaster.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT);
-    leftSlave.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT);
-    rightMaster.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT);
-    rightSlave.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT);
+    leftMasterConfig.set(ControllerParameter.CURRENT_LIMIT, Constants.DRIVE_AMP_LIMIT, () -> ConfigCache.succeeded(leftMaster.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT)));
+    leftSlaveConfig.set(ControllerParameter.CURRENT_LIMIT, Constants.DRIVE_AMP_LIMIT, () -> ConfigCache.succeeded(leftSlave.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT)));
+    rightMasterConfig.set(ControllerParameter.CURRENT_LIMIT, Constants.DRIVE_AMP_LIMIT, () -> ConfigCache.succeeded(rightMaster.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT)));
+    rightSlaveConfig.set(ControllerParameter.CURRENT_LIMIT, Constants.DRIVE_AMP_LIMIT, () -> ConfigCache.succeeded(rightSlave.setSmartCurrentLimit(Constants.DRIVE_AMP_LIMIT)));
+  }
+
+  /**
+   * Sends the status frame periods for the current mode.
+   */
+  private void setStatusFrames() {
+    leftMasterFrames.apply();
+    leftSlaveFrames.apply();
+    rightMasterFrames.apply();
+    rightSlaveFrames.apply();
   }
 
   /**
    * Marks the slave motors as "following" the master motors.
    */
   private void setFollowers() {
-    leftSlave.follow(leftMaster);
-    rightSlave.follow(rightMaster);
+    leftSlave.follow(leftMaster, Constants.DRIVE_LEFT_SLAVE_INVERT != Constants.DRIVE_LEFT_MASTER_INVERT);
+    rightSlave.follow(rightMaster, Constants.DRIVE_RIGHT_SLAVE_INVERT != Constants.DRIVE_RIGHT_MASTER_INVERT);
   }
 
   /**
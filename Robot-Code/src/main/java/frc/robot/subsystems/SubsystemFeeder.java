@@ -7,29 +7,76 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.TalonFramePlan;
+import frc.robot.util.TalonHealth;
+import frc.robot.util.TalonWriter;
+import frc.robot.util.TimingHistogram;
 
 /**
  * Digestive System
  */
 public class SubsystemFeeder extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemFeeder");
+
   
   private TalonSRX 
     beater, //orange spiral motor that pushes ball into turret
     feeder; //accepts ball from beater and gives it to flywheel
 
+  private OutputWriter
+    beaterOutput,
+    feederOutput;
+
+  private final DeviceHealth
+    beaterHealth,
+    feederHealth;
+
+  private final CANCounter
+    beaterTraffic = CANTraffic.device("Beater"),
+    feederTraffic = CANTraffic.device("Feeder");
+
+  private final ConfigCache
+    beaterConfig = new ConfigCache(true, beaterTraffic),
+    feederConfig = new ConfigCache(true, feederTraffic);
+
+  private final StatusFramePlan
+    beaterFrames,
+    feederFrames;
+
   /**
    * Creates a new SubsystemFeeder.
    */
   public SubsystemFeeder() {
     beater = new TalonSRX(Constants.BEATER_ID);
     feeder = new TalonSRX(Constants.FEEDER_ID);
+    beaterOutput = new TalonWriter(beater, beaterTraffic);
+    feederOutput = new TalonWriter(feeder, feederTraffic);
+
+    Telemetry.sample("Beater Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, beaterTraffic.reads(beater::getStatorCurrent));
+    Telemetry.sample("Feeder Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, feederTraffic.reads(feeder::getStatorCurrent));
+    beaterHealth = HealthMonitor.register(new TalonHealth("Beater", beater));
+    feederHealth = HealthMonitor.register(new TalonHealth("Feeder", feeder));
+
+    //only current is read, for the dashboard, and there is no encoder
+    beaterFrames = createStatusFramePlan(beater, beaterTraffic, beaterConfig);
+    feederFrames = createStatusFramePlan(feeder, feederTraffic, feederConfig);
 
     configureMotors();
   }
@@ -39,25 +86,29 @@ public class SubsystemFeeder extends SubsystemBase {
    */
   @Override
   public void periodic() {
-    SmartDashboard.putNumber("Beater Amps", beater.getStatorCurrent());
-    SmartDashboard.putNumber("Feeder Amps", feeder.getStatorCurrent());
+    long startTime = LoopProfiler.start(periodicTiming);
+    // This method will be called once per scheduler run
+    boolean beaterReconnected = beaterHealth.consumeReconnect();
+    boolean feederReconnected = feederHealth.consumeReconnect();
+    if(beaterReconnected || feederReconnected) {
+      //the controller may have rebooted and lost its configuration
+      beaterConfig.invalidate();
+      feederConfig.invalidate();
+      beaterOutput.invalidate();
+      feederOutput.invalidate();
+      configureMotors();
+    }
+
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean beaterConnected = beater.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean feederConnected = feeder.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-
-    SmartDashboard.putBoolean("Beater Connected", beaterConnected);
-    SmartDashboard.putBoolean("Feeder Connected", feederConnected);
-
-
-    return beaterConnected && feederConnected;
+    return beaterHealth.isConnected() && feederHealth.isConnected();
   }
 
   /**
@@ -65,7 +116,7 @@ public class SubsystemFeeder extends SubsystemBase {
    * @param percent desired percent output of beater
    */
   public void driveBeater(double percent) {
-    beater.set(ControlMode.PercentOutput, percent);
+    beaterOutput.set(percent);
   }
 
   /**
@@ -73,26 +124,41 @@ public class SubsystemFeeder extends SubsystemBase {
    * @param percent desired percent output of feeder
    */
   public void driveFeeder(double percent) {
-    feeder.set(ControlMode.PercentOutput, percent);
+    feederOutput.set(percent);
   }
 
   /**
    * Stops all motors
    */
   public void stopMotors() {
-    beater.set(ControlMode.PercentOutput, 0);
-    feeder.set(ControlMode.PercentOutput, 0);
+    beaterOutput.set(0);
+    feederOutput.set(0);
   }
 
   /**
-   * Configures neutral modes and inverts of the motors.
+   * Configures neutral modes, inverts, and status frames of the motors.
    */
   private void configureMotors() {
     NeutralMode mode = (Constants.FEEDER_BRAKING ? NeutralMode.Brake : NeutralMode.Coast);
-    beater.setNeutralMode(mode);
-    feeder.setNeutralMode(mode);
+    beaterConfig.set(ControllerParameter.BRAKING, Constants.FEEDER_BRAKING, () -> { beater.setNeutralMode(mode); return true; });
+    feederConfig.set(ControllerParameter.BRAKING, Constants.FEEDER_BRAKING, () -> { feeder.setNeutralMode(mode); return true; });
+
+    beaterConfig.set(ControllerParameter.INVERTED, Constants.BEATER_INVERT, () -> { beater.setInverted(Constants.BEATER_INVERT); return true; });
+    feederConfig.set(ControllerParameter.INVERTED, Constants.FEEDER_INVERT, () -> { feeder.setInverted(Constants.FEEDER_INVERT); return true; });
 
-    beater.setInverted(Constants.BEATER_INVERT);
-    feeder.setInverted(Constants.FEEDER_INVERT);
+    beaterFrames.apply();
+    feederFrames.apply();
+  }
+
+  /**
+   * Returns the status frame plan of one of the motors.
+   */
+  private StatusFramePlan createStatusFramePlan(TalonSRX motor, CANCounter traffic, ConfigCache config) {
+    return new TalonFramePlan(motor, traffic, config)
+      .set(StatusFrameEnhanced.Status_1_General, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_2_Feedback0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_3_Quadrature, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_4_AinTempVbat, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_13_Base_PIDF0, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
   }
 }
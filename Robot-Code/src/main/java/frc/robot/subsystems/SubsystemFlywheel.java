@@ -8,26 +8,64 @@
 package frc.robot.subsystems;
 
 import com.revrobotics.CANSparkMax;
-import com.revrobotics.ControlType;
 import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
+import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
 
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.OutputMode;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.SparkMaxHealth;
+import frc.robot.util.SparkMaxFramePlan;
+import frc.robot.util.SparkMaxWriter;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.TimingHistogram;
 
 /**
  * The spinny one
  */
 public class SubsystemFlywheel extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemFlywheel");
+
   private CANSparkMax
     turretFlywheel;
 
+  private OutputWriter flywheelOutput;
+  private final DeviceHealth flywheelHealth;
+  private final CANCounter flywheelTraffic = CANTraffic.device("Flywheel");
+  private final ConfigCache flywheelConfig = new ConfigCache(true, flywheelTraffic);
+  private final StatusFramePlan flywheelFrames;
+
   /**
    * Creates a new SubsystemturretFlywheel.
    */
   public SubsystemFlywheel() {
     turretFlywheel = new CANSparkMax(Constants.TURRET_FLYWHEEL_ID, MotorType.kBrushless);
+    flywheelOutput = new SparkMaxWriter(turretFlywheel, flywheelTraffic);
+
+    Telemetry.sample("FW Motor Velocity", TelemetryTier.FAST, 0, flywheelTraffic.reads(() -> turretFlywheel.getEncoder().getVelocity()));
+    Telemetry.sample("FW Wheel Velocity", TelemetryTier.FAST, 0, flywheelTraffic.reads(() -> turretFlywheel.getEncoder().getVelocity() * Constants.FLYWHEEL_GEAR_RATIO));
+    Telemetry.sample("FW Output", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, flywheelTraffic.reads(turretFlywheel::getAppliedOutput));
+    Telemetry.sample("FW Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, flywheelTraffic.reads(turretFlywheel::getOutputCurrent));
+    flywheelHealth = HealthMonitor.register(new SparkMaxHealth("Flywheel", turretFlywheel));
+
+    //velocity is only needed quickly while the robot can shoot, and position is never read
+    flywheelFrames = new SparkMaxFramePlan(turretFlywheel, flywheelTraffic, flywheelConfig)
+      .set(PeriodicFrame.kStatus0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST)
+      .set(PeriodicFrame.kStatus1, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST)
+      .set(PeriodicFrame.kStatus2, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
+
     configureMotor();
   }
 
@@ -36,25 +74,25 @@ public class SubsystemFlywheel extends SubsystemBase {
    */
   @Override
   public void periodic() {
+    long startTime = LoopProfiler.start(periodicTiming);
     // This method will be called once per scheduler run
-    double motorVelocity = turretFlywheel.getEncoder().getVelocity();
-    SmartDashboard.putNumber("FW Motor Velocity", motorVelocity);
-    SmartDashboard.putNumber("FW Wheel Velocity", motorVelocity * Constants.FLYWHEEL_GEAR_RATIO);
+    if(flywheelHealth.consumeReconnect()) {
+      //the controller may have rebooted, so everything cached about it is wrong
+      flywheelConfig.invalidate();
+      flywheelOutput.invalidate();
+      configureMotor();
+    }
 
-    SmartDashboard.putNumber("FW Output", turretFlywheel.getAppliedOutput());
-    SmartDashboard.putNumber("FW Amps", turretFlywheel.getOutputCurrent());
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean flywheelConnected = turretFlywheel.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    SmartDashboard.putBoolean("Flywheel Connected", flywheelConnected);
-    return flywheelConnected;
+    return flywheelHealth.isConnected();
   }
 
   /**
@@ -62,13 +100,14 @@ public class SubsystemFlywheel extends SubsystemBase {
    * @param speedz The percent to drive (-1 to 1)
    */
   public void setFlywheelPercentOutput(double speedz){
-    turretFlywheel.set(speedz);
+    flywheelOutput.set(speedz);
   }
 
   /**
    * Returns the velocity (RPM) of the FLYWHEEL, NOT the motor.
    */
   public double getVelocity() {
+    flywheelTraffic.count(CANMessage.STATUS_READ);
     return turretFlywheel.getEncoder().getVelocity() * Constants.FLYWHEEL_GEAR_RATIO;
   }
 
@@ -83,13 +122,7 @@ public class SubsystemFlywheel extends SubsystemBase {
    * @param izone proximity to target at which I gain takes effect
    */
   public void setPIDF(double p, double i, double d, double f, double lowLimit, double highLimit, double izone) {
-    turretFlywheel.getPIDController().setP(p, 0);
-    turretFlywheel.getPIDController().setI(i, 0);
-    turretFlywheel.getPIDController().setD(d, 0);
-    turretFlywheel.getPIDController().setFF(f, 0);
-    turretFlywheel.getPIDController().setOutputRange(lowLimit, highLimit);
-
-    turretFlywheel.getPIDController().setIZone(izone, 0);
+    flywheelConfig.setSparkMaxPIDF(turretFlywheel.getPIDController(), p, i, d, f, izone, lowLimit, highLimit);
   }
 
   /**
@@ -97,15 +130,16 @@ public class SubsystemFlywheel extends SubsystemBase {
    * @param velocity
    */
   public void setVelocity(double velocity) {
-    turretFlywheel.getPIDController().setReference(velocity, ControlType.kVelocity);
+    flywheelOutput.set(OutputMode.VELOCITY, velocity);
   }
 
   /**
    * Configures the IdleMode, invert, and amp limit of the motor.
    */
   private void configureMotor() {
-    turretFlywheel.setIdleMode(IdleMode.kCoast);
-    turretFlywheel.setInverted(Constants.TURRET_FLYWHEEL_INVERT);
-    turretFlywheel.setSmartCurrentLimit(Constants.FLYWHEEL_AMP_LIMIT);
+    flywheelConfig.set(ControllerParameter.BRAKING, false, () -> ConfigCache.succeeded(turretFlywheel.setIdleMode(IdleMode.kCoast)));
+    flywheelConfig.set(ControllerParameter.INVERTED, Constants.TURRET_FLYWHEEL_INVERT, () -> { turretFlywheel.setInverted(Constants.TURRET_FLYWHEEL_INVERT); return true; });
+    flywheelConfig.set(ControllerParameter.CURRENT_LIMIT, Constants.FLYWHEEL_AMP_LIMIT, () -> ConfigCache.succeeded(turretFlywheel.setSmartCurrentLimit(Constants.FLYWHEEL_AMP_LIMIT)));
+    flywheelFrames.apply();
   }
 }
@@ -7,29 +7,76 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.TalonFramePlan;
+import frc.robot.util.TalonHealth;
+import frc.robot.util.TalonWriter;
+import frc.robot.util.TimingHistogram;
 
 /**
  * Nom nom
  */
 public class SubsystemIntake extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemIntake");
+
   
   private TalonSRX 
     eater,
     slapper;
 
+  private OutputWriter
+    eaterOutput,
+    slapperOutput;
+
+  private final DeviceHealth
+    eaterHealth,
+    slapperHealth;
+
+  private final CANCounter
+    eaterTraffic = CANTraffic.device("Eater"),
+    slapperTraffic = CANTraffic.device("Slapper");
+
+  private final ConfigCache
+    eaterConfig = new ConfigCache(true, eaterTraffic),
+    slapperConfig = new ConfigCache(true, slapperTraffic);
+
+  private final StatusFramePlan
+    eaterFrames,
+    slapperFrames;
+
   /**
    * Creates a new SubsystemIntake.
    */
   public SubsystemIntake() {
     eater = new TalonSRX(Constants.EATER_ID);
     slapper = new TalonSRX(Constants.SLAPPER_ID);
+    eaterOutput = new TalonWriter(eater, eaterTraffic);
+    slapperOutput = new TalonWriter(slapper, slapperTraffic);
+
+    Telemetry.sample("Eater Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, eaterTraffic.reads(eater::getStatorCurrent));
+    Telemetry.sample("Slapper Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, slapperTraffic.reads(slapper::getStatorCurrent));
+    eaterHealth = HealthMonitor.register(new TalonHealth("Eater", eater));
+    slapperHealth = HealthMonitor.register(new TalonHealth("Slapper", slapper));
+
+    //only current is read, for the dashboard, and there is no encoder
+    eaterFrames = createStatusFramePlan(eater, eaterTraffic, eaterConfig);
+    slapperFrames = createStatusFramePlan(slapper, slapperTraffic, slapperConfig);
 
     configureMotors();
   }
@@ -39,24 +86,29 @@ public class SubsystemIntake extends SubsystemBase {
    */
   @Override
   public void periodic() {
-    SmartDashboard.putNumber("Eater Amps", eater.getStatorCurrent());
-    SmartDashboard.putNumber("Slapper Amps", slapper.getStatorCurrent());
+    long startTime = LoopProfiler.start(periodicTiming);
+    // This method will be called once per scheduler run
+    boolean eaterReconnected = eaterHealth.consumeReconnect();
+    boolean slapperReconnected = slapperHealth.consumeReconnect();
+    if(eaterReconnected || slapperReconnected) {
+      //the controller may have rebooted and lost its configuration
+      eaterConfig.invalidate();
+      slapperConfig.invalidate();
+      eaterOutput.invalidate();
+      slapperOutput.invalidate();
+      configureMotors();
+    }
+
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean eaterConnected = eater.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean slapperConnected = slapper.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-
-    SmartDashboard.putBoolean("Eater Connected", eaterConnected);
-    SmartDashboard.putBoolean("Slapper Connected", slapperConnected);
-
-    return eaterConnected && slapperConnected;
+    return eaterHealth.isConnected() && slapperHealth.isConnected();
   }
 
   /**
@@ -64,7 +116,7 @@ public class SubsystemIntake extends SubsystemBase {
    * @param percent desired percent output
    */
   public void driveEater(double percent) {
-    eater.set(ControlMode.PercentOutput, percent);
+    eaterOutput.set(percent);
   }
 
   /**
@@ -72,26 +124,41 @@ public class SubsystemIntake extends SubsystemBase {
    * @param percent desired percent output
    */
   public void driveSlapper(double percent) {
-    slapper.set(ControlMode.PercentOutput, percent);
+    slapperOutput.set(percent);
   }
 
   /**
    * Stops the motors.
    */
   public void stopMotors() {
-    eater.set(ControlMode.PercentOutput, 0);
-    slapper.set(ControlMode.PercentOutput, 0);
+    eaterOutput.set(0);
+    slapperOutput.set(0);
   }
   
   /**
-   * Sets the NeutralModes and inverts of the motors.
+   * Sets the NeutralModes, inverts, and status frames of the motors.
    */
   private void configureMotors() {
     NeutralMode mode = (Constants.INTAKE_BRAKING ? NeutralMode.Brake : NeutralMode.Coast);
-    eater.setNeutralMode(mode);
-    slapper.setNeutralMode(mode);
+    eaterConfig.set(ControllerParameter.BRAKING, Constants.INTAKE_BRAKING, () -> { eater.setNeutralMode(mode); return true; });
+    slapperConfig.set(ControllerParameter.BRAKING, Constants.INTAKE_BRAKING, () -> { slapper.setNeutralMode(mode); return true; });
+
+    eaterConfig.set(ControllerParameter.INVERTED, Constants.EATER_INVERT, () -> { eater.setInverted(Constants.EATER_INVERT); return true; });
+    slapperConfig.set(ControllerParameter.INVERTED, Constants.SLAPPER_INVERT, () -> { slapper.setInverted(Constants.SLAPPER_INVERT); return true; });
 
-    eater.setInverted(Constants.EATER_INVERT);
-    slapper.setInverted(Constants.SLAPPER_INVERT);
+    eaterFrames.apply();
+    slapperFrames.apply();
+  }
+
+  /**
+   * Returns the status frame plan of one of the motors.
+   */
+  private StatusFramePlan createStatusFramePlan(TalonSRX motor, CANCounter traffic, ConfigCache config) {
+    return new TalonFramePlan(motor, traffic, config)
+      .set(StatusFrameEnhanced.Status_1_General, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_2_Feedback0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_3_Quadrature, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_4_AinTempVbat, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_13_Base_PIDF0, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
   }
 }
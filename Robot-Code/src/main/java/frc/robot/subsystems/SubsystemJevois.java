@@ -4,80 +4,140 @@
 
 package frc.robot.subsystems;
 
-import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.SocketException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
+import frc.robot.util.CameraModel;
+import frc.robot.util.ClockOffsetEstimator;
+import frc.robot.util.JevoisDetections;
+import frc.robot.util.JevoisParser;
 import frc.robot.util.PowerCell;
+import frc.robot.util.PowerCellTracker;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.TimingHistogram;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
+import frc.robot.util.VisionFrame;
+import frc.robot.util.VisionIngest;
+import frc.robot.util.VisionSource;
 
 public class SubsystemJevois extends SubsystemBase {
-  private DatagramSocket jevois;
-  private ArrayList<PowerCell> powerCells;
-  private int powerCellsSpotted;
-  private String lastCompletedMessage;
-  private long lastUpdatedTime;
+  private final TimingHistogram
+    periodicTiming = LoopProfiler.section("SubsystemJevois"),
+    latencyTiming  = LoopProfiler.section("Vision Latency/Jevois");
+
+  //used only by the VisionIngest thread. Each packet is parsed into detections and copied into frame, which hands it to the robot thread
+  private final JevoisParser parser = new JevoisParser();
+  private final JevoisDetections detections = new JevoisDetections(Constants.JEVOIS_MAX_DETECTIONS);
+  private final ClockOffsetEstimator clock = new ClockOffsetEstimator(Constants.VISION_CLOCK_WINDOW);
+
+  private final VisionFrame frame = new VisionFrame("Power Cells", new String[] {"X", "Y", "Radius"}, Constants.JEVOIS_MAX_POWER_CELLS);
+
+  //used only by the robot thread
+  private final PowerCellTracker tracker = new PowerCellTracker(Constants.JEVOIS_MAX_TRACKS);
+  private final VisionFrame trackFrame = new VisionFrame("Power Cell Tracks", new String[] {"ID", "X", "Y", "Radius", "Age"}, Constants.JEVOIS_MAX_TRACKS);
+
+  private final CameraModel cameraModel = new CameraModel(
+    Constants.JEVOIS_RESOLUTION_X,
+    Constants.JEVOIS_HORIZONTAL_FOV,
+    Constants.JEVOIS_CENTER_X,
+    Constants.JEVOIS_CENTER_Y,
+    Constants.JEVOIS_CAMERA_HEIGHT,
+    Constants.JEVOIS_CAMERA_PITCH,
+    Constants.JEVOIS_CAMERA_FORWARD,
+    Constants.JEVOIS_CAMERA_LEFT,
+    Constants.JEVOIS_CAMERA_YAW,
+    Constants.POWER_CELL_RADIUS,
+    Constants.JEVOIS_MIN_GROUND_ANGLE
+  );
+
+  //the camera mount, so it can be measured on the robot without deploying
+  private final TunableDouble
+    cameraHeight  = Tunable.getDouble("Jevois Camera Height", Constants.JEVOIS_CAMERA_HEIGHT),
+    cameraPitch   = Tunable.getDouble("Jevois Camera Pitch", Constants.JEVOIS_CAMERA_PITCH),
+    cameraForward = Tunable.getDouble("Jevois Camera Forward", Constants.JEVOIS_CAMERA_FORWARD),
+    cameraLeft    = Tunable.getDouble("Jevois Camera Left", Constants.JEVOIS_CAMERA_LEFT),
+    cameraYaw     = Tunable.getDouble("Jevois Camera Yaw", Constants.JEVOIS_CAMERA_YAW);
+
+  private final TelemetryNumber spottedIndicator = Telemetry.number("Power cells spotted");
+  private final TelemetryBoolean updatedIndicator = Telemetry.bool("Jevois Updated");
 
   /** Creates a new SubsystemJevois. */
   public SubsystemJevois() {
-    powerCells = new ArrayList<PowerCell>();
-    powerCellsSpotted = 0;
-    lastCompletedMessage = "No Message!";
-    lastUpdatedTime = 0;
-
-    try {
-      jevois = new DatagramSocket(Constants.JEVOIS_PORT);
-
-      //run serial and parsing code in a separate thread
-      new Thread(
-        () -> {
-          while(true) {
-            try {
-              DatagramPacket packet = new DatagramPacket(new byte[Constants.JEVOIS_BYTES], Constants.JEVOIS_BYTES);
-              jevois.receive(packet);
-              String incomingData = new String(packet.getData());
-              lastUpdatedTime = System.currentTimeMillis();
-              update(incomingData);
-            } catch(IOException ex) {
-              DriverStation.reportError("Subsystem Jevois IOException", false);
-            }
+    //packets are "[x,y,radius][x,y,radius]...;", optionally starting with "@SEQ,TIME:" where SEQ increases by one
+    //per packet and TIME is when the Pi read the detections from the Jevois, in microseconds on the Pi's clock
+    VisionIngest.register(
+      new VisionSource("Jevois", Constants.JEVOIS_PORT, Constants.JEVOIS_BYTES) {
+        @Override
+        protected boolean parse(ByteBuffer packet) {
+          if(!parser.parse(packet, detections)) {
+            return false;
           }
+
+          long captureTime = getReceiveTime();
+          if(detections.isTimestamped()) {
+            sequenceReceived(detections.getSequence());
+            captureTime = clock.update(detections.getCaptureTime(), getReceiveTime());
+          }
+
+          //closest first, so the cells that do not fit in the frame are the farthest ones
+          detections.sort();
+          for(int i=0; i<detections.getCount(); i++) {
+            frame.set(i, 0, detections.getX(i) - (Constants.JEVOIS_RESOLUTION_X / 2));
+            frame.set(i, 1, detections.getY(i));
+            frame.set(i, 2, detections.getRadius(i));
+          }
+
+          frame.commit(detections.getCount(), captureTime);
+          return detections.getSkipped() == 0;
         }
-      ).start();
-    } catch(SocketException ex) {
-      DriverStation.reportError("Socket Exception", true);
-      DriverStation.reportError(ex.getMessage(), false);
-    }
+      }
+    );
   }
 
   @Override
   public void periodic() {
-    SmartDashboard.putString("Jevois Data", lastCompletedMessage);
-    SmartDashboard.putNumber("Power cells spotted", powerCellsSpotted);
-    SmartDashboard.putBoolean("Jevois Updated", updated());
-
-    //list y-coordinates of power cells in increasing order
-    String powerCellsString = "";
-    for(int i=0; i<powerCells.size(); i++) {
-      powerCellsString += powerCells.get(i).toString();
-      if(i < powerCells.size() - 1) {
-        powerCellsString += ", ";
-      }
+    long startTime = LoopProfiler.start(periodicTiming);
+    double now = Timer.getFPGATimestamp();
+    cameraModel.setMount(cameraHeight.get(), cameraPitch.get(), cameraForward.get(), cameraLeft.get(), cameraYaw.get());
+    if(frame.publish()) {
+      long captureTime = (long) (frame.getCaptureTime() * 1000000);
+      latencyTiming.record((RobotController.getFPGATime() - captureTime) * 1000);
+      tracker.update(frame, frame.getCaptureTime());
     }
-    SmartDashboard.putString("Power Cells", powerCellsString);
+
+    tracker.expire(now);
+    for(int i=0; i<tracker.getCount(); i++) {
+      trackFrame.set(i, 0, tracker.getId(i));
+      trackFrame.set(i, 1, tracker.getX(i));
+      trackFrame.set(i, 2, tracker.getY(i));
+      trackFrame.set(i, 3, tracker.getRadius(i));
+      trackFrame.set(i, 4, tracker.getAge(i, now));
+    }
+
+    trackFrame.commit(tracker.getCount(), RobotController.getFPGATime());
+    trackFrame.publish();
+
+    spottedIndicator.set(tracker.getCount());
+    updatedIndicator.set(updated());
+
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Returns whether or not the Jevois has spotted a ball.
+   * Returns whether or not a ball is being tracked. A ball that drops out of a frame or two stays tracked
+   * until it has not been seen for Constants.JEVOIS_TRACK_TIMEOUT.
    * @return True if a ball is spotted, false otherwise.
    */
   public boolean ballSpotted() {
-    return powerCellsSpotted > 0;
+    return tracker.getCount() > 0;
   }
 
   /**
@@ -85,140 +145,52 @@ public class SubsystemJevois extends SubsystemBase {
    * A return value of 0 indicates that the ball is exactly in the center of the screen,
    * a negative value indicates that the ball is left of center, and a positive value indicates 
    * that the ball is right of center.
-   * @return The x coordinate of the closeset ball in pixels.
+   * @return The smoothed x coordinate of the closeset ball in pixels.
    */
   public int getHorizontalPosition() {
-    return powerCells.get(0).getX();
+    return (int) tracker.getX(0);
   }
 
   /**
-   * Returns an array of PowerCells that are listed in order of closest to furthest.
+   * Returns an array of PowerCells that are listed in order of closest to furthest,
+   * built from the smoothed positions of the tracked balls.
    * @return Some PowerCells.
    */
   public ArrayList<PowerCell> getPowerCells() {
-    return powerCells;
+    ArrayList<PowerCell> trackedCells = new ArrayList<PowerCell>();
+    for(int i=0; i<tracker.getCount(); i++) {
+      trackedCells.add(new PowerCell((int) tracker.getX(i), (int) tracker.getY(i), (int) tracker.getRadius(i)));
+    }
+
+    return trackedCells;
   }
 
   /**
-   * Returns whether or not data has recently been received from the Jevois.
-   * @return True if data has been recently received, false otherwise.
+   * Returns the balls tracked across frames, with stable ids, ages, and smoothed positions, closest first, as of the last periodic().
    */
-  public boolean updated() {
-    return System.currentTimeMillis() - lastUpdatedTime < 250;
+  public PowerCellTracker getTracker() {
+    return tracker;
   }
 
   /**
-   * Parses incoming data into PowerCells.
-   * @param segments Formatted segments of data.
+   * Returns the model of the Jevois camera, which turns power cells in the image into bearings, ranges, and field positions.
    */
-  private void parseData(String[] segments) {
-    ArrayList<PowerCell> powerCellsList = new ArrayList<PowerCell>();
-    for(String segment : segments) {
-      if(!segment.isEmpty()) {
-        segment = segment.substring(segment.indexOf("[") + 1);
-
-        String[] data = segment.split(",");
-        try {
-          int x = (int) Double.parseDouble(data[0]);
-          int y = (int) Double.parseDouble(data[1]);
-          int radius = (int) Double.parseDouble(data[2]);
-
-          int centeredX = x - (Constants.JEVOIS_RESOLUTION_X / 2);
-
-          //create a PowerCell and put it into the list
-          PowerCell newPowerCell = new PowerCell(centeredX, y, radius);
-
-          if(powerCellsList.size() == 0 || powerCellsList.get(0).getY() < newPowerCell.getY()) {
-            powerCellsList.add(0, newPowerCell);
-            continue;
-          }
-
-          //do insertion sort
-          boolean inserted = false;
-          for(int i=1; i<powerCellsList.size(); i++) {
-            if(powerCellsList.get(i - 1).getY() >= newPowerCell.getY() && powerCellsList.get(i).getY() <= newPowerCell.getY()) {
-              powerCellsList.add(i, newPowerCell);
-              inserted = true;
-              break;
-            }
-          }
-
-          if(!inserted) {
-            powerCellsList.add(newPowerCell);
-          }
-
-        } catch(NumberFormatException ex) {
-          DriverStation.reportError("SubsystemJevois could not parse data!", true);
-        }
-      } 
-    }
-
-    powerCellsSpotted = powerCellsList.size();
-    powerCells = powerCellsList;
+  public CameraModel getCameraModel() {
+    return cameraModel;
   }
 
   /**
-   * Updates powerCells based on the incoming data from the jevois
-   * @param incoming The most recent data on the jevois buffer.
+   * Returns the power cells as x, y, and radius per cell, closest first, as of the last periodic().
    */
-  private void update(String incoming) {
-    incoming = incoming.substring(0, incoming.indexOf(";"));
-    
-    if(incoming.contains("]")) {
-      String[] segments = incoming.split("]");
-      parseData(segments);
-    } else {
-      powerCellsSpotted = 0;
-    }    
+  public VisionFrame getFrame() {
+    return frame;
   }
 
   /**
-   * TEST METHODS
+   * Returns whether or not a packet from the Jevois has recently been parsed, judged by the capture time of the last frame.
+   * @return True if data has been recently received, false otherwise.
    */
-
-  private boolean testSort(String[] segments) {
-    String str = "";
-    for(String a : segments) {
-      str += a + ", ";
-    }
-
-    System.out.println("Organizing " + str);
-    parseData(segments);
-    
-    String str2 = "";
-    boolean decreasing = true;
-    for(int i=0; i<powerCells.size(); i++) {
-      str2 += Integer.valueOf(powerCells.get(i).getY()).toString();
-      
-      if(i < powerCells.size() - 1) {
-        if(powerCells.get(i).getY() < powerCells.get(i + 1).getY()) {
-          decreasing = false;
-        }
-
-        str2 += ", ";
-      }
-    }
-
-    System.out.println("Result: " + str2);
-    System.out.println("Decreasing: " + (decreasing ? "YES" : "NO"));
-    return decreasing;
-  }
-
-
-  public boolean test() {
-    boolean success = true;
-    for(int i=0; i<5; i++) {
-      int numYs = (int) (Math.random() * 11) +5; //generate anywhere from 5 to 15 ys
-      String[] segments = new String[numYs];
-      for(int n=0; n<numYs; n++) {
-        int y = (int) (Math.random() * 5);
-        String segment = "[0," + Integer.valueOf(y).toString() + ",0";
-        segments[n] = segment;
-      }
-
-      success = success && testSort(segments);
-    }
-
-    return success;
+  public boolean updated() {
+    return frame.getSequence() > 0 && Timer.getFPGATimestamp() - frame.getCaptureTime() < Constants.JEVOIS_UPDATE_TIMEOUT;
   }
 }
@@ -7,82 +7,140 @@
 
 package frc.robot.subsystems;
 
-import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.SocketException;
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+
+import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.Constants;
 import frc.robot.util.Util;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.ClockOffsetEstimator;
+import frc.robot.util.KiwiLightParser;
+import frc.robot.util.KiwiLightSnapshot;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.TimingHistogram;
+import frc.robot.util.VisionFrame;
+import frc.robot.util.VisionIngest;
+import frc.robot.util.VisionSource;
 
 /**
  * The thing that listens to the Pi.
+ * The getters all read the frame taken at the start of periodic(), so they agree with each other within a tick.
  */
 public class SubsystemReceiver extends SubsystemBase {
-  private String latestSegment;
-  private double[] latestData;
+  private final TimingHistogram
+    periodicTiming = LoopProfiler.section("SubsystemReceiver"),
+    latencyTiming  = LoopProfiler.section("Vision Latency/KiwiLight");
+
+  //written by the VisionIngest thread under latestLock, which readers use as a seqlock
+  private final StampedLock latestLock = new StampedLock();
+  private final double[] latestData = {-1, -1, -1, -1, -1, 180, 180};
+  private long
+    latestTime,
+    latestCaptureTime,
+    latestFrameId;
+
+  //taken from the latest frame at the start of every periodic(), so every reader in a tick sees the same frame
+  private final KiwiLightSnapshot current = new KiwiLightSnapshot();
+  private long skippedFrames;
 
   private Boolean inRange;
 
-  private DatagramSocket serverSocket;
-  private byte[]         receiveData;
+  //used only by the VisionIngest thread
+  private final double[] parsedData = new double[KiwiLightParser.TIMESTAMPED_FIELDS];
+  private final ClockOffsetEstimator clock = new ClockOffsetEstimator(Constants.VISION_CLOCK_WINDOW);
+
+  private final VisionFrame frame = new VisionFrame("KiwiLight", new String[] {"X", "Y", "Width", "Height", "Distance", "Horizontal Angle", "Vertical Angle"}, 1);
 
-  private long latestTime;
+  private final TelemetryBoolean
+    spottedIndicator = Telemetry.bool("Spotted"),
+    updatedIndicator = Telemetry.bool("Updated");
 
+  private final TelemetryNumber skippedIndicator = Telemetry.number("KiwiLight Skipped Frames", TelemetryTier.ON_CHANGE);
 
   /**
    * Creates a new SubsystemReceiver.
    */
   public SubsystemReceiver() {
-    latestSegment = "-1,-1,-1,-1,-1,180,180";
-    latestData = new double[] {-1, -1, -1, -1, -1, 180, 180};
-    latestTime    = System.currentTimeMillis();
+    latestTime = RobotController.getFPGATime();
+    latestCaptureTime = latestTime;
+    current.set(latestData, latestTime, latestCaptureTime, 0);
 
-    SmartDashboard.putString("RPi Data", latestSegment);
-    SmartDashboard.putBoolean("Spotted", false);
-    SmartDashboard.putBoolean("Updated", false);
     inRange = false;
 
-    try {
-      serverSocket = new DatagramSocket(3695);
-      receiveData  = new byte[1024];
-    } catch (SocketException e) { //thrown when a socket cannot be created
-      DriverStation.reportError("SOCKET EXCEPTION", true);
-    }
-
     // EXPECTED FORMAT OF INPUT STRING:
-    // :X,Y,H,D,A;
-      // X = X-coordinate
-      // Y = Y-coordinate
+    // :X,Y,W,H,D,HA,VA; or :X,Y,W,H,D,HA,VA,SEQ,TIME;
+      // X, Y = Coordinates of the target in pixels
+      // W, H = Size of the target in pixels
       // D = Distance from target
-      // A = Angle from center (positive = CW)
-
-    Thread listener = new Thread(() -> {
-      while(!Thread.interrupted()) {
-        try {
-          DatagramPacket receivePacket = new DatagramPacket(receiveData, receiveData.length); //create a new packet for the receiving data 
-          serverSocket.receive(receivePacket); //receive the packet from the Socket
-          String segment = new String(receivePacket.getData()).replaceAll("\\s+",""); //remove whitespace and place data in 'segment'
-          latestSegment = segment.substring(segment.indexOf(":") + 1, segment.indexOf(";")); // store segment without borders
-          latestTime = System.currentTimeMillis(); // add timestamp for stored segment
-          String formattedString = segment.substring(segment.indexOf(":") + 1, segment.indexOf(";"));
-          SmartDashboard.putString("RPi Data", formattedString); // put string on dashboard without borders
-          latestData = analyzeData(formattedString);
-
-        } catch (IOException e) { //thrown when the socket cannot receive the packet
-          DriverStation.reportError("IO EXCEPTION", true);
+      // HA, VA = Horizontal and vertical angles to the target
+      // SEQ = Sequence number, increasing by one per packet
+      // TIME = Capture time on the sender's clock in microseconds
+    VisionIngest.register(
+      new VisionSource("KiwiLight", Constants.KIWILIGHT_PORT, Constants.KIWILIGHT_BYTES) {
+        @Override
+        protected boolean parse(ByteBuffer packet) {
+          int fields = KiwiLightParser.parse(packet, parsedData);
+          if(fields == 0) {
+            return false;
+          }
+
+          long captureTime = getReceiveTime();
+          if(fields == KiwiLightParser.TIMESTAMPED_FIELDS) {
+            sequenceReceived((long) parsedData[KiwiLightParser.FIELDS]);
+            captureTime = clock.update((long) parsedData[KiwiLightParser.FIELDS + 1], getReceiveTime());
+          }
+
+          received(getReceiveTime(), captureTime);
+          return true;
         }
       }
-    });
-    
-    listener.start();
+    );
   }
 
   @Override
   public void periodic() {
-    SmartDashboard.putBoolean("Spotted", targetSpotted());
-    SmartDashboard.putBoolean("Updated", getSecondsSinceUpdate() < 0.5);
+    long startTime = LoopProfiler.start(periodicTiming);
+    long lastFrameId = current.getFrameId();
+    getSnapshot(current);
+    if(current.getFrameId() - lastFrameId > 1) {
+      skippedFrames += current.getFrameId() - lastFrameId - 1;
+      skippedIndicator.set(skippedFrames);
+    }
+
+    if(current.getFrameId() != lastFrameId) {
+      latencyTiming.record((RobotController.getFPGATime() - current.getCaptureTime()) * 1000);
+    }
+
+    frame.publish();
+    spottedIndicator.set(targetSpotted());
+    updatedIndicator.set(getSecondsSinceUpdate() < 0.5);
+
+    LoopProfiler.end(periodicTiming, startTime);
+  }
+
+  /**
+   * Makes the parsed packet the latest frame. Called on the VisionIngest thread.
+   * @param receiveTime The FPGA time in microseconds when the packet was received.
+   * @param captureTime The estimated FPGA time in microseconds when the frame was captured.
+   */
+  private void received(long receiveTime, long captureTime) {
+    long stamp = latestLock.writeLock();
+    System.arraycopy(parsedData, 0, latestData, 0, KiwiLightParser.FIELDS);
+    latestTime = receiveTime;
+    latestCaptureTime = captureTime;
+    latestFrameId++;
+    latestLock.unlockWrite(stamp);
+
+    for(int i=0; i<KiwiLightParser.FIELDS; i++) {
+      frame.set(0, i, parsedData[i]);
+    }
+
+    frame.commit(1, captureTime);
   }
 
   /**
@@ -96,65 +154,109 @@ public class SubsystemReceiver extends SubsystemBase {
   }
 
   /**
-   * Retrieves the last known pixel coordinates of the target
-   * @return [0] = X-coordinate (in pixels from left)
-   *         [1] = Y-coordinate (in pixels from bottom)
-   *         [2] = Distance (in inches)
-   *         [3] = Angle from center (in degrees; positive = CW)
-   *         {-1,-1,-1,-1} for no known location
+   * Retrieves the KiwiLight 7-tuple as of the last periodic().
+   * @return A new array holding x, y, width, height, distance, horizontal angle, and vertical angle.
+   *         {-1,-1,-1,-1,-1,180,180} for no known location
    */
   public double[] getLatestData() {
-    return latestData;
+    double[] data = new double[KiwiLightParser.FIELDS];
+    for(int i=0; i<data.length; i++) {
+      data[i] = current.get(i);
+    }
+
+    return data;
+  }
+
+  /**
+   * Copies the latest received frame, its receive time, and its frame id into a snapshot without blocking the VisionIngest thread.
+   * Unlike the getters, which return the frame taken at the start of this tick, this returns the newest frame.
+   * @param snapshot The snapshot to overwrite.
+   */
+  public void getSnapshot(KiwiLightSnapshot snapshot) {
+    long stamp = latestLock.tryOptimisticRead();
+    snapshot.set(latestData, latestTime, latestCaptureTime, latestFrameId);
+    if(!latestLock.validate(stamp)) {
+      //VisionIngest wrote a frame while it was being copied
+      stamp = latestLock.readLock();
+      try {
+        snapshot.set(latestData, latestTime, latestCaptureTime, latestFrameId);
+      } finally {
+        latestLock.unlockRead(stamp);
+      }
+    }
+  }
+
+  /**
+   * Copies the frame taken at the start of this tick into a snapshot. Every caller in the same tick gets the same frame.
+   * @param snapshot The snapshot to overwrite.
+   */
+  public void getCurrentSnapshot(KiwiLightSnapshot snapshot) {
+    snapshot.set(current);
+  }
+
+  /**
+   * Returns the KiwiLight 7-tuple (x, y, width, height, distance, horizontal angle, vertical angle) as of the last periodic().
+   * The tuple is always present; an unseen target reads -1 for the first five values and 180 for the angles.
+   */
+  public VisionFrame getFrame() {
+    return frame;
   }
 
   /**
    * Returns the width of the seen target in pixels, or -1 if no target is seen.
    */
   public double getTargetWidthPixels() {
-    return latestData[2];
+    return current.getTargetWidthPixels();
   }
 
   /**
    * Returns the height of the seen target in pixels, or -1 if no target is seen.
    */
   public double getTargetHeightPixels() {
-    return latestData[3];
+    return current.getTargetHeightPixels();
   }
 
   /**
    * Returns the distance of the camera to the target, or -1 if no target is seen.
    */
   public double getDistanceToTarget() {
-    return latestData[4];
+    return current.getDistanceToTarget();
   }
 
   /**
    * Returns the horizontal angle (degrees) to the target, or 180 if no target is seen.
    */
   public double getHorizontalAngleToTarget() {
-    return latestData[5];
+    return current.getHorizontalAngleToTarget();
   }
 
   /**
    * Returns the vertical angle (degrees) to the target, or 180 if no target is seen.
    */
   public double getVerticalAngleToTarget() {
-    return latestData[6];
+    return current.getVerticalAngleToTarget();
   }
 
   /**
    * Returns true if a target is seen, false otherwise.
    */
   public boolean targetSpotted() {
-    return latestData[2] > -1;
+    return current.targetSpotted();
   }
 
   /**
-   * Returns the miliseconds since the pi sent the LastKnownLocation
-   * @return ms since last received UDP packet
+   * Returns the seconds since the frame used this tick was received.
+   * @return Seconds since the UDP packet holding this tick's frame arrived.
    */
   public double getSecondsSinceUpdate() {
-    return Util.roundTo((double) ((System.currentTimeMillis() - latestTime) / 1000), 5);
+    return Util.roundTo((RobotController.getFPGATime() - current.getReceiveTime()) / 1000000.0, 5);
+  }
+
+  /**
+   * Returns the estimated FPGA time in seconds when the frame used this tick was captured, comparable to Timer.getFPGATimestamp().
+   */
+  public double getCaptureTimestamp() {
+    return current.getCaptureTimestamp();
   }
 
   /**
@@ -174,32 +276,4 @@ public class SubsystemReceiver extends SubsystemBase {
   public Boolean getWithinRange() {
     return inRange;
   }
-
-  /**
-   * Retrieves the last known pixel coordinates of the target
-   * @return [0] = X-coordinate (in pixels from left)
-   *         [1] = Y-coordinate (in pixels from bottom)
-   *         [2] = Distance (in inches)
-   *         [3] = Angle from center (in degrees; positive = CW)
-   *         {-1,-1,-1,-1} for no known location
-   */
-  private double[] analyzeData(String input) {
-    double[] newData = {-1, -1, -1, -1, -1, 180, 180};
-    String[] stringData = input.split(",");
-
-    if(stringData.length != newData.length) {
-      DriverStation.reportWarning("INPUT STRING IMPROPERLY FORMATTED!", true);
-      return newData;
-    }
-
-    try {
-      for(int i=0; i<stringData.length; i++) {
-        newData[i] = Double.parseDouble(stringData[i]);
-      }
-    } catch(Exception ex) {
-      DriverStation.reportWarning("PARSING DATA ERROR: " + ex.getMessage(), true);
-    }
-
-    return newData;
-  }
 }
\ No newline at end of file
@@ -9,21 +9,56 @@ package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj.I2C;
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 import com.revrobotics.ColorSensorV3;
 import frc.robot.Constants;
-import frc.robot.util.Util;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryBoolean;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.TalonFramePlan;
+import frc.robot.util.TalonHealth;
+import frc.robot.util.TalonWriter;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Xbox;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.TimingHistogram;
 
 /**
  * Thing that spins the color wheel.
  */
 public class SubsystemSpinner extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemSpinner");
+
   private TalonSRX spinner; 
+  private OutputWriter spinnerOutput;
+
+  private TelemetryNumber
+    redIndicator,
+    blueIndicator,
+    greenIndicator;
+
+  private TelemetryBoolean
+    foundRedIndicator,
+    foundGreenIndicator,
+    foundBlueIndicator,
+    foundYellowIndicator;
+
+  private final DeviceHealth spinnerHealth;
+  private final CANCounter spinnerTraffic = CANTraffic.device("Spinner");
+  private final ConfigCache spinnerConfig = new ConfigCache(true, spinnerTraffic);
+  private final StatusFramePlan spinnerFrames;
   private ColorSensorV3 sensor;
   private final I2C.Port i2cPort = I2C.Port.kOnboard;
 
@@ -32,8 +67,32 @@ public class SubsystemSpinner extends SubsystemBase {
   private Color detectedColor;
   private boolean prevRed = false;
 
+  private final TunableDouble
+    totalRotations = Tunable.getDouble("Total Rotations", 3),
+    spinInhibitor  = Tunable.getDouble("Spin Inhibitor", 1);
+
   public SubsystemSpinner() {
     spinner = new TalonSRX(Constants.SPINNER_ID);
+    spinnerOutput = new TalonWriter(spinner, spinnerTraffic);
+
+    redIndicator = Telemetry.number("RED", TelemetryTier.SLOW, Constants.TELEMETRY_COLOR_DEADBAND);
+    blueIndicator = Telemetry.number("BLUE", TelemetryTier.SLOW, Constants.TELEMETRY_COLOR_DEADBAND);
+    greenIndicator = Telemetry.number("GREEN", TelemetryTier.SLOW, Constants.TELEMETRY_COLOR_DEADBAND);
+    foundRedIndicator = Telemetry.bool("Found Red");
+    foundGreenIndicator = Telemetry.bool("Found Green");
+    foundBlueIndicator = Telemetry.bool("Found Blue");
+    foundYellowIndicator = Telemetry.bool("Found Yellow");
+    Telemetry.sample("Spinner Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, spinnerTraffic.reads(spinner::getStatorCurrent));
+    spinnerHealth = HealthMonitor.register(new TalonHealth("Spinner", spinner));
+
+    //the spinner is only driven in teleop and only its current is read
+    spinnerFrames = new TalonFramePlan(spinner, spinnerTraffic, spinnerConfig)
+      .set(StatusFrameEnhanced.Status_1_General, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_2_Feedback0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_3_Quadrature, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_4_AinTempVbat, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_13_Base_PIDF0, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
+    spinnerFrames.apply();
     sensor = new ColorSensorV3(i2cPort);
     rotations = 0;
     trueRotations = 0;
@@ -44,30 +103,34 @@ public class SubsystemSpinner extends SubsystemBase {
    */
   @Override
   public void periodic() {
+    long startTime = LoopProfiler.start(periodicTiming);
+    if(spinnerHealth.consumeReconnect()) {
+      spinnerConfig.invalidate();
+      spinnerOutput.invalidate();
+      spinnerFrames.apply();
+    }
+
     detectedColor = sensor.getColor();
     // This method will be called once per scheduler run
-    SmartDashboard.putNumber("RED", detectedColor.red);
-    SmartDashboard.putNumber("BLUE", detectedColor.blue);
-    SmartDashboard.putNumber("GREEN", detectedColor.green);
+    redIndicator.set(detectedColor.red);
+    blueIndicator.set(detectedColor.blue);
+    greenIndicator.set(detectedColor.green);
 
-    SmartDashboard.putBoolean("Found Red", isRed(detectedColor));
-    SmartDashboard.putBoolean("Found Green", isGreen(detectedColor));
-    SmartDashboard.putBoolean("Found Blue", isBlue(detectedColor));
-    SmartDashboard.putBoolean("Found Yellow", isYellow(detectedColor));
+    foundRedIndicator.set(isRed(detectedColor));
+    foundGreenIndicator.set(isGreen(detectedColor));
+    foundBlueIndicator.set(isBlue(detectedColor));
+    foundYellowIndicator.set(isYellow(detectedColor));
 
-    SmartDashboard.putNumber("Spinner Amps", spinner.getStatorCurrent());
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean spinnerConnected = spinner.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    SmartDashboard.putBoolean("Spinner Connected", spinnerConnected);
-    return spinnerConnected;
+    return spinnerHealth.isConnected();
   }
 
   /**
@@ -75,7 +138,7 @@ public class SubsystemSpinner extends SubsystemBase {
    * @param controller The controller to use.
    */
   public void driveByController(Joystick controller) {
-    spinner.set(ControlMode.PercentOutput, Xbox.RIGHT_X(controller));
+    spinnerOutput.set(Xbox.RIGHT_X(controller));
   }
 
   /**
@@ -83,14 +146,14 @@ public class SubsystemSpinner extends SubsystemBase {
    * @param speed Percent output to set the spinner to.
    */
   public void startSpinner(double speed) {
-    spinner.set(ControlMode.PercentOutput, speed);
+    spinnerOutput.set(speed);
   }
 
   /**
    * Stops spinner motor.
    */
   public void stopSpinner() {
-    spinner.set(ControlMode.PercentOutput, 0);
+    spinnerOutput.set(0);
   }
 
   /**
@@ -124,7 +187,7 @@ public class SubsystemSpinner extends SubsystemBase {
     }
 
     trueRotations = rotations/2;
-    if (trueRotations >= Util.getAndSetDouble("Total Rotations", 3)){
+    if (trueRotations >= totalRotations.get()){
       return true;
     }
 
@@ -137,7 +200,7 @@ public class SubsystemSpinner extends SubsystemBase {
    * @return true if position control was completed, false otherwise.
    */
   public boolean spinColor(char colorToFind) {
-    startSpinner(Util.getAndSetDouble("Spin Inhibitor", 1));
+    startSpinner(spinInhibitor.get());
 
     switch(colorToFind){
       case 'R':
@@ -7,27 +7,69 @@
 
 package frc.robot.subsystems;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
-import frc.robot.util.Util;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.OutputMode;
+import frc.robot.enumeration.TelemetryTier;
+import frc.robot.util.CANCounter;
+import frc.robot.util.CANTraffic;
+import frc.robot.util.ConfigCache;
+import frc.robot.util.DataLogger;
+import frc.robot.util.DeviceHealth;
+import frc.robot.util.HealthMonitor;
+import frc.robot.util.LogSignal;
+import frc.robot.util.OutputWriter;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryNumber;
+import frc.robot.util.TalonHealth;
+import frc.robot.util.StatusFramePlan;
+import frc.robot.util.TalonFramePlan;
+import frc.robot.util.TalonWriter;
+import frc.robot.util.Tunable;
+import frc.robot.util.TunableDouble;
 import frc.robot.util.Xbox;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.TimingHistogram;
 
 /**
  * Turret pitch and yaw
  */
 public class SubsystemTurret extends SubsystemBase {
+  private final TimingHistogram periodicTiming = LoopProfiler.section("SubsystemTurret");
  
   private TalonSRX 
     turretYaw,
     turretPitch;
 
+  private OutputWriter
+    yawOutput,
+    pitchOutput;
+
+  private TelemetryNumber
+    yawTicksIndicator,
+    pitchTicksIndicator,
+    yawTargetIndicator,
+    yawErrorIndicator,
+    pitchTargetIndicator,
+    pitchErrorIndicator;
+
+  private final LogSignal
+    yawTicksSignal   = DataLogger.signal("Turret/Yaw Ticks", LogSignalType.INTEGER, "ticks"),
+    pitchTicksSignal = DataLogger.signal("Turret/Pitch Ticks", LogSignalType.INTEGER, "ticks");
+
+  private final DeviceHealth
+    yawHealth,
+    pitchHealth;
+
   private int
     totalYawTicks,
     totalPitchTicks;
@@ -35,18 +77,60 @@ public class SubsystemTurret extends SubsystemBase {
   private boolean 
     pitchPositioningDisabled;
 
+  private final CANCounter
+    yawTraffic   = CANTraffic.device("Yaw"),
+    pitchTraffic = CANTraffic.device("Pitch");
+
+  private final ConfigCache
+    yawConfig   = new ConfigCache(true, yawTraffic),
+    pitchConfig = new ConfigCache(true, pitchTraffic);
+
+  private final StatusFramePlan
+    yawFrames,
+    pitchFrames;
+
+  private final TunableDouble
+    yawInhibitor   = Tunable.getDouble("Turret Spin Inhibitor Yaw", 0.7),
+    pitchInhibitor = Tunable.getDouble("Turret Spin Inhibitor Pitch", 1);
+
   /**
    * Creates a new SubsystemTurret.
    */
   public SubsystemTurret() {
     turretYaw = new TalonSRX(Constants.TURRET_YAW_ID);
     turretPitch = new TalonSRX(Constants.TURRET_PITCH_ID);
+    yawOutput = new TalonWriter(turretYaw, yawTraffic);
+    pitchOutput = new TalonWriter(turretPitch, pitchTraffic);
+
+    Telemetry.sample("Yaw Position", TelemetryTier.FAST, 0, yawTraffic.reads(() -> turretYaw.getSensorCollection().getQuadraturePosition()));
+    Telemetry.sample("Pitch Position", TelemetryTier.FAST, 0, pitchTraffic.reads(() -> turretPitch.getSensorCollection().getQuadraturePosition()));
+    Telemetry.sampleBoolean("Yaw Forward Limit", TelemetryTier.ON_CHANGE, yawTraffic.readsBoolean(() -> turretYaw.isFwdLimitSwitchClosed() == 1));
+    Telemetry.sampleBoolean("Yaw Backward Limit", TelemetryTier.ON_CHANGE, yawTraffic.readsBoolean(() -> turretYaw.isRevLimitSwitchClosed() == 1));
+    Telemetry.sampleBoolean("Pitch Forward Limit", TelemetryTier.ON_CHANGE, pitchTraffic.readsBoolean(() -> turretPitch.isFwdLimitSwitchClosed() == 1));
+    Telemetry.sampleBoolean("Pitch Backward Limit", TelemetryTier.ON_CHANGE, pitchTraffic.readsBoolean(() -> turretPitch.isRevLimitSwitchClosed() == 1));
+    Telemetry.sample("Yaw Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, yawTraffic.reads(turretYaw::getStatorCurrent));
+    Telemetry.sample("Pitch Amps", TelemetryTier.SLOW, Constants.TELEMETRY_AMPS_DEADBAND, pitchTraffic.reads(turretPitch::getStatorCurrent));
+    Telemetry.sample("Yaw Out", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, yawTraffic.reads(turretYaw::getMotorOutputPercent));
+    Telemetry.sample("Pitch Out", TelemetryTier.FAST, Constants.TELEMETRY_OUTPUT_DEADBAND, pitchTraffic.reads(turretPitch::getMotorOutputPercent));
+    yawTicksIndicator = Telemetry.number("Yaw Ticks", TelemetryTier.ON_CHANGE);
+    pitchTicksIndicator = Telemetry.number("Pitch Ticks", TelemetryTier.ON_CHANGE);
+    yawTargetIndicator = Telemetry.number("Yaw PID Target");
+    yawErrorIndicator = Telemetry.number("Yaw PID Error");
+    pitchTargetIndicator = Telemetry.number("Pitch PID Target");
+    pitchErrorIndicator = Telemetry.number("Pitch PID Error");
+    yawHealth = HealthMonitor.register(new TalonHealth("Yaw", turretYaw));
+    pitchHealth = HealthMonitor.register(new TalonHealth("Pitch", turretPitch));
 
     totalYawTicks = Constants.DEFAULT_TURRET_YAW_TICKS;
     totalPitchTicks = Constants.DEFAULT_TURRET_PITCH_TICKS;
 
     pitchPositioningDisabled = false;
 
+    //limit switches (status 1) and the encoders (status 3) are only needed quickly while the turret can move.
+    //they stay at the slow rate while disabled so the encoders are still zeroed if the turret is pushed into a limit
+    yawFrames = createStatusFramePlan(turretYaw, yawTraffic, yawConfig);
+    pitchFrames = createStatusFramePlan(turretPitch, pitchTraffic, pitchConfig);
+
     configureMotors();
   }
 
@@ -55,49 +139,44 @@ public class SubsystemTurret extends SubsystemBase {
    */
   @Override
   public void periodic() {
+    long startTime = LoopProfiler.start(periodicTiming);
     // This method will be called once per scheduler run
+    boolean yawReconnected = yawHealth.consumeReconnect();
+    boolean pitchReconnected = pitchHealth.consumeReconnect();
+    if(yawReconnected || pitchReconnected) {
+      //the controller may have rebooted, so everything cached about it is wrong
+      yawConfig.invalidate();
+      pitchConfig.invalidate();
+      yawOutput.invalidate();
+      pitchOutput.invalidate();
+      configureMotors();
+    }
 
-    SmartDashboard.putNumber("Yaw Position", turretYaw.getSensorCollection().getQuadraturePosition());
-    SmartDashboard.putNumber("Pitch Position", turretPitch.getSensorCollection().getQuadraturePosition());
-
-    SmartDashboard.putBoolean("Yaw Forward Limit", turretYaw.isFwdLimitSwitchClosed() == 1);
-    SmartDashboard.putBoolean("Yaw Backward Limit", turretYaw.isRevLimitSwitchClosed() == 1);
-
-    SmartDashboard.putBoolean("Pitch Forward Limit", turretPitch.isFwdLimitSwitchClosed() == 1);
-    SmartDashboard.putBoolean("Pitch Backward Limit", turretPitch.isRevLimitSwitchClosed() == 1);
-
-    SmartDashboard.putNumber("Yaw Ticks", totalYawTicks);
-    SmartDashboard.putNumber("Pitch Ticks", totalPitchTicks);
-
-    SmartDashboard.putNumber("Yaw Amps", turretYaw.getStatorCurrent());
-    SmartDashboard.putNumber("Pitch Amps", turretPitch.getStatorCurrent());
+    yawTicksIndicator.set(totalYawTicks);
+    pitchTicksIndicator.set(totalPitchTicks);
+    yawTraffic.count(CANMessage.STATUS_READ);
+    yawTicksSignal.append(turretYaw.getSensorCollection().getQuadraturePosition());
+    pitchTraffic.count(CANMessage.STATUS_READ);
+    pitchTicksSignal.append(turretPitch.getSensorCollection().getQuadraturePosition());
 
-    SmartDashboard.putNumber("Yaw Out", turretYaw.getMotorOutputPercent());
-    SmartDashboard.putNumber("Pitch Out", turretPitch.getMotorOutputPercent());
-  
     if(getYawLeftLimit()) {
       turretYaw.getSensorCollection().setQuadraturePosition(0, 0);
     }
 
     if(getPitchLowerLimit()) {
       turretPitch.getSensorCollection().setQuadraturePosition(0, 0);
-    }    
+    }
+
+    LoopProfiler.end(periodicTiming, startTime);
   }
 
   /**
-   * Prints dashboard indicators indicating whether the subsystem is ready for a match.
-   * Indicators are to be used for pre-match only. They do not provide an accurite indication
-   * of the state of a subsystem in mid match.
+   * Returns whether the subsystem is ready for a match, from the results cached by HealthMonitor.
+   * Does not touch the CAN bus, so it is safe to call every frame.
    * @return true if the system is ready for a match, false otherwise.
    */
   public boolean getSystemIsGo() {
-    boolean yawConnected = turretYaw.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-    boolean pitchConnected = turretPitch.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
-
-    SmartDashboard.putBoolean("Yaw Connected", yawConnected);
-    SmartDashboard.putBoolean("Pitch Connected", pitchConnected);
-
-    return yawConnected && pitchConnected;
+    return yawHealth.isConnected() && pitchHealth.isConnected();
   }
 
   /**
@@ -113,13 +192,13 @@ public class SubsystemTurret extends SubsystemBase {
 
     speedx *= Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT;
 
-    speedx = speedx * Util.getAndSetDouble("Turret Spin Inhibitor Yaw", 0.7);
-    speedy = speedy * Util.getAndSetDouble("Turret Spin Inhibitor Pitch", 1);
+    speedx = speedx * yawInhibitor.get();
+    speedy = speedy * pitchInhibitor.get();
 
     speedx = (speedx < -1 * Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT ? -1 * Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT : (speedx > Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT ? Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT : speedx));
 
-    turretYaw.set(ControlMode.PercentOutput, speedx);
-    turretPitch.set(ControlMode.PercentOutput, speedy);
+    yawOutput.set(speedx);
+    pitchOutput.set(speedy);
   }
 
   /**
@@ -132,16 +211,7 @@ public class SubsystemTurret extends SubsystemBase {
    * @param izone proximity to target at which I gain starts to take effect
    */
   public void setYawPIDF(double p, double i, double d, double f, double highOut, int izone) {
-
-    turretYaw.config_kP(0, p);
-    turretYaw.config_kI(0, i);
-    turretYaw.config_IntegralZone(0, izone);
-    turretYaw.config_kD(0, d);
-    turretYaw.config_kF(0, f);
-
-    turretYaw.configPeakOutputForward(highOut);
-    turretYaw.configPeakOutputReverse(highOut * -1);
-    turretYaw.configAllowableClosedloopError(0, 0, 0);
+    setPIDF(turretYaw, yawConfig, p, i, d, f, highOut, izone);
   }
 
   /**
@@ -154,15 +224,22 @@ public class SubsystemTurret extends SubsystemBase {
    * @param izone proximity to target at which I gain starts to take effect
    */
   public void setPitchPIDF(double p, double i, double d, double f, double highOut, int izone) {
-    turretPitch.config_kP(0, p);
-    turretPitch.config_kI(0, i);
-    turretYaw.config_IntegralZone(0, izone);
-    turretPitch.config_kD(0, d); 
-    turretPitch.config_kF(0, f);
-
-    turretPitch.configPeakOutputForward(highOut, 0);
-    turretPitch.configPeakOutputReverse(highOut * -1, 0);
-    turretPitch.configAllowableClosedloopError(0, 0, 0);
+    setPIDF(turretPitch, pitchConfig, p, i, d, f, highOut, izone);
+  }
+
+  /**
+   * Sends the PIDF constants that changed to one of the turret motors.
+   */
+  private void setPIDF(TalonSRX motor, ConfigCache config, double p, double i, double d, double f, double highOut, int izone) {
+    config.set(ControllerParameter.P, p, () -> ConfigCache.succeeded(motor.config_kP(0, p)));
+    config.set(ControllerParameter.I, i, () -> ConfigCache.succeeded(motor.config_kI(0, i)));
+    config.set(ControllerParameter.I_ZONE, izone, () -> ConfigCache.succeeded(motor.config_IntegralZone(0, izone)));
+    config.set(ControllerParameter.D, d, () -> ConfigCache.succeeded(motor.config_kD(0, d)));
+    config.set(ControllerParameter.F, f, () -> ConfigCache.succeeded(motor.config_kF(0, f)));
+
+    config.set(ControllerParameter.OUTPUT_MAX, highOut, () -> ConfigCache.succeeded(motor.configPeakOutputForward(highOut)));
+    config.set(ControllerParameter.OUTPUT_MIN, highOut * -1, () -> ConfigCache.succeeded(motor.configPeakOutputReverse(highOut * -1)));
+    config.set(ControllerParameter.ALLOWABLE_ERROR, 0, () -> ConfigCache.succeeded(motor.configAllowableClosedloopError(0, 0, 0)));
   }
 
   /**
@@ -170,10 +247,11 @@ public class SubsystemTurret extends SubsystemBase {
    * @param position target yaw position in ticks.
    */
   public void setYawPosition(double position) {
-    turretYaw.set(ControlMode.Position, position);
+    yawOutput.set(OutputMode.POSITION, position);
 
-    SmartDashboard.putNumber("Yaw PID Target", position);
-    SmartDashboard.putNumber("Yaw PID Error", Math.abs(turretYaw.getSensorCollection().getQuadraturePosition()) - position);
+    yawTargetIndicator.set(position);
+    yawTraffic.count(CANMessage.STATUS_READ);
+    yawErrorIndicator.set(Math.abs(turretYaw.getSensorCollection().getQuadraturePosition()) - position);
   }
 
   /**
@@ -182,10 +260,11 @@ public class SubsystemTurret extends SubsystemBase {
    */
   public void setPitchPosition(double position) {
     if(!pitchPositioningDisabled) {
-      turretPitch.set(ControlMode.Position, position);
+      pitchOutput.set(OutputMode.POSITION, position);
 
-      SmartDashboard.putNumber("Pitch PID Target", position);
-      SmartDashboard.putNumber("Pitch PID Error", turretPitch.getSensorCollection().getQuadraturePosition() - position);
+      pitchTargetIndicator.set(position);
+      pitchTraffic.count(CANMessage.STATUS_READ);
+      pitchErrorIndicator.set(turretPitch.getSensorCollection().getQuadraturePosition() - position);
     }
   }
 
@@ -195,8 +274,8 @@ public class SubsystemTurret extends SubsystemBase {
    */
   public void setYawPercentOutput(double percent) {
     double inhibited = percent * Constants.TURRET_YAW_ABSOLUTE_MAX_OUTPUT;
-    inhibited *= Util.getAndSetDouble("Turret Spin Inhibitor Yaw", 0.7);
-    turretYaw.set(ControlMode.PercentOutput, inhibited);
+    inhibited *= yawInhibitor.get();
+    yawOutput.set(inhibited);
   }
 
   /**
@@ -204,7 +283,7 @@ public class SubsystemTurret extends SubsystemBase {
    * @param percent percent output
    */
   public void setPitchPercentOutput(double percent) {
-      turretPitch.set(ControlMode.PercentOutput, percent);
+      pitchOutput.set(percent);
   }
 
   public void setPitchPositioningDisabled(boolean disabled) {
@@ -215,6 +294,7 @@ public class SubsystemTurret extends SubsystemBase {
    * Returns the current position of the yaw motor in ticks.
    */
   public double getYawPosition() {
+    yawTraffic.count(CANMessage.STATUS_READ);
     return turretYaw.getSensorCollection().getQuadraturePosition();
   }
 
@@ -222,6 +302,7 @@ public class SubsystemTurret extends SubsystemBase {
    * Returns the current position of pitch motor in ticks.
    */
   public double getPitchPosition() {
+    pitchTraffic.count(CANMessage.STATUS_READ);
     return turretPitch.getSensorCollection().getQuadraturePosition();
   }
 
@@ -230,6 +311,7 @@ public class SubsystemTurret extends SubsystemBase {
    * NOTE: Right Limit is also the "zero" limit.
    */
   public boolean getYawRightlimit() {
+    yawTraffic.count(CANMessage.STATUS_READ);
     return turretYaw.isFwdLimitSwitchClosed() == 1;
   }
 
@@ -238,6 +320,7 @@ public class SubsystemTurret extends SubsystemBase {
    * NOTE: Left limit is the "high" limit.
    */
   public boolean getYawLeftLimit() {
+    yawTraffic.count(CANMessage.STATUS_READ);
     return turretYaw.isRevLimitSwitchClosed() == 1;
   }
 
@@ -245,6 +328,7 @@ public class SubsystemTurret extends SubsystemBase {
    * Returns true if the pitch motor's lower limit is closed, false otherwise.
    */
   public boolean getPitchLowerLimit() {
+    pitchTraffic.count(CANMessage.STATUS_READ);
     return turretPitch.isFwdLimitSwitchClosed() == 1;
   }
 
@@ -252,6 +336,7 @@ public class SubsystemTurret extends SubsystemBase {
    * Returns true if the pitch motor's upper limit is closed, false otherwise.
    */
   public boolean getPitchUpperLimit() {
+    pitchTraffic.count(CANMessage.STATUS_READ);
     return turretPitch.isRevLimitSwitchClosed() == 1;
   }
 
@@ -279,6 +364,7 @@ public class SubsystemTurret extends SubsystemBase {
    */
   public boolean attemptToSetTotalYawTicks() {
     if(getYawRightlimit()) {
+      yawTraffic.count(CANMessage.STATUS_READ);
       this.totalYawTicks = turretYaw.getSensorCollection().getQuadraturePosition();
       return true;
     }
@@ -294,6 +380,7 @@ public class SubsystemTurret extends SubsystemBase {
    */
   public boolean attemptToSetTotalPitchTicks() {
     if(getPitchUpperLimit()) {
+      pitchTraffic.count(CANMessage.STATUS_READ);
       this.totalPitchTicks = turretPitch.getSensorCollection().getQuadraturePosition();
       return true;
     }
@@ -320,15 +407,30 @@ public class SubsystemTurret extends SubsystemBase {
    * Sets output inverts, encoder inverts, and neutral modes of the motors.
    */
   private void configureMotors() {
-    turretPitch.setNeutralMode(NeutralMode.Brake);
-    turretYaw.setNeutralMode(NeutralMode.Brake);
+    pitchConfig.set(ControllerParameter.BRAKING, true, () -> { turretPitch.setNeutralMode(NeutralMode.Brake); return true; });
+    yawConfig.set(ControllerParameter.BRAKING, true, () -> { turretYaw.setNeutralMode(NeutralMode.Brake); return true; });
 
-    turretPitch.setInverted(Constants.TURRET_PITCH_INVERT);
-    turretYaw.setInverted(Constants.TURRET_YAW_INVERT);
+    pitchConfig.set(ControllerParameter.INVERTED, Constants.TURRET_PITCH_INVERT, () -> { turretPitch.setInverted(Constants.TURRET_PITCH_INVERT); return true; });
+    yawConfig.set(ControllerParameter.INVERTED, Constants.TURRET_YAW_INVERT, () -> { turretYaw.setInverted(Constants.TURRET_YAW_INVERT); return true; });
 
-    turretYaw.configContinuousCurrentLimit(Constants.TURRET_YAW_AMP_LIMIT);
+    yawConfig.set(ControllerParameter.CURRENT_LIMIT, Constants.TURRET_YAW_AMP_LIMIT, () -> ConfigCache.succeeded(turretYaw.configContinuousCurrentLimit(Constants.TURRET_YAW_AMP_LIMIT)));
 
-    turretYaw.setSensorPhase(true);
-    turretPitch.setSensorPhase(true);
+    yawConfig.set(ControllerParameter.SENSOR_PHASE, true, () -> { turretYaw.setSensorPhase(true); return true; });
+    pitchConfig.set(ControllerParameter.SENSOR_PHASE, true, () -> { turretPitch.setSensorPhase(true); return true; });
+
+    yawFrames.apply();
+    pitchFrames.apply();
+  }
+
+  /**
+   * Returns the status frame plan of one of the motors.
+   */
+  private StatusFramePlan createStatusFramePlan(TalonSRX motor, CANCounter traffic, ConfigCache config) {
+    return new TalonFramePlan(motor, traffic, config)
+      .set(StatusFrameEnhanced.Status_1_General, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST)
+      .set(StatusFrameEnhanced.Status_2_Feedback0, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_SLOW)
+      .set(StatusFrameEnhanced.Status_3_Quadrature, Constants.STATUS_FRAME_SLOW, Constants.STATUS_FRAME_FAST, Constants.STATUS_FRAME_FAST)
+      .set(StatusFrameEnhanced.Status_4_AinTempVbat, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE)
+      .set(StatusFrameEnhanced.Status_13_Base_PIDF0, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE, Constants.STATUS_FRAME_IDLE);
   }
 }
@@ -0,0 +1,351 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.tools;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.util.DataLogger;
+import frc.robot.util.ILogVisitor;
+import frc.robot.util.LogReader;
+
+/**
+ * Desktop tool that filters, resamples, joins, and exports DataLogger files as CSV. Runs without robot hardware.
+ * Files are streamed through LogReader, and sessions (one run of the robot code) are scanned in parallel.
+ * Only compile-time constants of DataLogger are used, so no robot classes are loaded. Usage:
+ *   ./gradlew queryLogs --args="[options] [log files or directories]"
+ * Options:
+ *   --signals a,b,c   Only output these signals. Required for --resample and --on.
+ *   --from seconds    Skip samples before this time (seconds since the session started).
+ *   --to seconds      Skip samples after this time.
+ *   --resample ms     Output one row per period with the latest value of every signal.
+ *   --on signal       Output one row each time this signal changes, with the latest value of every other signal.
+ *   --out file        Write the CSV here instead of to the console.
+ *   --threads n       Number of sessions to scan at once. Defaults to the number of processors.
+ * Without --resample or --on, every sample is output as a session,time,signal,value row.
+ */
+public class LogQuery {
+    private String[] signals;
+    private double
+        fromSeconds = Double.NEGATIVE_INFINITY,
+        toSeconds = Double.POSITIVE_INFINITY;
+    private long resampleMicros;
+    private String onSignal;
+    private File output;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private List<File> inputs = new ArrayList<File>();
+
+    public static void main(String[] args) throws Exception {
+        LogQuery query = new LogQuery();
+        try {
+            query.parse(args);
+        } catch(IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("Usage: LogQuery [--signals a,b] [--from s] [--to s] [--resample ms | --on signal] [--out file] [--threads n] [files or directories]");
+            System.exit(1);
+        }
+
+        query.run();
+    }
+
+    private void parse(String[] args) {
+        for(int i=0; i<args.length; i++) {
+            String arg = args[i];
+            if(!arg.startsWith("--")) {
+                inputs.add(new File(arg));
+                continue;
+            }
+
+            if(i + 1 >= args.length) {
+                throw new IllegalArgumentException(arg + " needs a value");
+            }
+
+            String value = args[++i];
+            try {
+                switch(arg) {
+                    case "--signals":
+                        signals = value.split(",");
+                        for(int s=0; s<signals.length; s++) {
+                            signals[s] = signals[s].trim();
+                        }
+                        break;
+                    case "--from":
+                        fromSeconds = Double.parseDouble(value);
+                        break;
+                    case "--to":
+                        toSeconds = Double.parseDouble(value);
+                        break;
+                    case "--resample":
+                        resampleMicros = Math.round(Double.parseDouble(value) * 1000);
+                        break;
+                    case "--on":
+                        onSignal = value;
+                        break;
+                    case "--out":
+                        output = new File(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            } catch(NumberFormatException ex) {
+                throw new IllegalArgumentException(arg + " needs a number, got " + value);
+            }
+        }
+
+        if(inputs.isEmpty()) {
+            throw new IllegalArgumentException("No log files given");
+        }
+
+        if(resampleMicros > 0 && onSignal != null) {
+            throw new IllegalArgumentException("--resample and --on cannot be used together");
+        }
+
+        if((resampleMicros > 0 || onSignal != null) && signals == null) {
+            throw new IllegalArgumentException("--resample and --on need --signals");
+        }
+
+        if(onSignal != null && !Arrays.asList(signals).contains(onSignal)) {
+            String[] newSignals = new String[signals.length + 1];
+            newSignals[0] = onSignal;
+            System.arraycopy(signals, 0, newSignals, 1, signals.length);
+            signals = newSignals;
+        }
+    }
+
+    private void run() throws Exception {
+        //group files by session so each session is scanned in order by one thread
+        TreeMap<Long, List<File>> sessions = new TreeMap<Long, List<File>>();
+        for(File file : findLogs()) {
+            try {
+                sessions.computeIfAbsent(LogReader.readSessionStart(file), start -> new ArrayList<File>()).add(file);
+            } catch(IOException ex) {
+                System.err.println("Skipping " + file + ": " + ex.getMessage());
+            }
+        }
+
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        List<Future<File>> results = new ArrayList<Future<File>>();
+        for(Long sessionStart : sessions.keySet()) {
+            List<File> files = sessions.get(sessionStart);
+            results.add(executor.submit(() -> scanSession(sessionStart, files)));
+        }
+
+        executor.shutdown();
+
+        //merge the per-session results in session order
+        try(Writer writer = (output == null ? new BufferedWriter(new OutputStreamWriter(System.out)) : new BufferedWriter(new FileWriter(output)))) {
+            writer.write(getCSVHeader());
+            writer.write('\n');
+            for(Future<File> result : results) {
+                File part = result.get();
+                try(BufferedReader reader = Files.newBufferedReader(part.toPath())) {
+                    String line;
+                    while((line = reader.readLine()) != null) {
+                        writer.write(line);
+                        writer.write('\n');
+                    }
+                }
+
+                part.delete();
+            }
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+        System.err.println("Scanned " + sessions.size() + " sessions in " + elapsedSeconds + " s");
+    }
+
+    /**
+     * Expands directories in the input list to the log files inside them.
+     */
+    private List<File> findLogs() {
+        List<File> logs = new ArrayList<File>();
+        for(File input : inputs) {
+            if(input.isDirectory()) {
+                File[] children = input.listFiles((dir, name) -> name.endsWith(DataLogger.FILE_EXTENSION));
+                if(children != null) {
+                    logs.addAll(Arrays.asList(children));
+                }
+            } else {
+                logs.add(input);
+            }
+        }
+
+        return logs;
+    }
+
+    private String getCSVHeader() {
+        if(resampleMicros > 0 || onSignal != null) {
+            return "session,time," + String.join(",", signals);
+        }
+
+        return "session,time,signal,value";
+    }
+
+    /**
+     * Scans every file of one session and writes the matching rows to a temporary file.
+     */
+    private File scanSession(long sessionStart, List<File> files) throws IOException {
+        files.sort(Comparator.comparingInt(file -> {
+            try {
+                return LogReader.readFileIndex(file);
+            } catch(IOException ex) {
+                return Integer.MAX_VALUE;
+            }
+        }));
+
+        File part = File.createTempFile("logquery", ".csv");
+        try(Writer writer = new BufferedWriter(new FileWriter(part))) {
+            SessionScan scan = new SessionScan(new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(sessionStart)), writer);
+            for(File file : files) {
+                LogReader.read(file, scan);
+            }
+
+            scan.finish();
+        } catch(UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        return part;
+    }
+
+    /**
+     * Applies the query to the records of one session.
+     */
+    private class SessionScan implements ILogVisitor {
+        private final String session;
+        private final Writer writer;
+        private final long
+            fromMicros,
+            toMicros;
+
+        private String[] names = new String[0];
+        private int[] columns = new int[0];
+        private final double[] latest;
+        private final boolean[] seen;
+        private final int onColumn;
+        private long nextRowTime = Long.MIN_VALUE;
+        private long lastSampleTime = Long.MIN_VALUE;
+
+        SessionScan(String session, Writer writer) {
+            this.session = session;
+            this.writer = writer;
+            this.fromMicros = (long) (fromSeconds * 1e6); //infinities saturate to Long.MIN_VALUE and MAX_VALUE
+            this.toMicros = (long) (toSeconds * 1e6);
+
+            int columnCount = (signals == null ? 0 : signals.length);
+            this.latest = new double[columnCount];
+            this.seen = new boolean[columnCount];
+            this.onColumn = (onSignal == null ? -1 : Arrays.asList(signals).indexOf(onSignal));
+        }
+
+        @Override
+        public void start(long sessionStart, int fileIndex) {
+        }
+
+        @Override
+        public void define(int id, String name, LogSignalType type, String units) {
+            if(id >= names.length) {
+                names = Arrays.copyOf(names, id + 1);
+                int oldLength = columns.length;
+                columns = Arrays.copyOf(columns, id + 1);
+                Arrays.fill(columns, oldLength, columns.length, -1);
+            }
+
+            names[id] = name;
+            columns[id] = (signals == null ? id : Arrays.asList(signals).indexOf(name));
+        }
+
+        @Override
+        public void sample(int id, long timestamp, double value) {
+            int column = columns[id];
+            if(column < 0 || timestamp < fromMicros || timestamp > toMicros) {
+                return;
+            }
+
+            try {
+                if(resampleMicros > 0) {
+                    if(nextRowTime == Long.MIN_VALUE) {
+                        nextRowTime = timestamp - (timestamp % resampleMicros);
+                    }
+
+                    //a row holds the latest values at or before its time, so it is written once a later sample arrives
+                    while(nextRowTime < timestamp) {
+                        writeRow(nextRowTime);
+                        nextRowTime += resampleMicros;
+                    }
+
+                    hold(column, value);
+                    lastSampleTime = timestamp;
+                } else if(onColumn >= 0) {
+                    boolean changed = column == onColumn && (!seen[column] || latest[column] != value);
+                    hold(column, value);
+                    if(changed) {
+                        writeRow(timestamp);
+                    }
+                } else {
+                    writer.write(session);
+                    writer.write(',');
+                    writer.write(Double.toString(timestamp / 1e6));
+                    writer.write(',');
+                    writer.write(names[id]);
+                    writer.write(',');
+                    writer.write(Double.toString(value));
+                    writer.write('\n');
+                }
+            } catch(IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Writes the last resampled row of the session.
+         */
+        void finish() throws IOException {
+            if(resampleMicros > 0 && lastSampleTime != Long.MIN_VALUE && nextRowTime <= lastSampleTime) {
+                writeRow(nextRowTime);
+            }
+        }
+
+        private void hold(int column, double value) {
+            latest[column] = value;
+            seen[column] = true;
+        }
+
+        private void writeRow(long time) throws IOException {
+            writer.write(session);
+            writer.write(',');
+            writer.write(Double.toString(time / 1e6));
+            for(int i=0; i<latest.length; i++) {
+                writer.write(',');
+                if(seen[i]) {
+                    writer.write(Double.toString(latest[i]));
+                }
+            }
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.tools;
+
+import java.io.IOException;
+
+import frc.robot.util.IOdometry;
+import frc.robot.util.OdometryCapture;
+import frc.robot.util.Point2D;
+import frc.robot.util.PositionTracker;
+
+/**
+ * Desktop harness that replays odometry captures through an odometry implementation as fast as possible.
+ * Runs without robot hardware. Usage:
+ *   ./gradlew replayOdometry --args="[capture file] [optional IOdometry class name]"
+ * The class name defaults to PositionTracker with a correction ratio of 1.
+ */
+public class OdometryReplay {
+    public static void main(String[] args) throws Exception {
+        if(args.length < 1) {
+            System.err.println("Usage: OdometryReplay [capture file] [optional IOdometry class name]");
+            System.exit(1);
+        }
+
+        String file = args[0];
+        IOdometry odometry = (args.length > 1 ? createOdometry(args[1]) : new PositionTracker(null, 0, 0, 0, () -> 1));
+
+        int samples;
+        double capturedSeconds;
+        long startTime, endTime;
+        try {
+            capturedSeconds = OdometryCapture.getDuration(file);
+            startTime = System.nanoTime();
+            samples = OdometryCapture.replay(file, odometry);
+            endTime = System.nanoTime();
+        } catch(IOException ex) {
+            System.err.println("Could not replay " + file + ": " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        double elapsedSeconds = (endTime - startTime) / 1e9;
+
+        Point2D end = odometry.getPositionAndHeading();
+        System.out.println("Samples replayed: " + samples);
+        System.out.println("Final position: x=" + end.getX() + " y=" + end.getY() + " heading=" + end.getHeading());
+        System.out.println("Captured time: " + capturedSeconds + " s");
+        System.out.println("Replay time: " + elapsedSeconds + " s (" + Math.round(capturedSeconds / elapsedSeconds) + "x real time)");
+    }
+
+    /**
+     * Creates an odometry implementation from its class name. The class must have a public no-argument constructor.
+     */
+    private static IOdometry createOdometry(String className) throws ReflectiveOperationException {
+        return (IOdometry) Class.forName(className).getDeclaredConstructor().newInstance();
+    }
+}
@@ -0,0 +1,155 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.tools;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.TreeMap;
+
+import frc.robot.util.IVisionPacketVisitor;
+import frc.robot.util.VisionCapture;
+
+/**
+ * Desktop tool that re-sends a vision capture (see CyborgCommandCaptureVision) over UDP to the ports it was received on,
+ * 3695 for the KiwiLight and 3696 for the Jevois, so vision code can be run and load tested without the cameras.
+ * Only VisionCapture is used, so no WPILib classes are loaded. Usage:
+ *   ./gradlew replayVision --args="[options] [capture file]"
+ * Options:
+ *   --host address   Send packets here. Defaults to 127.0.0.1, for robot code running in simulation.
+ *   --speed factor   Replay this many times faster than real time. 0 sends as fast as possible. Defaults to 1.
+ *   --loop count     Replay the capture this many times. 0 repeats forever. Defaults to 1.
+ */
+public class VisionReplayServer implements IVisionPacketVisitor {
+    private String file;
+    private InetAddress host;
+    private double speed = 1;
+    private int loops = 1;
+
+    private DatagramSocket socket;
+    private final DatagramPacket datagram = new DatagramPacket(new byte[0], 0);
+    private final TreeMap<Integer, Long> packetsPerPort = new TreeMap<Integer, Long>();
+
+    //timing of the current pass
+    private long
+        firstReceiveTime,
+        passStartNanos;
+
+    private boolean firstPacket;
+
+    public static void main(String[] args) throws Exception {
+        VisionReplayServer server = new VisionReplayServer();
+        try {
+            server.parse(args);
+        } catch(IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("Usage: VisionReplayServer [--host address] [--speed factor] [--loop count] [capture file]");
+            System.exit(1);
+        }
+
+        server.run();
+    }
+
+    private void parse(String[] args) throws IOException {
+        String hostName = "127.0.0.1";
+        for(int i=0; i<args.length; i++) {
+            String arg = args[i];
+            if(!arg.startsWith("--")) {
+                file = arg;
+                continue;
+            }
+
+            if(i + 1 >= args.length) {
+                throw new IllegalArgumentException(arg + " needs a value");
+            }
+
+            String value = args[++i];
+            try {
+                switch(arg) {
+                    case "--host":
+                        hostName = value;
+                        break;
+                    case "--speed":
+                        speed = Double.parseDouble(value);
+                        break;
+                    case "--loop":
+                        loops = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            } catch(NumberFormatException ex) {
+                throw new IllegalArgumentException(arg + " needs a number, got " + value);
+            }
+        }
+
+        if(file == null) {
+            throw new IllegalArgumentException("No capture file given");
+        }
+
+        if(speed < 0 || loops < 0) {
+            throw new IllegalArgumentException("--speed and --loop cannot be negative");
+        }
+
+        host = InetAddress.getByName(hostName);
+    }
+
+    private void run() {
+        long packets = 0;
+        long startNanos = System.nanoTime();
+        try(DatagramSocket replaySocket = new DatagramSocket()) {
+            socket = replaySocket;
+            datagram.setAddress(host);
+            for(int pass=0; loops == 0 || pass < loops; pass++) {
+                firstPacket = true;
+                packets += VisionCapture.replay(file, this);
+            }
+        } catch(IOException ex) {
+            System.err.println("Could not replay " + file + ": " + ex.getMessage());
+            System.exit(1);
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.println("Packets sent: " + packets);
+        for(Integer port : packetsPerPort.keySet()) {
+            System.out.println("  port " + port + ": " + packetsPerPort.get(port));
+        }
+
+        System.out.println("Replay time: " + elapsedSeconds + " s (" + Math.round(packets / elapsedSeconds) + " packets per s)");
+    }
+
+    @Override
+    public void packet(long receiveTime, int port, byte[] data, int length) throws IOException {
+        if(firstPacket) {
+            firstReceiveTime = receiveTime;
+            passStartNanos = System.nanoTime();
+            firstPacket = false;
+        }
+
+        //keep the captured spacing between packets, scaled by the speed
+        if(speed > 0) {
+            long sendNanos = passStartNanos + (long) ((receiveTime - firstReceiveTime) * 1000 / speed);
+            long waitNanos;
+            while((waitNanos = sendNanos - System.nanoTime()) > 0) {
+                if(waitNanos > 2000000) {
+                    try {
+                        Thread.sleep((waitNanos - 1000000) / 1000000);
+                    } catch(InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        datagram.setData(data, 0, length);
+        datagram.setPort(port);
+        socket.send(datagram);
+        packetsPerPort.merge(port, 1L, Long::sum);
+    }
+}
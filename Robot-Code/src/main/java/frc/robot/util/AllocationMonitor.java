@@ -0,0 +1,271 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.HashSet;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Measures heap allocation and garbage collection so the robot loop can be pushed toward allocating nothing.
+ * The robot thread's allocation is measured every loop, background threads once per publish period,
+ * and every GC is counted with its pause time. Commands whose execute() allocates are reported once each.
+ * Everything here must be called from the robot thread.
+ */
+public class AllocationMonitor {
+    private static com.sun.management.ThreadMXBean threads;
+    private static List<GarbageCollectorMXBean> collectors;
+    private static long robotThreadId;
+    private static boolean running;
+
+    //bytes allocated by one call to getThreadAllocatedBytes(), which are subtracted from every measurement
+    private static long
+        measurementBytes,
+        measurements;
+
+    private static long
+        loopStartBytes,
+        loopCount,
+        loopBytes,
+        maxLoopBytes,
+        loopCollections,
+        lastCollections,
+        lastCollectionTime,
+        gcLoops,
+        nextPublishTime;
+
+    private static long[]
+        backgroundThreadIds = new long[0],
+        backgroundThreadBytes = new long[0];
+
+    private static final HashSet<String> allocatingCommands = new HashSet<String>();
+
+    private static TelemetryNumber
+        averageLoopBytesIndicator,
+        maxLoopBytesIndicator,
+        backgroundBytesIndicator,
+        collectionsIndicator,
+        collectionTimeIndicator,
+        gcLoopsIndicator;
+
+    private static TelemetryString
+        topThreadIndicator,
+        allocatingCommandsIndicator;
+
+    private static LogSignal
+        loopBytesSignal,
+        collectionTimeSignal;
+
+    /**
+     * Starts monitoring the calling thread, which should be the robot thread.
+     * Does nothing if the JVM cannot measure thread allocation.
+     */
+    public static void start() {
+        if(running) {
+            return;
+        }
+
+        if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            DriverStation.reportWarning("AllocationMonitor: This JVM cannot measure thread allocation.", false);
+            return;
+        }
+
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if(!threads.isThreadAllocatedMemorySupported()) {
+            DriverStation.reportWarning("AllocationMonitor: This JVM cannot measure thread allocation.", false);
+            return;
+        }
+
+        threads.setThreadAllocatedMemoryEnabled(true);
+        collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        robotThreadId = Thread.currentThread().getId();
+
+        long first = threads.getThreadAllocatedBytes(robotThreadId);
+        long second = threads.getThreadAllocatedBytes(robotThreadId);
+        measurementBytes = second - first;
+
+        averageLoopBytesIndicator   = Telemetry.number("Allocation/Average Bytes Per Loop", TelemetryTier.SLOW);
+        maxLoopBytesIndicator       = Telemetry.number("Allocation/Max Bytes Per Loop", TelemetryTier.SLOW);
+        backgroundBytesIndicator    = Telemetry.number("Allocation/Background Bytes Per Second", TelemetryTier.SLOW);
+        topThreadIndicator          = Telemetry.string("Allocation/Top Background Thread", TelemetryTier.SLOW);
+        allocatingCommandsIndicator = Telemetry.string("Allocation/Allocating Commands");
+        collectionsIndicator        = Telemetry.number("GC/Collections", TelemetryTier.SLOW);
+        collectionTimeIndicator     = Telemetry.number("GC/Time (ms)", TelemetryTier.SLOW);
+        gcLoopsIndicator            = Telemetry.number("GC/Loops With GC", TelemetryTier.SLOW);
+        loopBytesSignal             = DataLogger.signal("Allocation/Loop Bytes", LogSignalType.INTEGER, "bytes");
+        collectionTimeSignal        = DataLogger.signal("GC/Time", LogSignalType.DOUBLE, "ms");
+
+        lastCollections = getCollections();
+        loopCollections = lastCollections;
+        lastCollectionTime = getCollectionTime();
+        running = true;
+    }
+
+    /**
+     * Returns the bytes allocated so far by the robot thread, or 0 if the monitor is not running.
+     * Used by LoopProfiler to measure allocation between checkpoints.
+     */
+    static long getRobotThreadBytes() {
+        if(!running) {
+            return 0;
+        }
+
+        measurements++;
+        return threads.getThreadAllocatedBytes(robotThreadId);
+    }
+
+    /**
+     * Returns whether the monitor is running.
+     */
+    static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Called by LoopProfiler with the bytes allocated between the last checkpoint and the end of a command's execute().
+     * @param command The name of the command.
+     * @param bytes The bytes allocated, including the one measurement call between the checkpoints.
+     */
+    static void commandExecuted(String command, long bytes) {
+        bytes -= measurementBytes;
+        if(bytes <= Constants.ALLOCATION_COMMAND_THRESHOLD || allocatingCommands.contains(command)) {
+            return;
+        }
+
+        allocatingCommands.add(command);
+        allocatingCommandsIndicator.set(String.join(", ", allocatingCommands));
+        DriverStation.reportWarning("AllocationMonitor: " + command + ".execute() allocated " + bytes + " bytes.", false);
+    }
+
+    /**
+     * Call at the start of every robot loop.
+     */
+    public static void loopStarted() {
+        if(running) {
+            measurements = 0;
+            loopStartBytes = threads.getThreadAllocatedBytes(robotThreadId);
+        }
+    }
+
+    /**
+     * Call at the end of every robot loop. Publishes the totals when the publish period has passed.
+     * @param now The current System.nanoTime().
+     */
+    public static void loopEnded(long now) {
+        if(!running) {
+            return;
+        }
+
+        //every measurement made during the loop, including this one, allocated measurementBytes
+        long bytes = threads.getThreadAllocatedBytes(robotThreadId) - loopStartBytes;
+        bytes = Math.max(0, bytes - (measurements + 1) * measurementBytes);
+        loopBytes += bytes;
+        loopCount++;
+        if(bytes > maxLoopBytes) {
+            maxLoopBytes = bytes;
+        }
+
+        loopBytesSignal.append(bytes);
+
+        long collections = getCollections();
+        if(collections != loopCollections) {
+            gcLoops++;
+            loopCollections = collections;
+        }
+
+        if(now - nextPublishTime >= 0) {
+            publish(collections);
+            nextPublishTime = now + Constants.ALLOCATION_PUBLISH_PERIOD * 1000000L;
+        }
+    }
+
+    /**
+     * Publishes and resets the totals for the last period.
+     */
+    private static void publish(long collections) {
+        long collectionTime = getCollectionTime();
+        double periodSeconds = Constants.ALLOCATION_PUBLISH_PERIOD / 1000.0;
+
+        averageLoopBytesIndicator.set(loopCount > 0 ? loopBytes / (double) loopCount : 0);
+        maxLoopBytesIndicator.set(maxLoopBytes);
+        collectionsIndicator.set(collections - lastCollections);
+        collectionTimeIndicator.set(collectionTime - lastCollectionTime);
+        gcLoopsIndicator.set(gcLoops);
+        collectionTimeSignal.append(collectionTime - lastCollectionTime);
+
+        //background threads are only measured here, since they do not run in step with the robot loop
+        long backgroundBytes = 0;
+        long topBytes = 0;
+        long topThread = -1;
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = new long[ids.length];
+        for(int i=0; i<ids.length; i++) {
+            bytes[i] = threads.getThreadAllocatedBytes(ids[i]);
+            if(ids[i] == robotThreadId || bytes[i] < 0) {
+                continue;
+            }
+
+            long delta = bytes[i] - getLastBackgroundBytes(ids[i], bytes[i]);
+            backgroundBytes += delta;
+            if(delta > topBytes) {
+                topBytes = delta;
+                topThread = ids[i];
+            }
+        }
+
+        backgroundThreadIds = ids;
+        backgroundThreadBytes = bytes;
+        backgroundBytesIndicator.set(backgroundBytes / periodSeconds);
+        if(topThread >= 0) {
+            ThreadInfo info = threads.getThreadInfo(topThread);
+            topThreadIndicator.set((info == null ? "Thread " + topThread : info.getThreadName()) + " (" + Math.round(topBytes / periodSeconds) + " B/s)");
+        }
+
+        lastCollections = collections;
+        lastCollectionTime = collectionTime;
+        loopBytes = 0;
+        loopCount = 0;
+        maxLoopBytes = 0;
+        gcLoops = 0;
+    }
+
+    /**
+     * Returns the bytes a thread had allocated at the last publish, or its current bytes if it is new.
+     */
+    private static long getLastBackgroundBytes(long id, long current) {
+        for(int i=0; i<backgroundThreadIds.length; i++) {
+            if(backgroundThreadIds[i] == id) {
+                return backgroundThreadBytes[i];
+            }
+        }
+
+        return current;
+    }
+
+    private static long getCollections() {
+        long count = 0;
+        for(int i=0; i<collectors.size(); i++) {
+            count += Math.max(0, collectors.get(i).getCollectionCount());
+        }
+
+        return count;
+    }
+
+    private static long getCollectionTime() {
+        long time = 0;
+        for(int i=0; i<collectors.size(); i++) {
+            time += Math.max(0, collectors.get(i).getCollectionTime());
+        }
+
+        return time;
+    }
+}
@@ -0,0 +1,103 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Counts the CAN traffic caused by the code for one device, by kind of message. Get one from CANTraffic.device().
+ * Setpoints and configuration calls are counted by OutputWriter and ConfigCache when they are given a counter.
+ * Status reads do not put frames on the bus themselves (they return the latest status frame), but counting them
+ * shows which status frames the code actually uses, and so which ones StatusFramePlan can slow down.
+ * Counting is thread safe and does not allocate.
+ */
+public class CANCounter {
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(CANMessage.values().length);
+
+    //only used by CANTraffic.publish()
+    private final long[] lastCounts = new long[CANMessage.values().length];
+    private final TelemetryNumber[] rateIndicators = new TelemetryNumber[CANMessage.values().length];
+
+    /**
+     * Creates a new CANCounter. Use CANTraffic.device() instead so that the counter is published.
+     */
+    CANCounter(String name) {
+        this.name = name;
+        for(CANMessage message : CANMessage.values()) {
+            rateIndicators[message.ordinal()] = Telemetry.number("CAN/" + name + "/" + message.getName() + " per s", TelemetryTier.SLOW);
+        }
+    }
+
+    /**
+     * Returns the name of the device.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Counts one message.
+     */
+    public void count(CANMessage message) {
+        counts.incrementAndGet(message.ordinal());
+    }
+
+    /**
+     * Counts several messages of the same kind.
+     */
+    public void count(CANMessage message, int messages) {
+        counts.addAndGet(message.ordinal(), messages);
+    }
+
+    /**
+     * Returns the number of messages counted since the robot started.
+     */
+    public long getCount(CANMessage message) {
+        return counts.get(message.ordinal());
+    }
+
+    /**
+     * Wraps a status read, like a Telemetry sampler, so that every call is counted.
+     * @param source The read to count.
+     */
+    public DoubleSupplier reads(DoubleSupplier source) {
+        return () -> {
+            count(CANMessage.STATUS_READ);
+            return source.getAsDouble();
+        };
+    }
+
+    /**
+     * Wraps a boolean status read so that every call is counted.
+     * @param source The read to count.
+     */
+    public BooleanSupplier readsBoolean(BooleanSupplier source) {
+        return () -> {
+            count(CANMessage.STATUS_READ);
+            return source.getAsBoolean();
+        };
+    }
+
+    /**
+     * Publishes the rate of every kind of message since the last call, and adds the counts to the totals.
+     * @param totals The running totals for the period, indexed by CANMessage ordinal.
+     * @param periodSeconds The time since the last call.
+     */
+    void publish(long[] totals, double periodSeconds) {
+        for(int i=0; i<lastCounts.length; i++) {
+            long current = counts.get(i);
+            long delta = current - lastCounts[i];
+            lastCounts[i] = current;
+            totals[i] += delta;
+            rateIndicators[i].set(delta / periodSeconds);
+        }
+    }
+}
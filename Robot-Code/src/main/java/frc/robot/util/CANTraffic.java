@@ -0,0 +1,142 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import frc.robot.Constants;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.RobotMode;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Accounts for the CAN traffic the code causes and manages the status frame periods of the motor controllers.
+ * Every device has a CANCounter, and the rates are published to "CAN/..." once per CAN_TRAFFIC_PUBLISH_PERIOD.
+ * Devices with a StatusFramePlan get the status frame periods they declared for each mode whenever the mode changes.
+ * publish() and setMode() must be called from the robot thread.
+ */
+public class CANTraffic {
+    private static final HashMap<String, CANCounter> countersByName = new HashMap<String, CANCounter>();
+    private static volatile CANCounter[] counters = new CANCounter[0];
+    private static volatile StatusFramePlan[] plans = new StatusFramePlan[0];
+
+    private static RobotMode mode = RobotMode.DISABLED;
+
+    private static final long[] totals = new long[CANMessage.values().length];
+    private static TelemetryNumber[] totalIndicators;
+    private static TelemetryNumber statusFramesIndicator;
+    private static TelemetryString modeIndicator;
+    private static LogSignal[] totalSignals;
+
+    private static long
+        lastPublishTime,
+        nextPublishTime;
+
+    /**
+     * Returns the counter for a device, creating it if it does not exist.
+     * @param name The name of the device, like "Left Master".
+     */
+    public static synchronized CANCounter device(String name) {
+        CANCounter counter = countersByName.get(name);
+        if(counter == null) {
+            counter = new CANCounter(name);
+            countersByName.put(name, counter);
+
+            //copy on write so publish() can read without locking
+            CANCounter[] newCounters = Arrays.copyOf(counters, counters.length + 1);
+            newCounters[counters.length] = counter;
+            counters = newCounters;
+        }
+
+        return counter;
+    }
+
+    /**
+     * Adds a plan so that it is applied on every mode change. Called by StatusFramePlan.
+     */
+    static synchronized void register(StatusFramePlan plan) {
+        StatusFramePlan[] newPlans = Arrays.copyOf(plans, plans.length + 1);
+        newPlans[plans.length] = plan;
+        plans = newPlans;
+    }
+
+    /**
+     * Returns the mode the status frame periods are currently set for.
+     */
+    public static RobotMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Applies every plan's status frame periods for a new mode. Call from the init method of each mode.
+     * Only periods that differ from the last mode are sent.
+     * @param newMode The mode the robot is entering.
+     */
+    public static void setMode(RobotMode newMode) {
+        mode = newMode;
+        if(modeIndicator == null) {
+            createIndicators();
+        }
+
+        modeIndicator.set(newMode.getName());
+        StatusFramePlan[] currentPlans = plans;
+        for(int i=0; i<currentPlans.length; i++) {
+            currentPlans[i].apply();
+        }
+    }
+
+    /**
+     * Publishes the traffic rates of every device and the totals if the publish period has passed. Call once per loop.
+     * @param now The current System.nanoTime().
+     */
+    public static void publish(long now) {
+        if(now - nextPublishTime < 0) {
+            return;
+        }
+
+        if(totalIndicators == null) {
+            createIndicators();
+        }
+
+        double periodSeconds = (lastPublishTime == 0 ? Constants.CAN_TRAFFIC_PUBLISH_PERIOD / 1000.0 : (now - lastPublishTime) / 1e9);
+        lastPublishTime = now;
+        nextPublishTime = now + Constants.CAN_TRAFFIC_PUBLISH_PERIOD * 1000000L;
+
+        Arrays.fill(totals, 0);
+        CANCounter[] currentCounters = counters;
+        for(int i=0; i<currentCounters.length; i++) {
+            currentCounters[i].publish(totals, periodSeconds);
+        }
+
+        for(int i=0; i<totals.length; i++) {
+            double rate = totals[i] / periodSeconds;
+            totalIndicators[i].set(rate);
+            totalSignals[i].append(rate);
+        }
+
+        double statusFrames = 0;
+        StatusFramePlan[] currentPlans = plans;
+        for(int i=0; i<currentPlans.length; i++) {
+            statusFrames += currentPlans[i].getStatusFrameRate();
+        }
+
+        statusFramesIndicator.set(statusFrames);
+    }
+
+    private static void createIndicators() {
+        CANMessage[] messages = CANMessage.values();
+        totalIndicators = new TelemetryNumber[messages.length];
+        totalSignals = new LogSignal[messages.length];
+        for(int i=0; i<messages.length; i++) {
+            totalIndicators[i] = Telemetry.number("CAN/" + messages[i].getName() + " per s", TelemetryTier.SLOW);
+            totalSignals[i] = DataLogger.signal("CAN/" + messages[i].getName(), LogSignalType.DOUBLE, "per s");
+        }
+
+        statusFramesIndicator = Telemetry.number("CAN/Planned Status Frames per s", TelemetryTier.SLOW);
+        modeIndicator = Telemetry.string("CAN/Status Frame Mode");
+    }
+}
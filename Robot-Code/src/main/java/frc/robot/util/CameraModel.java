@@ -0,0 +1,144 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * Pinhole model of a camera mounted on the robot, used to turn where a ball is in the image into where it is on the field.
+ * Intrinsics are the resolution, the horizontal field of view (pixels are taken as square), and the principal point.
+ * The mounting pose is the height of the lens, how far it is tilted down, where it is on the robot, and which way it faces.
+ * It can be changed with setMount() while the mount is being measured.
+ *
+ * Image x-coordinates are passed centered, as PowerCell and PowerCellTracker give them: 0 is the middle column and positive is right.
+ * Bearings are in degrees, counterclockwise positive like PositionTracker headings. Distances are in inches.
+ * Range comes from the ground plane while the ball is far enough below the horizon, and from its apparent radius otherwise.
+ */
+public class CameraModel {
+    private final double
+        focalLength,
+        centerX,
+        centerY,
+        targetRadius,
+        minGroundAngle;
+
+    private double
+        height,
+        pitch,
+        forwardOffset,
+        leftOffset,
+        yaw;
+
+    /**
+     * Creates a new CameraModel.
+     * @param resolutionX The width of the image in pixels.
+     * @param horizontalFov The horizontal field of view in degrees.
+     * @param centerX The column the lens axis passes through, in pixels from the left of the image.
+     * @param centerY The row the lens axis passes through, in pixels from the top of the image.
+     * @param height The height of the lens above the floor.
+     * @param pitch How far the camera is tilted down from level, in degrees.
+     * @param forwardOffset How far the lens is in front of the center of the robot.
+     * @param leftOffset How far the lens is left of the center of the robot.
+     * @param yaw Which way the camera faces relative to the front of the robot, in degrees, counterclockwise positive.
+     * @param targetRadius The real radius of the balls being seen.
+     * @param minGroundAngle The least angle below level, in degrees, at which range is taken from the ground plane.
+     */
+    public CameraModel(int resolutionX, double horizontalFov, double centerX, double centerY, double height, double pitch,
+                       double forwardOffset, double leftOffset, double yaw, double targetRadius, double minGroundAngle) {
+        this.focalLength = (resolutionX / 2.0) / Math.tan(Math.toRadians(horizontalFov / 2));
+        this.centerX = centerX - resolutionX / 2.0;
+        this.centerY = centerY;
+        this.targetRadius = targetRadius;
+        this.minGroundAngle = minGroundAngle;
+        setMount(height, pitch, forwardOffset, leftOffset, yaw);
+    }
+
+    /**
+     * Changes where the camera is mounted on the robot. See the constructor for the parameters.
+     */
+    public void setMount(double height, double pitch, double forwardOffset, double leftOffset, double yaw) {
+        this.height = height;
+        this.pitch = pitch;
+        this.forwardOffset = forwardOffset;
+        this.leftOffset = leftOffset;
+        this.yaw = yaw;
+    }
+
+    /**
+     * Returns the bearing of a ball from the front of the robot, as seen from the camera.
+     * @param x The centered x-coordinate of the ball in pixels.
+     * @return The bearing in degrees, counterclockwise positive. A ball right of center has a negative bearing.
+     */
+    public double getBearing(double x) {
+        return yaw - Math.toDegrees(Math.atan((x - centerX) / focalLength));
+    }
+
+    /**
+     * Returns the distance along the floor from the camera to a ball.
+     * @param x The centered x-coordinate of the ball in pixels.
+     * @param y The y-coordinate of the ball in pixels, where 0 is the top of the image.
+     * @param radius The radius of the ball in pixels.
+     * @return The distance, or NaN if the ball is above the ground plane and has no radius.
+     */
+    public double getRange(double x, double y, double radius) {
+        double horizontal = Math.atan((x - centerX) / focalLength);
+        double belowLevel = pitch + Math.toDegrees(Math.atan((y - centerY) / focalLength));
+        double drop = height - targetRadius;
+        if(belowLevel >= minGroundAngle) {
+            //along the lens axis, then out to the side the ball is on
+            return drop / Math.tan(Math.toRadians(belowLevel)) / Math.cos(horizontal);
+        }
+
+        if(radius <= 0) {
+            return Double.NaN;
+        }
+
+        //the ball's apparent size gives the distance along the line of sight
+        double lineOfSight = focalLength * targetRadius / radius;
+        return Math.sqrt(Math.max(0, lineOfSight * lineOfSight - drop * drop));
+    }
+
+    /**
+     * Returns the bearing of a power cell from the front of the robot. See getBearing(double).
+     */
+    public double getBearing(PowerCell powerCell) {
+        return getBearing(powerCell.getX());
+    }
+
+    /**
+     * Returns the distance along the floor from the camera to a power cell. See getRange(double, double, double).
+     */
+    public double getRange(PowerCell powerCell) {
+        return getRange(powerCell.getX(), powerCell.getY(), powerCell.getRadius());
+    }
+
+    /**
+     * Returns where a ball is on the field.
+     * @param robot The position and heading of the robot when the ball was seen.
+     * @param x The centered x-coordinate of the ball in pixels.
+     * @param y The y-coordinate of the ball in pixels, where 0 is the top of the image.
+     * @param radius The radius of the ball in pixels.
+     * @return The ball's position, with the field heading from the camera to the ball, or null if its range is unknown.
+     */
+    public Point2D getFieldPosition(Point2D robot, double x, double y, double radius) {
+        double range = getRange(x, y, radius);
+        if(Double.isNaN(range)) {
+            return null;
+        }
+
+        double robotHeading = Math.toRadians(robot.getHeading());
+        double cameraX = robot.getX() + forwardOffset * Math.cos(robotHeading) - leftOffset * Math.sin(robotHeading);
+        double cameraY = robot.getY() + forwardOffset * Math.sin(robotHeading) + leftOffset * Math.cos(robotHeading);
+
+        double fieldBearing = robot.getHeading() + getBearing(x);
+        double bearingRadians = Math.toRadians(fieldBearing);
+        return new Point2D(cameraX + range * Math.cos(bearingRadians), cameraY + range * Math.sin(bearingRadians), fieldBearing);
+    }
+
+    /**
+     * Returns where a power cell is on the field. See getFieldPosition(Point2D, double, double, double).
+     */
+    public Point2D getFieldPosition(Point2D robot, PowerCell powerCell) {
+        return getFieldPosition(robot, powerCell.getX(), powerCell.getY(), powerCell.getRadius());
+    }
+}
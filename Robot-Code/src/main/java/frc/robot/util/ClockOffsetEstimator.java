@@ -0,0 +1,65 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants;
+
+/**
+ * Estimates the offset between a coprocessor's clock and the FPGA clock from one-way messages.
+ * Every message gives (FPGA receive time - remote timestamp), which is the true offset plus that message's
+ * network and processing delay. Delays are never negative, so the smallest value over a sliding window
+ * is the best estimate of the offset; it only overestimates by the smallest delay in the window.
+ * The remote clock does not need any particular epoch. Not thread safe; use from the receiving thread.
+ */
+public class ClockOffsetEstimator {
+    private final long[] offsets;
+    private int
+        next,
+        count;
+
+    private long estimate;
+
+    /**
+     * Creates a new ClockOffsetEstimator.
+     * @param window The number of recent messages the offset is taken from.
+     */
+    public ClockOffsetEstimator(int window) {
+        offsets = new long[window];
+    }
+
+    /**
+     * Adds a message and converts its timestamp to FPGA time.
+     * @param remoteTime The remote timestamp of the message, in microseconds.
+     * @param receiveTime The RobotController.getFPGATime() when the message was received.
+     * @return The estimated FPGA time of the remote timestamp, in microseconds. Never later than receiveTime.
+     */
+    public long update(long remoteTime, long receiveTime) {
+        long offset = receiveTime - remoteTime;
+
+        //a coprocessor that rebooted or had its clock set looks like a sudden jump in the offset
+        if(count > 0 && Math.abs(offset - estimate) > Constants.VISION_CLOCK_RESET_THRESHOLD) {
+            count = 0;
+            next = 0;
+        }
+
+        offsets[next] = offset;
+        next = (next + 1) % offsets.length;
+        count = Math.min(count + 1, offsets.length);
+
+        estimate = offset;
+        for(int i=0; i<count; i++) {
+            estimate = Math.min(estimate, offsets[i]);
+        }
+
+        return remoteTime + estimate;
+    }
+
+    /**
+     * Returns the estimated FPGA time minus remote time, in microseconds.
+     */
+    public long getOffset() {
+        return estimate;
+    }
+}
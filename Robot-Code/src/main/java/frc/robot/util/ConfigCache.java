@@ -0,0 +1,271 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.ctre.phoenix.ErrorCode;
+import com.revrobotics.CANError;
+import com.revrobotics.CANPIDController;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.ControllerParameter;
+
+/**
+ * Remembers the last value applied to each configuration parameter of one motor controller, so that
+ * configuration calls are only sent over CAN when the value actually changes. Use one cache per controller.
+ * A value only counts as applied once the controller accepts it. If a call returns an error or throws,
+ * its parameters are invalidated so the next call for them is sent again.
+ * 
+ * Asynchronous caches hand their calls to a shared background thread so the scheduler never waits on CAN
+ * configuration traffic. Calls that queue up while the thread is busy are sent together in one batch, in the
+ * order that they were queued. While a value is queued it is not sent again.
+ */
+public class ConfigCache {
+    private static final LinkedBlockingQueue<Runnable> pending = new LinkedBlockingQueue<Runnable>();
+    private static Thread configThread;
+
+    //values the controller accepted, and values queued or being sent. NaN if unknown or nothing is queued
+    private final double[]
+        applied,
+        requested;
+
+    private final boolean[] failing;
+    private final boolean async;
+    private final CANCounter counter;
+
+    /**
+     * Creates a new ConfigCache.
+     * @param async True if configuration calls should be sent from the background thread, false to send them immediately.
+     */
+    public ConfigCache(boolean async) {
+        this(async, null);
+    }
+
+    /**
+     * Creates a new ConfigCache that counts the calls it sends.
+     * @param async True if configuration calls should be sent from the background thread, false to send them immediately.
+     * @param counter The counter of the controller, or null.
+     */
+    public ConfigCache(boolean async, CANCounter counter) {
+        this.async = async;
+        this.counter = counter;
+        this.applied = new double[ControllerParameter.values().length];
+        this.requested = new double[applied.length];
+        this.failing = new boolean[applied.length];
+        invalidate();
+    }
+
+    /**
+     * Records a new value for the parameter as requested. It is recorded as applied once apply() sends it successfully.
+     * @param parameter The parameter being configured.
+     * @param value The new value of the parameter.
+     * @return True if the value differs from the value being sent, or from the last applied value if nothing is being sent.
+     */
+    public synchronized boolean changed(ControllerParameter parameter, double value) {
+        int index = parameter.ordinal();
+        double last = (Double.isNaN(requested[index]) ? applied[index] : requested[index]);
+        if(last == value) {
+            return false;
+        }
+
+        requested[index] = value;
+        return true;
+    }
+
+    /**
+     * Records a new value for a boolean parameter.
+     * @param parameter The parameter being configured.
+     * @param value The new value of the parameter.
+     * @return True if the value differs from the last applied value and should be sent, false otherwise.
+     */
+    public boolean changed(ControllerParameter parameter, boolean value) {
+        return changed(parameter, (value ? 1 : 0));
+    }
+
+    /**
+     * Sends a configuration call, either immediately or through the background thread, and records the requested
+     * values of its parameters as applied if it succeeds. Call changed() for each parameter first.
+     * @param config The call to send.
+     * @param parameters The parameters that the call sets.
+     */
+    public void apply(IConfigCall config, ControllerParameter... parameters) {
+        if(counter != null) {
+            counter.count(CANMessage.CONFIG);
+        }
+
+        double[] values = new double[parameters.length];
+        synchronized(this) {
+            for(int i=0; i<parameters.length; i++) {
+                values[i] = requested[parameters[i].ordinal()];
+            }
+        }
+
+        if(async) {
+            startConfigThread();
+            pending.add(() -> send(config, parameters, values));
+        } else {
+            send(config, parameters, values);
+        }
+    }
+
+    /**
+     * Sends the configuration call only if the value of the parameter changed.
+     * @param parameter The parameter being configured.
+     * @param value The new value of the parameter.
+     * @param config The call that applies the value to the controller.
+     */
+    public void set(ControllerParameter parameter, double value, IConfigCall config) {
+        if(changed(parameter, value)) {
+            apply(config, parameter);
+        }
+    }
+
+    /**
+     * Sends the configuration call only if the value of the boolean parameter changed.
+     * @param parameter The parameter being configured.
+     * @param value The new value of the parameter.
+     * @param config The call that applies the value to the controller.
+     */
+    public void set(ControllerParameter parameter, boolean value, IConfigCall config) {
+        set(parameter, (value ? 1 : 0), config);
+    }
+
+    /**
+     * Sends the PIDF constants that changed to a SPARK MAX PID controller (slot 0).
+     * @param controller The PID controller of the SPARK MAX that this cache belongs to.
+     * @param p P gain
+     * @param i I gain
+     * @param d D gain
+     * @param f F gain
+     * @param iZone Range from target at which I takes effect
+     * @param lowLimit lowest allowable output
+     * @param highLimit highest allowable output
+     */
+    public void setSparkMaxPIDF(CANPIDController controller, double p, double i, double d, double f, double iZone, double lowLimit, double highLimit) {
+        set(ControllerParameter.P, p, () -> succeeded(controller.setP(p, 0)));
+        set(ControllerParameter.I, i, () -> succeeded(controller.setI(i, 0)));
+        set(ControllerParameter.D, d, () -> succeeded(controller.setD(d, 0)));
+        set(ControllerParameter.F, f, () -> succeeded(controller.setFF(f, 0)));
+        set(ControllerParameter.I_ZONE, iZone, () -> succeeded(controller.setIZone(iZone, 0)));
+
+        //output range is one call, so both limits are sent if either changes
+        boolean lowChanged = changed(ControllerParameter.OUTPUT_MIN, lowLimit);
+        boolean highChanged = changed(ControllerParameter.OUTPUT_MAX, highLimit);
+        if(lowChanged || highChanged) {
+            request(ControllerParameter.OUTPUT_MIN, lowLimit);
+            request(ControllerParameter.OUTPUT_MAX, highLimit);
+            apply(() -> succeeded(controller.setOutputRange(lowLimit, highLimit)), ControllerParameter.OUTPUT_MIN, ControllerParameter.OUTPUT_MAX);
+        }
+    }
+
+    /**
+     * Forgets every applied value so that the next call for each parameter is sent.
+     * Call this when the controller may have lost its configuration, such as after a brownout.
+     */
+    public synchronized void invalidate() {
+        Arrays.fill(applied, Double.NaN);
+        Arrays.fill(requested, Double.NaN);
+    }
+
+    /**
+     * Forgets the applied value of one parameter so that the next call for it is sent.
+     */
+    public synchronized void invalidate(ControllerParameter parameter) {
+        applied[parameter.ordinal()] = Double.NaN;
+        requested[parameter.ordinal()] = Double.NaN;
+    }
+
+    /**
+     * Returns true if a SPARK MAX call succeeded. For use in IConfigCalls.
+     */
+    public static boolean succeeded(CANError error) {
+        return error == CANError.kOk;
+    }
+
+    /**
+     * Returns true if a Talon SRX call succeeded. For use in IConfigCalls.
+     */
+    public static boolean succeeded(ErrorCode error) {
+        return error == ErrorCode.OK;
+    }
+
+    /**
+     * Records a value as requested whether or not it changed, for calls that set more than one parameter.
+     */
+    private synchronized void request(ControllerParameter parameter, double value) {
+        requested[parameter.ordinal()] = value;
+    }
+
+    /**
+     * Sends a call and records its values as applied if the controller accepted it, or invalidates its parameters if not.
+     */
+    private void send(IConfigCall config, ControllerParameter[] parameters, double[] values) {
+        boolean sent;
+        String error = "returned an error";
+        try {
+            sent = config.send();
+        } catch(RuntimeException ex) {
+            sent = false;
+            error = "threw " + ex;
+        }
+
+        boolean report = false;
+        synchronized(this) {
+            for(int i=0; i<parameters.length; i++) {
+                int index = parameters[i].ordinal();
+                applied[index] = (sent ? values[i] : Double.NaN);
+                if(Double.compare(requested[index], values[i]) == 0) {
+                    //nothing newer is queued
+                    requested[index] = Double.NaN;
+                }
+
+                //only report the first of a run of failures, since the call is retried every time the value is set
+                report |= !sent && !failing[index];
+                failing[index] = !sent;
+            }
+        }
+
+        if(report) {
+            DriverStation.reportWarning("ConfigCache: Setting " + parameters[0].getName() + " " + error + ". It will be sent again.", false);
+        }
+    }
+
+    /**
+     * Starts the background thread if it is not already running.
+     */
+    private static synchronized void startConfigThread() {
+        if(configThread == null) {
+            configThread = new Thread(ConfigCache::run, "ConfigCache");
+            configThread.setDaemon(true);
+            configThread.start();
+        }
+    }
+
+    /**
+     * Body of the background thread. Waits for a call to be queued, then sends it along with everything queued behind it.
+     */
+    private static void run() {
+        ArrayList<Runnable> batch = new ArrayList<Runnable>();
+        while(true) {
+            try {
+                batch.add(pending.take());
+            } catch(InterruptedException ex) {
+                return;
+            }
+
+            pending.drainTo(batch);
+            for(int i=0; i<batch.size(); i++) {
+                //send() catches the call's exceptions and invalidates its parameters
+                batch.get(i).run();
+            }
+
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,338 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Binary data logger. Signals are registered once with signal(), and samples are appended into one of two
+ * preallocated off-heap buffers. A background thread swaps the buffers and copies the full one into a
+ * memory-mapped log file. Files have a fixed size and rotate. The newest DATA_LOG_MAX_SESSIONS sessions are kept,
+ * minus whatever has to go to keep DATA_LOG_MIN_FREE_BYTES of disk free, so the logger uses a fixed amount of memory
+ * and does not fill the disk. If the robot fills a buffer faster than the thread can empty it, samples are dropped
+ * and counted instead of blocking the robot.
+ *
+ * File format (big endian). Every file can be read on its own:
+ *   header: [int magic][int version][long session start (ms since epoch)][int file index]
+ *   DEFINE: [byte 1][short id][byte type code][short name length][name (UTF-8)][short units length][units (UTF-8)]
+ *   SAMPLE: [byte 2][short id][long timestamp (us since session start)][value (size depends on type)]
+ *   END:    [byte 0] The unused end of a file is zero filled, so the first 0 record type ends the file.
+ * A signal's DEFINE record always comes before its first SAMPLE in a file.
+ */
+public class DataLogger {
+    public static final int
+        MAGIC = 0x444C4F47, //"DLOG"
+        VERSION = 1,
+        HEADER_BYTES = 20,
+        DEFINE_HEADER_BYTES = 8,
+        SAMPLE_HEADER_BYTES = 11;
+
+    public static final byte
+        RECORD_END = 0,
+        RECORD_DEFINE = 1,
+        RECORD_SAMPLE = 2;
+
+    public static final String FILE_EXTENSION = ".dlog";
+
+    private static final Object bufferLock = new Object();
+    private static final HashMap<String, LogSignal> signalsByName = new HashMap<String, LogSignal>();
+    private static volatile LogSignal[] signals = new LogSignal[0];
+
+    private static final long startNanos = System.nanoTime();
+    private static final long startMillis = System.currentTimeMillis();
+
+    private static ByteBuffer
+        frontBuffer,
+        backBuffer;
+
+    private static long droppedSamples;
+    private static Thread writerThread;
+    private static volatile String logDirectory = Constants.DATA_LOG_DIRECTORY;
+
+    //only used by the writer thread
+    private static String sessionName;
+    private static File currentFile;
+    private static MappedByteBuffer file;
+    private static int
+        fileIndex,
+        definedSignals;
+    private static boolean failed;
+
+    /**
+     * Returns the signal with the given name, registering it if it does not exist.
+     * @param name The name of the signal, like "Drive/Left Position".
+     * @param type The type of the samples.
+     * @param units The units of the samples, for whoever reads the log. May be empty.
+     */
+    public static synchronized LogSignal signal(String name, LogSignalType type, String units) {
+        LogSignal signal = signalsByName.get(name);
+        if(signal != null) {
+            if(signal.getType() != type) {
+                DriverStation.reportWarning("DataLogger: " + name + " is already registered as a " + signal.getType().getName() + " signal.", false);
+            }
+
+            return signal;
+        }
+
+        if(signals.length >= Short.MAX_VALUE) {
+            DriverStation.reportError("DataLogger: Too many signals. " + name + " will not be logged.", false);
+            return new LogSignal((short) -1, name, type, units);
+        }
+
+        signal = new LogSignal((short) signals.length, name, type, (units == null ? "" : units));
+        signalsByName.put(name, signal);
+
+        //copy on write so the writer thread can read without locking
+        LogSignal[] newSignals = Arrays.copyOf(signals, signals.length + 1);
+        newSignals[signals.length] = signal;
+        signals = newSignals;
+
+        if(writerThread == null) {
+            synchronized(bufferLock) {
+                frontBuffer = ByteBuffer.allocateDirect(Constants.DATA_LOG_BUFFER_BYTES);
+                backBuffer = ByteBuffer.allocateDirect(Constants.DATA_LOG_BUFFER_BYTES);
+            }
+
+            sessionName = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(startMillis));
+            Telemetry.sample("Data Log Dropped Samples", TelemetryTier.SLOW, 0, DataLogger::getDroppedSamples);
+
+            writerThread = new Thread(DataLogger::run, "DataLogger");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+
+        return signal;
+    }
+
+    /**
+     * Writes the logs somewhere other than DATA_LOG_DIRECTORY, like a temporary directory in a unit test.
+     * Only affects files started after the call.
+     */
+    static void setDirectory(String path) {
+        logDirectory = path;
+    }
+
+    /**
+     * Returns the number of samples that were dropped because the buffer was full.
+     */
+    public static long getDroppedSamples() {
+        synchronized(bufferLock) {
+            return droppedSamples;
+        }
+    }
+
+    /**
+     * Appends a sample to the front buffer. Called by LogSignal.
+     */
+    static void append(LogSignal signal, double value) {
+        if(signal.getId() < 0) {
+            return;
+        }
+
+        long timestamp = (System.nanoTime() - startNanos) / 1000;
+        LogSignalType type = signal.getType();
+        synchronized(bufferLock) {
+            ByteBuffer buffer = frontBuffer;
+            if(buffer.remaining() < SAMPLE_HEADER_BYTES + type.getSize()) {
+                droppedSamples++;
+                return;
+            }
+
+            buffer.put(RECORD_SAMPLE);
+            buffer.putShort(signal.getId());
+            buffer.putLong(timestamp);
+            switch(type) {
+                case DOUBLE:
+                    buffer.putDouble(value);
+                    break;
+                case INTEGER:
+                    buffer.putInt((int) value);
+                    break;
+                case BOOLEAN:
+                    buffer.put((byte) (value != 0 ? 1 : 0));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Body of the writer thread.
+     */
+    private static void run() {
+        long nextSyncTime = System.nanoTime();
+        while(true) {
+            try {
+                Thread.sleep(Constants.DATA_LOG_FLUSH_PERIOD);
+            } catch(InterruptedException ex) {
+                return;
+            }
+
+            ByteBuffer fullBuffer;
+            synchronized(bufferLock) {
+                fullBuffer = frontBuffer;
+                frontBuffer = backBuffer;
+                backBuffer = fullBuffer;
+            }
+
+            fullBuffer.flip();
+            if(!failed && fullBuffer.hasRemaining()) {
+                try {
+                    write(fullBuffer);
+
+                    long now = System.nanoTime();
+                    if(now - nextSyncTime >= 0) {
+                        file.force();
+                        nextSyncTime = now + Constants.DATA_LOG_SYNC_PERIOD * 1000000L;
+                    }
+                } catch(IOException ex) {
+                    DriverStation.reportError("DataLogger: Could not write log: " + ex.getMessage() + ". Logging is disabled.", false);
+                    failed = true;
+                }
+            }
+
+            fullBuffer.clear();
+        }
+    }
+
+    /**
+     * Copies a buffer of samples into the current file, starting a new file first if it does not fit.
+     */
+    private static void write(ByteBuffer samples) throws IOException {
+        LogSignal[] currentSignals = signals;
+        if(file == null || file.remaining() < getUndefinedBytes(currentSignals) + samples.remaining() + 1) {
+            rotate();
+            if(file.remaining() < getUndefinedBytes(currentSignals) + samples.remaining() + 1) {
+                throw new IOException("DATA_LOG_FILE_BYTES is too small to hold one buffer");
+            }
+        }
+
+        for(; definedSignals < currentSignals.length; definedSignals++) {
+            LogSignal signal = currentSignals[definedSignals];
+            file.put(RECORD_DEFINE);
+            file.putShort(signal.getId());
+            file.put(signal.getType().getCode());
+            file.putShort((short) signal.getEncodedName().length);
+            file.put(signal.getEncodedName());
+            file.putShort((short) signal.getEncodedUnits().length);
+            file.put(signal.getEncodedUnits());
+        }
+
+        file.put(samples);
+    }
+
+    /**
+     * Returns the number of bytes needed to define the signals that are not yet defined in the current file.
+     */
+    private static int getUndefinedBytes(LogSignal[] currentSignals) {
+        int bytes = 0;
+        for(int i=definedSignals; i<currentSignals.length; i++) {
+            bytes += currentSignals[i].getDefineBytes();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Finishes the current file, maps a new one, and deletes the oldest files if there are too many.
+     */
+    private static void rotate() throws IOException {
+        if(file != null) {
+            file.force();
+        }
+
+        File directory = new File(logDirectory);
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory.getPath());
+        }
+
+        fileIndex++;
+        File newFile = new File(directory, sessionName + "-" + String.format("%03d", fileIndex) + FILE_EXTENSION);
+        currentFile = newFile;
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(newFile, "rw")) {
+            //the mapping stays valid after the channel is closed
+            file = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, Constants.DATA_LOG_FILE_BYTES);
+        }
+
+        file.putInt(MAGIC);
+        file.putInt(VERSION);
+        file.putLong(startMillis);
+        file.putInt(fileIndex);
+        definedSignals = 0;
+
+        deleteOldFiles(directory);
+    }
+
+    /**
+     * Deletes every file of all but the newest DATA_LOG_MAX_SESSIONS sessions, then deletes the oldest remaining files
+     * until DATA_LOG_MIN_FREE_BYTES are free. A session is one start of the robot code, and its files share its name.
+     * The current file is never deleted.
+     */
+    private static void deleteOldFiles(File directory) {
+        File[] logs = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if(logs == null) {
+            return;
+        }
+
+        //newest first, so sessions are seen in order of their last write
+        Arrays.sort(logs, Comparator.comparingLong(File::lastModified).reversed());
+        HashSet<String> keptSessions = new HashSet<String>();
+        keptSessions.add(sessionName);
+        boolean[] deleted = new boolean[logs.length];
+        for(int i=0; i<logs.length; i++) {
+            String session = getSessionName(logs[i]);
+            if(keptSessions.size() < Constants.DATA_LOG_MAX_SESSIONS) {
+                keptSessions.add(session);
+            }
+
+            if(!keptSessions.contains(session)) {
+                deleted[i] = delete(logs[i]);
+            }
+        }
+
+        for(int i=logs.length-1; i>=0 && directory.getUsableSpace() < Constants.DATA_LOG_MIN_FREE_BYTES; i--) {
+            if(!deleted[i] && !logs[i].equals(currentFile)) {
+                deleted[i] = delete(logs[i]);
+            }
+        }
+
+        if(directory.getUsableSpace() < Constants.DATA_LOG_MIN_FREE_BYTES) {
+            DriverStation.reportWarning("DataLogger: Less than DATA_LOG_MIN_FREE_BYTES free in " + directory.getPath(), false);
+        }
+    }
+
+    /**
+     * Returns the name of the session a log file belongs to, which is its name without the file index.
+     */
+    private static String getSessionName(File log) {
+        String name = log.getName();
+        int indexStart = name.lastIndexOf('-');
+        return (indexStart > 0 ? name.substring(0, indexStart) : name);
+    }
+
+    private static boolean delete(File log) {
+        if(!log.delete()) {
+            DriverStation.reportWarning("DataLogger: Could not delete " + log.getName(), false);
+            return false;
+        }
+
+        return true;
+    }
+}
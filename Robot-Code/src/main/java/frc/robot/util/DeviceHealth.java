@@ -0,0 +1,159 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Cached health of one device on the CAN bus or USB. HealthMonitor probes the device from its own thread,
+ * and everything else reads the result of the last probe without touching the device.
+ * Subclasses implement the probes for one kind of device.
+ */
+public abstract class DeviceHealth {
+    private final String name;
+    private final TelemetryBoolean connectedIndicator;
+    private final TelemetryNumber
+        faultsIndicator,
+        stickyFaultsIndicator,
+        reconnectsIndicator;
+    private final LogSignal connectedSignal;
+
+    private volatile boolean
+        connected,
+        reconnected,
+        probed;
+
+    private volatile int
+        faults,
+        stickyFaults,
+        reconnects;
+
+    private volatile long lastProbeTime;
+
+    /**
+     * Creates a new DeviceHealth.
+     * @param name The name of the device, like "Left Master". Used for "[name] Connected" and "Health/[name]/..." on the dashboard.
+     */
+    protected DeviceHealth(String name) {
+        this.name = name;
+        this.connectedIndicator = Telemetry.bool(name + " Connected");
+        this.faultsIndicator = Telemetry.number("Health/" + name + "/Faults", TelemetryTier.ON_CHANGE);
+        this.stickyFaultsIndicator = Telemetry.number("Health/" + name + "/Sticky Faults", TelemetryTier.ON_CHANGE);
+        this.reconnectsIndicator = Telemetry.number("Health/" + name + "/Reconnects", TelemetryTier.ON_CHANGE);
+        this.connectedSignal = DataLogger.signal("Health/" + name + "/Connected", LogSignalType.BOOLEAN, "");
+    }
+
+    /**
+     * Returns the name of the device.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if the last probe found the device connected and that probe is recent.
+     * A result older than Constants.HEALTH_STALE_PERIOD counts as disconnected, so a stalled monitor never reports a good robot.
+     */
+    public boolean isConnected() {
+        return connected && System.nanoTime() - lastProbeTime < Constants.HEALTH_STALE_PERIOD * 1000000L;
+    }
+
+    /**
+     * Returns the fault bits read by the last probe. The meaning of the bits depends on the device.
+     */
+    public int getFaults() {
+        return faults;
+    }
+
+    /**
+     * Returns the sticky fault bits read by the last probe. The meaning of the bits depends on the device.
+     */
+    public int getStickyFaults() {
+        return stickyFaults;
+    }
+
+    /**
+     * Returns the number of times the device came back after being disconnected.
+     */
+    public int getReconnects() {
+        return reconnects;
+    }
+
+    /**
+     * Returns the System.nanoTime() of the last probe, or 0 if the device has not been probed.
+     */
+    public long getLastProbeTime() {
+        return lastProbeTime;
+    }
+
+    /**
+     * Returns true once after each reconnect. A device that reconnects may have rebooted and lost its configuration,
+     * so the owner should invalidate its ConfigCache and OutputWriter and configure it again from the robot thread.
+     */
+    public boolean consumeReconnect() {
+        if(!reconnected) {
+            return false;
+        }
+
+        reconnected = false;
+        return true;
+    }
+
+    /**
+     * Probes the device and updates the cached results. Called by the HealthMonitor thread.
+     * @param now The current System.nanoTime().
+     */
+    void probe(long now) {
+        boolean nowConnected = probeConnected();
+        int nowFaults = (nowConnected ? probeFaults() : 0);
+        int nowStickyFaults = (nowConnected ? probeStickyFaults() : 0);
+
+        //the first probe only sets the starting state, since a device that was never seen cannot reconnect
+        if(probed && nowConnected && !connected) {
+            reconnects++;
+            reconnected = true;
+            reconnectsIndicator.set(reconnects);
+            DriverStation.reportWarning("HealthMonitor: " + name + " reconnected.", false);
+        } else if(probed && !nowConnected && connected) {
+            DriverStation.reportWarning("HealthMonitor: " + name + " disconnected.", false);
+        }
+
+        if(nowConnected && nowFaults != faults && nowFaults != 0) {
+            DriverStation.reportWarning("HealthMonitor: " + name + " faults: 0x" + Integer.toHexString(nowFaults), false);
+        }
+
+        if(!probed || nowConnected != connected) {
+            connectedSignal.append(nowConnected);
+        }
+
+        connected = nowConnected;
+        faults = nowFaults;
+        stickyFaults = nowStickyFaults;
+        lastProbeTime = now;
+        probed = true;
+
+        connectedIndicator.set(nowConnected);
+        faultsIndicator.set(nowFaults);
+        stickyFaultsIndicator.set(nowStickyFaults);
+    }
+
+    /**
+     * Asks the device whether it is connected. May block on the bus.
+     */
+    protected abstract boolean probeConnected();
+
+    /**
+     * Reads the active fault bits of the device. Only called when the device is connected.
+     */
+    protected abstract int probeFaults();
+
+    /**
+     * Reads the sticky fault bits of the device. Only called when the device is connected.
+     */
+    protected abstract int probeStickyFaults();
+}
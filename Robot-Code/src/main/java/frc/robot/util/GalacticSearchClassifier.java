@@ -0,0 +1,115 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants;
+import frc.robot.enumeration.GalacticSearchPath;
+
+/**
+ * Picks the Galactic Search layout by voting over many Jevois frames instead of trusting one.
+ * Each new frame of tracked power cells is classified on its own and casts one vote; the last
+ * Constants.GALACTIC_SEARCH_VOTE_WINDOW votes are kept, and the layout with the most of them wins.
+ * The confidence of a layout is its share of the votes in the window. Frames that match no layout vote for nothing
+ * but still fill the window, so a camera that cannot see the field lowers every confidence.
+ */
+public class GalacticSearchClassifier {
+    private static final GalacticSearchPath[] PATHS = GalacticSearchPath.values();
+    private static final int NO_VOTE = -1;
+
+    private final int[] votes = new int[Constants.GALACTIC_SEARCH_VOTE_WINDOW];
+    private final int[] tally = new int[PATHS.length];
+    private int
+        next,
+        count;
+
+    /**
+     * Classifies one frame of tracked power cells using the thresholds the layouts were told apart by.
+     * @param powerCells The tracked power cells, closest first.
+     * @return The layout, or null if the frame does not match one.
+     */
+    public static GalacticSearchPath classify(PowerCellTracker powerCells) {
+        int closeBalls = 0;
+        for(int i=0; i<powerCells.getCount(); i++) {
+            if(powerCells.getY(i) > Constants.GALACTIC_SEARCH_CLOSE_Y) {
+                closeBalls++;
+            }
+        }
+
+        if(closeBalls >= 1) {
+            //for front patterns, the placement of the closest power cell decides
+            return (powerCells.getX(0) > Constants.GALACTIC_SEARCH_PATH_1_SPLIT_X ? GalacticSearchPath.SET_A_PATH_1 : GalacticSearchPath.SET_B_PATH_1);
+        }
+
+        //for back patterns, the space between the power cells decides. The JeVois cannot see the farthest ball because it is too small.
+        if(powerCells.getCount() < 2) {
+            return null;
+        }
+
+        double distanceBetweenBalls = Math.abs(powerCells.getX(0) - powerCells.getX(1));
+        return (distanceBetweenBalls > Constants.GALACTIC_SEARCH_PATH_2_SPACING ? GalacticSearchPath.SET_A_PATH_2 : GalacticSearchPath.SET_B_PATH_2);
+    }
+
+    /**
+     * Classifies a new frame and adds its vote, dropping the oldest vote once the window is full.
+     * @param powerCells The tracked power cells, closest first.
+     */
+    public void update(PowerCellTracker powerCells) {
+        GalacticSearchPath path = classify(powerCells);
+        int vote = (path == null ? NO_VOTE : path.ordinal());
+        if(count == votes.length) {
+            if(votes[next] != NO_VOTE) {
+                tally[votes[next]]--;
+            }
+        } else {
+            count++;
+        }
+
+        votes[next] = vote;
+        if(vote != NO_VOTE) {
+            tally[vote]++;
+        }
+
+        next = (next + 1) % votes.length;
+    }
+
+    /**
+     * Forgets every vote.
+     */
+    public void clear() {
+        next = 0;
+        count = 0;
+        for(int i=0; i<tally.length; i++) {
+            tally[i] = 0;
+        }
+    }
+
+    /**
+     * Returns the number of frames in the window.
+     */
+    public int getFrameCount() {
+        return count;
+    }
+
+    /**
+     * Returns the share of the frames in the window that voted for a layout, from 0 to 1.
+     */
+    public double getConfidence(GalacticSearchPath path) {
+        return (count == 0 ? 0 : tally[path.ordinal()] / (double) count);
+    }
+
+    /**
+     * Returns the layout with the most votes, or null if no frame in the window matched a layout.
+     */
+    public GalacticSearchPath getBest() {
+        int best = NO_VOTE;
+        for(int i=0; i<tally.length; i++) {
+            if(tally[i] > 0 && (best == NO_VOTE || tally[i] > tally[best])) {
+                best = i;
+            }
+        }
+
+        return (best == NO_VOTE ? null : PATHS[best]);
+    }
+}
@@ -0,0 +1,62 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.Arrays;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+
+/**
+ * Probes every registered device from a background thread every Constants.HEALTH_PROBE_PERIOD milliseconds,
+ * so that checking whether the robot is ready never waits on the CAN bus. Subsystems register their devices
+ * once, then read the cached results from the DeviceHealth objects.
+ */
+public class HealthMonitor {
+    private static volatile DeviceHealth[] devices = new DeviceHealth[0];
+    private static Thread monitorThread;
+
+    /**
+     * Adds a device to the monitor, starting the monitor thread if it is not already running.
+     * @param device The device to probe.
+     * @return The device, for assigning to a field.
+     */
+    public static synchronized <T extends DeviceHealth> T register(T device) {
+        //copy on write so the monitor thread can read without locking
+        DeviceHealth[] newDevices = Arrays.copyOf(devices, devices.length + 1);
+        newDevices[devices.length] = device;
+        devices = newDevices;
+
+        if(monitorThread == null) {
+            monitorThread = new Thread(HealthMonitor::run, "HealthMonitor");
+            monitorThread.setDaemon(true);
+            monitorThread.start();
+        }
+
+        return device;
+    }
+
+    /**
+     * Body of the monitor thread.
+     */
+    private static void run() {
+        while(true) {
+            DeviceHealth[] currentDevices = devices;
+            for(int i=0; i<currentDevices.length; i++) {
+                try {
+                    currentDevices[i].probe(System.nanoTime());
+                } catch(Exception ex) {
+                    DriverStation.reportError("HealthMonitor: Could not probe " + currentDevices[i].getName() + ": " + ex.getMessage(), false);
+                }
+            }
+
+            try {
+                Thread.sleep(Constants.HEALTH_PROBE_PERIOD);
+            } catch(InterruptedException ex) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * A configuration call that ConfigCache sends to a motor controller.
+ * Wrap vendor calls with ConfigCache.succeeded(), like () -> ConfigCache.succeeded(motor.setIdleMode(IdleMode.kBrake)).
+ * Calls that return nothing, like setInverted(), return true once they are made. Their getLastError() is shared with the
+ * robot thread's calls to the same controller, so it cannot tell whether the call was accepted.
+ */
+public interface IConfigCall {
+    /**
+     * Sends the call to the controller.
+     * @return True if the controller accepted the call, false if it returned an error.
+     */
+    public boolean send();
+}
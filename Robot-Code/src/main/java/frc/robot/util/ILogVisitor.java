@@ -0,0 +1,32 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.enumeration.LogSignalType;
+
+/**
+ * Receives the records of a data log file, in order, from LogReader.
+ */
+public interface ILogVisitor {
+    /**
+     * Called once at the start of each file.
+     * @param sessionStart The time the robot code started, in ms since the epoch. Files from the same run share this.
+     * @param fileIndex The position of the file in its session, starting at 1.
+     */
+    public void start(long sessionStart, int fileIndex);
+
+    /**
+     * Called when a signal is defined. Ids are only valid within one session.
+     */
+    public void define(int id, String name, LogSignalType type, String units);
+
+    /**
+     * Called for every sample. Integer and boolean samples are passed as doubles.
+     * @param id The id of the signal, as passed to define().
+     * @param timestamp The time of the sample in microseconds since the session started.
+     * @param value The value of the sample.
+     */
+    public void sample(int id, long timestamp, double value);
+}
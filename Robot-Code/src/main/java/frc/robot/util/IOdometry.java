@@ -0,0 +1,34 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * Basic interface for anything that turns raw drivetrain samples into a robot position.
+ * Implementations must not touch hardware so that they can be replayed on a desktop.
+ */
+public interface IOdometry {
+    /**
+     * Resets the position and heading of the robot.
+     * @param x The new X-coordinate of the robot.
+     * @param y The new Y-coordinate of the robot.
+     * @param heading The new heading of the robot.
+     * @param leftPosition The current position (rotations) of the left drive motors.
+     * @param rightPosition The current position (rotations) of the right drive motors.
+     */
+    public void setPositionAndHeading(double x, double y, double heading, double leftPosition, double rightPosition);
+
+    /**
+     * Updates the position of the robot using one raw sample from the drivetrain.
+     * @param leftPosition The position (rotations) of the left drive motors.
+     * @param rightPosition The position (rotations) of the right drive motors.
+     * @param gyroAngle The angle reported by the gyro in degrees.
+     */
+    public void update(double leftPosition, double rightPosition, double gyroAngle);
+
+    /**
+     * Returns the current position and heading of the robot.
+     */
+    public Point2D getPositionAndHeading();
+}
@@ -0,0 +1,21 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.IOException;
+
+/**
+ * Receives the packets of a vision capture file, in order, from VisionCapture.replay().
+ */
+public interface IVisionPacketVisitor {
+    /**
+     * Called for every captured packet.
+     * @param receiveTime The RobotController.getFPGATime() when the packet was received, in microseconds.
+     * @param port The UDP port the packet was received on.
+     * @param data The payload. Only valid until this method returns.
+     * @param length The number of bytes of data in the payload.
+     */
+    public void packet(long receiveTime, int port, byte[] data, int length) throws IOException;
+}
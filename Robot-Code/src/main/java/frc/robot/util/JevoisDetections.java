@@ -0,0 +1,171 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity, primitive list of the power cells in one Jevois packet, filled by JevoisParser.
+ * Reused for every packet so parsing allocates nothing. Owned by the thread that receives the packets;
+ * detections reach the robot thread through a VisionFrame.
+ */
+public class JevoisDetections {
+    private final int capacity;
+    private final int[]
+        x,
+        y,
+        radius,
+        sortedX,
+        sortedY,
+        sortedRadius;
+
+    private final long[] keys;
+    private int
+        count,
+        skipped;
+
+    private boolean timestamped;
+    private long
+        sequence,
+        captureTime;
+
+    /**
+     * Creates a new JevoisDetections.
+     * @param capacity The most power cells kept from one packet. Cells past this are dropped before sorting.
+     */
+    public JevoisDetections(int capacity) {
+        this.capacity = capacity;
+        x = new int[capacity];
+        y = new int[capacity];
+        radius = new int[capacity];
+        sortedX = new int[capacity];
+        sortedY = new int[capacity];
+        sortedRadius = new int[capacity];
+        keys = new long[capacity];
+    }
+
+    /**
+     * Empties the list for a new packet.
+     */
+    public void clear() {
+        count = 0;
+        skipped = 0;
+        timestamped = false;
+        sequence = 0;
+        captureTime = 0;
+    }
+
+    /**
+     * Adds a power cell. Cells past the capacity are ignored.
+     * @param x The x-coordinate of the center of the power cell in pixels, where 0 is the center of the image.
+     * @param y The y-coordinate of the center of the power cell in pixels, where 0 is the top of the image.
+     * @param radius The radius of the power cell in pixels.
+     */
+    public void add(int x, int y, int radius) {
+        if(count < capacity) {
+            this.x[count] = x;
+            this.y[count] = y;
+            this.radius[count] = radius;
+            count++;
+        }
+    }
+
+    /**
+     * Counts a malformed "[x,y,radius]" segment that was skipped.
+     */
+    public void skip() {
+        skipped++;
+    }
+
+    /**
+     * Records the "@SEQ,TIME:" header of the packet.
+     * @param sequence The sequence number of the packet.
+     * @param captureTime When the detections were read, in microseconds on the sender's clock.
+     */
+    public void setHeader(long sequence, long captureTime) {
+        timestamped = true;
+        this.sequence = sequence;
+        this.captureTime = captureTime;
+    }
+
+    /**
+     * Orders the power cells closest (largest y) first, keeping the packet's order for cells at the same y.
+     * Sorts packed primitive keys, so nothing is allocated.
+     */
+    public void sort() {
+        for(int i=0; i<count; i++) {
+            //y in the high bits orders by y; the reversed index in the low bits keeps ties in packet order once read backwards
+            keys[i] = ((long) y[i] << 32) | (capacity - 1 - i);
+        }
+
+        Arrays.sort(keys, 0, count);
+        for(int i=0; i<count; i++) {
+            int from = capacity - 1 - (int) (keys[count - 1 - i] & 0xFFFFFFFFL);
+            sortedX[i] = x[from];
+            sortedY[i] = y[from];
+            sortedRadius[i] = radius[from];
+        }
+
+        System.arraycopy(sortedX, 0, x, 0, count);
+        System.arraycopy(sortedY, 0, y, 0, count);
+        System.arraycopy(sortedRadius, 0, radius, 0, count);
+    }
+
+    /**
+     * Returns the number of power cells in the list.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of malformed segments skipped in the packet.
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Returns the x-coordinate of a power cell in pixels, where 0 is the center of the image.
+     */
+    public int getX(int index) {
+        return x[index];
+    }
+
+    /**
+     * Returns the y-coordinate of a power cell in pixels, where 0 is the top of the image.
+     */
+    public int getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Returns the radius of a power cell in pixels.
+     */
+    public int getRadius(int index) {
+        return radius[index];
+    }
+
+    /**
+     * Returns true if the packet started with a "@SEQ,TIME:" header.
+     */
+    public boolean isTimestamped() {
+        return timestamped;
+    }
+
+    /**
+     * Returns the sequence number from the packet's header.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the capture time from the packet's header, in microseconds on the sender's clock.
+     */
+    public long getCaptureTime() {
+        return captureTime;
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses Jevois packets ("[x,y,radius][x,y,radius]...;", optionally starting with "@SEQ,TIME:") straight out of
+ * the receive buffer into a JevoisDetections. Nothing is allocated: numbers are scanned byte by byte, and malformed
+ * segments are counted and skipped instead of throwing. One parser per receiving thread.
+ */
+public class JevoisParser {
+    //result of the last scan
+    private final double[] number = new double[1];
+
+    /**
+     * Parses a packet into detections, in the order they appear in the packet. Call JevoisDetections.sort() to order them.
+     * Segments that are not three numbers are skipped and counted in JevoisDetections.getSkipped().
+     * @param buffer The received bytes, from its position to its limit. The position is not changed.
+     * @param out Cleared, then receives the power cells and the header.
+     * @return false if the packet has no ';' or a malformed header, in which case out should not be used.
+     */
+    public boolean parse(ByteBuffer buffer, JevoisDetections out) {
+        out.clear();
+        int i = buffer.position();
+        int end = i;
+        while(end < buffer.limit() && buffer.get(end) != ';') {
+            end++;
+        }
+
+        if(end >= buffer.limit()) {
+            return false;
+        }
+
+        //"@SEQ,TIME:"
+        if(i < end && buffer.get(i) == '@') {
+            i = NumberScanner.scan(buffer, i + 1, end, number, 0);
+            if(i < 0 || buffer.get(i) != ',') {
+                return false;
+            }
+
+            long sequence = (long) number[0];
+            i = NumberScanner.scan(buffer, i + 1, end, number, 0);
+            if(i < 0 || buffer.get(i) != ':') {
+                return false;
+            }
+
+            out.setHeader(sequence, (long) number[0]);
+            i++;
+        }
+
+        //segments end at ']' or at the end of the packet
+        while(i < end) {
+            int segmentEnd = i;
+            while(segmentEnd < end && buffer.get(segmentEnd) != ']') {
+                segmentEnd++;
+            }
+
+            if(segmentEnd > i && !parseSegment(buffer, i, segmentEnd, out)) {
+                out.skip();
+            }
+
+            i = segmentEnd + 1;
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses "[x,y,radius" from start to end. Values past the radius are ignored, like the String parsing did.
+     */
+    private boolean parseSegment(ByteBuffer buffer, int start, int end, JevoisDetections out) {
+        int i = start;
+        while(i < end && buffer.get(i) != '[') {
+            i++;
+        }
+
+        i = (i < end ? i + 1 : start);
+
+        i = NumberScanner.scan(buffer, i, end, number, 0);
+        if(i < 0 || buffer.get(i) != ',') {
+            return false;
+        }
+
+        int x = (int) number[0];
+        i = NumberScanner.scan(buffer, i + 1, end, number, 0);
+        if(i < 0 || buffer.get(i) != ',') {
+            return false;
+        }
+
+        int y = (int) number[0];
+        i = NumberScanner.scan(buffer, i + 1, end, number, 0);
+        if(i < 0 || (i < end && buffer.get(i) != ',')) {
+            return false;
+        }
+
+        out.add(x, y, (int) number[0]);
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses KiwiLight packets (":X,Y,W,H,D,HA,VA;") straight out of the receive buffer, which may be a direct ByteBuffer.
+ * Senders may append a sequence number and a capture timestamp in microseconds (":X,Y,W,H,D,HA,VA,SEQ,TIME;").
+ * Nothing is allocated: numbers are scanned byte by byte into a caller's array, and malformed packets
+ * are rejected with a return value instead of an exception.
+ */
+public class KiwiLightParser {
+    /**
+     * The number of values in a KiwiLight packet.
+     */
+    public static final int FIELDS = 7;
+
+    /**
+     * The number of values in a KiwiLight packet that ends with a sequence number and capture timestamp.
+     */
+    public static final int TIMESTAMPED_FIELDS = FIELDS + 2;
+
+    /**
+     * Parses a packet. Whitespace is skipped, and anything after the ';' is ignored.
+     * @param buffer The received bytes, from its position to its limit. The position is not changed.
+     * @param out Receives the values. Must hold TIMESTAMPED_FIELDS values. Its contents are undefined if the packet is rejected.
+     * @return The number of values, which is FIELDS or TIMESTAMPED_FIELDS, or 0 if the packet was rejected.
+     */
+    public static int parse(ByteBuffer buffer, double[] out) {
+        int length = buffer.limit();
+        int i = buffer.position();
+        while(i < length && buffer.get(i) != ':') {
+            i++;
+        }
+
+        i++;
+        int field = 0;
+        while(true) {
+            if(field >= TIMESTAMPED_FIELDS) {
+                return 0;
+            }
+
+            i = NumberScanner.scan(buffer, i, length, out, field++);
+            if(i < 0 || i >= length) {
+                return 0;
+            }
+
+            if(buffer.get(i) == ';') {
+                return (field == FIELDS || field == TIMESTAMPED_FIELDS ? field : 0);
+            }
+
+            if(buffer.get(i) != ',') {
+                return 0;
+            }
+
+            i++;
+        }
+    }
+}
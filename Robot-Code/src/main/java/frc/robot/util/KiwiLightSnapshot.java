@@ -0,0 +1,119 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * One KiwiLight frame with the time it was received and its frame id, copied out of SubsystemReceiver all at once.
+ * Consumers keep one of these, fill it with SubsystemReceiver.getSnapshot() once per tick, and make every decision
+ * for that tick from it, so values from two different frames are never mixed.
+ * A frame id that has not changed since the last tick means the frame is repeated; a jump of more than one means frames were dropped.
+ */
+public class KiwiLightSnapshot {
+    private final double[] data = {-1, -1, -1, -1, -1, 180, 180};
+    private long
+        receiveTime,
+        captureTime,
+        frameId;
+
+    /**
+     * Overwrites the snapshot. Called by SubsystemReceiver.
+     * @param data The KiwiLight 7-tuple.
+     * @param receiveTime The RobotController.getFPGATime() when the frame was received.
+     * @param captureTime The estimated RobotController.getFPGATime() when the frame was captured.
+     * @param frameId The id of the frame. Starts at 0 before any frame is received and increases by one per frame.
+     */
+    public void set(double[] data, long receiveTime, long captureTime, long frameId) {
+        System.arraycopy(data, 0, this.data, 0, this.data.length);
+        this.receiveTime = receiveTime;
+        this.captureTime = captureTime;
+        this.frameId = frameId;
+    }
+
+    /**
+     * Copies another snapshot into this one.
+     */
+    public void set(KiwiLightSnapshot other) {
+        set(other.data, other.receiveTime, other.captureTime, other.frameId);
+    }
+
+    /**
+     * Returns the value at an index of the KiwiLight 7-tuple (x, y, width, height, distance, horizontal angle, vertical angle).
+     */
+    public double get(int index) {
+        return data[index];
+    }
+
+    /**
+     * Returns the width of the seen target in pixels, or -1 if no target is seen.
+     */
+    public double getTargetWidthPixels() {
+        return data[2];
+    }
+
+    /**
+     * Returns the height of the seen target in pixels, or -1 if no target is seen.
+     */
+    public double getTargetHeightPixels() {
+        return data[3];
+    }
+
+    /**
+     * Returns the distance of the camera to the target, or -1 if no target is seen.
+     */
+    public double getDistanceToTarget() {
+        return data[4];
+    }
+
+    /**
+     * Returns the horizontal angle (degrees) to the target, or 180 if no target is seen.
+     */
+    public double getHorizontalAngleToTarget() {
+        return data[5];
+    }
+
+    /**
+     * Returns the vertical angle (degrees) to the target, or 180 if no target is seen.
+     */
+    public double getVerticalAngleToTarget() {
+        return data[6];
+    }
+
+    /**
+     * Returns true if a target is seen, false otherwise.
+     */
+    public boolean targetSpotted() {
+        return data[2] > -1;
+    }
+
+    /**
+     * Returns the RobotController.getFPGATime() when the frame was received, in microseconds.
+     */
+    public long getReceiveTime() {
+        return receiveTime;
+    }
+
+    /**
+     * Returns the estimated RobotController.getFPGATime() when the frame was captured, in microseconds.
+     * This is the receive time if the sender does not timestamp its packets.
+     */
+    public long getCaptureTime() {
+        return captureTime;
+    }
+
+    /**
+     * Returns the estimated FPGA time in seconds when the frame was captured, comparable to Timer.getFPGATimestamp().
+     * Use this to look up where the robot was when the frame was taken.
+     */
+    public double getCaptureTimestamp() {
+        return captureTime / 1000000.0;
+    }
+
+    /**
+     * Returns the id of the frame, which increases by one for every frame received. 0 means no frame has been received.
+     */
+    public long getFrameId() {
+        return frameId;
+    }
+}
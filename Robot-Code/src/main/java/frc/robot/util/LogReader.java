@@ -0,0 +1,183 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import frc.robot.enumeration.LogSignalType;
+
+/**
+ * Reads files written by DataLogger. Files are memory mapped one window at a time, so files of any size
+ * can be read without loading them into memory. Does not use any robot classes and is safe to use on a desktop.
+ */
+public class LogReader {
+    private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private LogReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowStart = 0;
+        map(0);
+    }
+
+    /**
+     * Reads the session start time from the header of a log file without reading the rest of it.
+     * @return The session start in ms since the epoch.
+     */
+    public static long readSessionStart(File file) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            checkHeader(randomAccessFile.readInt(), randomAccessFile.readInt(), file);
+            return randomAccessFile.readLong();
+        }
+    }
+
+    /**
+     * Reads the file index from the header of a log file without reading the rest of it.
+     */
+    public static int readFileIndex(File file) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            checkHeader(randomAccessFile.readInt(), randomAccessFile.readInt(), file);
+            randomAccessFile.readLong();
+            return randomAccessFile.readInt();
+        }
+    }
+
+    /**
+     * Passes every record in a log file to a visitor, in order.
+     * @param file The file to read.
+     * @param visitor Receives the records.
+     * @return The number of samples read.
+     */
+    public static long read(File file, ILogVisitor visitor) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            return new LogReader(randomAccessFile.getChannel()).readRecords(file, visitor);
+        }
+    }
+
+    private long readRecords(File file, ILogVisitor visitor) throws IOException {
+        require(DataLogger.HEADER_BYTES);
+        checkHeader(window.getInt(), window.getInt(), file);
+        long sessionStart = window.getLong();
+        int fileIndex = window.getInt();
+        visitor.start(sessionStart, fileIndex);
+
+        LogSignalType[] types = new LogSignalType[0];
+        long samples = 0;
+        while(require(1)) {
+            byte recordType = window.get();
+            if(recordType == DataLogger.RECORD_END) {
+                break;
+            }
+
+            if(recordType == DataLogger.RECORD_DEFINE) {
+                require(5);
+                int id = window.getShort();
+                LogSignalType type = LogSignalType.fromCode(window.get());
+                String name = readString();
+                String units = readString();
+                if(type == null) {
+                    throw new IOException(file.getName() + ": Unknown type for signal " + name);
+                }
+
+                if(id >= types.length) {
+                    LogSignalType[] newTypes = new LogSignalType[Math.max(id + 1, types.length * 2)];
+                    System.arraycopy(types, 0, newTypes, 0, types.length);
+                    types = newTypes;
+                }
+
+                types[id] = type;
+                visitor.define(id, name, type, units);
+            } else if(recordType == DataLogger.RECORD_SAMPLE) {
+                require(DataLogger.SAMPLE_HEADER_BYTES - 1);
+                int id = window.getShort();
+                long timestamp = window.getLong();
+                LogSignalType type = (id >= 0 && id < types.length ? types[id] : null);
+                if(type == null) {
+                    throw new IOException(file.getName() + ": Sample for undefined signal " + id);
+                }
+
+                require(type.getSize());
+                double value;
+                switch(type) {
+                    case DOUBLE:
+                        value = window.getDouble();
+                        break;
+                    case INTEGER:
+                        value = window.getInt();
+                        break;
+                    default:
+                        value = window.get();
+                        break;
+                }
+
+                visitor.sample(id, timestamp, value);
+                samples++;
+            } else {
+                throw new IOException(file.getName() + ": Unknown record type " + recordType + " at byte " + (windowStart + window.position() - 1));
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * Reads a [short length][UTF-8 bytes] string.
+     */
+    private String readString() throws IOException {
+        require(2);
+        int length = window.getShort() & 0xFFFF;
+        require(length);
+        byte[] bytes = new byte[length];
+        window.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Makes sure the next bytes are in the mapped window, moving the window forward if needed.
+     * @return true if the bytes are available, false if the file ended.
+     */
+    private boolean require(int bytes) throws IOException {
+        if(window.remaining() >= bytes) {
+            return true;
+        }
+
+        long position = windowStart + window.position();
+        if(fileSize - position < bytes) {
+            if(bytes == 1) {
+                return false;
+            }
+
+            throw new IOException("Log ends in the middle of a record");
+        }
+
+        map(position);
+        return true;
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, fileSize - position));
+    }
+
+    private static void checkHeader(int magic, int version, File file) throws IOException {
+        if(magic != DataLogger.MAGIC) {
+            throw new IOException(file.getName() + " is not a data log");
+        }
+
+        if(version != DataLogger.VERSION) {
+            throw new IOException(file.getName() + " is version " + version + ", expected " + DataLogger.VERSION);
+        }
+    }
+}
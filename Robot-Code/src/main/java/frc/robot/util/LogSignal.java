@@ -0,0 +1,77 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.nio.charset.StandardCharsets;
+
+import frc.robot.enumeration.LogSignalType;
+
+/**
+ * A named, typed stream of samples in the data log. Create these once using DataLogger.signal(),
+ * then call append() as often as needed. Appending does not allocate.
+ */
+public class LogSignal {
+    private final short id;
+    private final String name;
+    private final String units;
+    private final LogSignalType type;
+    private final byte[]
+        encodedName,
+        encodedUnits;
+
+    LogSignal(short id, String name, LogSignalType type, String units) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.units = units;
+        this.encodedName = name.getBytes(StandardCharsets.UTF_8);
+        this.encodedUnits = units.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Logs a sample with the current time. The value is converted to the signal's type.
+     */
+    public void append(double value) {
+        DataLogger.append(this, value);
+    }
+
+    /**
+     * Logs a sample with the current time. The value is logged as 1 or 0 for non-boolean signals.
+     */
+    public void append(boolean value) {
+        DataLogger.append(this, (value ? 1 : 0));
+    }
+
+    public short getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnits() {
+        return units;
+    }
+
+    public LogSignalType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of bytes the DEFINE record for this signal takes.
+     */
+    int getDefineBytes() {
+        return DataLogger.DEFINE_HEADER_BYTES + encodedName.length + encodedUnits.length;
+    }
+
+    byte[] getEncodedName() {
+        return encodedName;
+    }
+
+    byte[] getEncodedUnits() {
+        return encodedUnits;
+    }
+}
@@ -0,0 +1,208 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Times parts of the robot loop into TimingHistograms and periodically publishes p50, p99, and max for each
+ * part to the dashboard ("Profiler/[section]/...") and the data log. Cheap enough to leave on in matches:
+ * a section costs two System.nanoTime() calls and an array increment per frame.
+ *
+ * Sections are timed explicitly with start times and end(). Command execute() times are measured with
+ * CommandScheduler callbacks. The scheduler only reports when execute() has finished, so a command is charged
+ * for the time since the last checkpoint (the end of a section or any other command callback). That includes
+ * isFinished() of the command before it, so it is an upper bound. The same checkpoints are used to report
+ * commands that allocate to AllocationMonitor.
+ * Everything here must be called from the robot thread, except the getters used by LoopWatchdog.
+ */
+public class LoopProfiler {
+    private static final HashMap<String, Section> sectionsByName = new HashMap<String, Section>();
+    private static final ArrayList<Section> sections = new ArrayList<Section>();
+
+    private static long
+        lastCheckpoint,
+        lastCheckpointBytes,
+        nextPublishTime;
+
+    private static boolean installed;
+
+    //read by the LoopWatchdog thread
+    private static volatile String
+        activeSection,
+        lastSection;
+
+    /**
+     * Returns the histogram for a section of the loop, creating it if it does not exist.
+     * @param name The name of the section, like "SubsystemDrive".
+     */
+    public static TimingHistogram section(String name) {
+        return getSection(name).histogram;
+    }
+
+    /**
+     * Marks the start of a section so that LoopWatchdog can tell what the robot was doing if it stalls.
+     * @param section The section's histogram, from section().
+     * @return The start time to pass to end().
+     */
+    public static long start(TimingHistogram section) {
+        activeSection = section.getName();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since the start of a section and marks a checkpoint.
+     * @param section The section's histogram, from section().
+     * @param startTime The System.nanoTime() when the section started.
+     * @return The end time of the section.
+     */
+    public static long end(TimingHistogram section, long startTime) {
+        long now = System.nanoTime();
+        section.record(now - startTime);
+        checkpoint(now);
+        activeSection = null;
+        lastSection = section.getName();
+        return now;
+    }
+
+    /**
+     * Marks a checkpoint without recording anything. Command timing is measured from the latest checkpoint.
+     */
+    public static void mark(long now) {
+        checkpoint(now);
+    }
+
+    /**
+     * Returns the name of the section that has been started but not ended, or null if there is none.
+     */
+    public static String getActiveSection() {
+        return activeSection;
+    }
+
+    /**
+     * Returns the name of the section or command that finished most recently, or null if there is none.
+     */
+    public static String getLastSection() {
+        return lastSection;
+    }
+
+    /**
+     * Adds the CommandScheduler callbacks that time command execute() methods. Only the first call does anything.
+     */
+    public static void install() {
+        if(installed) {
+            return;
+        }
+
+        CommandScheduler scheduler = CommandScheduler.getInstance();
+        scheduler.onCommandInitialize(command -> mark(System.nanoTime()));
+        scheduler.onCommandExecute(LoopProfiler::commandExecuted);
+        scheduler.onCommandFinish(command -> mark(System.nanoTime()));
+        scheduler.onCommandInterrupt(command -> mark(System.nanoTime()));
+        installed = true;
+    }
+
+    /**
+     * Publishes and resets every histogram if the publish period has passed. Call once per loop.
+     * @param now The current System.nanoTime().
+     */
+    public static void publish(long now) {
+        if(now - nextPublishTime < 0) {
+            return;
+        }
+
+        nextPublishTime = now + Constants.PROFILER_PUBLISH_PERIOD * 1000000L;
+        for(int i=0; i<sections.size(); i++) {
+            sections.get(i).publish();
+        }
+    }
+
+    private static void commandExecuted(Command command) {
+        long now = System.nanoTime();
+        String name = command.getName();
+        getSection(name).histogram.record(now - lastCheckpoint);
+        if(AllocationMonitor.isRunning()) {
+            long bytes = AllocationMonitor.getRobotThreadBytes();
+            AllocationMonitor.commandExecuted(name, bytes - lastCheckpointBytes);
+            lastCheckpointBytes = bytes;
+        }
+
+        lastCheckpoint = now;
+        lastSection = name;
+    }
+
+    /**
+     * Records the time, and the robot thread's allocation if AllocationMonitor is running, that the next command is measured from.
+     */
+    private static void checkpoint(long now) {
+        lastCheckpoint = now;
+        if(AllocationMonitor.isRunning()) {
+            lastCheckpointBytes = AllocationMonitor.getRobotThreadBytes();
+        }
+    }
+
+    private static Section getSection(String name) {
+        Section section = sectionsByName.get(name);
+        if(section == null) {
+            section = new Section(name);
+            sectionsByName.put(name, section);
+            sections.add(section);
+        }
+
+        return section;
+    }
+
+    /**
+     * A histogram and the dashboard and log outputs it is published to.
+     */
+    private static class Section {
+        final TimingHistogram histogram;
+        final TelemetryNumber
+            p50Indicator,
+            p99Indicator,
+            maxIndicator;
+
+        final LogSignal
+            p50Signal,
+            p99Signal,
+            maxSignal;
+
+        Section(String name) {
+            histogram = new TimingHistogram(name);
+            p50Indicator = Telemetry.number("Profiler/" + name + "/p50 (ms)", TelemetryTier.SLOW);
+            p99Indicator = Telemetry.number("Profiler/" + name + "/p99 (ms)", TelemetryTier.SLOW);
+            maxIndicator = Telemetry.number("Profiler/" + name + "/Max (ms)", TelemetryTier.SLOW);
+            p50Signal = DataLogger.signal("Profiler/" + name + "/p50", LogSignalType.DOUBLE, "ms");
+            p99Signal = DataLogger.signal("Profiler/" + name + "/p99", LogSignalType.DOUBLE, "ms");
+            maxSignal = DataLogger.signal("Profiler/" + name + "/Max", LogSignalType.DOUBLE, "ms");
+        }
+
+        void publish() {
+            if(histogram.getCount() == 0) {
+                return;
+            }
+
+            double
+                p50 = histogram.getPercentile(0.5),
+                p99 = histogram.getPercentile(0.99),
+                max = histogram.getMax();
+
+            p50Indicator.set(p50);
+            p99Indicator.set(p99);
+            maxIndicator.set(max);
+            p50Signal.append(p50);
+            p99Signal.append(p99);
+            maxSignal.append(max);
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Background thread that notices when a robot loop runs past the "Loop Watchdog Deadline" preference.
+ * When it does, the robot thread's stack and the LoopProfiler section that was running are captured once
+ * for that loop and kept in a bounded buffer. The most recent overruns can be read with getOverrunReport(),
+ * which PVHost sends to PathVisualizer.
+ */
+public class LoopWatchdog {
+    private static final ArrayDeque<Overrun> overruns = new ArrayDeque<Overrun>();
+
+    private static volatile long loopStartTime;
+    private static volatile boolean loopRunning;
+
+    private static Thread
+        robotThread,
+        watchdogThread;
+
+    private static TunableDouble deadline;
+    private static TelemetryNumber overrunCountIndicator;
+    private static LogSignal overrunSignal;
+    private static long overrunCount;
+
+    /**
+     * Starts watching the calling thread, which should be the robot thread. Only the first call does anything.
+     */
+    public static synchronized void start() {
+        if(watchdogThread != null) {
+            return;
+        }
+
+        robotThread = Thread.currentThread();
+        deadline = Tunable.getDouble("Loop Watchdog Deadline", 20);
+        overrunCountIndicator = Telemetry.number("Loop Overruns", TelemetryTier.ON_CHANGE);
+        overrunSignal = DataLogger.signal("Robot/Loop Overrun", LogSignalType.DOUBLE, "ms");
+
+        watchdogThread = new Thread(LoopWatchdog::run, "LoopWatchdog");
+        watchdogThread.setDaemon(true);
+        watchdogThread.start();
+    }
+
+    /**
+     * Call at the start of every robot loop.
+     * @param now The current System.nanoTime().
+     */
+    public static void loopStarted(long now) {
+        loopStartTime = now;
+        loopRunning = true;
+    }
+
+    /**
+     * Call at the end of every robot loop.
+     */
+    public static void loopEnded() {
+        loopRunning = false;
+    }
+
+    /**
+     * Returns the captured overruns, newest first, as text.
+     */
+    public static synchronized String getOverrunReport() {
+        if(overruns.isEmpty()) {
+            return "No loop overruns.\n";
+        }
+
+        StringBuilder report = new StringBuilder();
+        for(Overrun overrun : overruns) {
+            overrun.appendTo(report);
+            report.append('\n');
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Body of the watchdog thread.
+     */
+    private static void run() {
+        long capturedLoop = 0;
+        long lastReportTime = 0;
+
+        while(true) {
+            try {
+                Thread.sleep(Constants.WATCHDOG_POLL_PERIOD);
+            } catch(InterruptedException ex) {
+                return;
+            }
+
+            long start = loopStartTime;
+            if(!loopRunning || start == capturedLoop) {
+                continue;
+            }
+
+            long now = System.nanoTime();
+            double elapsed = (now - start) / 1000000.0;
+            if(elapsed < deadline.get()) {
+                continue;
+            }
+
+            //read the location before the stack so they describe the same moment as closely as possible
+            String active = LoopProfiler.getActiveSection();
+            String last = LoopProfiler.getLastSection();
+            StackTraceElement[] stack = robotThread.getStackTrace();
+
+            //the loop may have ended while the stack was being captured
+            if(!loopRunning || loopStartTime != start) {
+                continue;
+            }
+
+            capturedLoop = start;
+            String location = (active != null ? "in " + active : "after " + (last == null ? "loop start" : last));
+            Overrun overrun = new Overrun(System.currentTimeMillis(), elapsed, location, stack);
+            synchronized(LoopWatchdog.class) {
+                if(overruns.size() >= Constants.WATCHDOG_MAX_EVENTS) {
+                    overruns.removeLast();
+                }
+
+                overruns.addFirst(overrun);
+                overrunCount++;
+                overrunCountIndicator.set(overrunCount);
+            }
+
+            overrunSignal.append(elapsed);
+
+            //rate limited so a robot that overruns every loop does not flood the console
+            if(now - lastReportTime > 1000000000L) {
+                DriverStation.reportWarning("Loop overrun: " + elapsed + " ms " + location + (stack.length > 0 ? " at " + stack[0] : ""), false);
+                lastReportTime = now;
+            }
+        }
+    }
+
+    /**
+     * One captured overrun.
+     */
+    private static class Overrun {
+        final long time;
+        final double elapsed;
+        final String location;
+        final StackTraceElement[] stack;
+
+        Overrun(long time, double elapsed, String location, StackTraceElement[] stack) {
+            this.time = time;
+            this.elapsed = elapsed;
+            this.location = location;
+            this.stack = stack;
+        }
+
+        void appendTo(StringBuilder report) {
+            report.append(new Date(time)).append(": loop over ").append(elapsed).append(" ms ").append(location).append('\n');
+            int frames = Math.min(stack.length, Constants.WATCHDOG_STACK_DEPTH);
+            for(int i=0; i<frames; i++) {
+                report.append("    at ").append(stack[i]).append('\n');
+            }
+        }
+    }
+}
@@ -6,7 +6,9 @@ public enum MessageType {
     PATH("Path", 1),             //Path-[dir]:[path]
     DIRECTORY_REQUEST("Dir", 2), //Dir:[dir]
     LOAD("Load", 3),             //Load:[path]
-    SAVE("Save", 4);             //save-[path]:[file]
+    SAVE("Save", 4),             //save-[path]:[file]
+    OVERRUNS("Ovr", 5),          //Ovr:[report]
+    VISION("Vis", 6);            //Vis-[frame]:[sequence,count,capture time,values...]
 
     private final String code;
     private final int index;
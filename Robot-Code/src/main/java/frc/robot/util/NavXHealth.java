@@ -0,0 +1,39 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.kauailabs.navx.frc.AHRS;
+
+/**
+ * DeviceHealth for a navX. The navX does not report faults, so only its connection is tracked.
+ */
+public class NavXHealth extends DeviceHealth {
+    private AHRS navX;
+
+    /**
+     * Creates a new NavXHealth.
+     * @param name The name of the device.
+     * @param navX The navX to probe.
+     */
+    public NavXHealth(String name, AHRS navX) {
+        super(name);
+        this.navX = navX;
+    }
+
+    @Override
+    protected boolean probeConnected() {
+        return navX.isConnected();
+    }
+
+    @Override
+    protected int probeFaults() {
+        return 0;
+    }
+
+    @Override
+    protected int probeStickyFaults() {
+        return 0;
+    }
+}
@@ -0,0 +1,128 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scans decimal numbers ("-1.5", "+7.", "5e1") byte by byte out of a receive buffer without allocating.
+ * Shared by the vision packet parsers so that they read numbers the same way.
+ */
+final class NumberScanner {
+    private static final int MAX_DIGITS = 18;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+        1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private NumberScanner() {
+    }
+
+    /**
+     * Scans a number surrounded by optional whitespace. Digits past the 18th significant digit are dropped.
+     * @param buffer The buffer to read.
+     * @param i The index to start at.
+     * @param end The index to stop before.
+     * @param out Receives the number.
+     * @param index Where in out the number goes.
+     * @return The index after the number and its trailing whitespace, which may be end, or -1 if there is no number.
+     */
+    static int scan(ByteBuffer buffer, int i, int end, double[] out, int index) {
+        i = skipWhitespace(buffer, i, end);
+
+        //sign
+        boolean negative = false;
+        if(i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = (buffer.get(i) == '-');
+            i++;
+        }
+
+        //integer and fractional digits into one mantissa
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean anyDigits = false;
+        boolean fraction = false;
+        while(i < end) {
+            byte c = buffer.get(i);
+            if(c >= '0' && c <= '9') {
+                anyDigits = true;
+                if(digits < MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if(mantissa > 0) {
+                        digits++;
+                    }
+
+                    if(fraction) {
+                        scale--;
+                    }
+                } else if(!fraction) {
+                    scale++;
+                }
+            } else if(c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+
+            i++;
+        }
+
+        if(!anyDigits) {
+            return -1;
+        }
+
+        //exponent
+        if(i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if(i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = (buffer.get(i) == '-');
+                i++;
+            }
+
+            int exponent = 0;
+            int exponentDigits = 0;
+            while(i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+                if(exponentDigits < 4) {
+                    exponent = exponent * 10 + (buffer.get(i) - '0');
+                }
+
+                exponentDigits++;
+                i++;
+            }
+
+            if(exponentDigits == 0) {
+                return -1;
+            }
+
+            scale += (negativeExponent ? -exponent : exponent);
+        }
+
+        double value = (scale >= 0 ? mantissa * powerOfTen(scale) : mantissa / powerOfTen(-scale));
+        out[index] = (negative ? -value : value);
+        return skipWhitespace(buffer, i, end);
+    }
+
+    /**
+     * Returns the index of the first byte at or after i that is not whitespace, or end.
+     */
+    static int skipWhitespace(ByteBuffer buffer, int i, int end) {
+        while(i < end && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private static double powerOfTen(int exponent) {
+        return (exponent < POWERS_OF_TEN.length ? POWERS_OF_TEN[exponent] : Math.pow(10, exponent));
+    }
+}
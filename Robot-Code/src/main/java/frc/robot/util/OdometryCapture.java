@@ -0,0 +1,174 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Writes raw drivetrain samples to a compact binary file so that odometry can be replayed off the robot.
+ *
+ * File format (big endian):
+ *   header: [int magic][int version][double startX][double startY][double startHeading]
+ *   record: [long timestamp (us)][double leftPosition][double rightPosition][double gyroAngle]
+ */
+public class OdometryCapture {
+    public static final int
+        MAGIC = 0x4F444F4D, //"ODOM"
+        VERSION = 1,
+        HEADER_BYTES = 32,
+        RECORD_BYTES = 32;
+
+    private String file;
+    private DataOutputStream output;
+    private int samples;
+
+    /**
+     * Creates a new OdometryCapture. No file is opened until start() is called.
+     * @param file The file to write samples to. It will be overwritten.
+     */
+    public OdometryCapture(String file) {
+        this.file = file;
+        this.samples = 0;
+    }
+
+    /**
+     * Opens the capture file and writes the header.
+     * @param start The position of the robot when the capture starts.
+     * @return true if the file was opened, false otherwise.
+     */
+    public boolean start(Point2D start) {
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false)));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeDouble(start.getX());
+            output.writeDouble(start.getY());
+            output.writeDouble(start.getHeading());
+            samples = 0;
+            return true;
+        } catch(IOException ex) {
+            output = null;
+            return false;
+        }
+    }
+
+    /**
+     * Appends one raw sample to the capture file. Does nothing if the capture is not running.
+     * @param timestamp The time of the sample in microseconds.
+     * @param leftPosition The position (rotations) of the left drive motors.
+     * @param rightPosition The position (rotations) of the right drive motors.
+     * @param gyroAngle The angle of the gyro in degrees.
+     */
+    public void record(long timestamp, double leftPosition, double rightPosition, double gyroAngle) throws IOException {
+        if(output == null) {
+            return;
+        }
+
+        output.writeLong(timestamp);
+        output.writeDouble(leftPosition);
+        output.writeDouble(rightPosition);
+        output.writeDouble(gyroAngle);
+        samples++;
+    }
+
+    /**
+     * Flushes and closes the capture file.
+     */
+    public void stop() throws IOException {
+        if(output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    /**
+     * Returns true if the capture is currently writing to a file.
+     */
+    public boolean isRunning() {
+        return output != null;
+    }
+
+    /**
+     * Returns the number of samples written since the capture was started.
+     */
+    public int getSampleCount() {
+        return samples;
+    }
+
+    /**
+     * Streams a capture file through an odometry implementation.
+     * The odometry is reset to the starting position stored in the file before the first sample.
+     * @param file The capture file to read.
+     * @param odometry The odometry implementation to feed.
+     * @return The number of samples replayed.
+     */
+    public static int replay(String file, IOdometry odometry) throws IOException {
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if(input.readInt() != MAGIC) {
+                throw new IOException(file + " is not an odometry capture!");
+            }
+
+            int version = input.readInt();
+            if(version != VERSION) {
+                throw new IOException(file + " has unsupported capture version " + version);
+            }
+
+            double
+                startX = input.readDouble(),
+                startY = input.readDouble(),
+                startHeading = input.readDouble();
+
+            int count = 0;
+            while(true) {
+                double left, right, gyro;
+                try {
+                    input.readLong(); //timestamp. Odometry only cares about order
+                    left = input.readDouble();
+                    right = input.readDouble();
+                    gyro = input.readDouble();
+                } catch(EOFException ex) {
+                    break; //capture may have been cut off mid-record if the robot lost power
+                }
+
+                if(count == 0) {
+                    odometry.setPositionAndHeading(startX, startY, startHeading, left, right);
+                }
+
+                odometry.update(left, right, gyro);
+                count++;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Returns the time between the first and last complete samples in a capture file, read from their timestamps.
+     * @param file The capture file to read.
+     * @return The captured time in seconds, or 0 if the file has fewer than two samples.
+     */
+    public static double getDuration(String file) throws IOException {
+        try(RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            long records = (input.length() - HEADER_BYTES) / RECORD_BYTES;
+            if(records < 2) {
+                return 0;
+            }
+
+            input.seek(HEADER_BYTES);
+            long first = input.readLong();
+            input.seek(HEADER_BYTES + (records - 1) * RECORD_BYTES);
+            long last = input.readLong();
+            return (last - first) / 1e6;
+        }
+    }
+}
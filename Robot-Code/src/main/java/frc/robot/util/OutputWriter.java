@@ -0,0 +1,95 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants;
+import frc.robot.enumeration.CANMessage;
+import frc.robot.enumeration.OutputMode;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Writes setpoints to one motor controller, dropping writes that would repeat the last frame sent.
+ * A repeated setpoint is still re-sent every Constants.OUTPUT_REFRESH_PERIOD milliseconds in case the controller
+ * reset. Followers should not get a writer; they are driven by their leader.
+ * All writers must be used from the main robot thread.
+ */
+public abstract class OutputWriter {
+    private static int
+        framesSent,
+        framesDropped;
+
+    private static final TelemetryNumber
+        sentIndicator    = Telemetry.number("CAN Output Frames Sent", TelemetryTier.SLOW),
+        droppedIndicator = Telemetry.number("CAN Output Frames Dropped", TelemetryTier.SLOW);
+
+    private final CANCounter counter;
+    private OutputMode lastMode;
+    private double lastValue;
+    private long lastSentTime;
+
+    /**
+     * Creates a new OutputWriter.
+     * @param counter The counter of the motor controller, or null.
+     */
+    protected OutputWriter(CANCounter counter) {
+        this.counter = counter;
+    }
+
+    /**
+     * Sets the output of the motor.
+     * @param mode How the controller should interpret the value.
+     * @param value The setpoint. Units depend on the mode.
+     */
+    public void set(OutputMode mode, double value) {
+        long currentTime = System.currentTimeMillis();
+        if(mode == lastMode && value == lastValue && currentTime - lastSentTime < Constants.OUTPUT_REFRESH_PERIOD) {
+            framesDropped++;
+            return;
+        }
+
+        send(mode, value);
+        if(counter != null) {
+            counter.count(CANMessage.SETPOINT);
+        }
+
+        lastMode = mode;
+        lastValue = value;
+        lastSentTime = currentTime;
+        framesSent++;
+    }
+
+    /**
+     * Sets the percent output of the motor.
+     * @param percent desired percent output (-1.0 to 1.0)
+     */
+    public void set(double percent) {
+        set(OutputMode.PERCENT, percent);
+    }
+
+    /**
+     * Forgets the last frame sent so that the next setpoint is sent no matter what.
+     */
+    public void invalidate() {
+        lastMode = null;
+    }
+
+    /**
+     * Publishes the number of frames sent and dropped by all writers since the last call, then resets the counts.
+     * Call once per robot frame.
+     */
+    public static void publishFrameCounts() {
+        sentIndicator.set(framesSent);
+        droppedIndicator.set(framesDropped);
+        framesSent = 0;
+        framesDropped = 0;
+    }
+
+    /**
+     * Sends the setpoint to the motor controller.
+     * @param mode How the controller should interpret the value.
+     * @param value The setpoint.
+     */
+    protected abstract void send(OutputMode mode, double value);
+}
@@ -22,6 +22,7 @@ public class PVHost {
     private Socket clientSocket;
     private boolean connected;
     private String currentData;
+    private final StringBuilder visionBuilder = new StringBuilder();
 
     /**
      * Creates a new PVHost. It will listen for connections on the specified port.
@@ -61,6 +62,24 @@ public class PVHost {
         }
     }
 
+    /**
+     * Sends the latest published frame of a camera to the PathVisualizer client, in the same layout as the dashboard.
+     * Nothing is sent if no client is connected or the frame has not changed since it was last sent.
+     * @param frame The frame to send.
+     * @param lastSentSequence The sequence number of the frame that was last sent.
+     * @return The sequence number of the frame that has now been sent.
+     */
+    public long sendVision(VisionFrame frame, long lastSentSequence) {
+        if(!connected || frame.getSequence() == lastSentSequence) {
+            return lastSentSequence;
+        }
+
+        visionBuilder.setLength(0);
+        frame.appendTo(visionBuilder);
+        sendMessage(composeMessage(MessageType.VISION, frame.getName(), visionBuilder.toString()));
+        return frame.getSequence();
+    }
+
     /**
      * Attempts to connect the host to the client.
      * This method starts a new Thread, so it will return immediately, but the socket may not be connected.
@@ -208,6 +227,15 @@ public class PVHost {
                     }
                 }
                 break;
+            case OVERRUNS: {
+                    //brackets are message delimiters, so they cannot appear in the report
+                    String report = LoopWatchdog.getOverrunReport()
+                        .replace(Constants.START_SEQUENCE, "(")
+                        .replace(Constants.END_SEQUENCE, ")");
+
+                    sendMessage(composeMessage(MessageType.OVERRUNS, report));
+                }
+                break;
             default:
                 DriverStation.reportError("PVHost could not handle message of type \"" + messageType.getCode() + "\"!", false);
                 return;
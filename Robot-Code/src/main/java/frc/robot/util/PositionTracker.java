@@ -4,12 +4,15 @@
 
 package frc.robot.util;
 
+import java.util.function.DoubleSupplier;
+
 import frc.robot.Constants;
 import frc.robot.subsystems.SubsystemDrive;
 
 /** Add your docs here. */
-public class PositionTracker {
+public class PositionTracker implements IOdometry {
     private SubsystemDrive drivetrain;
+    private DoubleSupplier correctionRatio;
     private double
         lastLeftDistance,
         lastRightDistance,
@@ -26,9 +29,11 @@ public class PositionTracker {
      * @param x The starting X-coordinate of the robot.
      * @param y The starting Y-coordinate of the robot.
      * @param angle The starting heading angle of the robot in degrees. (0 = towards positive X. Positive = CCW)
+     * @param correctionRatio Supplies the ratio that straight-line travel is multiplied by.
      */
-    public PositionTracker(SubsystemDrive drivetrain, double x, double y, double heading) {
+    public PositionTracker(SubsystemDrive drivetrain, double x, double y, double heading, DoubleSupplier correctionRatio) {
         this.drivetrain = drivetrain;
+        this.correctionRatio = correctionRatio;
         this.x = x;
         this.y = y;
         this.heading = heading;
@@ -36,6 +41,16 @@ public class PositionTracker {
         this.zero = false;
     }
 
+    /**
+     * Creates a new PositionTracker that reads its correction ratio from the preferences.
+     * @param x The starting X-coordinate of the robot.
+     * @param y The starting Y-coordinate of the robot.
+     * @param angle The starting heading angle of the robot in degrees. (0 = towards positive X. Positive = CCW)
+     */
+    public PositionTracker(SubsystemDrive drivetrain, double x, double y, double heading) {
+        this(drivetrain, x, y, heading, Tunable.getDouble("PositionTracker correction ratio", 1));
+    }
+
     /**
      * Creates a new Position tracker, with starting position and rotation at 0.
      */
@@ -50,13 +65,18 @@ public class PositionTracker {
      * @param angle The new heading angle of the robot.
      */
     public void setPositionAndHeading(double x, double y, double heading) {
+        setPositionAndHeading(x, y, heading, drivetrain.getLeftPosition(), drivetrain.getRightPosition());
+    }
+
+    @Override
+    public void setPositionAndHeading(double x, double y, double heading, double leftPosition, double rightPosition) {
         this.x = x;
         this.y = y;
         this.heading = heading;
 
         //set lastLeft and lastRight so that coordinates don't jump
-        lastLeftDistance = drivetrain.getLeftPosition();
-        lastRightDistance = drivetrain.getRightPosition();
+        lastLeftDistance = leftPosition;
+        lastRightDistance = rightPosition;
     }
 
     /**
@@ -91,9 +111,9 @@ public class PositionTracker {
         driveY /= Constants.DRIVE_ROTATIONS_PER_INCH;
 
         if(Math.abs(heading - rotation) < 10) {
-            double correctionRatio = Util.getAndSetDouble("PositionTracker correction ratio", 1);
-            driveX *= correctionRatio;
-            driveY *= correctionRatio;
+            double ratio = correctionRatio.getAsDouble();
+            driveX *= ratio;
+            driveY *= ratio;
         }
 
         this.x += driveX;
@@ -112,14 +132,22 @@ public class PositionTracker {
      * Updates the position of the robot using values from the drivetrain.
      */
     public void update() {
-        double currentLeftDistance = drivetrain.getLeftPosition();
-        double currentRightDistance = drivetrain.getRightPosition();
+        update(drivetrain.getLeftPosition(), drivetrain.getRightPosition(), drivetrain.getGyroAngle());
+    }
+
+    /**
+     * Updates the position of the robot using a raw sample from the drivetrain.
+     * @param currentLeftDistance The position (rotations) of the left drive motors.
+     * @param currentRightDistance The position (rotations) of the right drive motors.
+     * @param currentHeading The angle reported by the gyro.
+     */
+    @Override
+    public void update(double currentLeftDistance, double currentRightDistance, double currentHeading) {
         double leftChange = currentLeftDistance - lastLeftDistance;
         double rightChange = currentRightDistance - lastRightDistance;
         
         //take average to get average distance travelled by the center of the bot
         double netDistanceTravelled = (leftChange + rightChange) / 2;
-        double currentHeading = drivetrain.getGyroAngle();
 
         //update using new values
         update(netDistanceTravelled, currentHeading);
@@ -128,9 +156,9 @@ public class PositionTracker {
         lastRightDistance = currentRightDistance;
 
         if(zero) {
-            if(waitForZeroDrive && drivetrainAtZero()) {
-                lastLeftDistance = drivetrain.getLeftPosition();
-                lastRightDistance = drivetrain.getRightPosition();
+            if(waitForZeroDrive && drivetrainAtZero(currentLeftDistance, currentRightDistance, currentHeading)) {
+                lastLeftDistance = currentLeftDistance;
+                lastRightDistance = currentRightDistance;
 
                 zero = false;
             }
@@ -142,14 +170,15 @@ public class PositionTracker {
     /**
      * Returns the current position and heading of the robot.
      */
+    @Override
     public Point2D getPositionAndHeading() {
         return new Point2D(x, y, heading);
     }
 
-    private boolean drivetrainAtZero() {
+    private boolean drivetrainAtZero(double leftPosition, double rightPosition, double gyroAngle) {
         return 
-            Math.abs(drivetrain.getLeftPosition()) < 0.25 &&
-            Math.abs(drivetrain.getRightPosition()) < 0.25 &&
-            Math.abs(drivetrain.getGyroAngle()) < 0.25;
+            Math.abs(leftPosition) < 0.25 &&
+            Math.abs(rightPosition) < 0.25 &&
+            Math.abs(gyroAngle) < 0.25;
     }
 }
@@ -0,0 +1,245 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants;
+
+/**
+ * Follows power cells across Jevois frames. Each detection is matched to the nearest existing track within
+ * Constants.JEVOIS_TRACK_GATE pixels, so a cell keeps the same id, its position is smoothed, and a cell that
+ * misses a frame or two keeps its track until it has not been seen for Constants.JEVOIS_TRACK_TIMEOUT seconds.
+ * Every detection is matched before any new track is started, so a new cell can only replace a track that was not seen.
+ * Tracks live in fixed arrays, so an update costs at most detections * Constants.JEVOIS_MAX_TRACKS distance checks
+ * and allocates nothing. Tracks are indexed closest first (largest y first). Not thread safe; use from the robot thread.
+ */
+public class PowerCellTracker {
+    private final int capacity;
+
+    //by slot
+    private final int[] ids;
+    private final double[]
+        x,
+        y,
+        radius,
+        firstSeen,
+        lastSeen;
+
+    private final boolean[]
+        active,
+        matched;
+
+    //by detection in the frame being added
+    private final boolean[] detectionMatched = new boolean[Constants.JEVOIS_MAX_DETECTIONS];
+
+    //slots of active tracks, closest first
+    private final int[] order;
+    private int count;
+    private int nextId = 1;
+
+    /**
+     * Creates a new PowerCellTracker.
+     * @param capacity The most power cells that can be tracked at once.
+     */
+    public PowerCellTracker(int capacity) {
+        this.capacity = capacity;
+        ids = new int[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        radius = new double[capacity];
+        firstSeen = new double[capacity];
+        lastSeen = new double[capacity];
+        active = new boolean[capacity];
+        matched = new boolean[capacity];
+        order = new int[capacity];
+    }
+
+    /**
+     * Adds the detections in a Jevois frame.
+     * @param frame The frame, with x, y, and radius fields, as of its last publish().
+     * @param time The time the frame was captured, in seconds.
+     */
+    public void update(VisionFrame frame, double time) {
+        for(int i=0; i<capacity; i++) {
+            matched[i] = false;
+        }
+
+        int detections = Math.min(frame.getCount(), detectionMatched.length);
+        double gateSquared = Constants.JEVOIS_TRACK_GATE * Constants.JEVOIS_TRACK_GATE;
+        double smoothing = Constants.JEVOIS_TRACK_SMOOTHING;
+        for(int d=0; d<detections; d++) {
+            double
+                detectionX = frame.get(d, 0),
+                detectionY = frame.get(d, 1),
+                detectionRadius = frame.get(d, 2);
+
+            //nearest unmatched track inside the gate
+            int best = -1;
+            double bestDistance = gateSquared;
+            for(int t=0; t<capacity; t++) {
+                if(!active[t] || matched[t]) {
+                    continue;
+                }
+
+                double dx = detectionX - x[t];
+                double dy = detectionY - y[t];
+                double distance = dx * dx + dy * dy;
+                if(distance <= bestDistance) {
+                    best = t;
+                    bestDistance = distance;
+                }
+            }
+
+            detectionMatched[d] = (best >= 0);
+            if(best >= 0) {
+                x[best] += (detectionX - x[best]) * smoothing;
+                y[best] += (detectionY - y[best]) * smoothing;
+                radius[best] += (detectionRadius - radius[best]) * smoothing;
+                lastSeen[best] = time;
+                matched[best] = true;
+            }
+        }
+
+        for(int d=0; d<detections; d++) {
+            if(detectionMatched[d]) {
+                continue;
+            }
+
+            //new cell. If every slot is taken, replace the track that has gone longest without being seen
+            int slot = -1;
+            for(int t=0; t<capacity; t++) {
+                if(!active[t]) {
+                    slot = t;
+                    break;
+                }
+
+                if(!matched[t] && (slot < 0 || lastSeen[t] < lastSeen[slot])) {
+                    slot = t;
+                }
+            }
+
+            if(slot < 0) {
+                continue;
+            }
+
+            ids[slot] = nextId++;
+            x[slot] = frame.get(d, 0);
+            y[slot] = frame.get(d, 1);
+            radius[slot] = frame.get(d, 2);
+            firstSeen[slot] = time;
+            lastSeen[slot] = time;
+            active[slot] = true;
+            matched[slot] = true;
+        }
+
+        expire(time);
+    }
+
+    /**
+     * Drops tracks that have not been seen for the timeout. update() does this too; call it when no frames are arriving.
+     * @param now The current time, in seconds.
+     */
+    public void expire(double now) {
+        count = 0;
+        for(int t=0; t<capacity; t++) {
+            if(active[t] && now - lastSeen[t] > Constants.JEVOIS_TRACK_TIMEOUT) {
+                active[t] = false;
+            }
+
+            if(!active[t]) {
+                continue;
+            }
+
+            //insertion sort by y, largest (closest) first
+            int i = count++;
+            while(i > 0 && y[order[i - 1]] < y[t]) {
+                order[i] = order[i - 1];
+                i--;
+            }
+
+            order[i] = t;
+        }
+    }
+
+    /**
+     * Drops every track.
+     */
+    public void clear() {
+        for(int t=0; t<capacity; t++) {
+            active[t] = false;
+        }
+
+        count = 0;
+    }
+
+    /**
+     * Returns the number of power cells being tracked.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the index of the track with an id, or -1 if that cell is no longer tracked.
+     */
+    public int indexOf(int id) {
+        for(int i=0; i<count; i++) {
+            if(ids[order[i]] == id) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the id of a track. Ids are never reused.
+     * @param index The index of the track, where 0 is the closest.
+     */
+    public int getId(int index) {
+        return ids[order[index]];
+    }
+
+    /**
+     * Returns the smoothed x-coordinate of a track in pixels, where 0 is the center of the image.
+     * @param index The index of the track, where 0 is the closest.
+     */
+    public double getX(int index) {
+        return x[order[index]];
+    }
+
+    /**
+     * Returns the smoothed y-coordinate of a track in pixels, where 0 is the top of the image.
+     * @param index The index of the track, where 0 is the closest.
+     */
+    public double getY(int index) {
+        return y[order[index]];
+    }
+
+    /**
+     * Returns the smoothed radius of a track in pixels.
+     * @param index The index of the track, where 0 is the closest.
+     */
+    public double getRadius(int index) {
+        return radius[order[index]];
+    }
+
+    /**
+     * Returns the seconds since a track was first seen.
+     * @param index The index of the track, where 0 is the closest.
+     * @param now The current time, in seconds.
+     */
+    public double getAge(int index, double now) {
+        return now - firstSeen[order[index]];
+    }
+
+    /**
+     * Returns the seconds since a track was last matched to a detection.
+     * @param index The index of the track, where 0 is the closest.
+     * @param now The current time, in seconds.
+     */
+    public double getTimeSinceSeen(int index, double now) {
+        return now - lastSeen[order[index]];
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * Fixed-size history of a value over time, for finding out what a mechanism was doing when a camera frame was captured.
+ * Samples must be added in time order. Looking up a time between two samples interpolates between them.
+ * Nothing is allocated after construction. Not thread safe.
+ */
+public class SampleHistory {
+    private final double[]
+        times,
+        values;
+
+    private int
+        next,
+        count;
+
+    /**
+     * Creates a new SampleHistory.
+     * @param capacity The number of samples kept. Older samples are overwritten.
+     */
+    public SampleHistory(int capacity) {
+        times = new double[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Adds a sample. Samples older than the newest one are ignored.
+     * @param time The time of the sample, in seconds.
+     * @param value The value at that time.
+     */
+    public void add(double time, double value) {
+        if(count > 0 && time < times[index(count - 1)]) {
+            return;
+        }
+
+        times[next] = time;
+        values[next] = value;
+        next = (next + 1) % times.length;
+        count = Math.min(count + 1, times.length);
+    }
+
+    /**
+     * Returns the value at a time, interpolated between the samples around it. Times outside the history
+     * return the oldest or newest sample.
+     * @param time The time to look up, in seconds.
+     * @return The value, or NaN if the history is empty.
+     */
+    public double get(double time) {
+        if(count == 0) {
+            return Double.NaN;
+        }
+
+        int newest = index(count - 1);
+        if(time >= times[newest]) {
+            return values[newest];
+        }
+
+        //walk back from the newest sample, since lookups are usually for the recent past
+        for(int i=count - 2; i>=0; i--) {
+            int before = index(i);
+            if(times[before] <= time) {
+                int after = index(i + 1);
+                double span = times[after] - times[before];
+                double fraction = (span > 0 ? (time - times[before]) / span : 1);
+                return values[before] + (values[after] - values[before]) * fraction;
+            }
+        }
+
+        return values[index(0)];
+    }
+
+    /**
+     * Removes every sample.
+     */
+    public void clear() {
+        next = 0;
+        count = 0;
+    }
+
+    /**
+     * Returns the array index of the nth oldest sample.
+     */
+    private int index(int n) {
+        return (next - count + n + times.length) % times.length;
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.ArrayList;
+
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
+
+import frc.robot.enumeration.ControllerParameter;
+
+/**
+ * StatusFramePlan for a SPARK MAX.
+ * Status 0 carries applied output and faults, and is what followers follow, so a leader should keep it fast.
+ * Status 1 carries velocity, bus voltage, current, and temperature. Status 2 carries position.
+ */
+public class SparkMaxFramePlan extends StatusFramePlan {
+    private CANSparkMax motor;
+    private final ArrayList<PeriodicFrame> frames = new ArrayList<PeriodicFrame>();
+
+    /**
+     * Creates a new SparkMaxFramePlan.
+     * @param motor The motor to configure.
+     * @param counter The counter of the motor.
+     * @param config The configuration cache of the motor.
+     */
+    public SparkMaxFramePlan(CANSparkMax motor, CANCounter counter, ConfigCache config) {
+        super(counter, config);
+        this.motor = motor;
+    }
+
+    /**
+     * Declares the periods of a frame.
+     * @param frame The frame.
+     * @param disabled The period while disabled, in milliseconds.
+     * @param autonomous The period in autonomous, in milliseconds.
+     * @param teleop The period in teleop and test, in milliseconds.
+     * @return This plan.
+     */
+    public SparkMaxFramePlan set(PeriodicFrame frame, int disabled, int autonomous, int teleop) {
+        frames.add(frame);
+        addFrame(getParameter(frame), disabled, autonomous, teleop);
+        return this;
+    }
+
+    @Override
+    protected boolean sendPeriod(int index, int periodMillis) {
+        return ConfigCache.succeeded(motor.setPeriodicFramePeriod(frames.get(index), periodMillis));
+    }
+
+    private static ControllerParameter getParameter(PeriodicFrame frame) {
+        switch(frame) {
+            case kStatus0:
+                return ControllerParameter.STATUS_GENERAL;
+            case kStatus1:
+                return ControllerParameter.STATUS_FEEDBACK;
+            default:
+                return ControllerParameter.STATUS_POSITION;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.revrobotics.CANSparkMax;
+
+import frc.robot.Constants;
+
+/**
+ * DeviceHealth for a SPARK MAX. The controller counts as connected while it reports a bus voltage above
+ * Constants.SPARK_MINIMUM_VOLTAGE, since a controller that is not on the bus reads 0.
+ */
+public class SparkMaxHealth extends DeviceHealth {
+    private CANSparkMax motor;
+
+    /**
+     * Creates a new SparkMaxHealth.
+     * @param name The name of the device.
+     * @param motor The motor to probe.
+     */
+    public SparkMaxHealth(String name, CANSparkMax motor) {
+        super(name);
+        this.motor = motor;
+    }
+
+    @Override
+    protected boolean probeConnected() {
+        return motor.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
+    }
+
+    @Override
+    protected int probeFaults() {
+        return motor.getFaults() & 0xFFFF;
+    }
+
+    @Override
+    protected int probeStickyFaults() {
+        return motor.getStickyFaults() & 0xFFFF;
+    }
+}
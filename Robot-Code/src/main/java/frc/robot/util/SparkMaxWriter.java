@@ -0,0 +1,53 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.revrobotics.CANPIDController;
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.ControlType;
+
+import frc.robot.enumeration.OutputMode;
+
+/**
+ * OutputWriter for a SPARK MAX.
+ */
+public class SparkMaxWriter extends OutputWriter {
+    private CANSparkMax motor;
+    private CANPIDController controller;
+
+    /**
+     * Creates a new SparkMaxWriter.
+     * @param motor The motor to write to.
+     */
+    public SparkMaxWriter(CANSparkMax motor) {
+        this(motor, null);
+    }
+
+    /**
+     * Creates a new SparkMaxWriter that counts the setpoints it sends.
+     * @param motor The motor to write to.
+     * @param counter The counter of the motor, or null.
+     */
+    public SparkMaxWriter(CANSparkMax motor, CANCounter counter) {
+        super(counter);
+        this.motor = motor;
+        this.controller = motor.getPIDController();
+    }
+
+    @Override
+    protected void send(OutputMode mode, double value) {
+        switch(mode) {
+            case PERCENT:
+                motor.set(value);
+                break;
+            case POSITION:
+                controller.setReference(value, ControlType.kPosition);
+                break;
+            case VELOCITY:
+                controller.setReference(value, ControlType.kVelocity);
+                break;
+        }
+    }
+}
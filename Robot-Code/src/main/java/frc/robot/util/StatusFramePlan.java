@@ -0,0 +1,95 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.ArrayList;
+
+import frc.robot.enumeration.ControllerParameter;
+import frc.robot.enumeration.RobotMode;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * The status frame periods one motor controller needs in each mode. A subsystem declares the frames it reads and
+ * how often it needs them, and CANTraffic applies the periods for the current mode whenever the mode changes,
+ * so frames nobody reads are slowed down. Periods are sent through the controller's ConfigCache, so only
+ * the periods that changed are sent. Test mode uses the teleop periods.
+ * Subclasses implement the frames of one kind of controller.
+ */
+public abstract class StatusFramePlan {
+    private final ConfigCache config;
+    private final ArrayList<ControllerParameter> parameters = new ArrayList<ControllerParameter>();
+    private final ArrayList<int[]> periods = new ArrayList<int[]>();
+    private final TelemetryNumber statusFrameRateIndicator;
+
+    private volatile double statusFrameRate;
+
+    /**
+     * Creates a new StatusFramePlan.
+     * @param counter The counter of the controller, which names the plan on the dashboard.
+     * @param config The configuration cache of the controller.
+     */
+    protected StatusFramePlan(CANCounter counter, ConfigCache config) {
+        this.config = config;
+        this.statusFrameRateIndicator = Telemetry.number("CAN/" + counter.getName() + "/Planned Status Frames per s", TelemetryTier.ON_CHANGE);
+        CANTraffic.register(this);
+    }
+
+    /**
+     * Sends the periods for the current mode. Call once after the frames are declared, and again after the
+     * controller reconnects and its ConfigCache is invalidated.
+     */
+    public void apply() {
+        int mode = getPeriodIndex(CANTraffic.getMode());
+        double rate = 0;
+        for(int i=0; i<parameters.size(); i++) {
+            int index = i;
+            int period = periods.get(i)[mode];
+            config.set(parameters.get(i), period, () -> sendPeriod(index, period));
+            rate += 1000.0 / period;
+        }
+
+        statusFrameRate = rate;
+        statusFrameRateIndicator.set(rate);
+    }
+
+    /**
+     * Returns the number of status frames per second the controller sends with the periods for the current mode.
+     * Only counts the declared frames.
+     */
+    public double getStatusFrameRate() {
+        return statusFrameRate;
+    }
+
+    /**
+     * Declares a frame. Called by subclasses in the order they keep their frames in.
+     * @param parameter The ConfigCache parameter that tracks the frame's period.
+     * @param disabled The period of the frame while disabled, in milliseconds.
+     * @param autonomous The period of the frame in autonomous, in milliseconds.
+     * @param teleop The period of the frame in teleop and test, in milliseconds.
+     */
+    protected void addFrame(ControllerParameter parameter, int disabled, int autonomous, int teleop) {
+        parameters.add(parameter);
+        periods.add(new int[] { disabled, autonomous, teleop });
+    }
+
+    /**
+     * Sends the period of a frame to the controller.
+     * @param index The index of the frame, in the order it was added.
+     * @param periodMillis The new period of the frame.
+     * @return True if the controller accepted the period.
+     */
+    protected abstract boolean sendPeriod(int index, int periodMillis);
+
+    private static int getPeriodIndex(RobotMode mode) {
+        switch(mode) {
+            case DISABLED:
+                return 0;
+            case AUTONOMOUS:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+}
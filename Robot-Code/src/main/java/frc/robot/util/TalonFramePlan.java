@@ -0,0 +1,69 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.ArrayList;
+
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+import frc.robot.enumeration.ControllerParameter;
+
+/**
+ * StatusFramePlan for a Talon SRX. Talon periods cannot be longer than 255 ms.
+ * Status 1 carries output, faults, and limit switches. Status 2 carries the selected sensor and current.
+ * Status 3 carries the quadrature encoder read through the SensorCollection. Status 4 carries bus voltage and temperature.
+ */
+public class TalonFramePlan extends StatusFramePlan {
+    private TalonSRX motor;
+    private final ArrayList<StatusFrameEnhanced> frames = new ArrayList<StatusFrameEnhanced>();
+
+    /**
+     * Creates a new TalonFramePlan.
+     * @param motor The motor to configure.
+     * @param counter The counter of the motor.
+     * @param config The configuration cache of the motor.
+     */
+    public TalonFramePlan(TalonSRX motor, CANCounter counter, ConfigCache config) {
+        super(counter, config);
+        this.motor = motor;
+    }
+
+    /**
+     * Declares the periods of a frame.
+     * @param frame The frame. Only Status 1, 2, 3, 4, and 13 are supported.
+     * @param disabled The period while disabled, in milliseconds.
+     * @param autonomous The period in autonomous, in milliseconds.
+     * @param teleop The period in teleop and test, in milliseconds.
+     * @return This plan.
+     */
+    public TalonFramePlan set(StatusFrameEnhanced frame, int disabled, int autonomous, int teleop) {
+        frames.add(frame);
+        addFrame(getParameter(frame), disabled, autonomous, teleop);
+        return this;
+    }
+
+    @Override
+    protected boolean sendPeriod(int index, int periodMillis) {
+        return ConfigCache.succeeded(motor.setStatusFramePeriod(frames.get(index), periodMillis));
+    }
+
+    private static ControllerParameter getParameter(StatusFrameEnhanced frame) {
+        switch(frame) {
+            case Status_1_General:
+                return ControllerParameter.STATUS_GENERAL;
+            case Status_2_Feedback0:
+                return ControllerParameter.STATUS_FEEDBACK;
+            case Status_3_Quadrature:
+                return ControllerParameter.STATUS_POSITION;
+            case Status_4_AinTempVbat:
+                return ControllerParameter.STATUS_ANALOG;
+            case Status_13_Base_PIDF0:
+                return ControllerParameter.STATUS_PID;
+            default:
+                throw new IllegalArgumentException("TalonFramePlan does not support " + frame);
+        }
+    }
+}
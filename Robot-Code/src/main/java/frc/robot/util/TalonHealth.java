@@ -0,0 +1,50 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.ctre.phoenix.motorcontrol.Faults;
+import com.ctre.phoenix.motorcontrol.StickyFaults;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+import frc.robot.Constants;
+
+/**
+ * DeviceHealth for a Talon SRX. The controller counts as connected while it reports a bus voltage above
+ * Constants.SPARK_MINIMUM_VOLTAGE, since a controller that is not on the bus reads 0.
+ */
+public class TalonHealth extends DeviceHealth {
+    private TalonSRX motor;
+
+    //reused so that probing does not allocate
+    private final Faults faults = new Faults();
+    private final StickyFaults stickyFaults = new StickyFaults();
+
+    /**
+     * Creates a new TalonHealth.
+     * @param name The name of the device.
+     * @param motor The motor to probe.
+     */
+    public TalonHealth(String name, TalonSRX motor) {
+        super(name);
+        this.motor = motor;
+    }
+
+    @Override
+    protected boolean probeConnected() {
+        return motor.getBusVoltage() > Constants.SPARK_MINIMUM_VOLTAGE;
+    }
+
+    @Override
+    protected int probeFaults() {
+        motor.getFaults(faults);
+        return faults.toBitfield();
+    }
+
+    @Override
+    protected int probeStickyFaults() {
+        motor.getStickyFaults(stickyFaults);
+        return stickyFaults.toBitfield();
+    }
+}
@@ -0,0 +1,50 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+import frc.robot.enumeration.OutputMode;
+
+/**
+ * OutputWriter for a Talon SRX.
+ */
+public class TalonWriter extends OutputWriter {
+    private TalonSRX motor;
+
+    /**
+     * Creates a new TalonWriter.
+     * @param motor The motor to write to.
+     */
+    public TalonWriter(TalonSRX motor) {
+        this(motor, null);
+    }
+
+    /**
+     * Creates a new TalonWriter that counts the setpoints it sends.
+     * @param motor The motor to write to.
+     * @param counter The counter of the motor, or null.
+     */
+    public TalonWriter(TalonSRX motor, CANCounter counter) {
+        super(counter);
+        this.motor = motor;
+    }
+
+    @Override
+    protected void send(OutputMode mode, double value) {
+        switch(mode) {
+            case PERCENT:
+                motor.set(ControlMode.PercentOutput, value);
+                break;
+            case POSITION:
+                motor.set(ControlMode.Position, value);
+                break;
+            case VELOCITY:
+                motor.set(ControlMode.Velocity, value);
+                break;
+        }
+    }
+}
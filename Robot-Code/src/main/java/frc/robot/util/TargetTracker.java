@@ -0,0 +1,131 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * Alpha-beta filter on a target's bearing and range and their rates of change.
+ * Each camera frame is a measurement at the time it was captured. Between frames, and for up to a coast time
+ * after the target is lost, the target is predicted forward at its estimated rates, so consumers can aim
+ * at where the target is now instead of where it was when the frame was taken.
+ * Bearing should be in a frame that does not move with the camera (like the turret's zero), so a turning
+ * turret does not look like a moving target.
+ */
+public class TargetTracker {
+    private final double coastTime;
+
+    private double
+        alpha,
+        beta,
+        bearing,
+        bearingRate,
+        range,
+        rangeRate,
+        lastTime;
+
+    private boolean tracking;
+
+    /**
+     * Creates a new TargetTracker.
+     * @param alpha The fraction of each position error that is corrected, from 0 to 1. Higher follows measurements more closely.
+     * @param beta The fraction of each position error that is added to the rate, from 0 to 2. Higher reacts to motion faster.
+     * @param coastTime Seconds without a measurement after which the target is considered lost.
+     */
+    public TargetTracker(double alpha, double beta, double coastTime) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.coastTime = coastTime;
+    }
+
+    /**
+     * Changes the filter gains.
+     * @param alpha The fraction of each position error that is corrected.
+     * @param beta The fraction of each position error that is added to the rate.
+     */
+    public void setGains(double alpha, double beta) {
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Forgets the target.
+     */
+    public void reset() {
+        tracking = false;
+    }
+
+    /**
+     * Adds a measurement. The first measurement, and the first after the target was lost, is taken as is with no motion.
+     * Measurements older than the last one are ignored.
+     * @param bearing The bearing to the target in degrees.
+     * @param range The range to the target.
+     * @param time The time the measurement was captured, in seconds.
+     */
+    public void update(double bearing, double range, double time) {
+        if(!tracking || time - lastTime > coastTime) {
+            this.bearing = bearing;
+            this.range = range;
+            bearingRate = 0;
+            rangeRate = 0;
+            lastTime = time;
+            tracking = true;
+            return;
+        }
+
+        double dt = time - lastTime;
+        if(dt <= 0) {
+            return;
+        }
+
+        double predictedBearing = this.bearing + bearingRate * dt;
+        double bearingError = bearing - predictedBearing;
+        this.bearing = predictedBearing + alpha * bearingError;
+        bearingRate += beta * bearingError / dt;
+
+        double predictedRange = this.range + rangeRate * dt;
+        double rangeError = range - predictedRange;
+        this.range = predictedRange + alpha * rangeError;
+        rangeRate += beta * rangeError / dt;
+
+        lastTime = time;
+    }
+
+    /**
+     * Returns whether the target has been measured within the coast time.
+     * @param now The current time, in seconds.
+     */
+    public boolean isTracking(double now) {
+        return tracking && now - lastTime <= coastTime;
+    }
+
+    /**
+     * Returns the bearing predicted at a time, in degrees.
+     * @param time The time to predict at, in seconds. Usually now.
+     */
+    public double getBearing(double time) {
+        return bearing + bearingRate * (time - lastTime);
+    }
+
+    /**
+     * Returns the range predicted at a time.
+     * @param time The time to predict at, in seconds. Usually now.
+     */
+    public double getRange(double time) {
+        return range + rangeRate * (time - lastTime);
+    }
+
+    /**
+     * Returns the estimated rate of change of the bearing, in degrees per second.
+     */
+    public double getBearingRate() {
+        return bearingRate;
+    }
+
+    /**
+     * Returns the estimated rate of change of the range, per second.
+     */
+    public double getRangeRate() {
+        return rangeRate;
+    }
+}
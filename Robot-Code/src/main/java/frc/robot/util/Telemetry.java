@@ -0,0 +1,230 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.HashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Replacement for SmartDashboard.putX() in code that runs every robot frame.
+ * Slots are created once (in constructors) and written with plain field stores. A background thread
+ * publishes the slots to the SmartDashboard table. Each slot is checked at the rate of its TelemetryTier
+ * and only sent when its value changed, so values that sit still cost no NetworkTables traffic.
+ */
+public class Telemetry {
+    private static final HashMap<String, TelemetrySlot> slotsByKey = new HashMap<String, TelemetrySlot>();
+    private static volatile TelemetrySlot[] slots = new TelemetrySlot[0];
+
+    private static NetworkTable table;
+    private static Thread publisherThread;
+
+    private static TelemetryNumber
+        sentIndicator,
+        suppressedIndicator;
+
+    /**
+     * Returns a fast tier number slot with no deadband.
+     * @param key The SmartDashboard key.
+     */
+    public static TelemetryNumber number(String key) {
+        return number(key, TelemetryTier.FAST, 0);
+    }
+
+    /**
+     * Returns a number slot with no deadband.
+     * @param key The SmartDashboard key.
+     * @param tier How often the key is checked for changes.
+     */
+    public static TelemetryNumber number(String key, TelemetryTier tier) {
+        return number(key, tier, 0);
+    }
+
+    /**
+     * Returns a number slot.
+     * @param key The SmartDashboard key.
+     * @param tier How often the key is checked for changes.
+     * @param deadband The value is not republished until it moves more than this from the last published value.
+     */
+    public static synchronized TelemetryNumber number(String key, TelemetryTier tier, double deadband) {
+        TelemetrySlot slot = slotsByKey.get(key);
+        if(slot == null) {
+            slot = register(new TelemetryNumber(key, tier, deadband, null));
+        }
+
+        return (TelemetryNumber) slot;
+    }
+
+    /**
+     * Publishes a number that is read on the publisher thread instead of the robot thread.
+     * Use this for values that exist only for the dashboard, such as motor currents, so the read is not made every frame.
+     * @param key The SmartDashboard key.
+     * @param tier How often the source is read and checked for changes.
+     * @param deadband The value is not republished until it moves more than this from the last published value.
+     * @param source Supplies the value. Must be safe to call from another thread.
+     */
+    public static synchronized void sample(String key, TelemetryTier tier, double deadband, DoubleSupplier source) {
+        if(slotsByKey.containsKey(key)) {
+            DriverStation.reportWarning("Telemetry: " + key + " is already registered.", false);
+            return;
+        }
+
+        register(new TelemetryNumber(key, tier, deadband, source));
+    }
+
+    /**
+     * Returns an on-change boolean slot.
+     * @param key The SmartDashboard key.
+     */
+    public static TelemetryBoolean bool(String key) {
+        return bool(key, TelemetryTier.ON_CHANGE);
+    }
+
+    /**
+     * Returns a boolean slot.
+     * @param key The SmartDashboard key.
+     * @param tier How often the key is checked for changes.
+     */
+    public static synchronized TelemetryBoolean bool(String key, TelemetryTier tier) {
+        TelemetrySlot slot = slotsByKey.get(key);
+        if(slot == null) {
+            slot = register(new TelemetryBoolean(key, tier, null));
+        }
+
+        return (TelemetryBoolean) slot;
+    }
+
+    /**
+     * Publishes a boolean that is read on the publisher thread instead of the robot thread.
+     * @param key The SmartDashboard key.
+     * @param tier How often the source is read and checked for changes.
+     * @param source Supplies the value. Must be safe to call from another thread.
+     */
+    public static synchronized void sampleBoolean(String key, TelemetryTier tier, BooleanSupplier source) {
+        if(slotsByKey.containsKey(key)) {
+            DriverStation.reportWarning("Telemetry: " + key + " is already registered.", false);
+            return;
+        }
+
+        register(new TelemetryBoolean(key, tier, source));
+    }
+
+    /**
+     * Returns an on-change String slot.
+     * @param key The SmartDashboard key.
+     */
+    public static TelemetryString string(String key) {
+        return string(key, TelemetryTier.ON_CHANGE);
+    }
+
+    /**
+     * Returns a String slot.
+     * @param key The SmartDashboard key.
+     * @param tier How often the key is checked for changes.
+     */
+    public static synchronized TelemetryString string(String key, TelemetryTier tier) {
+        TelemetrySlot slot = slotsByKey.get(key);
+        if(slot == null) {
+            slot = register(new TelemetryString(key, tier));
+        }
+
+        return (TelemetryString) slot;
+    }
+
+    /**
+     * Returns a fixed-length number array slot.
+     * @param key The SmartDashboard key.
+     * @param tier How often the key is checked for changes.
+     * @param length The number of values in the array.
+     */
+    public static synchronized TelemetryNumberArray numberArray(String key, TelemetryTier tier, int length) {
+        TelemetrySlot slot = slotsByKey.get(key);
+        if(slot == null) {
+            slot = register(new TelemetryNumberArray(key, tier, length));
+        }
+
+        return (TelemetryNumberArray) slot;
+    }
+
+    /**
+     * Adds a slot to the set published by the background thread, starting the thread if needed.
+     */
+    private static TelemetrySlot register(TelemetrySlot slot) {
+        if(table == null) {
+            table = NetworkTableInstance.getDefault().getTable("SmartDashboard");
+        }
+
+        slot.setEntry(table.getEntry(slot.getKey()));
+        slotsByKey.put(slot.getKey(), slot);
+
+        //copy on write so the publisher can iterate without locking
+        TelemetrySlot[] newSlots = new TelemetrySlot[slots.length + 1];
+        System.arraycopy(slots, 0, newSlots, 0, slots.length);
+        newSlots[slots.length] = slot;
+        slots = newSlots;
+
+        if(publisherThread == null) {
+            //assigned before the indicators are registered, since registering them comes back through here
+            publisherThread = new Thread(Telemetry::run, "Telemetry");
+            publisherThread.setDaemon(true);
+            sentIndicator = number("Telemetry Values Sent", TelemetryTier.SLOW);
+            suppressedIndicator = number("Telemetry Values Suppressed", TelemetryTier.SLOW);
+            publisherThread.start();
+        }
+
+        return slot;
+    }
+
+    /**
+     * Body of the publisher thread.
+     */
+    private static void run() {
+        long sent = 0;
+        long suppressed = 0;
+        long nextReportTime = System.nanoTime() + 1000000000L;
+
+        while(true) {
+            long now = System.nanoTime();
+            TelemetrySlot[] currentSlots = slots;
+            for(int i=0; i<currentSlots.length; i++) {
+                TelemetrySlot slot = currentSlots[i];
+                if(!slot.isDue(now)) {
+                    continue;
+                }
+
+                try {
+                    if(slot.publish()) {
+                        sent++;
+                    } else {
+                        suppressed++;
+                    }
+                } catch(Exception ex) {
+                    DriverStation.reportError("Telemetry: Could not publish " + slot.getKey() + ": " + ex.getMessage(), false);
+                }
+            }
+
+            //report traffic once per second so the effect of tiers and deadbands can be seen
+            if(now - nextReportTime >= 0) {
+                sentIndicator.set(sent);
+                suppressedIndicator.set(suppressed);
+                sent = 0;
+                suppressed = 0;
+                nextReportTime = now + 1000000000L;
+            }
+
+            try {
+                Thread.sleep(Constants.TELEMETRY_PUBLISH_PERIOD);
+            } catch(InterruptedException ex) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.function.BooleanSupplier;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Telemetry slot holding a boolean. Create these using Telemetry.bool() or Telemetry.sampleBoolean().
+ */
+public class TelemetryBoolean extends TelemetrySlot {
+    private final BooleanSupplier source;
+    private volatile boolean value;
+    private boolean lastPublished;
+    private boolean published;
+
+    TelemetryBoolean(String key, TelemetryTier tier, BooleanSupplier source) {
+        super(key, tier);
+        this.source = source;
+    }
+
+    /**
+     * Sets the value that will be published next.
+     */
+    public void set(boolean value) {
+        this.value = value;
+    }
+
+    @Override
+    boolean publishIfChanged(NetworkTableEntry entry) {
+        if(source != null) {
+            value = source.getAsBoolean();
+        }
+
+        boolean newValue = value;
+        boolean changed = !published || newValue != lastPublished;
+        if(changed) {
+            entry.setBoolean(newValue);
+            lastPublished = newValue;
+            published = true;
+        }
+
+        return changed;
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Telemetry slot holding a number. Create these using Telemetry.number() or Telemetry.sample().
+ * The value is only republished once it moves more than the slot's deadband away from the last published value.
+ */
+public class TelemetryNumber extends TelemetrySlot {
+    private final DoubleSupplier source;
+    private final double deadband;
+    private volatile double value;
+    private double lastPublished;
+    private boolean published;
+
+    TelemetryNumber(String key, TelemetryTier tier, double deadband, DoubleSupplier source) {
+        super(key, tier);
+        this.deadband = deadband;
+        this.source = source;
+    }
+
+    /**
+     * Sets the value that will be published next.
+     */
+    public void set(double value) {
+        this.value = value;
+    }
+
+    @Override
+    boolean publishIfChanged(NetworkTableEntry entry) {
+        if(source != null) {
+            value = source.getAsDouble();
+        }
+
+        double newValue = value;
+        boolean changed =
+            !published ||
+            Math.abs(newValue - lastPublished) > deadband ||
+            Double.isNaN(newValue) != Double.isNaN(lastPublished);
+
+        if(changed) {
+            entry.setDouble(newValue);
+            lastPublished = newValue;
+            published = true;
+        }
+
+        return changed;
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.Arrays;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Telemetry slot holding a fixed-length array of numbers. Create these using Telemetry.numberArray().
+ * The values are copied in and out of preallocated arrays, so setting and publishing do not allocate.
+ */
+public class TelemetryNumberArray extends TelemetrySlot {
+    private final double[]
+        value,
+        lastPublished;
+
+    TelemetryNumberArray(String key, TelemetryTier tier, int length) {
+        super(key, tier);
+        this.value = new double[length];
+        this.lastPublished = new double[length];
+        Arrays.fill(lastPublished, Double.NaN);
+    }
+
+    /**
+     * Returns the number of values in the array.
+     */
+    public int getLength() {
+        return value.length;
+    }
+
+    /**
+     * Copies the values that will be published next. Values past the end of the slot are ignored,
+     * and values past the end of the source are published as 0.
+     * @param values The values to copy.
+     * @param length The number of values to copy from the start of the array.
+     */
+    public synchronized void set(double[] values, int length) {
+        length = Math.min(length, value.length);
+        System.arraycopy(values, 0, value, 0, length);
+        Arrays.fill(value, length, value.length, 0);
+    }
+
+    @Override
+    boolean publishIfChanged(NetworkTableEntry entry) {
+        synchronized(this) {
+            if(Arrays.equals(value, lastPublished)) {
+                return false;
+            }
+
+            System.arraycopy(value, 0, lastPublished, 0, value.length);
+        }
+
+        //lastPublished is only written by the publisher thread, so it can be sent outside the lock
+        entry.setDoubleArray(lastPublished);
+        return true;
+    }
+}
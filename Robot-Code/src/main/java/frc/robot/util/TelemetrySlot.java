@@ -0,0 +1,76 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * One preallocated dashboard value. Robot code writes the value with set(), and the Telemetry
+ * publisher thread sends it to NetworkTables no more often than the slot's tier allows, and only if it changed.
+ * Create slots through Telemetry, not directly.
+ */
+public abstract class TelemetrySlot {
+    private final String key;
+    private final TelemetryTier tier;
+    private final long periodNanos;
+    private NetworkTableEntry entry;
+    private long nextPublishTime;
+
+    TelemetrySlot(String key, TelemetryTier tier) {
+        this.key = key;
+        this.tier = tier;
+        this.periodNanos = tier.getPeriod() * 1000000L;
+        this.nextPublishTime = System.nanoTime();
+    }
+
+    /**
+     * Returns the dashboard key of the slot.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the tier the slot publishes at.
+     */
+    public TelemetryTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Called by the publisher thread. Returns whether the slot's period has passed, and if so starts the next period.
+     * @param now The current time from System.nanoTime().
+     */
+    boolean isDue(long now) {
+        if(now - nextPublishTime < 0) {
+            return false;
+        }
+
+        nextPublishTime = now + periodNanos;
+        return true;
+    }
+
+    /**
+     * Called by the publisher thread once the slot is due.
+     * @return true if the value was sent, false if it was unchanged.
+     */
+    boolean publish() {
+        return publishIfChanged(entry);
+    }
+
+    /**
+     * Called by Telemetry when the slot is registered.
+     */
+    void setEntry(NetworkTableEntry entry) {
+        this.entry = entry;
+    }
+
+    /**
+     * Writes the current value to NetworkTables if it differs from the last value written. Called from the publisher thread.
+     * @return true if the value was written.
+     */
+    abstract boolean publishIfChanged(NetworkTableEntry entry);
+}
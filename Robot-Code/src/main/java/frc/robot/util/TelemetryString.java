@@ -0,0 +1,39 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Telemetry slot holding a String. Create these using Telemetry.string().
+ */
+public class TelemetryString extends TelemetrySlot {
+    private volatile String value = "";
+    private String lastPublished;
+
+    TelemetryString(String key, TelemetryTier tier) {
+        super(key, tier);
+    }
+
+    /**
+     * Sets the value that will be published next.
+     */
+    public void set(String value) {
+        this.value = (value == null ? "" : value);
+    }
+
+    @Override
+    boolean publishIfChanged(NetworkTableEntry entry) {
+        String newValue = value;
+        boolean changed = !newValue.equals(lastPublished);
+        if(changed) {
+            entry.setString(newValue);
+            lastPublished = newValue;
+        }
+
+        return changed;
+    }
+}
@@ -0,0 +1,131 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+/**
+ * Fixed-bucket histogram of durations. Recording does not allocate and takes constant time.
+ * Durations under 64 us get 1 us buckets. Above that, every power of two is split into 32 buckets,
+ * so percentiles are accurate to about 3%. Durations over about 2 seconds all land in the last bucket.
+ * Not thread safe; record and read from the same thread.
+ */
+public class TimingHistogram {
+    private static final int
+        LINEAR_BUCKETS = 64,
+        SUB_BUCKET_BITS = 5,
+        SUB_BUCKETS = 1 << SUB_BUCKET_BITS,
+        MIN_EXPONENT = 6, //log2(LINEAR_BUCKETS)
+        MAX_EXPONENT = 20;
+
+    public static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final long[] counts;
+    private long
+        count,
+        maxNanos;
+
+    public TimingHistogram(String name) {
+        this.name = name;
+        this.counts = new long[BUCKETS];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Adds one duration to the histogram.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        counts[getBucket(nanos / 1000)]++;
+        count++;
+        if(nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Returns the number of durations recorded since the last reset.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the longest duration recorded since the last reset, in milliseconds.
+     */
+    public double getMax() {
+        return maxNanos / 1000000.0;
+    }
+
+    /**
+     * Returns the duration that the given fraction of recorded durations are shorter than, in milliseconds.
+     * @param fraction The percentile as a fraction, like 0.99 for p99.
+     * @return The middle of the bucket holding the percentile, or 0 if nothing has been recorded.
+     */
+    public double getPercentile(double fraction) {
+        if(count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for(int i=0; i<BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= target) {
+                double micros = getBucketLowerBound(i) + getBucketWidth(i) / 2.0;
+                return Math.min(micros / 1000, getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Clears the histogram.
+     */
+    public void reset() {
+        for(int i=0; i<BUCKETS; i++) {
+            counts[i] = 0;
+        }
+
+        count = 0;
+        maxNanos = 0;
+    }
+
+    static int getBucket(long micros) {
+        if(micros < LINEAR_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if(exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        int subBucket = (int) ((micros >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketLowerBound(int bucket) {
+        if(bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long getBucketWidth(int bucket) {
+        if(bucket < LINEAR_BUCKETS) {
+            return 1;
+        }
+
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + MIN_EXPONENT;
+        return 1L << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Preferences;
+
+/**
+ * Registry of preference handles that are resolved once and then read without any NetworkTables lookups.
+ * Use this instead of Util.getAndSetDouble(). Handles should be created in constructors, not in execute() or periodic().
+ * Selecting a TuningProfile writes its values into Preferences. Preferences are the only source handles read,
+ * so a dashboard edit made after a profile is selected takes effect.
+ */
+public class Tunable {
+    private static final int LISTENER_FLAGS =
+        EntryListenerFlags.kImmediate |
+        EntryListenerFlags.kNew |
+        EntryListenerFlags.kUpdate |
+        EntryListenerFlags.kLocal;
+
+    private static final HashMap<String, TunableDouble> doubles = new HashMap<String, TunableDouble>();
+    private static final HashMap<String, TunableBoolean> booleans = new HashMap<String, TunableBoolean>();
+
+    private static final AtomicReference<TuningProfile> activeProfile = new AtomicReference<TuningProfile>(TuningProfile.NONE);
+
+    private static NetworkTable preferencesTable;
+
+    /**
+     * Returns the active tuning profile.
+     */
+    public static TuningProfile getProfile() {
+        return activeProfile.get();
+    }
+
+    /**
+     * Makes a profile the active profile and, if it changed, writes the profile's values into Preferences.
+     * Handles pick up the new values right away. Keys the profile does not define keep their values,
+     * so selecting TuningProfile.NONE leaves everything as it is.
+     * @param profile The new profile. Null is treated as TuningProfile.NONE.
+     */
+    public static void setProfile(TuningProfile profile) {
+        TuningProfile newProfile = (profile == null ? TuningProfile.NONE : profile);
+        TuningProfile oldProfile = activeProfile.getAndSet(newProfile);
+        if(oldProfile != newProfile) {
+            apply(newProfile);
+            DriverStation.reportWarning("Tuning profile set to " + newProfile.getName() + ", which wrote " + newProfile.getKeys().size() + " preferences", false);
+        }
+    }
+
+    /**
+     * Returns a handle to a double preference, creating the preference with the backup value if it does not exist.
+     * Handles are shared, so asking for the same key twice returns the same handle.
+     * @param key The name of the preference.
+     * @param backup The value to use and set if the preference does not exist.
+     * @return A handle whose get() method returns the current value of the preference.
+     */
+    public static synchronized TunableDouble getDouble(String key, double backup) {
+        TunableDouble tunable = doubles.get(key);
+        if(tunable == null) {
+            tunable = new TunableDouble(key, Util.getAndSetDouble(key, backup));
+            TunableDouble handle = tunable;
+            getEntry(key).addListener(
+                notification -> {
+                    if(notification.value.isDouble()) {
+                        handle.update(notification.value.getDouble());
+                    }
+                },
+                LISTENER_FLAGS
+            );
+
+            doubles.put(key, tunable);
+        }
+
+        return tunable;
+    }
+
+    /**
+     * Returns a handle to a boolean preference, creating the preference with the backup value if it does not exist.
+     * Handles are shared, so asking for the same key twice returns the same handle.
+     * @param key The name of the preference.
+     * @param backup The value to use and set if the preference does not exist.
+     * @return A handle whose get() method returns the current value of the preference.
+     */
+    public static synchronized TunableBoolean getBoolean(String key, boolean backup) {
+        TunableBoolean tunable = booleans.get(key);
+        if(tunable == null) {
+            tunable = new TunableBoolean(key, Util.getAndSetBoolean(key, backup));
+            TunableBoolean handle = tunable;
+            getEntry(key).addListener(
+                notification -> {
+                    if(notification.value.isBoolean()) {
+                        handle.update(notification.value.getBoolean());
+                    }
+                },
+                LISTENER_FLAGS
+            );
+
+            booleans.put(key, tunable);
+        }
+
+        return tunable;
+    }
+
+    /**
+     * Writes every value in the profile into Preferences and into the handles for them.
+     */
+    private static synchronized void apply(TuningProfile profile) {
+        Preferences preferences = Preferences.getInstance();
+        for(String key : profile.getKeys()) {
+            double value = profile.get(key, 0);
+            if(profile.isBoolean(key)) {
+                preferences.putBoolean(key, value != 0);
+                TunableBoolean handle = booleans.get(key);
+                if(handle != null) {
+                    handle.update(value != 0);
+                }
+            } else {
+                preferences.putDouble(key, value);
+                TunableDouble handle = doubles.get(key);
+                if(handle != null) {
+                    handle.update(value);
+                }
+            }
+        }
+    }
+
+    private static NetworkTableEntry getEntry(String key) {
+        if(preferencesTable == null) {
+            preferencesTable = NetworkTableInstance.getDefault().getTable("Preferences");
+        }
+
+        return preferencesTable.getEntry(key);
+    }
+}
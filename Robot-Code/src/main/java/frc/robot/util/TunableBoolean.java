@@ -0,0 +1,48 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Handle to a boolean preference. Create these using Tunable.getBoolean().
+ * The value is kept up to date by a NetworkTables listener, so get() is a single field read. Selecting a TuningProfile
+ * writes its values into Preferences, so they reach the handle the same way as dashboard edits.
+ */
+public class TunableBoolean implements BooleanSupplier {
+    private final String key;
+    private volatile boolean value;
+
+    TunableBoolean(String key, boolean value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Returns the current value of the preference.
+     */
+    public boolean get() {
+        return value;
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return get();
+    }
+
+    /**
+     * Returns the preference key that this handle reads.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Called by the NetworkTables listener thread when the preference changes, and by Tunable when a profile is selected.
+     */
+    void update(boolean newValue) {
+        value = newValue;
+    }
+}
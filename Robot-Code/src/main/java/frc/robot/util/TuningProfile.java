@@ -0,0 +1,154 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * An immutable, named set of tuning values loaded from a profile file in the deploy directory.
+ * Profile files contain one "Key = value" pair per line, where the key is the same name used for the Preferences
+ * entry. Values are numbers or "true"/"false". Lines starting with # are comments.
+ * Selecting a profile with Tunable.setProfile() writes its values into Preferences, so the dashboard shows the values
+ * in force and later edits to them take effect. Keys that a profile does not define keep their Preferences values.
+ */
+public class TuningProfile {
+    public static final String FILE_EXTENSION = ".profile";
+
+    /**
+     * Profile that defines nothing, so every value comes from Preferences.
+     */
+    public static final TuningProfile NONE = new TuningProfile("None", new HashMap<String, Double>(), new HashSet<String>());
+
+    private final String name;
+    private final Map<String, Double> values;
+    private final Set<String> booleanKeys;
+
+    private TuningProfile(String name, Map<String, Double> values, Set<String> booleanKeys) {
+        this.name = name;
+        this.values = Collections.unmodifiableMap(values);
+        this.booleanKeys = Collections.unmodifiableSet(booleanKeys);
+    }
+
+    /**
+     * Returns the name of the profile. This is the file name without the extension.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if the profile defines the key, false otherwise.
+     */
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * Returns the value of the key, or the backup if the profile does not define it.
+     * Boolean values are stored as 1 (true) and 0 (false).
+     */
+    public double get(String key, double backup) {
+        Double value = values.get(key);
+        return (value == null ? backup : value);
+    }
+
+    /**
+     * Returns true if the profile gives the key as "true" or "false".
+     */
+    public boolean isBoolean(String key) {
+        return booleanKeys.contains(key);
+    }
+
+    /**
+     * Returns every key the profile defines.
+     */
+    public Set<String> getKeys() {
+        return values.keySet();
+    }
+
+    /**
+     * Reads a profile from a file.
+     * @param file The profile file to read.
+     * @return The profile, or null if the file could not be read.
+     */
+    public static TuningProfile load(File file) {
+        String fileName = file.getName();
+        String name = (fileName.endsWith(FILE_EXTENSION) ? fileName.substring(0, fileName.length() - FILE_EXTENSION.length()) : fileName);
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath());
+        } catch(IOException ex) {
+            DriverStation.reportError("TuningProfile: Could not read " + file.getPath(), false);
+            return null;
+        }
+
+        HashMap<String, Double> values = new HashMap<String, Double>();
+        HashSet<String> booleanKeys = new HashSet<String>();
+        for(int i=0; i<lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if(line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            int separator = line.indexOf('=');
+            if(separator < 1) {
+                DriverStation.reportWarning("TuningProfile: " + fileName + " line " + (i + 1) + " is not \"Key = value\". Skipping.", false);
+                continue;
+            }
+
+            String key = line.substring(0, separator).trim();
+            String value = line.substring(separator + 1).trim();
+            if(value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                values.put(key, (Boolean.parseBoolean(value) ? 1.0 : 0.0));
+                booleanKeys.add(key);
+            } else {
+                try {
+                    values.put(key, Double.parseDouble(value));
+                } catch(NumberFormatException ex) {
+                    DriverStation.reportWarning("TuningProfile: " + fileName + " line " + (i + 1) + " has an invalid value. Skipping.", false);
+                }
+            }
+        }
+
+        return new TuningProfile(name, values, booleanKeys);
+    }
+
+    /**
+     * Reads every profile file in a directory, sorted by name.
+     * @param directory The directory containing the profile files.
+     * @return The profiles that were read. Empty if the directory does not exist.
+     */
+    public static List<TuningProfile> loadAll(File directory) {
+        ArrayList<TuningProfile> profiles = new ArrayList<TuningProfile>();
+        File[] files = directory.listFiles((dir, fileName) -> fileName.endsWith(FILE_EXTENSION));
+        if(files == null) {
+            DriverStation.reportWarning("TuningProfile: No profile directory at " + directory.getPath(), false);
+            return profiles;
+        }
+
+        Arrays.sort(files);
+        for(File file : files) {
+            TuningProfile profile = load(file);
+            if(profile != null) {
+                profiles.add(profile);
+            }
+        }
+
+        return profiles;
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes received vision packets to a compact binary file so that they can be replayed off the robot
+ * with VisionReplayServer. Does not use WPILib, so desktop tools can read captures.
+ *
+ * File format (big endian):
+ *   header: [int magic][int version]
+ *   record: [long receive time (us)][int port][int length][length bytes of payload]
+ */
+public class VisionCapture {
+    public static final int
+        MAGIC = 0x56434150, //"VCAP"
+        VERSION = 1,
+        MAX_PACKET_BYTES = 65507; //largest UDP payload
+
+    private String file;
+    private DataOutputStream output;
+    private int packets;
+
+    //payloads are copied here so direct buffers can be written in one call
+    private final byte[] payload = new byte[MAX_PACKET_BYTES];
+
+    /**
+     * Creates a new VisionCapture. No file is opened until start() is called.
+     * @param file The file to write packets to. It will be overwritten.
+     */
+    public VisionCapture(String file) {
+        this.file = file;
+        this.packets = 0;
+    }
+
+    /**
+     * Opens the capture file and writes the header.
+     * @return true if the file was opened, false otherwise.
+     */
+    public synchronized boolean start() {
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false)));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            packets = 0;
+            return true;
+        } catch(IOException ex) {
+            output = null;
+            return false;
+        }
+    }
+
+    /**
+     * Appends one packet to the capture file. Does nothing if the capture is not running.
+     * @param receiveTime The RobotController.getFPGATime() when the packet was received, in microseconds.
+     * @param port The UDP port the packet was received on.
+     * @param packet The payload, from its position to its limit. The position is not changed.
+     */
+    public synchronized void record(long receiveTime, int port, ByteBuffer packet) throws IOException {
+        if(output == null) {
+            return;
+        }
+
+        int length = packet.remaining();
+        output.writeLong(receiveTime);
+        output.writeInt(port);
+        output.writeInt(length);
+        for(int i=0; i<length; i++) {
+            payload[i] = packet.get(packet.position() + i);
+        }
+
+        output.write(payload, 0, length);
+
+        packets++;
+    }
+
+    /**
+     * Flushes and closes the capture file.
+     */
+    public synchronized void stop() throws IOException {
+        if(output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    /**
+     * Returns true if the capture is currently writing to a file.
+     */
+    public synchronized boolean isRunning() {
+        return output != null;
+    }
+
+    /**
+     * Returns the number of packets written since the capture was started.
+     */
+    public synchronized int getPacketCount() {
+        return packets;
+    }
+
+    /**
+     * Streams the packets of a capture file to a visitor, in the order they were received.
+     * @param file The capture file to read.
+     * @param visitor Receives each packet.
+     * @return The number of packets read.
+     */
+    public static int replay(String file, IVisionPacketVisitor visitor) throws IOException {
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if(input.readInt() != MAGIC) {
+                throw new IOException(file + " is not a vision capture!");
+            }
+
+            int version = input.readInt();
+            if(version != VERSION) {
+                throw new IOException(file + " has unsupported capture version " + version);
+            }
+
+            byte[] data = new byte[MAX_PACKET_BYTES];
+            int count = 0;
+            while(true) {
+                long receiveTime;
+                int port, length;
+                try {
+                    receiveTime = input.readLong();
+                    port = input.readInt();
+                    length = input.readInt();
+                    if(length < 0 || length > MAX_PACKET_BYTES) {
+                        throw new IOException(file + " has a corrupt record after packet " + count);
+                    }
+
+                    input.readFully(data, 0, length);
+                } catch(EOFException ex) {
+                    break; //capture may have been cut off mid-record if the robot lost power
+                }
+
+                visitor.packet(receiveTime, port, data, length);
+                count++;
+            }
+
+            return count;
+        }
+    }
+}
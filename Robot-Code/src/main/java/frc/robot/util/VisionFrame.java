@@ -0,0 +1,193 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.enumeration.LogSignalType;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Fixed-layout numeric snapshot of what a camera saw in one frame. The layout is
+ * [sequence, count, capture time, item 0 field 0, item 0 field 1, ..., item 1 field 0, ...] with room for a fixed number of items,
+ * so the dashboard, the data log, and PVHost all read the same numbers without any string building.
+ *
+ * The capture time is the estimated FPGA time in seconds when the camera took the frame, comparable to Timer.getFPGATimestamp().
+ * One receiving thread fills the frame with set() and finishes it with commit(), which bumps the sequence number.
+ * The robot thread calls publish() once per loop to take the latest committed frame, send it to the dashboard
+ * ("Vision/[name]") and log it ("Vision/[name]/..."), and then reads it with the getters.
+ */
+public class VisionFrame {
+    private static final int HEADER_LENGTH = 3;
+
+    private final String name;
+    private final String[] fields;
+    private final int capacity;
+
+    //written only by the receiving thread
+    private final double[] staging;
+
+    //handed from the receiving thread to the robot thread under the lock
+    private final double[] committed;
+    private long committedSequence;
+
+    //read and written only by the robot thread
+    private final double[] published;
+    private long publishedSequence;
+
+    private final TelemetryNumberArray indicator;
+    private final LogSignal
+        sequenceSignal,
+        countSignal;
+
+    private final LogSignal[] fieldSignals;
+
+    /**
+     * Creates a new VisionFrame.
+     * @param name The name of the frame, like "Power Cells". Used in the dashboard and log keys.
+     * @param fields The names of the values describing each item, like {"X", "Y", "Radius"}.
+     * @param capacity The most items the frame can hold. Items past this are dropped.
+     */
+    public VisionFrame(String name, String[] fields, int capacity) {
+        this.name = name;
+        this.fields = fields;
+        this.capacity = capacity;
+
+        int length = HEADER_LENGTH + capacity * fields.length;
+        staging = new double[length];
+        committed = new double[length];
+        published = new double[length];
+
+        indicator = Telemetry.numberArray("Vision/" + name, TelemetryTier.FAST, length);
+        sequenceSignal = DataLogger.signal("Vision/" + name + "/Sequence", LogSignalType.INTEGER, "");
+        countSignal = DataLogger.signal("Vision/" + name + "/Count", LogSignalType.INTEGER, "");
+        fieldSignals = new LogSignal[capacity * fields.length];
+        for(int i=0; i<capacity; i++) {
+            for(int f=0; f<fields.length; f++) {
+                fieldSignals[i * fields.length + f] = DataLogger.signal("Vision/" + name + "/" + i + "/" + fields[f], LogSignalType.DOUBLE, "");
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the frame.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the names of the values describing each item.
+     */
+    public String[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the most items the frame can hold.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets one value of an item in the frame being filled. Called from the receiving thread.
+     * @param item The index of the item. Items past the capacity are ignored.
+     * @param field The index of the value in the fields passed to the constructor.
+     * @param value The value.
+     */
+    public void set(int item, int field, double value) {
+        if(item < capacity) {
+            staging[HEADER_LENGTH + item * fields.length + field] = value;
+        }
+    }
+
+    /**
+     * Finishes the frame being filled and makes it the latest frame. Called from the receiving thread.
+     * @param count The number of items that were set, which may be more than the capacity.
+     * @param captureTime The RobotController.getFPGATime() when the frame was captured, in microseconds.
+     */
+    public void commit(int count, long captureTime) {
+        count = Math.min(count, capacity);
+        synchronized(this) {
+            committedSequence++;
+            staging[0] = committedSequence;
+            staging[1] = count;
+            staging[2] = captureTime / 1000000.0;
+            System.arraycopy(staging, 0, committed, 0, HEADER_LENGTH + count * fields.length);
+        }
+    }
+
+    /**
+     * Takes the latest committed frame if it is new, and sends it to the dashboard and the log.
+     * Call once per loop from the robot thread.
+     * @return true if a new frame was taken.
+     */
+    public boolean publish() {
+        synchronized(this) {
+            if(committedSequence == publishedSequence) {
+                return false;
+            }
+
+            int count = (int) committed[1];
+            System.arraycopy(committed, 0, published, 0, HEADER_LENGTH + count * fields.length);
+            publishedSequence = committedSequence;
+        }
+
+        int count = getCount();
+        int length = HEADER_LENGTH + count * fields.length;
+        indicator.set(published, length);
+        sequenceSignal.append(publishedSequence);
+        countSignal.append(count);
+        for(int i=HEADER_LENGTH; i<length; i++) {
+            fieldSignals[i - HEADER_LENGTH].append(published[i]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the sequence number of the frame taken by the last publish(), or 0 if none has been taken.
+     */
+    public long getSequence() {
+        return publishedSequence;
+    }
+
+    /**
+     * Returns the number of items in the frame taken by the last publish().
+     */
+    public int getCount() {
+        return (int) published[1];
+    }
+
+    /**
+     * Returns the estimated FPGA time in seconds when the frame taken by the last publish() was captured.
+     */
+    public double getCaptureTime() {
+        return published[2];
+    }
+
+    /**
+     * Returns one value of an item in the frame taken by the last publish().
+     * @param item The index of the item. Must be less than getCount().
+     * @param field The index of the value in the fields passed to the constructor.
+     */
+    public double get(int item, int field) {
+        return published[HEADER_LENGTH + item * fields.length + field];
+    }
+
+    /**
+     * Appends the frame taken by the last publish() in its fixed layout as comma separated values.
+     * @param builder The builder to append to.
+     */
+    public void appendTo(StringBuilder builder) {
+        int length = HEADER_LENGTH + getCount() * fields.length;
+        for(int i=0; i<length; i++) {
+            if(i > 0) {
+                builder.append(',');
+            }
+
+            builder.append(published[i]);
+        }
+    }
+}
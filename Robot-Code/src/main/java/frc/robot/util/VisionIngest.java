@@ -0,0 +1,214 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+
+/**
+ * Receives every vision UDP port on one background thread. Each VisionSource gets a non-blocking DatagramChannel
+ * that is registered with a Selector, so the thread sleeps until any camera sends a packet and then reads it into
+ * the source's direct buffer. Call stop() to close every channel when the robot program ends.
+ * Received packets can also be written to a VisionCapture file with startCapture(), to be replayed later by VisionReplayServer.
+ */
+public class VisionIngest {
+    private static final ArrayList<VisionSource> pending = new ArrayList<VisionSource>();
+    private static volatile VisionSource[] sources = new VisionSource[0];
+
+    private static Selector selector;
+    private static Thread ingestThread;
+    private static volatile boolean running;
+    private static volatile VisionCapture capture;
+
+    /**
+     * Adds a source, starting the ingest thread if it is not already running. The port is opened on the ingest thread.
+     * @param source The source to receive.
+     * @return The source, for assigning to a field.
+     */
+    public static synchronized <T extends VisionSource> T register(T source) {
+        if(ingestThread == null) {
+            try {
+                selector = Selector.open();
+            } catch(IOException ex) {
+                DriverStation.reportError("VisionIngest could not open a Selector: " + ex.getMessage(), false);
+                return source;
+            }
+
+            running = true;
+            ingestThread = new Thread(VisionIngest::run, "VisionIngest");
+            ingestThread.setDaemon(true);
+            ingestThread.start();
+        } else if(!running) {
+            DriverStation.reportWarning("VisionIngest: " + source.getName() + " was registered after stop().", false);
+            return source;
+        }
+
+        pending.add(source);
+        selector.wakeup();
+        return source;
+    }
+
+    /**
+     * Stops the ingest thread and closes every channel. Sources cannot be registered afterwards.
+     */
+    public static void stop() {
+        Thread thread;
+        synchronized(VisionIngest.class) {
+            if(!running) {
+                return;
+            }
+
+            running = false;
+            selector.wakeup();
+            thread = ingestThread;
+        }
+
+        try {
+            thread.join(Constants.VISION_INGEST_PUBLISH_PERIOD);
+        } catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts writing every received packet to a capture file, replacing any capture already running.
+     * @param file The file to write. It will be overwritten.
+     * @return true if the file was opened, false otherwise.
+     */
+    public static synchronized boolean startCapture(String file) {
+        stopCapture();
+        VisionCapture newCapture = new VisionCapture(file);
+        if(!newCapture.start()) {
+            return false;
+        }
+
+        capture = newCapture;
+        return true;
+    }
+
+    /**
+     * Stops the running capture and closes its file.
+     * @return The number of packets captured, or 0 if no capture was running.
+     */
+    public static synchronized int stopCapture() {
+        VisionCapture currentCapture = capture;
+        if(currentCapture == null) {
+            return 0;
+        }
+
+        capture = null;
+        try {
+            currentCapture.stop();
+        } catch(IOException ex) {
+            DriverStation.reportError("VisionIngest could not close its capture: " + ex.getMessage(), false);
+        }
+
+        return currentCapture.getPacketCount();
+    }
+
+    /**
+     * Writes a received packet to the running capture, if there is one. Called by VisionSource on the ingest thread.
+     * @param receiveTime The RobotController.getFPGATime() when the packet was received.
+     * @param port The port the packet was received on.
+     * @param packet The packet, from its position to its limit. The position is not changed.
+     */
+    static void capture(long receiveTime, int port, ByteBuffer packet) {
+        VisionCapture currentCapture = capture;
+        if(currentCapture == null) {
+            return;
+        }
+
+        try {
+            currentCapture.record(receiveTime, port, packet);
+        } catch(IOException ex) {
+            DriverStation.reportError("VisionIngest stopped capturing: " + ex.getMessage(), false);
+            capture = null;
+        }
+    }
+
+    /**
+     * Body of the ingest thread.
+     */
+    private static void run() {
+        long nextPublishTime = System.nanoTime() + Constants.VISION_INGEST_PUBLISH_PERIOD * 1000000L;
+        while(running) {
+            openPending();
+            try {
+                selector.select(VisionIngest::read, Constants.VISION_INGEST_PUBLISH_PERIOD);
+            } catch(IOException ex) {
+                DriverStation.reportError("VisionIngest could not select: " + ex.getMessage(), false);
+            }
+
+            long now = System.nanoTime();
+            if(now - nextPublishTime >= 0) {
+                VisionSource[] currentSources = sources;
+                for(int i=0; i<currentSources.length; i++) {
+                    currentSources[i].publish(Constants.VISION_INGEST_PUBLISH_PERIOD / 1000.0);
+                }
+
+                nextPublishTime = now + Constants.VISION_INGEST_PUBLISH_PERIOD * 1000000L;
+            }
+        }
+
+        stopCapture();
+        close();
+    }
+
+    /**
+     * Opens the channels of sources that were registered since the last call. Channels can only be
+     * registered with the Selector while it is not selecting, so this runs on the ingest thread.
+     */
+    private static synchronized void openPending() {
+        for(int i=0; i<pending.size(); i++) {
+            VisionSource source = pending.get(i);
+            try {
+                DatagramChannel channel = DatagramChannel.open();
+                channel.configureBlocking(false);
+                channel.bind(new InetSocketAddress(source.getPort()));
+                channel.register(selector, SelectionKey.OP_READ, source);
+                source.setChannel(channel);
+
+                //copy on write so the sources can be read without locking
+                VisionSource[] newSources = Arrays.copyOf(sources, sources.length + 1);
+                newSources[sources.length] = source;
+                sources = newSources;
+            } catch(IOException ex) {
+                DriverStation.reportError("VisionIngest could not open port " + source.getPort() + " for " + source.getName() + ": " + ex.getMessage(), false);
+            }
+        }
+
+        pending.clear();
+    }
+
+    private static void read(SelectionKey key) {
+        ((VisionSource) key.attachment()).receive();
+    }
+
+    private static void close() {
+        VisionSource[] currentSources = sources;
+        for(int i=0; i<currentSources.length; i++) {
+            try {
+                currentSources[i].getChannel().close();
+            } catch(IOException ex) {
+                DriverStation.reportError("VisionIngest could not close " + currentSources[i].getName() + ": " + ex.getMessage(), false);
+            }
+        }
+
+        try {
+            selector.close();
+        } catch(IOException ex) {
+            DriverStation.reportError("VisionIngest could not close its Selector: " + ex.getMessage(), false);
+        }
+    }
+}
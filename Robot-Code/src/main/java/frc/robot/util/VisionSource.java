@@ -0,0 +1,188 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * A UDP port that VisionIngest reads packets from, with the parser for those packets.
+ * Subclasses implement parse(), which runs on the VisionIngest thread with the packet still in a direct ByteBuffer.
+ * Packet rate, drops, and parse errors are published per source ("Vision/[name]/..."). Sources whose packets carry
+ * a sequence number report it with sequenceReceived(), so packets lost on the network are counted as drops too.
+ */
+public abstract class VisionSource {
+    private final String name;
+    private final int
+        port,
+        maxBytes;
+
+    //one byte more than the largest packet, so a packet that fills the buffer is known to have been cut off
+    private final ByteBuffer buffer;
+    private DatagramChannel channel;
+
+    //written only by the VisionIngest thread
+    private volatile long
+        packets,
+        drops,
+        parseErrors;
+
+    private long
+        lastPackets,
+        lastSequence = -1,
+        receiveTime;
+
+    private final TelemetryNumber
+        packetRateIndicator,
+        dropsIndicator,
+        parseErrorsIndicator;
+
+    /**
+     * Creates a new VisionSource. Pass it to VisionIngest.register() to start receiving.
+     * @param name The name of the source, like "KiwiLight".
+     * @param port The UDP port to listen on.
+     * @param maxBytes The largest packet accepted. Larger packets are dropped.
+     */
+    protected VisionSource(String name, int port, int maxBytes) {
+        this.name = name;
+        this.port = port;
+        this.maxBytes = maxBytes;
+        this.buffer = ByteBuffer.allocateDirect(maxBytes + 1);
+
+        packetRateIndicator  = Telemetry.number("Vision/" + name + "/Packets per s", TelemetryTier.SLOW);
+        dropsIndicator       = Telemetry.number("Vision/" + name + "/Drops", TelemetryTier.ON_CHANGE);
+        parseErrorsIndicator = Telemetry.number("Vision/" + name + "/Parse Errors", TelemetryTier.ON_CHANGE);
+    }
+
+    /**
+     * Returns the name of the source.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the UDP port the source listens on.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Returns the number of packets received.
+     */
+    public long getPackets() {
+        return packets;
+    }
+
+    /**
+     * Returns the number of packets dropped because they were too large, could not be read, or never arrived.
+     */
+    public long getDrops() {
+        return drops;
+    }
+
+    /**
+     * Returns the number of packets that parse() rejected.
+     */
+    public long getParseErrors() {
+        return parseErrors;
+    }
+
+    /**
+     * Parses one packet. Called on the VisionIngest thread.
+     * @param packet The packet, from its position to its limit. Only valid until this method returns.
+     * @return true if the packet was parsed, false if it was malformed.
+     */
+    protected abstract boolean parse(ByteBuffer packet);
+
+    /**
+     * Returns the RobotController.getFPGATime() when the packet being parsed was received. Call from parse().
+     */
+    protected long getReceiveTime() {
+        return receiveTime;
+    }
+
+    /**
+     * Reports the sequence number of the packet being parsed. Skipped numbers are counted as drops,
+     * and a number that goes backwards is taken as the sender restarting. Call from parse().
+     * @param sequence The sequence number, which the sender increases by one per packet.
+     */
+    protected void sequenceReceived(long sequence) {
+        if(lastSequence >= 0 && sequence > lastSequence + 1) {
+            drops += sequence - lastSequence - 1;
+        }
+
+        lastSequence = sequence;
+    }
+
+    /**
+     * Called by VisionIngest once the channel is open.
+     */
+    void setChannel(DatagramChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Returns the channel, or null if VisionIngest has not opened it.
+     */
+    DatagramChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Reads and parses every packet waiting on the channel. Called by VisionIngest when the channel is readable.
+     */
+    void receive() {
+        while(true) {
+            buffer.clear();
+            try {
+                if(channel.receive(buffer) == null) {
+                    return;
+                }
+            } catch(IOException ex) {
+                drops++;
+                return;
+            }
+
+            receiveTime = RobotController.getFPGATime();
+            packets++;
+            if(buffer.position() > maxBytes) {
+                drops++;
+                continue;
+            }
+
+            buffer.flip();
+            VisionIngest.capture(receiveTime, port, buffer);
+
+            boolean parsed;
+            try {
+                parsed = parse(buffer);
+            } catch(RuntimeException ex) {
+                parsed = false;
+            }
+
+            if(!parsed) {
+                parseErrors++;
+            }
+        }
+    }
+
+    /**
+     * Publishes the packet rate and error counts. Called by VisionIngest.
+     * @param periodSeconds The time since the last call.
+     */
+    void publish(double periodSeconds) {
+        long currentPackets = packets;
+        packetRateIndicator.set((currentPackets - lastPackets) / periodSeconds);
+        dropsIndicator.set(drops);
+        parseErrorsIndicator.set(parseErrors);
+        lastPackets = currentPackets;
+    }
+}
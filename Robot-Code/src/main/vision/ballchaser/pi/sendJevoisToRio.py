@@ -1,5 +1,10 @@
 import SerialUDPInterface as SUI
 import serial
+import time
+
+#packets start with "@SEQ,TIME:" so the robot can count lost packets and estimate capture latency.
+#TIME is when the line was read from the Jevois, in microseconds on this clock.
+sequence = 0
 
 #data = SUI.readSerial("/dev/ttyUSB0", 115200, 1)
 while 1:
@@ -8,12 +13,15 @@ while 1:
             while 1:
                 data = ""
                 dataBytes = ser.readline().rstrip()
+                captureTime = int(time.monotonic() * 1000000)
                 data += dataBytes.decode("utf-8")
                 print (data)
                 print (len(dataBytes))
                 if (len(dataBytes) > 0):
-                    dataBytes += ";".encode("utf-8")
+                    header = "@{},{}:".format(sequence, captureTime)
+                    dataBytes = header.encode("utf-8") + dataBytes + ";".encode("utf-8")
                     SUI.sendUDP("10.36.95.2", 3696, dataBytes)
+                    sequence += 1
     except KeyboardInterrupt:
         exit()
     except:
@@ -0,0 +1,167 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import frc.robot.enumeration.ControllerParameter;
+
+/**
+ * Checks that ConfigCache only records a value once the controller accepts it, both when it sends calls
+ * immediately and when it sends them from the background thread.
+ */
+public class ConfigCacheTest {
+    private final ConfigCache
+        cache = new ConfigCache(false),
+        asyncCache = new ConfigCache(true);
+
+    //written by the background thread, read after finish() has waited for it
+    private int sends;
+
+    @Test
+    public void skipsValuesThatWereApplied() {
+        cache.set(ControllerParameter.P, 1, this::accept);
+        cache.set(ControllerParameter.P, 1, this::accept);
+        assertEquals(1, sends);
+
+        cache.set(ControllerParameter.P, 2, this::accept);
+        assertEquals(2, sends);
+    }
+
+    @Test
+    public void resendsValuesThatFailed() {
+        cache.set(ControllerParameter.P, 1, this::reject);
+        cache.set(ControllerParameter.P, 1, this::accept);
+        cache.set(ControllerParameter.P, 1, this::accept);
+        assertEquals(2, sends);
+    }
+
+    @Test
+    public void resendsValuesThatThrew() {
+        cache.set(ControllerParameter.P, 1, () -> {
+            sends++;
+            throw new IllegalStateException("CAN timeout");
+        });
+        cache.set(ControllerParameter.P, 1, this::accept);
+        assertEquals(2, sends);
+    }
+
+    @Test
+    public void failedCallInvalidatesEveryParameterItSets() {
+        cache.changed(ControllerParameter.OUTPUT_MIN, -1);
+        cache.changed(ControllerParameter.OUTPUT_MAX, 1);
+        cache.apply(this::reject, ControllerParameter.OUTPUT_MIN, ControllerParameter.OUTPUT_MAX);
+
+        cache.set(ControllerParameter.OUTPUT_MIN, -1, this::accept);
+        cache.set(ControllerParameter.OUTPUT_MAX, 1, this::accept);
+        assertEquals(3, sends);
+    }
+
+    @Test
+    public void invalidateResendsEverything() {
+        cache.set(ControllerParameter.P, 1, this::accept);
+        cache.invalidate();
+        cache.set(ControllerParameter.P, 1, this::accept);
+        assertEquals(2, sends);
+    }
+
+    @Test
+    public void asyncQueuesRepeatedValuesOnce() throws InterruptedException {
+        CountDownLatch release = hold();
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        release.countDown();
+        finish();
+        assertEquals(1, sends);
+
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        finish();
+        assertEquals(1, sends);
+    }
+
+    @Test
+    public void asyncSendsNewerValuesQueuedBehindOlderOnes() throws InterruptedException {
+        CountDownLatch release = hold();
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        asyncCache.set(ControllerParameter.P, 2, this::accept);
+        release.countDown();
+        finish();
+        assertEquals(2, sends);
+
+        asyncCache.set(ControllerParameter.P, 2, this::accept);
+        finish();
+        assertEquals(2, sends);
+    }
+
+    @Test
+    public void asyncResendsValuesThatFailed() throws InterruptedException {
+        asyncCache.set(ControllerParameter.P, 1, this::reject);
+        finish();
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        finish();
+        assertEquals(2, sends);
+    }
+
+    @Test
+    public void asyncResendsValuesThatThrew() throws InterruptedException {
+        asyncCache.set(ControllerParameter.P, 1, () -> {
+            sends++;
+            throw new IllegalStateException("CAN timeout");
+        });
+        finish();
+        asyncCache.set(ControllerParameter.P, 1, this::accept);
+        finish();
+        assertEquals(2, sends);
+    }
+
+    /**
+     * Blocks the background thread until the returned latch is counted down, so calls queue up behind it.
+     */
+    private CountDownLatch hold() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        asyncCache.apply(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch(InterruptedException ex) {
+                return false;
+            }
+        }, ControllerParameter.STATUS_PID);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    /**
+     * Waits until the background thread has sent every call queued so far.
+     */
+    private void finish() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        asyncCache.apply(() -> {
+            done.countDown();
+            return true;
+        }, ControllerParameter.STATUS_PID);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private boolean accept() {
+        sends++;
+        return true;
+    }
+
+    private boolean reject() {
+        sends++;
+        return false;
+    }
+}
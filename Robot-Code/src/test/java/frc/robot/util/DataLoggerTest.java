@@ -0,0 +1,87 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import frc.robot.Constants;
+import frc.robot.enumeration.LogSignalType;
+
+/**
+ * Appends samples at a rate well above what the robot needs, reports the cost of an append, and checks that
+ * every sample reaches the log files. Logs go to a temporary directory, never to DATA_LOG_DIRECTORY.
+ */
+public class DataLoggerTest {
+    private static final int
+        FRAMES = 50,
+        SAMPLES_PER_FRAME = 100;
+
+    @Test
+    public void keepsUpWithFastSignals() throws IOException, InterruptedException {
+        File directory = Files.createTempDirectory("dlog").toFile();
+        DataLogger.setDirectory(directory.getPath());
+
+        LogSignal signal = DataLogger.signal("Benchmark/Value", LogSignalType.DOUBLE, "");
+        long droppedBefore = DataLogger.getDroppedSamples();
+        long appendTime = 0;
+        for(int frame=0; frame<FRAMES; frame++) {
+            long start = System.nanoTime();
+            for(int i=0; i<SAMPLES_PER_FRAME; i++) {
+                signal.append(i);
+            }
+            appendTime += System.nanoTime() - start;
+
+            Thread.sleep(20);
+        }
+
+        //let the writer thread swap out the last buffer
+        Thread.sleep(3 * Constants.DATA_LOG_FLUSH_PERIOD);
+
+        int samples = FRAMES * SAMPLES_PER_FRAME;
+        long dropped = DataLogger.getDroppedSamples() - droppedBefore;
+        System.out.println(
+            "DataLogger: " + samples + " samples at " + (SAMPLES_PER_FRAME * 50) + " Hz | " +
+            (appendTime / (double) samples) + " ns per append | " +
+            dropped + " dropped"
+        );
+
+        File[] logs = directory.listFiles((dir, name) -> name.endsWith(DataLogger.FILE_EXTENSION));
+        assertNotNull(logs);
+        long[] written = new long[1];
+        for(File log : logs) {
+            LogReader.read(log, new ILogVisitor() {
+                private int id = -1;
+
+                @Override
+                public void start(long sessionStart, int fileIndex) {
+                }
+
+                @Override
+                public void define(int signalId, String name, LogSignalType type, String units) {
+                    if(name.equals(signal.getName())) {
+                        id = signalId;
+                    }
+                }
+
+                @Override
+                public void sample(int signalId, long timestamp, double value) {
+                    if(signalId == id) {
+                        written[0]++;
+                    }
+                }
+            });
+        }
+
+        assertEquals(0, dropped);
+        assertEquals(samples, written[0]);
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Times parsing and sorting a full Jevois packet against the String parsing and insertion sort it replaced,
+ * prints the time and allocation of each, and fails if JevoisParser or JevoisDetections.sort() allocates.
+ */
+public class JevoisParserBenchmarkTest {
+    private static final int
+        ITERATIONS = 100000,
+        POWER_CELLS = 15;
+
+    @Test
+    public void parserIsFasterAndAllocatesNothing() {
+        Random random = new Random(3695);
+        StringBuilder builder = new StringBuilder("@1,1000000:");
+        for(int i=0; i<POWER_CELLS; i++) {
+            builder.append('[').append(random.nextInt(640)).append(',').append(random.nextInt(480)).append(',').append(5 + random.nextInt(40)).append(']');
+        }
+
+        builder.append(';');
+        String packetString = builder.toString();
+        ByteBuffer packet = ByteBuffer.wrap(packetString.getBytes());
+        JevoisParser parser = new JevoisParser();
+        JevoisDetections detections = new JevoisDetections(POWER_CELLS);
+        long sink = 0;
+
+        //warm up both paths so the JIT has a chance to compile them
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += parseWithStrings(packetString).size();
+            if(parser.parse(packet, detections)) {
+                detections.sort();
+                sink += detections.getY(0);
+            }
+        }
+
+        long startBytes = ThreadAllocation.getBytes();
+        long start = System.nanoTime();
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += parseWithStrings(packetString).size();
+        }
+        long stringTime = System.nanoTime() - start;
+        long stringBytes = ThreadAllocation.getBytes() - startBytes;
+
+        startBytes = ThreadAllocation.getBytes();
+        start = System.nanoTime();
+        for(int i=0; i<ITERATIONS; i++) {
+            if(parser.parse(packet, detections)) {
+                detections.sort();
+                sink += detections.getY(0);
+            }
+        }
+        long parserTime = System.nanoTime() - start;
+        long parserBytes = ThreadAllocation.getBytes() - startBytes;
+
+        System.out.println(
+            "Jevois parse cost (" + POWER_CELLS + " cells): Strings = " + (stringTime / (double) ITERATIONS) + " ns, " + (stringBytes / (double) ITERATIONS) + " B | " +
+            "JevoisParser = " + (parserTime / (double) ITERATIONS) + " ns, " + (parserBytes / (double) ITERATIONS) + " B " +
+            "(checksum " + sink + ")"
+        );
+
+        assertTrue("JevoisParser allocated " + parserBytes + " B over " + ITERATIONS + " packets", parserBytes < ITERATIONS);
+    }
+
+    /**
+     * The parsing and sorting SubsystemJevois did before JevoisParser.
+     */
+    private static ArrayList<PowerCell> parseWithStrings(String incoming) {
+        ArrayList<PowerCell> powerCellsList = new ArrayList<PowerCell>();
+        incoming = incoming.substring(incoming.indexOf(":") + 1, incoming.indexOf(";"));
+        for(String segment : incoming.split("]")) {
+            if(!segment.isEmpty()) {
+                segment = segment.substring(segment.indexOf("[") + 1);
+
+                String[] data = segment.split(",");
+                try {
+                    int x = (int) Double.parseDouble(data[0]);
+                    int y = (int) Double.parseDouble(data[1]);
+                    int radius = (int) Double.parseDouble(data[2]);
+                    PowerCell newPowerCell = new PowerCell(x, y, radius);
+
+                    if(powerCellsList.size() == 0 || powerCellsList.get(0).getY() < newPowerCell.getY()) {
+                        powerCellsList.add(0, newPowerCell);
+                        continue;
+                    }
+
+                    boolean inserted = false;
+                    for(int i=1; i<powerCellsList.size(); i++) {
+                        if(powerCellsList.get(i - 1).getY() >= newPowerCell.getY() && powerCellsList.get(i).getY() <= newPowerCell.getY()) {
+                            powerCellsList.add(i, newPowerCell);
+                            inserted = true;
+                            break;
+                        }
+                    }
+
+                    if(!inserted) {
+                        powerCellsList.add(newPowerCell);
+                    }
+                } catch(NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                    //skipped
+                }
+            }
+        }
+
+        return powerCellsList;
+    }
+}
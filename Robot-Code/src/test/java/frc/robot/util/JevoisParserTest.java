@@ -0,0 +1,96 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks JevoisParser against known packets, and JevoisDetections.sort() against random ones.
+ */
+public class JevoisParserTest {
+    private final JevoisParser parser = new JevoisParser();
+    private final JevoisDetections out = new JevoisDetections(16);
+
+    @Test
+    public void parsesPlainPacket() {
+        assertTrue(parse("[1,2,3][4,5,6];"));
+        assertEquals(2, out.getCount());
+        assertEquals(0, out.getSkipped());
+        assertEquals(4, out.getX(1));
+        assertEquals(6, out.getRadius(1));
+    }
+
+    @Test
+    public void parsesHeaderAndWhitespace() {
+        assertTrue(parse("@12,345678: [ 1.9 , -2 ,3 ]  [4,5,6,7];"));
+        assertEquals(2, out.getCount());
+        assertEquals(0, out.getSkipped());
+        assertTrue(out.isTimestamped());
+        assertEquals(12, out.getSequence());
+        assertEquals(345678, out.getCaptureTime());
+        assertEquals(1, out.getX(0));
+        assertEquals(-2, out.getY(0));
+    }
+
+    @Test
+    public void parsesEmptyPacket() {
+        assertTrue(parse(";"));
+        assertEquals(0, out.getCount());
+        assertEquals(0, out.getSkipped());
+        assertFalse(out.isTimestamped());
+    }
+
+    @Test
+    public void skipsMalformedSegments() {
+        assertTrue(parse("[1,2,3][4,,6][7,8,9];"));
+        assertEquals(2, out.getCount());
+        assertEquals(1, out.getSkipped());
+        assertEquals(7, out.getX(1));
+
+        assertTrue(parse("[1,2][1,2,x];"));
+        assertEquals(0, out.getCount());
+        assertEquals(2, out.getSkipped());
+    }
+
+    @Test
+    public void rejectsMalformedPackets() {
+        assertFalse(parse("[1,2,3]"));
+        assertFalse(parse("@12:[1,2,3];"));
+        assertFalse(parse("@a,1:[1,2,3];"));
+    }
+
+    @Test
+    public void sortsClosestFirst() {
+        Random random = new Random(3695);
+        for(int i=0; i<5; i++) {
+            int count = 5 + random.nextInt(11); //5 to 15 power cells
+            StringBuilder packet = new StringBuilder();
+            for(int n=0; n<count; n++) {
+                packet.append("[").append(n).append(",").append(random.nextInt(5)).append(",0]");
+            }
+
+            packet.append(";");
+            assertTrue(parse(packet.toString()));
+            assertEquals(count, out.getCount());
+            out.sort();
+            for(int n=1; n<count; n++) {
+                //closest first, and cells at the same y stay in packet order
+                boolean ordered = out.getY(n - 1) > out.getY(n) || (out.getY(n - 1) == out.getY(n) && out.getX(n - 1) < out.getX(n));
+                assertTrue("\"" + packet + "\" is out of order at " + n, ordered);
+            }
+        }
+    }
+
+    private boolean parse(String packet) {
+        return parser.parse(ByteBuffer.wrap(packet.getBytes()), out);
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Times KiwiLightParser against the String based parsing it replaced, prints the time and allocation of each,
+ * and fails if the parser allocates.
+ */
+public class KiwiLightParserBenchmarkTest {
+    private static final int ITERATIONS = 100000;
+
+    @Test
+    public void parserIsFasterAndAllocatesNothing() {
+        byte[] buffer = new byte[1024];
+        byte[] packet = ":312.5, 187.25,64,48,122.75,-3.5,12.125;".getBytes();
+        System.arraycopy(packet, 0, buffer, 0, packet.length);
+        ByteBuffer packetBuffer = ByteBuffer.wrap(buffer, 0, packet.length);
+        double[] out = new double[KiwiLightParser.TIMESTAMPED_FIELDS];
+        double sink = 0;
+
+        //warm up both paths so the JIT has a chance to compile them
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += parseWithStrings(buffer)[4];
+            if(KiwiLightParser.parse(packetBuffer, out) > 0) {
+                sink += out[4];
+            }
+        }
+
+        long startBytes = ThreadAllocation.getBytes();
+        long start = System.nanoTime();
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += parseWithStrings(buffer)[4];
+        }
+        long stringTime = System.nanoTime() - start;
+        long stringBytes = ThreadAllocation.getBytes() - startBytes;
+
+        startBytes = ThreadAllocation.getBytes();
+        start = System.nanoTime();
+        for(int i=0; i<ITERATIONS; i++) {
+            if(KiwiLightParser.parse(packetBuffer, out) > 0) {
+                sink += out[4];
+            }
+        }
+        long parserTime = System.nanoTime() - start;
+        long parserBytes = ThreadAllocation.getBytes() - startBytes;
+
+        System.out.println(
+            "KiwiLight parse cost: Strings = " + (stringTime / (double) ITERATIONS) + " ns, " + (stringBytes / (double) ITERATIONS) + " B | " +
+            "KiwiLightParser = " + (parserTime / (double) ITERATIONS) + " ns, " + (parserBytes / (double) ITERATIONS) + " B " +
+            "(checksum " + sink + ")"
+        );
+
+        assertTrue("KiwiLightParser allocated " + parserBytes + " B over " + ITERATIONS + " packets", parserBytes < ITERATIONS);
+    }
+
+    /**
+     * The parsing SubsystemReceiver did before KiwiLightParser.
+     */
+    private static double[] parseWithStrings(byte[] buffer) {
+        double[] data = {-1, -1, -1, -1, -1, 180, 180};
+        String segment = new String(buffer).replaceAll("\\s+","");
+        String[] stringData = segment.substring(segment.indexOf(":") + 1, segment.indexOf(";")).split(",");
+        if(stringData.length == data.length) {
+            for(int i=0; i<stringData.length; i++) {
+                data[i] = Double.parseDouble(stringData[i]);
+            }
+        }
+
+        return data;
+    }
+}
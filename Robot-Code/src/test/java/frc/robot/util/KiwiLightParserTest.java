@@ -0,0 +1,64 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Checks KiwiLightParser against known good and malformed packets.
+ */
+public class KiwiLightParserTest {
+    private final double[] out = new double[KiwiLightParser.TIMESTAMPED_FIELDS];
+
+    @Test
+    public void parsesPlainPacket() {
+        assertEquals(KiwiLightParser.FIELDS, parse(":1,2,3,4,5,6,7;"));
+        assertEquals(7, out[6], 0);
+    }
+
+    @Test
+    public void parsesSignsExponentsAndWhitespace() {
+        assertEquals(KiwiLightParser.FIELDS, parse(" : -1.5 ,2.25,3,4,5e1,-6E-1,+7. ;garbage"));
+        assertEquals(-1.5, out[0], 0);
+        assertEquals(50, out[4], 0);
+        assertEquals(-0.6, out[5], 1e-12);
+    }
+
+    @Test
+    public void parsesNoTargetPacket() {
+        assertEquals(KiwiLightParser.FIELDS, parse(":-1,-1,-1,-1,-1,180,180;"));
+        assertEquals(180, out[5], 0);
+    }
+
+    @Test
+    public void parsesTimestampedPacket() {
+        assertEquals(KiwiLightParser.TIMESTAMPED_FIELDS, parse(":1,2,3,4,5,6,7,42,1234567890123;"));
+        assertEquals(42, out[7], 0);
+        assertEquals(1234567890123.0, out[8], 0);
+    }
+
+    @Test
+    public void rejectsWrongFieldCounts() {
+        assertEquals(0, parse(":1,2,3,4,5,6;"));
+        assertEquals(0, parse(":1,2,3,4,5,6,7,8;"));
+        assertEquals(0, parse(":1,2,3,4,5,6,7,8,9,10;"));
+    }
+
+    @Test
+    public void rejectsMalformedPackets() {
+        assertEquals(0, parse(":1,2,,4,5,6,7;"));
+        assertEquals(0, parse(":1,2,3,4,5,6,nan;"));
+        assertEquals(0, parse(":1,2,3,4,5,6,7"));
+        assertEquals(0, parse("1,2,3,4,5,6,7;"));
+    }
+
+    private int parse(String packet) {
+        return KiwiLightParser.parse(ByteBuffer.wrap(packet.getBytes()), out);
+    }
+}
@@ -0,0 +1,139 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import frc.robot.Constants;
+
+/**
+ * Checks that PowerCellTracker keeps ids across frames, coasts through dropouts, expires lost cells,
+ * and evicts the right track when it is full.
+ */
+public class PowerCellTrackerTest {
+    private static final int FRAME_CAPACITY = 20;
+
+    private final PowerCellTracker tracker = new PowerCellTracker(Constants.JEVOIS_MAX_TRACKS);
+    private final VisionFrame frame = new VisionFrame("Power Cell Tracker Test", new String[] {"X", "Y", "Radius"}, FRAME_CAPACITY);
+
+    @Test
+    public void keepsIdsAcrossFrames() {
+        update(0, 0, 100, 200, 50);
+        assertEquals(2, tracker.getCount());
+        int near = tracker.getId(0);
+        int far = tracker.getId(1);
+        assertTrue(near != far);
+
+        //both cells move less than the gate
+        update(0.05, 10, 110, 190, 40);
+        assertEquals(2, tracker.getCount());
+        assertEquals(near, tracker.getId(0));
+        assertEquals(far, tracker.getId(1));
+        assertEquals(5, tracker.getX(0), 1e-9);
+        assertEquals(105, tracker.getY(0), 1e-9);
+    }
+
+    @Test
+    public void startsNewTrackPastTheGate() {
+        update(0, 0, 100);
+        int id = tracker.getId(0);
+
+        update(0.05, Constants.JEVOIS_TRACK_GATE + 1, 100);
+        assertEquals(2, tracker.getCount());
+        assertTrue(tracker.indexOf(id) >= 0);
+    }
+
+    @Test
+    public void coastsThroughOneFrameDropout() {
+        update(0, 0, 100);
+        int id = tracker.getId(0);
+
+        update(0.05);
+        assertEquals(1, tracker.getCount());
+        assertEquals(id, tracker.getId(0));
+
+        update(0.1, 5, 100);
+        assertEquals(1, tracker.getCount());
+        assertEquals(id, tracker.getId(0));
+    }
+
+    @Test
+    public void expiresAfterTimeout() {
+        update(0, 0, 100);
+        int id = tracker.getId(0);
+
+        tracker.expire(Constants.JEVOIS_TRACK_TIMEOUT - 0.01);
+        assertEquals(1, tracker.getCount());
+
+        tracker.expire(Constants.JEVOIS_TRACK_TIMEOUT + 0.01);
+        assertEquals(0, tracker.getCount());
+        assertEquals(-1, tracker.indexOf(id));
+
+        //ids are never reused
+        update(Constants.JEVOIS_TRACK_TIMEOUT + 0.05, 0, 100);
+        assertEquals(1, tracker.getCount());
+        assertTrue(tracker.getId(0) != id);
+    }
+
+    @Test
+    public void evictsTheLongestUnseenTrackWhenFull() {
+        int cells = Constants.JEVOIS_MAX_TRACKS;
+        double[] first = new double[cells * 2];
+        for(int i=0; i<cells; i++) {
+            first[i * 2] = i * 100;
+            first[i * 2 + 1] = 100 - i;
+        }
+
+        update(0, first);
+        assertEquals(cells, tracker.getCount());
+        int[] ids = new int[cells];
+        for(int i=0; i<cells; i++) {
+            ids[i] = tracker.getId(i);
+        }
+
+        //closest first, like the Jevois sends them: two new cells, then every old cell but the first
+        double[] second = new double[(cells + 1) * 2];
+        second[0] = -1000;
+        second[1] = 300;
+        second[2] = -2000;
+        second[3] = 200;
+        for(int i=1; i<cells; i++) {
+            second[(i + 1) * 2] = i * 100;
+            second[(i + 1) * 2 + 1] = 100 - i;
+        }
+
+        update(0.05, second);
+        assertEquals(cells, tracker.getCount());
+        assertEquals(-1, tracker.indexOf(ids[0]));
+        for(int i=1; i<cells; i++) {
+            assertTrue("cell " + i + " lost its id", tracker.indexOf(ids[i]) >= 0);
+        }
+
+        //the first new cell took the unseen track's slot, and there was no room for the second
+        assertEquals(-1000, tracker.getX(0), 1e-9);
+        for(int i=0; i<tracker.getCount(); i++) {
+            assertTrue(tracker.getX(i) != -2000);
+        }
+    }
+
+    /**
+     * Publishes a frame of cells given as x, y pairs and adds it to the tracker.
+     */
+    private void update(double time, double... positions) {
+        int count = positions.length / 2;
+        for(int i=0; i<count; i++) {
+            frame.set(i, 0, positions[i * 2]);
+            frame.set(i, 1, positions[i * 2 + 1]);
+            frame.set(i, 2, 10);
+        }
+
+        frame.commit(count, (long) (time * 1000000));
+        assertTrue(frame.publish());
+        tracker.update(frame, time);
+    }
+}
@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks that SampleHistory interpolates between samples, clamps outside them, and ignores samples added
+ * out of order.
+ */
+public class SampleHistoryTest {
+    private final SampleHistory history = new SampleHistory(4);
+
+    @Test
+    public void emptyReturnsNaN() {
+        assertTrue(Double.isNaN(history.get(0)));
+
+        history.add(1, 10);
+        history.clear();
+        assertTrue(Double.isNaN(history.get(1)));
+    }
+
+    @Test
+    public void interpolatesBetweenSamples() {
+        history.add(1, 10);
+        history.add(2, 20);
+        history.add(4, 0);
+
+        assertEquals(10, history.get(1), 1e-9);
+        assertEquals(15, history.get(1.5), 1e-9);
+        assertEquals(20, history.get(2), 1e-9);
+        assertEquals(10, history.get(3), 1e-9);
+        assertEquals(0, history.get(4), 1e-9);
+    }
+
+    @Test
+    public void clampsAtBothEnds() {
+        history.add(1, 10);
+        history.add(2, 20);
+
+        assertEquals(10, history.get(0), 1e-9);
+        assertEquals(20, history.get(3), 1e-9);
+    }
+
+    @Test
+    public void clampsToOldestSampleKept() {
+        //six samples into four slots: the oldest two are overwritten
+        for(int i=0; i<6; i++) {
+            history.add(i, i * 10);
+        }
+
+        assertEquals(20, history.get(0), 1e-9);
+        assertEquals(25, history.get(2.5), 1e-9);
+        assertEquals(45, history.get(4.5), 1e-9);
+        assertEquals(50, history.get(6), 1e-9);
+    }
+
+    @Test
+    public void ignoresOutOfOrderSamples() {
+        history.add(1, 10);
+        history.add(3, 30);
+        history.add(2, 1000);
+
+        assertEquals(20, history.get(2), 1e-9);
+        assertEquals(30, history.get(3), 1e-9);
+    }
+}
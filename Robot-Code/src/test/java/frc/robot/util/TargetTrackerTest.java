@@ -0,0 +1,97 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks that TargetTracker settles on a still target, estimates the rate of a moving one, and drops a
+ * target once it has coasted too long.
+ */
+public class TargetTrackerTest {
+    private static final double
+        ALPHA = 0.5,
+        BETA = 0.2,
+        COAST_TIME = 0.5,
+        PERIOD = 0.05;
+
+    private final TargetTracker tracker = new TargetTracker(ALPHA, BETA, COAST_TIME);
+
+    @Test
+    public void convergesOnConstantBearing() {
+        //start from the wrong place, then measure the same bearing over and over
+        tracker.update(0, 100, 0);
+        for(int i=1; i<=100; i++) {
+            tracker.update(10, 100, i * PERIOD);
+        }
+
+        double now = 100 * PERIOD;
+        assertEquals(10, tracker.getBearing(now), 1e-3);
+        assertEquals(0, tracker.getBearingRate(), 1e-3);
+        assertEquals(100, tracker.getRange(now), 1e-3);
+        assertEquals(0, tracker.getRangeRate(), 1e-3);
+    }
+
+    @Test
+    public void estimatesRateOnLinearRamp() {
+        //20 degrees per second and closing at 30 per second
+        for(int i=0; i<=100; i++) {
+            double time = i * PERIOD;
+            tracker.update(20 * time, 200 - 30 * time, time);
+        }
+
+        double last = 100 * PERIOD;
+        assertEquals(20, tracker.getBearingRate(), 1e-3);
+        assertEquals(-30, tracker.getRangeRate(), 1e-3);
+        assertEquals(20 * last, tracker.getBearing(last), 1e-3);
+
+        //between frames the target is predicted forward
+        double now = last + 0.1;
+        assertEquals(20 * now, tracker.getBearing(now), 1e-3);
+        assertEquals(200 - 30 * now, tracker.getRange(now), 1e-3);
+    }
+
+    @Test
+    public void expiresAfterCoastTime() {
+        assertFalse(tracker.isTracking(0));
+
+        tracker.update(20, 100, 0);
+        tracker.update(21, 100, PERIOD);
+        assertTrue(tracker.isTracking(PERIOD + COAST_TIME));
+        assertFalse(tracker.isTracking(PERIOD + COAST_TIME + 0.01));
+
+        //a measurement after the target was lost starts over with no motion
+        tracker.update(-5, 50, PERIOD + COAST_TIME + 0.1);
+        assertTrue(tracker.isTracking(PERIOD + COAST_TIME + 0.1));
+        assertEquals(-5, tracker.getBearing(PERIOD + COAST_TIME + 0.1), 1e-9);
+        assertEquals(0, tracker.getBearingRate(), 1e-9);
+        assertEquals(0, tracker.getRangeRate(), 1e-9);
+    }
+
+    @Test
+    public void ignoresOlderMeasurements() {
+        tracker.update(10, 100, 1);
+        tracker.update(30, 100, 0.9);
+        tracker.update(30, 100, 1);
+        assertEquals(10, tracker.getBearing(1), 1e-9);
+        assertEquals(0, tracker.getBearingRate(), 1e-9);
+    }
+
+    @Test
+    public void resetForgetsTarget() {
+        tracker.update(10, 100, 0);
+        tracker.update(12, 100, PERIOD);
+        tracker.reset();
+        assertFalse(tracker.isTracking(PERIOD));
+
+        tracker.update(40, 100, 2 * PERIOD);
+        assertEquals(40, tracker.getBearing(2 * PERIOD), 1e-9);
+        assertEquals(0, tracker.getBearingRate(), 1e-9);
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import frc.robot.enumeration.TelemetryTier;
+
+/**
+ * Checks that Telemetry starts its publisher thread once. Runs against the desktop NetworkTables instance, not a robot.
+ */
+public class TelemetryTest {
+    @Test
+    public void startsOnePublisherThread() {
+        Telemetry.number("Telemetry Test Number", TelemetryTier.FAST, 0);
+        Telemetry.bool("Telemetry Test Boolean");
+
+        int publishers = 0;
+        for(Thread thread : Thread.getAllStackTraces().keySet()) {
+            if(thread.getName().equals("Telemetry")) {
+                publishers++;
+            }
+        }
+
+        assertEquals(1, publishers);
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads how many bytes the calling thread has allocated, for the benchmarks. Works on HotSpot-based JVMs;
+ * elsewhere isSupported() is false and the benchmarks report time only.
+ */
+final class ThreadAllocation {
+    private static final com.sun.management.ThreadMXBean THREADS = (
+        ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean ?
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() :
+        null
+    );
+
+    private ThreadAllocation() {
+    }
+
+    /**
+     * Returns true if allocation can be measured on this JVM.
+     */
+    static boolean isSupported() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Returns the bytes the calling thread has allocated so far, or 0 if allocation cannot be measured.
+     */
+    static long getBytes() {
+        return isSupported() ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+}
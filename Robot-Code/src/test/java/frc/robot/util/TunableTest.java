@@ -0,0 +1,95 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.Preferences;
+
+/**
+ * Checks that Tunable hands out shared handles and writes selected profiles into Preferences, and measures the per-read cost of Util.getAndSetDouble()
+ * against TunableDouble.get(). Runs against the desktop NetworkTables instance, not a robot.
+ */
+public class TunableTest {
+    private static final int ITERATIONS = 100000;
+
+    @Test
+    public void handlesAreShared() {
+        TunableDouble first = Tunable.getDouble("Tunable Test Shared", 2);
+        assertTrue(first == Tunable.getDouble("Tunable Test Shared", 3));
+        assertEquals(2, first.get(), 0);
+    }
+
+    @Test
+    public void profileIsWrittenToPreferences() throws IOException {
+        TunableDouble number = Tunable.getDouble("Tunable Test Profile Number", 1);
+        TunableBoolean flag = Tunable.getBoolean("Tunable Test Profile Flag", false);
+
+        File file = File.createTempFile("tunable", TuningProfile.FILE_EXTENSION);
+        file.deleteOnExit();
+        Files.write(file.toPath(), Arrays.asList("Tunable Test Profile Number = 5", "Tunable Test Profile Flag = true"));
+        TuningProfile profile = TuningProfile.load(file);
+
+        try {
+            Tunable.setProfile(profile);
+            assertEquals(5, number.get(), 0);
+            assertTrue(flag.get());
+            assertEquals(5, Preferences.getInstance().getDouble("Tunable Test Profile Number", 0), 0);
+            assertTrue(Preferences.getInstance().getBoolean("Tunable Test Profile Flag", false));
+
+            //a dashboard edit after the profile is selected takes effect
+            number.update(7);
+            assertEquals(7, number.get(), 0);
+
+            //going back to no profile leaves the values alone
+            Tunable.setProfile(TuningProfile.NONE);
+            assertEquals(7, number.get(), 0);
+            assertTrue(flag.get());
+        } finally {
+            Tunable.setProfile(TuningProfile.NONE);
+        }
+    }
+
+    @Test
+    public void benchmarkReads() {
+        String key = "Tunable Benchmark";
+        TunableDouble tunable = Tunable.getDouble(key, 1);
+        double sink = 0;
+
+        //warm up both paths so the JIT has a chance to compile them
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += Util.getAndSetDouble(key, 1);
+            sink += tunable.get();
+        }
+
+        long start = System.nanoTime();
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += Util.getAndSetDouble(key, 1);
+        }
+        long utilTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int i=0; i<ITERATIONS; i++) {
+            sink += tunable.get();
+        }
+        long tunableTime = System.nanoTime() - start;
+
+        System.out.println(
+            "Preference read cost: Util.getAndSetDouble = " + (utilTime / (double) ITERATIONS) + " ns | " +
+            "TunableDouble.get = " + (tunableTime / (double) ITERATIONS) + " ns " +
+            "(checksum " + sink + ")"
+        );
+
+        assertEquals(2 * 2 * ITERATIONS, sink, 0);
+    }
+}